@@ -0,0 +1,36 @@
+package net.sattler22.transfer.api;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountState;
+import net.sattler22.transfer.domain.AccountType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Point-in-Time Account Balance Data Transfer Object (DTO)
+ *
+ * @param number The account number
+ * @param type The account type
+ * @param customerId The account owner's customer identifier
+ * @param balance The balance as of the given time
+ * @param version The account version as of the given time
+ * @param asOf The point in time, as an ISO-8601 instant
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public record AccountBalanceDto(int number, AccountType type, String customerId, BigDecimal balance, long version,
+                                String asOf) {
+
+    /**
+     * Create the DTO of an account as of a point in time
+     *
+     * @param state The account state as of that time
+     * @param asOfMillis The point in time, in milliseconds since the epoch
+     */
+    public static AccountBalanceDto of(Account account, AccountState state, long asOfMillis) {
+        return new AccountBalanceDto(account.number(), account.type(), account.owner().id(),
+                Account.CURRENCY.toBigDecimal(state.balance()), state.version(), Instant.ofEpochMilli(asOfMillis).toString());
+    }
+}
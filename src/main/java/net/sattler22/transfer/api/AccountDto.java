@@ -1,5 +1,6 @@
 package net.sattler22.transfer.api;
 
+import net.sattler22.transfer.domain.Account;
 import net.sattler22.transfer.domain.AccountType;
 
 import java.math.BigDecimal;
@@ -8,8 +9,17 @@ import java.math.BigDecimal;
  * Account Data Transfer Object (DTO)
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since September 2019
  */
 public record AccountDto(String customerId, AccountType type, BigDecimal balance) {
+
+    /**
+     * Get the opening balance in minor units of the account currency
+     *
+     * @throws IllegalArgumentException If the balance is not a valid amount in the account currency
+     */
+    public long balanceMinorUnits() {
+        return (balance != null) ? Account.CURRENCY.toMinorUnits(balance) : 0L;
+    }
 }
@@ -1,6 +1,7 @@
 package net.sattler22.transfer.api;
 
 import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.util.VersionEncoder;
 
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -9,7 +10,8 @@ import java.util.Objects;
  * Account Transfer Data Transfer Object (DTO)
  *
  * @author Pete Sattler
- * @version September 2019
+ * @version October 2026
+ * @since September 2019
  */
 public record AccountTransferDto(String customerId, int sourceNumber, int targetNumber, BigDecimal amount) {
 
@@ -25,6 +27,15 @@ public record AccountTransferDto(String customerId, int sourceNumber, int target
         this.amount = Objects.requireNonNull(amount, "Transfer amount is required");
     }
 
+    /**
+     * Get the transfer amount in minor units of the account currency
+     *
+     * @throws IllegalArgumentException If the amount is not a valid amount in the account currency
+     */
+    public long amountMinorUnits() {
+        return Account.CURRENCY.toMinorUnits(amount);
+    }
+
     /**
      * Create a unique account transfer version
      *
@@ -34,6 +45,6 @@ public record AccountTransferDto(String customerId, int sourceNumber, int target
      * @return An account transfer version string in the format: {sourceAccount#-sourceAccountVersion#-targetAccount#-targetAccountVersion#}
      */
     public static String createVersion(Account sourceAccount, Account targetAccount) {
-        return String.format("%d-%d-%d-%d", sourceAccount.number(), sourceAccount.version(), targetAccount.number(), targetAccount.version());
+        return VersionEncoder.encode(sourceAccount.number(), sourceAccount.version(), targetAccount.number(), targetAccount.version());
     }
 }
@@ -0,0 +1,38 @@
+package net.sattler22.transfer.api;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.BankReport;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Whole-Bank Balance Report Data Transfer Object (DTO)
+ *
+ * @param sequence The commit sequence number the report is consistent as of
+ * @param accountCount The number of accounts
+ * @param totalDeposits The total of all balances
+ * @param totalsByType The total balance of each account type
+ * @param totalsByCustomer The total balance of each customer, keyed by customer identifier
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public record BankReportDto(long sequence, int accountCount, BigDecimal totalDeposits, Map<AccountType, BigDecimal> totalsByType,
+                            Map<String, BigDecimal> totalsByCustomer) {
+
+    /**
+     * Create the DTO of a report
+     */
+    public static BankReportDto of(BankReport bankReport) {
+        final Map<AccountType, BigDecimal> totalsByType = new EnumMap<>(AccountType.class);
+        bankReport.totalsByType().forEach((type, total) -> totalsByType.put(type, Account.CURRENCY.toBigDecimal(total)));
+        final Map<String, BigDecimal> totalsByCustomer = new TreeMap<>();
+        bankReport.totalsByCustomer().forEach((customerId, total) -> totalsByCustomer.put(customerId, Account.CURRENCY.toBigDecimal(total)));
+        return new BankReportDto(bankReport.sequence(), bankReport.nbrAccounts(),
+                Account.CURRENCY.toBigDecimal(bankReport.totalDeposits()), totalsByType, totalsByCustomer);
+    }
+}
@@ -0,0 +1,41 @@
+package net.sattler22.transfer.api;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.BankStats;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bank-Wide Running Statistics Data Transfer Object (DTO)
+ *
+ * @param customerCount The number of customers
+ * @param accountCount The number of accounts
+ * @param accountCountsByType The number of accounts of each type
+ * @param totalDeposits The total of all balances
+ * @param depositsByType The total balance of each account type
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public record BankStatsDto(long customerCount, long accountCount, Map<AccountType, Long> accountCountsByType,
+                           BigDecimal totalDeposits, Map<AccountType, BigDecimal> depositsByType) {
+
+    /**
+     * Create the DTO of the running statistics, with the totals summed from the same reads as their breakdowns
+     */
+    public static BankStatsDto of(BankStats bankStats) {
+        final Map<AccountType, Long> accountCountsByType = bankStats.nbrAccountsByType();
+        final Map<AccountType, BigDecimal> depositsByType = new EnumMap<>(AccountType.class);
+        long totalDeposits = 0L;
+        for (final Map.Entry<AccountType, Long> deposits : bankStats.depositsByType().entrySet()) {
+            depositsByType.put(deposits.getKey(), Account.CURRENCY.toBigDecimal(deposits.getValue()));
+            totalDeposits += deposits.getValue();
+        }
+        final long accountCount = accountCountsByType.values().stream().mapToLong(Long::longValue).sum();
+        return new BankStatsDto(bankStats.nbrCustomers(), accountCount, accountCountsByType,
+                Account.CURRENCY.toBigDecimal(totalDeposits), depositsByType);
+    }
+}
@@ -0,0 +1,155 @@
+package net.sattler22.transfer.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.domain.Customer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pre-Serialized Customer JSON Cache
+ *
+ * @implNote Customers are immutable and their accounts are not part of their JSON, so each one only has to be serialized
+ *           once. The encoded bytes are filled in lazily on first read and keyed by customer identifier, but every entry
+ *           also remembers the customer instance it was encoded from, so a customer that was deleted and added again is
+ *           never served from a stale entry. The cache is bounded by the total number of bytes it holds: when a fill
+ *           pushes it over budget, one thread sweeps the entries with the CLOCK algorithm, giving every entry read since
+ *           the last sweep a second chance and evicting the rest.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class CustomerJsonCache {
+
+    private static final ObjectWriter JSON_WRITER = new ObjectMapper().writer();
+    private final long maxBytes;
+    private final ConcurrentMap<String, CachedJson> entries = new ConcurrentHashMap<>();
+    private final AtomicLong nbrBytes = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * Constructs a new customer JSON cache
+     *
+     * @param maxBytes The maximum number of encoded bytes to hold, or zero to disable caching
+     */
+    public CustomerJsonCache(long maxBytes) {
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("Maximum cache size cannot be negative");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get the JSON encoding of a customer, serializing it if it is not already cached
+     *
+     * @return The encoded bytes, which are shared and must never be modified
+     */
+    byte[] json(Customer customer) {
+        Objects.requireNonNull(customer, "Customer is required");
+        final CachedJson entry = entries.get(customer.id());
+        if (entry != null && entry.customer == customer) {
+            entry.referenced = true;
+            return entry.json;
+        }
+        final byte[] json = serialize(customer);
+        if (json.length <= maxBytes) {
+            final CachedJson previous = entries.put(customer.id(), new CachedJson(customer, json));
+            if (nbrBytes.addAndGet(json.length - (previous == null ? 0 : previous.json.length)) > maxBytes)
+                evict();
+        }
+        return json;
+    }
+
+    /**
+     * Write a customer as JSON
+     */
+    void writeTo(Customer customer, OutputStream outputStream) throws IOException {
+        outputStream.write(json(customer));
+    }
+
+    /**
+     * Drop the cached JSON encoding of a customer
+     */
+    public void invalidate(Customer customer) {
+        Objects.requireNonNull(customer, "Customer is required");
+        final CachedJson entry = entries.remove(customer.id());
+        if (entry != null)
+            nbrBytes.addAndGet(-entry.json.length);
+    }
+
+    private static byte[] serialize(Customer customer) {
+        try {
+            return JSON_WRITER.writeValueAsBytes(customer);
+        }
+        catch(JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock())
+            return;  //Another thread is already sweeping
+        try {
+            //Two passes at most, since the first one clears every reference bit it does not evict:
+            for (int pass = 0; pass < 2 && nbrBytes.get() > maxBytes; pass++) {
+                for (final Iterator<Map.Entry<String, CachedJson>> iterator = entries.entrySet().iterator();
+                     iterator.hasNext() && nbrBytes.get() > maxBytes; ) {
+                    final Map.Entry<String, CachedJson> mapEntry = iterator.next();
+                    final CachedJson entry = mapEntry.getValue();
+                    if (entry.referenced)
+                        entry.referenced = false;
+                    else if (entries.remove(mapEntry.getKey(), entry))
+                        nbrBytes.addAndGet(-entry.json.length);
+                }
+            }
+        }
+        finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of cached customers
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of cached bytes
+     */
+    public long bytes() {
+        return nbrBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [maxBytes=%d, size=%d, bytes=%d]", getClass().getSimpleName(), maxBytes, size(), bytes());
+    }
+
+    /**
+     * A customer along with its JSON encoding
+     */
+    private static final class CachedJson {
+
+        private final Customer customer;
+        private final byte[] json;
+        private volatile boolean referenced;
+
+        private CachedJson(Customer customer, byte[] json) {
+            this.customer = customer;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package net.sattler22.transfer.api;
+
+import jakarta.ws.rs.core.EntityTag;
+import net.sattler22.transfer.domain.AccountSnapshot;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.util.VersionEncoder;
+
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Strong Entity Tags for Customer and Account Representations
+ *
+ * @implNote Tags are derived from what already changes whenever a representation does, so they can be checked against
+ *           {@code If-None-Match} before anything is serialized. A customer is immutable, so its tag only has to tell one
+ *           incarnation of a customer identifier from another, which its joined date does. An account's tag is its
+ *           number and version. An account list's tag folds the number and version of each account, in account number
+ *           order, into a 64-bit hash.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class EntityTags {
+
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private EntityTags() {
+        throw new AssertionError("Cannot be instantiated");
+    }
+
+    /**
+     * Get the entity tag of a customer
+     */
+    static EntityTag of(Customer customer) {
+        final long joinedMicros = customer.joinedDate().toEpochSecond(ZoneOffset.UTC) * 1_000_000L +
+                                  customer.joinedDate().getNano() / 1_000L;
+        return new EntityTag(Long.toHexString(joinedMicros));
+    }
+
+    /**
+     * Get the entity tag of an account, taken from the same snapshot as its body
+     */
+    static EntityTag of(AccountSnapshot account) {
+        return new EntityTag(VersionEncoder.encode(account.number(), account.version()));
+    }
+
+    /**
+     * Get the entity tag of a list of accounts, taken from the same snapshots as its body
+     */
+    static EntityTag of(Collection<AccountSnapshot> accounts) {
+        long hash = FNV_OFFSET_BASIS;
+        for (final AccountSnapshot account : accounts.stream().sorted(Comparator.comparingInt(AccountSnapshot::number)).toList()) {
+            hash = (hash ^ account.number()) * FNV_PRIME;
+            hash = (hash ^ account.version()) * FNV_PRIME;
+        }
+        return new EntityTag(String.format("%d-%x", accounts.size(), hash));
+    }
+}
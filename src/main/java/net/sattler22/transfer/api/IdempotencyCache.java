@@ -0,0 +1,199 @@
+package net.sattler22.transfer.api;
+
+import jakarta.ws.rs.core.EntityTag;
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Transfer Idempotency Key Cache
+ *
+ * @implNote Maps each {@code Idempotency-Key} to the outcome of the transfer first submitted with it. The first request
+ *           to claim a key executes the transfer, while duplicates that arrive before it completes wait for its outcome
+ *           instead of executing again, and later duplicates get the stored outcome straight away, without finding
+ *           customers or accounts, let alone locking them. A failed transfer releases its key, so the client can retry
+ *           it. Keys expire a fixed time after their transfer completed, and the oldest are evicted early once the cache
+ *           is full. Both are handled by a first-in, first-out queue of completed transfers, which is always in expiry
+ *           order. A key is only queued once its outcome is stored, so a transfer still in flight can never be evicted
+ *           (and executed again by a duplicate), and a failed one never takes up room.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class IdempotencyCache {
+
+    /**
+     * Longest idempotency key accepted
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Execution> executions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Execution> expiryQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nbrQueued = new AtomicInteger();
+
+    /**
+     * Constructs a new idempotency key cache
+     *
+     * @param maxEntries The maximum number of keys to remember
+     * @param ttl How long to remember each key for
+     */
+    public IdempotencyCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("Maximum number of entries must be positive");
+        Objects.requireNonNull(ttl, "Time to live is required");
+        if (ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("Time to live must be positive");
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = Objects.requireNonNull(nanoClock, "Clock is required");
+    }
+
+    /**
+     * Claim an idempotency key for a transfer
+     *
+     * @return The caller's claim, which is the owner of the key if the transfer is to be executed by the caller
+     * @throws IllegalArgumentException If the key was already claimed for a different transfer
+     */
+    Claim claim(String key, AccountTransferDto accountTransferDto) {
+        Objects.requireNonNull(key, "Idempotency key is required");
+        Objects.requireNonNull(accountTransferDto, "Account transfer is required");
+        final long nowNanos = nanoClock.getAsLong();
+        expire(nowNanos);
+        while (true) {
+            final Execution existing = executions.get(key);
+            if (existing != null && !existing.expired(nowNanos)) {
+                if (!sameTransfer(existing.accountTransferDto, accountTransferDto))
+                    throw new IllegalArgumentException(
+                            String.format("Idempotency key [%s] was already used for a different transfer", key));
+                return new Claim(this, existing, false);
+            }
+            final Execution execution = new Execution(key, accountTransferDto);
+            if (existing == null ? executions.putIfAbsent(key, execution) == null : executions.replace(key, existing, execution))
+                return new Claim(this, execution, true);
+        }
+    }
+
+    private static boolean sameTransfer(AccountTransferDto existing, AccountTransferDto other) {
+        return existing.customerId().equals(other.customerId()) &&
+               existing.sourceNumber() == other.sourceNumber() &&
+               existing.targetNumber() == other.targetNumber() &&
+               existing.amount().compareTo(other.amount()) == 0;
+    }
+
+    private void completed(Execution execution, Outcome outcome) {
+        execution.expiresNanos = nanoClock.getAsLong() + ttlNanos;  //Published by completing the outcome
+        execution.outcome.complete(outcome);
+        expiryQueue.add(execution);
+        nbrQueued.incrementAndGet();
+    }
+
+    private void expire(long nowNanos) {
+        for (Execution oldest = expiryQueue.peek();
+             oldest != null && (oldest.expired(nowNanos) || nbrQueued.get() >= maxEntries);
+             oldest = expiryQueue.peek()) {
+            final Execution evicted = expiryQueue.poll();
+            if (evicted != null) {
+                nbrQueued.decrementAndGet();
+                executions.remove(evicted.key, evicted);
+            }
+        }
+    }
+
+    /**
+     * Get the number of remembered keys
+     */
+    public int size() {
+        return executions.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [maxEntries=%d, ttl=%s, size=%d]",
+                getClass().getSimpleName(), maxEntries, Duration.ofNanos(ttlNanos), size());
+    }
+
+    /**
+     * Stored outcome of a transfer
+     *
+     * @param transferResult The transfer result
+     * @param entityTag The account transfer version the transfer was applied to, or null for an unconditional transfer
+     */
+    record Outcome(TransferResult transferResult, EntityTag entityTag) {
+    }
+
+    /**
+     * Claim of an idempotency key
+     *
+     * @param owner True if the transfer is to be executed by the holder of this claim, or false for a duplicate
+     */
+    record Claim(IdempotencyCache cache, Execution execution, boolean owner) {
+
+        /**
+         * Store the outcome of the transfer
+         */
+        void complete(Outcome outcome) {
+            cache.completed(execution, Objects.requireNonNull(outcome, "Outcome is required"));
+        }
+
+        /**
+         * Release the key after the transfer failed, passing the failure on to any waiting duplicates
+         */
+        void fail(RuntimeException failure) {
+            cache.executions.remove(execution.key, execution);  //Never queued, so it leaves no trace
+            execution.outcome.completeExceptionally(failure);
+        }
+
+        /**
+         * Wait for the outcome of the transfer
+         *
+         * @throws RuntimeException The failure of the transfer
+         */
+        Outcome await() {
+            try {
+                return execution.outcome.join();
+            }
+            catch(CompletionException | CancellationException e) {
+                if (e.getCause() instanceof RuntimeException failure)
+                    throw failure;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * A single execution of a transfer, shared by every request with the same idempotency key
+     */
+    private static final class Execution {
+
+        private final String key;
+        private final AccountTransferDto accountTransferDto;
+        private final CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+        private long expiresNanos;  //Set once, before the outcome is completed
+
+        private Execution(String key, AccountTransferDto accountTransferDto) {
+            this.key = key;
+            this.accountTransferDto = accountTransferDto;
+        }
+
+        private boolean expired(long nowNanos) {
+            return outcome.isDone() && nowNanos - expiresNanos >= 0;  //Never while still in flight
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package net.sattler22.transfer.api;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.metrics.LatencyHistogram;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Money Transfer REST Metrics Filter
+ *
+ * @implNote Records the latency of every request from the moment it arrives until its response is ready to be written,
+ *           the time spent serializing the response entity, and the number of responses by status code, all per
+ *           endpoint. Endpoints are identified by HTTP method and path template, and their metrics are resolved the first
+ *           time each endpoint is hit, so later requests only do a map lookup and update striped counters. Resources
+ *           are synchronous, so each request is filtered on its way in and out by the same worker thread, and its start
+ *           time is kept in a mutable per-thread holder rather than boxed into a request property.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+@PreMatching
+@Priority(1)  //First to see the request and last to see the response
+public final class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final ThreadLocal<RequestStart> REQUEST_START = ThreadLocal.withInitial(RequestStart::new);
+    private static final int MAX_STATUS_CODE = 599;
+    private final MetricsRegistry metricsRegistry;
+    private final ConcurrentMap<ResourceMethod, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Endpoint unmatched;
+
+    @Context
+    private ExtendedUriInfo uriInfo;
+
+    /**
+     * Constructs a new metrics filter
+     */
+    @Inject
+    public MetricsFilter(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry, "Metrics registry is required");
+        this.unmatched = new Endpoint(metricsRegistry, "", "unmatched");
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        final RequestStart requestStart = REQUEST_START.get();
+        requestStart.request = request;
+        requestStart.nanos = System.nanoTime();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        final Endpoint endpoint = endpoint();
+        final RequestStart requestStart = REQUEST_START.get();
+        if (requestStart.request == request) {  //Skip requests that this thread never saw arrive
+            endpoint.latency.record(System.nanoTime() - requestStart.nanos);
+            requestStart.request = null;
+        }
+        endpoint.responses(response.getStatus()).increment();
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        final long startNanos = System.nanoTime();
+        try {
+            context.proceed();
+        }
+        finally {
+            endpoint().serialization.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    private Endpoint endpoint() {
+        final ResourceMethod resourceMethod = uriInfo.getMatchedResourceMethod();
+        if (resourceMethod == null)
+            return unmatched;
+        final Endpoint endpoint = endpoints.get(resourceMethod);
+        if (endpoint != null)
+            return endpoint;
+        return endpoints.computeIfAbsent(resourceMethod,
+                key -> new Endpoint(metricsRegistry, key.getHttpMethod(), pathTemplate(key.getParent())));
+    }
+
+    private static String pathTemplate(Resource resource) {
+        if (resource == null)
+            return "";
+        final String path = resource.getPath() == null ? "" : resource.getPath();
+        final String parentPath = pathTemplate(resource.getParent());
+        if (path.isEmpty())
+            return parentPath;
+        return parentPath + (path.startsWith("/") ? path : "/" + path);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [nbrEndpoints=%d]", getClass().getSimpleName(), endpoints.size());
+    }
+
+    /**
+     * Arrival time of the request a worker thread is currently processing
+     */
+    private static final class RequestStart {
+
+        private ContainerRequestContext request;
+        private long nanos;
+    }
+
+    /**
+     * Metrics of a single endpoint
+     */
+    private static final class Endpoint {
+
+        private final MetricsRegistry metricsRegistry;
+        private final String method;
+        private final String path;
+        private final LatencyHistogram latency;
+        private final LatencyHistogram serialization;
+        private final AtomicReferenceArray<LongAdder> responses = new AtomicReferenceArray<>(MAX_STATUS_CODE + 1);
+
+        private Endpoint(MetricsRegistry metricsRegistry, String method, String path) {
+            this.metricsRegistry = metricsRegistry;
+            this.method = method;
+            this.path = path;
+            this.latency = metricsRegistry.histogram("http_request_duration_seconds",
+                    "Time from receiving a request until its response is ready to be written", "method", method, "path", path);
+            this.serialization = metricsRegistry.histogram("http_response_serialization_seconds",
+                    "Time spent writing response entities", "method", method, "path", path);
+        }
+
+        private LongAdder responses(int status) {
+            final int index = Math.clamp(status, 0, MAX_STATUS_CODE);
+            final LongAdder counter = responses.get(index);
+            if (counter != null)
+                return counter;
+            responses.compareAndSet(index, null, metricsRegistry.counter("http_responses_total",
+                    "Number of responses by status code", "method", method, "path", path, "status", Integer.toString(status)));
+            return responses.get(index);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package net.sattler22.transfer.api;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import net.jcip.annotations.Immutable;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+
+import java.util.Objects;
+
+/**
+ * Prometheus Metrics REST Resource
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+@Singleton
+@Path("/metrics")
+public final class MetricsResource {
+
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * Constructs a new metrics REST resource
+     */
+    @Inject
+    public MetricsResource(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry, "Metrics registry is required");
+    }
+
+    /**
+     * Fetch every metric in the Prometheus text exposition format
+     */
+    @GET
+    @Produces(MetricsRegistry.CONTENT_TYPE)
+    public String getMetrics() {
+        return metricsRegistry.scrape();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s]", getClass().getSimpleName(), metricsRegistry);
+    }
+}
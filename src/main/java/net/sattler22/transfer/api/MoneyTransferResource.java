@@ -2,29 +2,59 @@ package net.sattler22.transfer.api;
 
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
+import net.sattler22.transfer.domain.Account;
 import net.sattler22.transfer.domain.Customer;
 
+import java.util.List;
+
 /**
  * Money Transfer REST Resource Interface
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since September 2019
  */
 public sealed interface MoneyTransferResource permits MoneyTransferResourceImpl {
 
+    /**
+     * Newline delimited JSON media type, one JSON document per line
+     */
+    String APPLICATION_NDJSON = "application/x-ndjson";
+
+    /**
+     * Number of customers per page unless the client asks for a different limit
+     */
+    int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Largest number of customers per page
+     */
+    int MAX_PAGE_SIZE = 1_000;
+
+    /**
+     * Request header carrying a client generated key that makes a transfer safe to retry
+     */
+    String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /**
+     * Response header marking a transfer result that was stored by an earlier request with the same idempotency key
+     */
+    String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     /**
      * Fetch bank details
      */
@@ -34,22 +64,57 @@ public sealed interface MoneyTransferResource permits MoneyTransferResourceImpl
     Response getBank();
 
     /**
-     * Fetch all customers
+     * Fetch the total deposits of the bank, by account type and by customer, all consistent as of a single point in the
+     * commit sequence, while transfers keep running
+     */
+    @GET
+    @Path("/bank/report")
+    @Produces(MediaType.APPLICATION_JSON)
+    Response getBankReport();
+
+    /**
+     * Fetch running statistics of the bank, which are kept up to date as changes happen and cost the same to read however
+     * large the bank grows
+     */
+    @GET
+    @Path("/bank/stats")
+    @Produces(MediaType.APPLICATION_JSON)
+    Response getBankStats();
+
+    /**
+     * Fetch a page of customers, in customer identifier order
+     *
+     * @param uriInfo The URI information
+     * @param after The cursor, which is the identifier of the last customer of the previous page (omit for the first page)
+     * @param limit The maximum number of customers on the page
+     * @return The page, along with a {@code Link} header to the next page (rel="next") if there are more customers
      */
     @GET
     @Path("/customers")
     @Produces(MediaType.APPLICATION_JSON)
-    Response getAllCustomers();
+    Response getAllCustomers(@Context UriInfo uriInfo, @QueryParam("after") String after,
+                             @QueryParam("limit") @DefaultValue("" + DEFAULT_PAGE_SIZE) int limit);
+
+    /**
+     * Stream every customer as newline delimited JSON, in customer identifier order and in constant memory
+     *
+     * @implNote Only chosen when the client explicitly accepts {@value #APPLICATION_NDJSON}
+     */
+    @GET
+    @Path("/customers")
+    @Produces(APPLICATION_NDJSON + ";qs=0.5")
+    Response streamAllCustomers();
 
     /**
      * Fetch a single customer
      *
+     * @param request The HTTP request, whose {@code If-None-Match} header is checked against the customer's entity tag
      * @param id The customer identifier
      */
     @GET
     @Path("/customer/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    Response findCustomer(@PathParam("id") String id);
+    Response findCustomer(@Context Request request, @PathParam("id") String id);
 
     /**
      * Add a customer
@@ -74,23 +139,64 @@ public sealed interface MoneyTransferResource permits MoneyTransferResourceImpl
     /**
      * Fetch all accounts
      *
+     * @param request The HTTP request, whose {@code If-None-Match} header is checked against the account list's entity tag
      * @param customerId The customer identifier
+     * @param asOf An ISO-8601 instant to fetch the balances as of, or null for the current accounts. An instant
+     *             before an account's history begins (say, before the snapshot it was restored from) is gone.
      */
     @GET
     @Path("/accounts/{customerId}")
     @Produces(MediaType.APPLICATION_JSON)
-    Response getAllAccounts(@PathParam("customerId") String customerId);
+    Response getAllAccounts(@Context Request request, @PathParam("customerId") String customerId,
+                            @QueryParam("asOf") String asOf);
 
     /**
      * Fetch a single account
      *
+     * @param request The HTTP request, whose {@code If-None-Match} header is checked against the account's entity tag
      * @param customerId The customer identifier
      * @param number The account number
+     * @param asOf An ISO-8601 instant to fetch the balance as of, or null for the current account. An instant
+     *             before the account's history begins (say, before the snapshot it was restored from) is gone.
      */
     @GET
     @Path("/account/{customerId}/{number : \\d+}")
     @Produces(MediaType.APPLICATION_JSON)
-    Response findAccount(@PathParam("customerId") String customerId, @PathParam("number") int number);
+    Response findAccount(@Context Request request, @PathParam("customerId") String customerId, @PathParam("number") int number,
+                         @QueryParam("asOf") String asOf);
+
+    /**
+     * Fetch the history of postings to an account, oldest first, one page at a time
+     *
+     * @param uriInfo The URI information
+     * @param customerId The customer identifier
+     * @param number The account number
+     * @param after The version to start after (taken from the previous page's {@code next} link), or null to start with
+     *              the oldest posting
+     * @param from The earliest posting time to include as an ISO-8601 instant, or null for no lower bound
+     * @param to The posting time to stop at (exclusive) as an ISO-8601 instant, or null for no upper bound
+     * @param limit The maximum number of postings per page
+     */
+    @GET
+    @Path("/account/{customerId}/{number : \\d+}/history")
+    @Produces(MediaType.APPLICATION_JSON)
+    Response getAccountHistory(@Context UriInfo uriInfo, @PathParam("customerId") String customerId,
+                               @PathParam("number") int number, @QueryParam("after") Long after,
+                               @QueryParam("from") String from, @QueryParam("to") String to,
+                               @QueryParam("limit") @DefaultValue("" + DEFAULT_PAGE_SIZE) int limit);
+
+    /**
+     * Fetch a single account by its number alone
+     *
+     * @param request The HTTP request, whose {@code If-None-Match} header is checked against the account's entity tag
+     * @param number The account number
+     * @param asOf An ISO-8601 instant to fetch the balance as of, or null for the current account. An instant
+     *             before the account's history begins (say, before the snapshot it was restored from) is gone.
+     */
+    @GET
+    @Path("/account/{number : \\d+}")
+    @Produces(MediaType.APPLICATION_JSON)
+    Response findAccount(@Context Request request, @PathParam("number") int number, @QueryParam("asOf") String asOf);
 
     /**
      * Add an account
@@ -113,10 +219,33 @@ public sealed interface MoneyTransferResource permits MoneyTransferResourceImpl
     @Path("/account/{customerId}/{number : \\d+}")
     Response deleteAccount(@PathParam("customerId") String customerId, @PathParam("number") int number);
 
+    /**
+     * Restore an account exactly as another partition held it, keeping its number, balance and version
+     *
+     * @param customerId The customer identifier
+     * @param number The account number
+     * @param account The account, as fetched from the partition handing it over
+     */
+    @PUT
+    @Path("/account/{customerId}/{number : \\d+}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    Response restoreAccount(@PathParam("customerId") String customerId, @PathParam("number") int number, Account account);
+
+    /**
+     * Release an account handed over to another partition, whatever its balance
+     *
+     * @param customerId The customer identifier
+     * @param number The account number
+     */
+    @POST
+    @Path("/account/{customerId}/{number : \\d+}/release")
+    Response releaseAccount(@PathParam("customerId") String customerId, @PathParam("number") int number);
+
     /**
      * Account transfer
      *
-     * @param httpHeaders The HTTP headers
+     * @param httpHeaders The HTTP headers, including an optional {@value #IDEMPOTENCY_KEY}. A transfer retried with the same
+     *                    key is applied at most once, and the retry gets the result of the original transfer.
      * @param request The HTTP request
      * @param accountTransferDto The account transfer data transfer object
      */
@@ -125,4 +254,17 @@ public sealed interface MoneyTransferResource permits MoneyTransferResourceImpl
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     Response transfer(@Context HttpHeaders httpHeaders, @Context Request request, AccountTransferDto accountTransferDto);
+
+    /**
+     * Batch account transfer
+     *
+     * @param mode Either ATOMIC (all transfers or none) or INDEPENDENT (each transfer on its own)
+     * @param accountTransferDtos The account transfer data transfer objects, in the order they are to be applied
+     */
+    @POST
+    @Path("/account/transfers")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    Response transfer(@QueryParam("mode") @DefaultValue("INDEPENDENT") TransferBatchMode mode,
+                      List<AccountTransferDto> accountTransferDtos);
 }
@@ -12,25 +12,44 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
 import net.jcip.annotations.Immutable;
 import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountSnapshot;
+import net.sattler22.transfer.domain.AccountHistory.Posting;
+import net.sattler22.transfer.domain.AccountState;
 import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.BankReport;
 import net.sattler22.transfer.domain.Customer;
 import net.sattler22.transfer.service.TransferService;
+import net.sattler22.transfer.service.TransferService.TransferOutcome;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
 import net.sattler22.transfer.service.TransferService.TransferResult;
+import net.sattler22.transfer.util.LogSampler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Money Transfer REST Resource Implementation
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since September 2019
  */
 @Immutable
@@ -41,15 +60,22 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
     private static final Logger logger = LoggerFactory.getLogger(MoneyTransferResourceImpl.class);
     private static final String NO_CUSTOMERS_FOUND_ERROR_MESSAGE = "No customers found";
     private static final String RETRIEVED_LOG_MESSAGE_TEMPLATE = "Retrieved {}";
+    private static final int MAX_TRANSFER_BATCH_SIZE = 1_000;
+    private static final int UNPROCESSABLE_CONTENT = 422;
     private final CacheControl cacheControl;
     private final TransferService transferService;
+    private final CustomerJsonCache customerJsonCache;
+    private final IdempotencyCache idempotencyCache;
 
     /**
      * Constructs a new money transfer REST resource implementation
      */
     @Inject
-    public MoneyTransferResourceImpl(TransferService transferService) {
+    public MoneyTransferResourceImpl(TransferService transferService, CustomerJsonCache customerJsonCache,
+                                     IdempotencyCache idempotencyCache) {
         this.transferService = Objects.requireNonNull(transferService, "Transfer service implementation is required");
+        this.customerJsonCache = Objects.requireNonNull(customerJsonCache, "Customer JSON cache is required");
+        this.idempotencyCache = Objects.requireNonNull(idempotencyCache, "Idempotency cache is required");
         this.cacheControl = initCacheControl();
         logger.info("Initialized {}", this);
     }
@@ -63,7 +89,8 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
     @Override
     public Response getBank() {
         final Bank bank = transferService.getBank();
-        logger.info(RETRIEVED_LOG_MESSAGE_TEMPLATE, bank);
+        if (LogSampler.sample())
+            logger.info(RETRIEVED_LOG_MESSAGE_TEMPLATE, bank);
         return Response.ok()
                 .cacheControl(cacheControl)
                 .entity(bank)
@@ -71,28 +98,94 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
     }
 
     @Override
-    public Response getAllCustomers() {
-        final Set<Customer> customers = transferService.getCustomers();
-        if (customers.isEmpty()) {
+    public Response getBankReport() {
+        final BankReport bankReport = transferService.getBank().report();
+        if (LogSampler.sample())
+            logger.info("Computed report of [{}] accounts as of commit #{}", bankReport.nbrAccounts(), bankReport.sequence());
+        return Response.ok()
+                .cacheControl(cacheControl)
+                .entity(BankReportDto.of(bankReport))
+                .build();
+    }
+
+    @Override
+    public Response getBankStats() {
+        final BankStatsDto bankStatsDto = BankStatsDto.of(transferService.getBank().stats());
+        if (LogSampler.sample())
+            logger.info(RETRIEVED_LOG_MESSAGE_TEMPLATE, bankStatsDto);
+        return Response.ok()
+                .cacheControl(cacheControl)
+                .entity(bankStatsDto)
+                .build();
+    }
+
+    @Override
+    public Response getAllCustomers(UriInfo uriInfo, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new WebApplicationException(String.format("Limit must be between 1 and %d", MAX_PAGE_SIZE), Status.BAD_REQUEST);
+        final List<Customer> customers = transferService.getCustomers(after, limit + 1);  //One extra to detect a next page
+        if (customers.isEmpty() && after == null) {
             logger.warn(NO_CUSTOMERS_FOUND_ERROR_MESSAGE);
             throw new WebApplicationException(NO_CUSTOMERS_FOUND_ERROR_MESSAGE, Status.NOT_FOUND);
         }
-        logger.info("Retrieved [{}] {}", customers.size(), customers.size() == 1 ? "customer" : "customers");
-        return Response.ok()
+        final boolean hasNextPage = customers.size() > limit;
+        final List<Customer> page = hasNextPage ? customers.subList(0, limit) : customers;
+        if (LogSampler.sample())
+            logger.info("Retrieved [{}] {}", page.size(), page.size() == 1 ? "customer" : "customers");
+        final StreamingOutput streamingOutput = outputStream -> {
+            outputStream.write('[');
+            for (int index = 0; index < page.size(); index++) {
+                if (index > 0)
+                    outputStream.write(',');
+                customerJsonCache.writeTo(page.get(index), outputStream);
+            }
+            outputStream.write(']');
+        };
+        final Response.ResponseBuilder responseBuilder = Response.ok()
+                .cacheControl(cacheControl)
+                .entity(streamingOutput);
+        if (hasNextPage) {
+            final URI next = uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("after", page.getLast().id())
+                    .replaceQueryParam("limit", limit)
+                    .build();
+            responseBuilder.link(next, "next");
+        }
+        return responseBuilder.build();
+    }
+
+    @Override
+    public Response streamAllCustomers() {
+        final StreamingOutput streamingOutput = outputStream -> {
+            try {
+                transferService.forEachCustomer(customer -> {
+                    try {
+                        customerJsonCache.writeTo(customer, outputStream);
+                        outputStream.write('\n');
+                    }
+                    catch(IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            catch(UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        if (LogSampler.sample())
+            logger.info("Streaming all customers");
+        return Response.ok(streamingOutput, APPLICATION_NDJSON)
                 .cacheControl(cacheControl)
-                .entity(new GenericEntity<>(customers) {})
                 .build();
     }
 
     @Override
-    public Response findCustomer(String id) {
+    public Response findCustomer(Request request, String id) {
         try {
             final Customer customer = findCustomerImpl(id);
-            logger.info(RETRIEVED_LOG_MESSAGE_TEMPLATE, customer);
-            return Response.ok()
-                    .cacheControl(cacheControl)
-                    .entity(customer)
-                    .build();
+            if (LogSampler.sample())
+                logger.info(RETRIEVED_LOG_MESSAGE_TEMPLATE, customer);
+            return conditionalOk(request, EntityTags.of(customer), () -> customerJsonCache.json(customer));
         }
         catch(NotFoundException e) {
             throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
@@ -122,6 +215,7 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
         try {
             final Customer customer = findCustomerImpl(id);
             transferService.deleteCustomer(customer);
+            customerJsonCache.invalidate(customer);
             logger.info("Deleted {}", customer);
             return Response.noContent()
                     .cacheControl(cacheControl)
@@ -136,15 +230,35 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
     }
 
     @Override
-    public Response getAllAccounts(String customerId) {
+    public Response getAllAccounts(Request request, String customerId, String asOf) {
+        final long asOfMillis = parseInstant("As of", asOf, Long.MAX_VALUE);
         try {
             final Customer owner = findCustomerImpl(customerId);
             final Set<Account> accounts = owner.accounts();
-            logger.info("Retrieved [{}] {} for {}", accounts.size(), accounts.size() == 1 ? "account" : "accounts", owner);
-            return Response.ok()
-                    .cacheControl(cacheControl)
-                    .entity(new GenericEntity<>(accounts) {})
-                    .build();
+            if (asOf != null)
+                return accountsAsOf(accounts, asOfMillis);
+            if (LogSampler.sample())
+                logger.info("Retrieved [{}] {} for {}", accounts.size(), accounts.size() == 1 ? "account" : "accounts", owner);
+            final List<AccountSnapshot> snapshots = accounts.stream().map(Account::snapshot).toList();
+            return conditionalOk(request, EntityTags.of(snapshots), () -> new GenericEntity<>(snapshots) {});
+        }
+        catch(NotFoundException e) {
+            throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
+        }
+    }
+
+    @Override
+    public Response findAccount(Request request, String customerId, int number, String asOf) {
+        final long asOfMillis = parseInstant("As of", asOf, Long.MAX_VALUE);
+        try {
+            final Customer owner = findCustomerImpl(customerId);
+            final Account account = findAccountImpl(owner, number);
+            if (asOf != null)
+                return accountAsOf(account, asOfMillis);
+            if (LogSampler.sample())
+                logger.info(RETRIEVED_LOG_MESSAGE_TEMPLATE, account);
+            final AccountSnapshot snapshot = account.snapshot();
+            return conditionalOk(request, EntityTags.of(snapshot), () -> snapshot);
         }
         catch(NotFoundException e) {
             throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
@@ -152,15 +266,115 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
     }
 
     @Override
-    public Response findAccount(String customerId, int number) {
+    public Response getAccountHistory(UriInfo uriInfo, String customerId, int number, Long after, String from, String to,
+                                      int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new WebApplicationException(String.format("Limit must be between 1 and %d", MAX_PAGE_SIZE), Status.BAD_REQUEST);
+        final long fromMillis = parseInstant("From", from, Long.MIN_VALUE);
+        final long toMillis = parseInstant("To", to, Long.MAX_VALUE);
         try {
             final Customer owner = findCustomerImpl(customerId);
             final Account account = findAccountImpl(owner, number);
-            logger.info(RETRIEVED_LOG_MESSAGE_TEMPLATE, account);
-            return Response.ok()
+            final long afterVersion = (after == null) ? -1L : after;
+            final List<Posting> postings =
+                    account.history().postings(afterVersion, fromMillis, toMillis, limit + 1);  //One extra to detect a next page
+            final boolean hasNextPage = postings.size() > limit;
+            final List<PostingDto> page = new ArrayList<>(Math.min(postings.size(), limit));
+            for (int index = 0; index < postings.size() && index < limit; index++)
+                page.add(PostingDto.of(postings.get(index)));
+            if (LogSampler.sample())
+                logger.info("Retrieved [{}] {} for {}", page.size(), page.size() == 1 ? "posting" : "postings", account);
+            final Response.ResponseBuilder responseBuilder = Response.ok()
                     .cacheControl(cacheControl)
-                    .entity(account)
-                    .build();
+                    .entity(new GenericEntity<>(page) {});
+            if (hasNextPage) {
+                final URI next = uriInfo.getRequestUriBuilder()
+                        .replaceQueryParam("after", page.getLast().version())
+                        .replaceQueryParam("limit", limit)
+                        .build();
+                responseBuilder.link(next, "next");
+            }
+            return responseBuilder.build();
+        }
+        catch(NotFoundException e) {
+            throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Answer a point-in-time read of a single account
+     *
+     * @throws NotFoundException If the account had not been opened yet
+     */
+    private Response accountAsOf(Account account, long asOfMillis) throws NotFoundException {
+        final AccountState state = stateAsOf(account, asOfMillis)
+                .orElseThrow(() -> new NotFoundException(String.format("Account #[%d] was not open as of %s",
+                        account.number(), Instant.ofEpochMilli(asOfMillis))));
+        if (LogSampler.sample())
+            logger.info("Retrieved {} as of {}", account, Instant.ofEpochMilli(asOfMillis));
+        return Response.ok()
+                .cacheControl(cacheControl)
+                .entity(AccountBalanceDto.of(account, state, asOfMillis))
+                .build();
+    }
+
+    /**
+     * Answer a point-in-time read of a customer's accounts, leaving out those that had not been opened yet
+     *
+     * @throws WebApplicationException Gone if the history of any of them does not go back that far
+     */
+    private Response accountsAsOf(Set<Account> accounts, long asOfMillis) {
+        final List<AccountBalanceDto> accountBalanceDtos = new ArrayList<>(accounts.size());
+        for (final Account account : accounts)
+            stateAsOf(account, asOfMillis)
+                    .ifPresent(state -> accountBalanceDtos.add(AccountBalanceDto.of(account, state, asOfMillis)));
+        accountBalanceDtos.sort(Comparator.comparingInt(AccountBalanceDto::number));
+        if (LogSampler.sample())
+            logger.info("Retrieved [{}] account balances as of {}", accountBalanceDtos.size(), Instant.ofEpochMilli(asOfMillis));
+        return Response.ok()
+                .cacheControl(cacheControl)
+                .entity(new GenericEntity<>(accountBalanceDtos) {})
+                .build();
+    }
+
+    /**
+     * Get the state of an account as of a point in time, telling a time before its history (say, before the snapshot it
+     * was restored from) apart from one before it was opened
+     *
+     * @throws WebApplicationException Gone if the history of the account does not go back that far
+     */
+    private static Optional<AccountState> stateAsOf(Account account, long asOfMillis) {
+        try {
+            return account.history().stateAsOf(asOfMillis);
+        }
+        catch(IllegalStateException e) {
+            throw new WebApplicationException(String.format("Account #[%d]: %s", account.number(), e.getMessage()), Status.GONE);
+        }
+    }
+
+    private static long parseInstant(String name, String value, long defaultMillis) {
+        if (value == null)
+            return defaultMillis;
+        try {
+            return Instant.parse(value).toEpochMilli();
+        }
+        catch(DateTimeParseException | ArithmeticException e) {
+            throw new WebApplicationException(String.format("%s must be an ISO-8601 instant", name), Status.BAD_REQUEST);
+        }
+    }
+
+    @Override
+    public Response findAccount(Request request, int number, String asOf) {
+        final long asOfMillis = parseInstant("As of", asOf, Long.MAX_VALUE);
+        try {
+            final Account account = transferService.findAccount(number)
+                    .orElseThrow(() -> new NotFoundException(String.format("Account #[%d] not found", number)));
+            if (asOf != null)
+                return accountAsOf(account, asOfMillis);
+            if (LogSampler.sample())
+                logger.info(RETRIEVED_LOG_MESSAGE_TEMPLATE, account);
+            final AccountSnapshot snapshot = account.snapshot();
+            return conditionalOk(request, EntityTags.of(snapshot), () -> snapshot);
         }
         catch(NotFoundException e) {
             throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
@@ -171,7 +385,7 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
     public Response addAccount(UriInfo uriInfo, AccountDto accountDto) {
         try {
             final Customer owner = findCustomerImpl(accountDto.customerId());
-            final Account account = new Account(owner, accountDto.type(), accountDto.balance());
+            final Account account = new Account(owner, accountDto.type(), accountDto.balanceMinorUnits());
             if (!transferService.addAccount(account)) {
                 final String errorMessage = String.format("Unable to add account #[%d]", account.number());
                 logger.warn(errorMessage);
@@ -191,6 +405,9 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
         catch(NotFoundException e) {
             throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
         }
+        catch(IllegalArgumentException e) {
+            throw new WebApplicationException(e.getMessage(), e.getCause(), Status.CONFLICT);
+        }
     }
 
     @Override
@@ -213,49 +430,252 @@ public final class MoneyTransferResourceImpl implements MoneyTransferResource {
         }
     }
 
+    @Override
+    public Response restoreAccount(String customerId, int number, Account account) {
+        if (account == null || account.number() != number || !account.owner().id().equals(customerId))
+            throw new WebApplicationException(String.format("Account #[%d] of customer ID [%s] is required", number, customerId),
+                                              Status.BAD_REQUEST);
+        try {
+            final Customer owner = findCustomerImpl(customerId);
+            final Account restored = Account.restore(owner, number, account.type(), account.balanceMinorUnits(), account.version());
+            if (!transferService.addAccount(restored)) {
+                final String errorMessage = String.format("Account #[%d] already exists", number);
+                logger.warn(errorMessage);
+                throw new WebApplicationException(errorMessage, Status.CONFLICT);
+            }
+            logger.info("Restored {}", restored);
+            return Response.noContent()
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        catch(NotFoundException e) {
+            throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
+        }
+    }
+
+    @Override
+    public Response releaseAccount(String customerId, int number) {
+        try {
+            final Customer owner = findCustomerImpl(customerId);
+            final Account account = findAccountImpl(owner, number);
+            if (!transferService.releaseAccount(account))
+                throw new NotFoundException(String.format("Account #[%d] does not exist", number));
+            logger.info("Released {}", account);
+            return Response.noContent()
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        catch(NotFoundException e) {
+            throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
+        }
+    }
+
     @Override
     public Response transfer(HttpHeaders httpHeaders, Request request, AccountTransferDto accountTransferDto) {
+        final String idempotencyKey = httpHeaders.getHeaderString(IDEMPOTENCY_KEY);
+        if (idempotencyKey == null)
+            return transferImpl(httpHeaders, request, accountTransferDto, null);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyCache.MAX_KEY_LENGTH)
+            throw new WebApplicationException(String.format("%s must be between 1 and %d characters",
+                    IDEMPOTENCY_KEY, IdempotencyCache.MAX_KEY_LENGTH), Status.BAD_REQUEST);
+        final IdempotencyCache.Claim claim;
+        try {
+            claim = idempotencyCache.claim(idempotencyKey, accountTransferDto);
+        }
+        catch(IllegalArgumentException e) {
+            logger.warn(e.getMessage());
+            throw new WebApplicationException(e.getMessage(), UNPROCESSABLE_CONTENT);
+        }
+        if (!claim.owner()) {
+            try {
+                return transferResponse(claim.await(), true);
+            }
+            catch(WebApplicationException e) {
+                throw new WebApplicationException(e.getMessage(), e.getResponse().getStatus());
+            }
+        }
         try {
-            final Customer owner = findCustomerImpl(accountTransferDto.customerId());
-            final Account sourceAccount = findAccountImpl(owner, accountTransferDto.sourceNumber());
-            final Account targetAccount = findAccountImpl(owner, accountTransferDto.targetNumber());
+            return transferImpl(httpHeaders, request, accountTransferDto, claim);
+        }
+        catch(RuntimeException e) {
+            claim.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Apply a single transfer, answering a missing customer or account, an outdated transfer version or a rejected transfer
+     * with its error response rather than an exception
+     *
+     * @param claim The idempotency key claim to settle, or null if the transfer has no idempotency key
+     */
+    private Response transferImpl(HttpHeaders httpHeaders, Request request, AccountTransferDto accountTransferDto,
+                                  IdempotencyCache.Claim claim) {
+        final Customer owner = transferService.lookupCustomer(accountTransferDto.customerId());
+        if (owner == null)
+            return transferFailed(claim, Status.NOT_FOUND, () -> customerNotFound(accountTransferDto.customerId()));
+        final Account sourceAccount = lookupAccountImpl(owner, accountTransferDto.sourceNumber());
+        if (sourceAccount == null)
+            return transferFailed(claim, Status.NOT_FOUND, () -> accountNotFound(owner, accountTransferDto.sourceNumber()));
+        final Account targetAccount = lookupAccountImpl(owner, accountTransferDto.targetNumber());
+        if (targetAccount == null)
+            return transferFailed(claim, Status.NOT_FOUND, () -> accountNotFound(owner, accountTransferDto.targetNumber()));
+        //The transfer version only matters to a conditional transfer, so an unconditional one never builds it:
+        EntityTag entityTag = null;
+        if (httpHeaders.getHeaderString(HttpHeaders.IF_MATCH) != null ||
+                httpHeaders.getHeaderString(HttpHeaders.IF_NONE_MATCH) != null) {
             final String serverTransferVersion = AccountTransferDto.createVersion(sourceAccount, targetAccount);
-            final EntityTag entityTag = new EntityTag(serverTransferVersion);
+            entityTag = new EntityTag(serverTransferVersion);
             final Response.ResponseBuilder responseBuilder = request.evaluatePreconditions(entityTag);
             if (responseBuilder != null) {
                 final String clientTransferVersion = httpHeaders.getHeaderString(HttpHeaders.IF_MATCH);
                 logger.warn("Client transfer version [{}] is older than server transfer version [{}]",
                         clientTransferVersion == null ? "UNKNOWN" : clientTransferVersion.replace("\"", ""), serverTransferVersion);
-                return responseBuilder.build();
+                return transferFailed(claim, responseBuilder.build(), () -> "Transfer version is out of date");
             }
-            final TransferResult transferResult =
-                    transferService.transfer(owner, sourceAccount, targetAccount, accountTransferDto.amount());
-            return Response.ok()
-                    .cacheControl(cacheControl)
-                    .tag(entityTag)
-                    .entity(transferResult)
-                    .build();
         }
-        catch(NotFoundException e) {
-            throw new WebApplicationException(e.getMessage(), e.getCause(), Status.NOT_FOUND);
+        final TransferResult transferResult;
+        try {
+            transferResult = transferService.transfer(owner, sourceAccount, targetAccount, accountTransferDto.amountMinorUnits());
         }
-        catch(IllegalArgumentException e) {
+        catch(IllegalArgumentException | ConcurrentModificationException e) {
+            return transferFailed(claim, Status.CONFLICT, e::getMessage);
+        }
+        final IdempotencyCache.Outcome outcome = new IdempotencyCache.Outcome(transferResult, entityTag);
+        if (claim != null)
+            claim.complete(outcome);
+        return transferResponse(outcome, false);
+    }
+
+    private static Response transferFailed(IdempotencyCache.Claim claim, Status status, Supplier<String> message) {
+        return transferFailed(claim, Response.status(status).build(), message);
+    }
+
+    /**
+     * Release the idempotency key of a failed transfer, handing its failure to any waiting duplicates. The message is only
+     * built for them.
+     */
+    private static Response transferFailed(IdempotencyCache.Claim claim, Response response, Supplier<String> message) {
+        if (claim != null)
+            claim.fail(new WebApplicationException(message.get(), response));
+        return response;
+    }
+
+    private Response transferResponse(IdempotencyCache.Outcome outcome, boolean replayed) {
+        final Response.ResponseBuilder responseBuilder = Response.ok()
+                .cacheControl(cacheControl)
+                .entity(outcome.transferResult());
+        if (outcome.entityTag() != null)
+            responseBuilder.tag(outcome.entityTag());
+        if (replayed)
+            responseBuilder.header(IDEMPOTENT_REPLAYED, Boolean.TRUE.toString());
+        return responseBuilder.build();
+    }
+
+    @Override
+    public Response transfer(TransferBatchMode mode, List<AccountTransferDto> accountTransferDtos) {
+        if (accountTransferDtos == null || accountTransferDtos.isEmpty())
+            throw new WebApplicationException("At least one transfer is required", Status.BAD_REQUEST);
+        if (accountTransferDtos.size() > MAX_TRANSFER_BATCH_SIZE)
+            throw new WebApplicationException(
+                    String.format("A batch cannot contain more than %d transfers", MAX_TRANSFER_BATCH_SIZE), Status.BAD_REQUEST);
+        final boolean atomic = (mode == TransferBatchMode.ATOMIC);
+        final TransferOutcomeDto[] transferOutcomeDtos = new TransferOutcomeDto[accountTransferDtos.size()];
+        final List<TransferRequest> requests = new ArrayList<>(accountTransferDtos.size());
+        final List<Integer> requestIndexes = new ArrayList<>(accountTransferDtos.size());
+        for (int index = 0; index < accountTransferDtos.size(); index++) {
+            final AccountTransferDto accountTransferDto = accountTransferDtos.get(index);
+            try {
+                if (accountTransferDto == null)
+                    throw new IllegalArgumentException("Transfer is required");
+                final Customer owner = findCustomerImpl(accountTransferDto.customerId());
+                final Account sourceAccount = findAccountImpl(owner, accountTransferDto.sourceNumber());
+                final Account targetAccount = findAccountImpl(owner, accountTransferDto.targetNumber());
+                requests.add(new TransferRequest(owner, sourceAccount, targetAccount, accountTransferDto.amountMinorUnits()));
+                requestIndexes.add(index);
+            }
+            catch(NotFoundException e) {
+                if (atomic)
+                    throw new WebApplicationException(String.format("Transfer #%d: %s", index + 1, e.getMessage()), Status.NOT_FOUND);
+                transferOutcomeDtos[index] = TransferOutcomeDto.failed(index, Status.NOT_FOUND, e.getMessage());
+            }
+            catch(IllegalArgumentException e) {
+                if (atomic)
+                    throw new WebApplicationException(String.format("Transfer #%d: %s", index + 1, e.getMessage()), Status.CONFLICT);
+                transferOutcomeDtos[index] = TransferOutcomeDto.failed(index, Status.CONFLICT, e.getMessage());
+            }
+        }
+        try {
+            final List<TransferOutcome> transferOutcomes = transferService.transfer(requests, atomic);
+            for (int requestIndex = 0; requestIndex < transferOutcomes.size(); requestIndex++) {
+                final int index = requestIndexes.get(requestIndex);
+                final TransferOutcome transferOutcome = transferOutcomes.get(requestIndex);
+                transferOutcomeDtos[index] = transferOutcome.succeeded()
+                        ? TransferOutcomeDto.succeeded(index, transferOutcome.result())
+                        : TransferOutcomeDto.failed(index, Status.CONFLICT, transferOutcome.failure().getMessage());
+            }
+        }
+        catch(IllegalArgumentException | ConcurrentModificationException e) {
             throw new WebApplicationException(e.getMessage(), e.getCause(), Status.CONFLICT);
         }
+        if (LogSampler.sample())
+            logger.info("Applied {} batch of [{}] transfers", mode, accountTransferDtos.size());
+        return Response.ok()
+                .cacheControl(cacheControl)
+                .entity(new GenericEntity<>(Arrays.asList(transferOutcomeDtos)) {})
+                .build();
+    }
+
+    /**
+     * Answer a read with 304 (Not Modified) if the client already holds the current representation, before anything is
+     * serialized. Otherwise, build the entity and send it along with its entity tag.
+     */
+    private Response conditionalOk(Request request, EntityTag entityTag, Supplier<?> entity) {
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null)
+            return notModified.cacheControl(cacheControl).tag(entityTag).build();
+        return Response.ok()
+                .cacheControl(cacheControl)
+                .tag(entityTag)
+                .entity(entity.get())
+                .build();
     }
 
     private Customer findCustomerImpl(String id) throws NotFoundException {
-        return transferService.findCustomer(id)
-                .orElseThrow(() -> new NotFoundException(String.format("Customer ID [%s] not found", id)));
+        final Customer customer = transferService.lookupCustomer(id);
+        if (customer == null)
+            throw new NotFoundException(customerNotFound(id));
+        return customer;
+    }
+
+    private Account findAccountImpl(Customer owner, int number) throws NotFoundException {
+        final Account account = lookupAccountImpl(owner, number);
+        if (account == null)
+            throw new NotFoundException(accountNotFound(owner, number));
+        return account;
+    }
+
+    /**
+     * Look up an account of a specific owner
+     *
+     * @return The account, or null if there is none or it belongs to someone else
+     */
+    private Account lookupAccountImpl(Customer owner, int number) {
+        final Account account = transferService.lookupAccount(number);
+        return (account != null && account.owner().equals(owner)) ? account : null;
+    }
+
+    private static String customerNotFound(String id) {
+        return String.format("Customer ID [%s] not found", id);
     }
 
-    private static Account findAccountImpl(Customer owner, int number) throws NotFoundException {
-        return Account.find(owner, number)
-                .orElseThrow(() -> new NotFoundException(String.format("Customer ID [%s], account #[%d] not found", owner, number)));
+    private static String accountNotFound(Customer owner, int number) {
+        return String.format("Customer ID [%s], account #[%d] not found", owner.id(), number);
     }
 
     @Override
     public String toString() {
-        return String.format("%s [cacheControl=[%s], transferService=%s]", getClass().getSimpleName(), cacheControl, transferService);
+        return String.format("%s [cacheControl=[%s], transferService=%s, customerJsonCache=%s, idempotencyCache=%s]",
+                getClass().getSimpleName(), cacheControl, transferService, customerJsonCache, idempotencyCache);
     }
 }
@@ -0,0 +1,35 @@
+package net.sattler22.transfer.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountHistory;
+import net.sattler22.transfer.domain.AccountHistory.Posting;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Account Posting Data Transfer Object (DTO)
+ *
+ * @param timestamp When it was posted, as an ISO-8601 instant
+ * @param counterparty The other account of the transfer (only for a single transfer between two accounts)
+ * @param amount The amount, negative for a debit
+ * @param balance The resulting balance
+ * @param version The resulting account version
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PostingDto(String timestamp, Integer counterparty, BigDecimal amount, BigDecimal balance, long version) {
+
+    /**
+     * Create the DTO of a posting
+     */
+    public static PostingDto of(Posting posting) {
+        return new PostingDto(Instant.ofEpochMilli(posting.timestampMillis()).toString(),
+                posting.counterparty() == AccountHistory.NO_COUNTERPARTY ? null : posting.counterparty(),
+                Account.CURRENCY.toBigDecimal(posting.amount()), Account.CURRENCY.toBigDecimal(posting.balance()),
+                posting.version());
+    }
+}
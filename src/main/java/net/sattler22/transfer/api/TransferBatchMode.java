@@ -0,0 +1,32 @@
+package net.sattler22.transfer.api;
+
+import java.util.Locale;
+
+/**
+ * Batch Transfer Mode
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public enum TransferBatchMode {
+
+    /**
+     * Either every transfer in the batch is applied or none are
+     */
+    ATOMIC,
+
+    /**
+     * Each transfer in the batch succeeds or fails on its own
+     */
+    INDEPENDENT;
+
+    /**
+     * Parse a batch transfer mode regardless of case
+     *
+     * @throws IllegalArgumentException If the mode is unknown
+     */
+    public static TransferBatchMode fromString(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,43 @@
+package net.sattler22.transfer.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.ws.rs.core.Response.Status;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+
+import java.math.BigDecimal;
+
+/**
+ * Batch Transfer Outcome Data Transfer Object (DTO)
+ *
+ * @implNote Only carries the account numbers, balances and versions the transfer posted rather than the full accounts, to
+ *           keep the response for a large batch compact
+ * @param index The position of the transfer within the batch (starting at zero)
+ * @param status The HTTP status code the transfer would have had on its own
+ * @param error The reason the transfer failed (only when it did)
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransferOutcomeDto(int index, int status, Integer sourceNumber, BigDecimal sourceBalance, Long sourceVersion,
+                                 Integer targetNumber, BigDecimal targetBalance, Long targetVersion, String error) {
+
+    /**
+     * Create the outcome of a transfer that was applied
+     */
+    public static TransferOutcomeDto succeeded(int index, TransferResult transferResult) {
+        return new TransferOutcomeDto(index, Status.OK.getStatusCode(),
+                transferResult.source().number(), Account.CURRENCY.toBigDecimal(transferResult.sourceState().balance()),
+                transferResult.sourceState().version(),
+                transferResult.target().number(), Account.CURRENCY.toBigDecimal(transferResult.targetState().balance()),
+                transferResult.targetState().version(), null);
+    }
+
+    /**
+     * Create the outcome of a transfer that failed
+     */
+    public static TransferOutcomeDto failed(int index, Status status, String error) {
+        return new TransferOutcomeDto(index, status.getStatusCode(), null, null, null, null, null, null, error);
+    }
+}
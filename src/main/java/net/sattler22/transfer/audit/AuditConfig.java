@@ -0,0 +1,26 @@
+package net.sattler22.transfer.audit;
+
+import net.jcip.annotations.Immutable;
+
+import java.nio.file.Path;
+
+/**
+ * Audit Log Configuration
+ *
+ * @param file The audit file, or null to write the audit trail through the application log
+ * @param bufferCapacity The number of audit records the buffer holds (must be a power of two)
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+public record AuditConfig(Path file, int bufferCapacity) {
+
+    /**
+     * Constructs a new audit log configuration
+     */
+    public AuditConfig {
+        if (bufferCapacity <= 0 || Integer.bitCount(bufferCapacity) != 1)
+            throw new IllegalArgumentException("Audit buffer capacity must be a power of two");
+    }
+}
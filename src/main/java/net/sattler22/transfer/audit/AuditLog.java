@@ -0,0 +1,247 @@
+package net.sattler22.transfer.audit;
+
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous Audit Log
+ *
+ * @implNote Publishers copy each audit record into a preallocated ring buffer of fixed size binary slots, so nothing is
+ *           allocated or formatted on the transfer path. A slot is claimed with a single atomic increment and handed
+ *           over by publishing its sequence number, so publishers never lock. A single writer thread drains the
+ *           buffer in order, formats each record and appends it to the audit file (or the audit logger). If the writer
+ *           falls a whole buffer behind, publishers wait for room rather than dropping audit records.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class AuditLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+    private static final Logger auditLogger = LoggerFactory.getLogger("net.sattler22.transfer.audit");
+    private static final AuditLog DISABLED = new AuditLog();
+    private static final int RECORD_SIZE = 8;  //Longs per record, one cache line
+    private static final int TYPE = 0;
+    private static final int TIMESTAMP = 1;
+    private static final int ACCOUNT_NUMBERS = 2;
+    private static final int AMOUNT = 3;
+    private static final int SOURCE_BALANCE = 4;
+    private static final int SOURCE_VERSION = 5;
+    private static final int TARGET_BALANCE = 6;
+    private static final int TARGET_VERSION = 7;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private final AuditConfig auditConfig;
+    private final long[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final BufferedWriter output;
+    private final Thread writer;
+    private volatile boolean running;
+
+    //Only accessed by the writer thread once started:
+    private final StringBuilder line = new StringBuilder(160);
+
+    /**
+     * Opens an audit log and starts its writer
+     *
+     * @throws IOException If unable to open the audit file
+     */
+    public AuditLog(AuditConfig auditConfig) throws IOException {
+        this.auditConfig = Objects.requireNonNull(auditConfig, "Audit configuration is required");
+        final int capacity = auditConfig.bufferCapacity();
+        this.slots = new long[capacity * RECORD_SIZE];
+        this.published = new AtomicLongArray(capacity);
+        for (int index = 0; index < capacity; index++)
+            published.set(index, -1L);
+        this.mask = capacity - 1;
+        final Path file = auditConfig.file();
+        if (file != null) {
+            if (file.toAbsolutePath().getParent() != null)
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            this.output = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                                                  StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        }
+        else
+            this.output = null;
+        this.running = true;
+        this.writer = Thread.ofPlatform()
+                .name("audit-writer")
+                .daemon()
+                .unstarted(this::drain);
+        writer.start();
+        logger.info("Opened {}", this);
+    }
+
+    private AuditLog() {
+        this.auditConfig = null;
+        this.slots = null;
+        this.published = null;
+        this.mask = 0;
+        this.output = null;
+        this.writer = null;
+        this.running = false;
+    }
+
+    /**
+     * Get an audit log that discards everything
+     */
+    public static AuditLog disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Publish a completed transfer
+     *
+     * @param type The audit event type
+     * @param source The source account
+     * @param sourceState The source account state the transfer posted
+     * @param target The target account
+     * @param targetState The target account state the transfer posted
+     * @param amount The transfer amount in minor units of the account currency
+     */
+    public void transfer(EventType type, Account source, AccountState sourceState, Account target, AccountState targetState,
+                         long amount) {
+        if (!running)
+            return;
+        final long sequence = claimed.getAndIncrement();
+        final long wrapPoint = sequence - published.length();
+        int nbrSpins = 0;
+        while (consumed.getAcquire() <= wrapPoint) {  //Back pressure when the writer is a whole buffer behind
+            if (!writer.isAlive())
+                return;  //Closed while waiting
+            if (++nbrSpins < 100)
+                Thread.onSpinWait();
+            else
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        final int offset = (int) (sequence & mask) * RECORD_SIZE;
+        slots[offset + TYPE] = type.ordinal();
+        slots[offset + TIMESTAMP] = System.currentTimeMillis();
+        slots[offset + ACCOUNT_NUMBERS] = ((long) source.number() << Integer.SIZE) | (target.number() & 0xFFFFFFFFL);
+        slots[offset + AMOUNT] = amount;
+        slots[offset + SOURCE_BALANCE] = sourceState.balance();
+        slots[offset + SOURCE_VERSION] = sourceState.version();
+        slots[offset + TARGET_BALANCE] = targetState.balance();
+        slots[offset + TARGET_VERSION] = targetState.version();
+        published.setRelease((int) (sequence & mask), sequence);
+    }
+
+    private void drain() {
+        long next = 0L;
+        while (true) {
+            final boolean stopping = !running;
+            final long start = next;
+            while (published.getAcquire((int) (next & mask)) == next) {
+                write((int) (next & mask) * RECORD_SIZE);
+                next++;
+                if (next - start == published.length())
+                    break;
+            }
+            if (next != start) {
+                consumed.setRelease(next);
+                continue;
+            }
+            flush();
+            if (stopping && next == claimed.get())
+                return;
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void write(int offset) {
+        final long accountNumbers = slots[offset + ACCOUNT_NUMBERS];
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(slots[offset + TIMESTAMP]))
+                .append(' ').append(EventType.values()[(int) slots[offset + TYPE]])
+                .append(" amount=").append(Account.CURRENCY.toBigDecimal(slots[offset + AMOUNT]))
+                .append(" source=#").append((int) (accountNumbers >>> Integer.SIZE))
+                .append(" balance=").append(Account.CURRENCY.toBigDecimal(slots[offset + SOURCE_BALANCE]))
+                .append(" version=").append(slots[offset + SOURCE_VERSION])
+                .append(" target=#").append((int) accountNumbers)
+                .append(" balance=").append(Account.CURRENCY.toBigDecimal(slots[offset + TARGET_BALANCE]))
+                .append(" version=").append(slots[offset + TARGET_VERSION]);
+        if (output == null) {
+            auditLogger.info("{}", line);
+            return;
+        }
+        try {
+            output.append(line).append(System.lineSeparator());
+        }
+        catch(IOException e) {
+            logger.error("Unable to write audit record: {}", line, e);
+        }
+    }
+
+    private void flush() {
+        if (output == null)
+            return;
+        try {
+            output.flush();
+        }
+        catch(IOException e) {
+            logger.error("Unable to flush the audit log", e);
+        }
+    }
+
+    /**
+     * Stop accepting audit records, write out the ones already published and close the audit file
+     */
+    @Override
+    public void close() {
+        if (writer == null || !running)
+            return;
+        this.running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (output != null) {
+            try {
+                output.close();
+            }
+            catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        logger.info("Closed {}", this);
+    }
+
+    @Override
+    public String toString() {
+        if (auditConfig == null)
+            return String.format("%s [disabled]", getClass().getSimpleName());
+        return String.format("%s [file=%s, bufferCapacity=%d]", getClass().getSimpleName(),
+                (auditConfig.file() != null) ? auditConfig.file() : "<application log>", auditConfig.bufferCapacity());
+    }
+
+    /**
+     * Audit event type
+     */
+    public enum EventType {
+        TRANSFER,
+        BATCH_TRANSFER
+    }
+}
@@ -1,6 +1,5 @@
 package net.sattler22.transfer.bootstrap;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.ws.rs.NotFoundException;
 import net.jcip.annotations.Immutable;
 import net.sattler22.transfer.api.AccountDto;
@@ -10,48 +9,53 @@ import net.sattler22.transfer.service.TransferService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Bootstrap Account Data Loader
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since August 2019
  */
 @Immutable
-final class AccountDataLoader extends BaseDataLoader {
+final class AccountDataLoader extends BaseDataLoader<AccountDto, Account> {
 
     private static final Logger logger = LoggerFactory.getLogger(AccountDataLoader.class);
     private final TransferService transferService;
+    private final Predicate<String> customerFilter;
 
     /**
      * Constructs a new account data loader
+     *
+     * @param customerFilter Tells which customer identifiers to load accounts for, such as those owned by this partition
      */
-    AccountDataLoader(TransferService transferService, String resourceName) {
-        super(resourceName);
+    AccountDataLoader(TransferService transferService, String source, int nbrWorkers, int batchSize,
+                      Predicate<String> customerFilter) {
+        super(source, AccountDto.class, nbrWorkers, batchSize);
         this.transferService = transferService;
+        this.customerFilter = Objects.requireNonNull(customerFilter, "Customer filter is required");
     }
 
     @Override
-    int load() throws IOException {
-        final File inputFile = new File(resource.getFile());
-        final List<AccountDto> accountDtos = objectMapper.readValue(inputFile, new TypeReference<>() {});
-        for (final AccountDto accountDto : accountDtos) {
-            final Customer owner =
-                    transferService.findCustomer(accountDto.customerId())
-                            .orElseThrow(() -> new NotFoundException(String.format("Customer ID [%s] not found", accountDto.customerId())));
-            final Account account = new Account(owner, accountDto.type(), accountDto.balance());
-            owner.addAccount(account);
-            logger.info("Added {}", account);
-        }
-        return accountDtos.size();
+    Account prepare(AccountDto accountDto) {
+        if (!customerFilter.test(accountDto.customerId()))
+            return null;
+        final Customer owner =
+                transferService.findCustomer(accountDto.customerId())
+                        .orElseThrow(() -> new NotFoundException(String.format("Customer ID [%s] not found", accountDto.customerId())));
+        return new Account(owner, accountDto.type(), accountDto.balanceMinorUnits());  //Numbered in source order
+    }
+
+    @Override
+    void insert(Account account) {
+        transferService.addAccount(account);
+        logger.debug("Added {}", account);
     }
 
     @Override
     public String toString() {
-        return String.format("%s [resource=%s, transferService=%s]", getClass().getSimpleName(), resource, transferService);
+        return String.format("%s [source=%s, transferService=%s]", getClass().getSimpleName(), source, transferService);
     }
 }
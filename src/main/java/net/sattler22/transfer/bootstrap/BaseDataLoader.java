@@ -1,27 +1,68 @@
 package net.sattler22.transfer.bootstrap;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Bootstrap Base Data Loader
  *
  * @implSpec All subclasses are required to be thread-safe
+ * @implNote The source is a JSON array, which is parsed one element at a time and handed to a pool of workers in batches,
+ *           so only a bounded number of batches are ever held in memory. Each element is prepared on the reader thread,
+ *           in source order, so anything it is assigned (such as an account number) never depends on how the workers
+ *           are scheduled; only the inserts run in parallel. The source is either a file system path or a
+ *           class path resource, and is decompressed on the fly if its name ends with {@code .gz}.
  * @author Pete Sattler
- * @version August 2019
+ * @version October 2026
  */
-abstract sealed class BaseDataLoader permits AccountDataLoader, CustomerDataLoader {
+abstract sealed class BaseDataLoader<T, E> permits AccountDataLoader, CustomerDataLoader {
 
-    protected final URL resource;
+    private static final Logger logger = LoggerFactory.getLogger(BaseDataLoader.class);
+    private static final long PROGRESS_INTERVAL = 100_000L;
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+    protected final String source;
     protected final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final int nbrWorkers;
+    private final int batchSize;
 
     /**
      * Constructs a new base data loader
+     *
+     * @param source A file system path or class path resource name
+     * @param type The type of each element of the JSON array
+     * @param nbrWorkers The number of worker threads inserting the data
+     * @param batchSize The number of elements handed to a worker at a time
      */
-    protected BaseDataLoader(String resourceName) {
-        this.resource = getClass().getClassLoader().getResource(resourceName);
+    protected BaseDataLoader(String source, Class<T> type, int nbrWorkers, int batchSize) {
+        this.source = Objects.requireNonNull(source, "Data source is required");
+        this.type = Objects.requireNonNull(type, "Data type is required");
+        if (nbrWorkers <= 0)
+            throw new IllegalArgumentException("Number of workers must be greater than zero");
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be greater than zero");
+        this.nbrWorkers = nbrWorkers;
+        this.batchSize = batchSize;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -31,5 +72,102 @@ abstract sealed class BaseDataLoader permits AccountDataLoader, CustomerDataLoad
      * @return The number of rows loaded
      * @throws IOException If unable to load the data
      */
-    abstract int load() throws IOException;
+    final int load() throws IOException {
+        final long startNanos = System.nanoTime();
+        final AtomicLong nbrLoaded = new AtomicLong();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final Semaphore batchesInFlight = new Semaphore(nbrWorkers * 2);  //Back pressure keeps the heap flat
+        try (final InputStream inputStream = open();
+             final JsonParser parser = objectMapper.createParser(inputStream);
+             final ExecutorService workers = Executors.newFixedThreadPool(nbrWorkers,
+                     Thread.ofPlatform().name(getClass().getSimpleName() + "-", 1).daemon().factory())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+                throw new IOException(String.format("[%s] does not contain a JSON array", source));
+            List<E> batch = new ArrayList<>(batchSize);
+            while (failure.get() == null && parser.nextToken() == JsonToken.START_OBJECT) {
+                final E entity = prepare(objectMapper.readValue(parser, type));
+                if (entity == null)
+                    continue;
+                batch.add(entity);
+                if (batch.size() == batchSize) {
+                    submit(workers, batchesInFlight, batch, nbrLoaded, failure, startNanos);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty())
+                submit(workers, batchesInFlight, batch, nbrLoaded, failure, startNanos);
+        }
+        if (failure.get() != null)
+            throw failure.get();
+        final long loaded = nbrLoaded.get();
+        logger.info("Loaded [{}] records from [{}] in {} ms ({} records/sec)", loaded, source,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), recordsPerSec(loaded, startNanos));
+        return Math.toIntExact(loaded);
+    }
+
+    /**
+     * Prepare a single element for insertion (called from the reader thread in source order)
+     *
+     * @return The entity to insert, or null if the element is skipped
+     */
+    abstract E prepare(T element);
+
+    /**
+     * Insert a single prepared entity (called concurrently from the worker threads)
+     */
+    abstract void insert(E entity);
+
+    private void submit(ExecutorService workers, Semaphore batchesInFlight, List<E> batch, AtomicLong nbrLoaded,
+                        AtomicReference<RuntimeException> failure, long startNanos) throws IOException {
+        try {
+            batchesInFlight.acquire();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + source, e);
+        }
+        workers.execute(() -> {
+            try {
+                int nbrInserted = 0;
+                for (final E entity : batch) {
+                    if (failure.get() != null)
+                        return;
+                    insert(entity);
+                    nbrInserted++;
+                }
+                final long loaded = nbrLoaded.addAndGet(nbrInserted);
+                if (loaded / PROGRESS_INTERVAL != (loaded - nbrInserted) / PROGRESS_INTERVAL)
+                    logger.info("Loaded [{}] records from [{}] so far ({} records/sec)", loaded, source,
+                            recordsPerSec(loaded, startNanos));
+            }
+            catch(RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+            finally {
+                batchesInFlight.release();
+            }
+        });
+    }
+
+    private InputStream open() throws IOException {
+        InputStream inputStream = null;
+        try {
+            final Path path = Path.of(source);
+            if (Files.isRegularFile(path))
+                inputStream = Files.newInputStream(path);
+        }
+        catch(InvalidPathException e) {
+            //Not a file system path, so try the class path
+        }
+        if (inputStream == null)
+            inputStream = getClass().getClassLoader().getResourceAsStream(source);
+        if (inputStream == null)
+            throw new FileNotFoundException(String.format("Data source [%s] not found", source));
+        return source.endsWith(".gz") ? new GZIPInputStream(inputStream, GZIP_BUFFER_SIZE) : inputStream;
+    }
+
+    private static long recordsPerSec(long nbrRecords, long startNanos) {
+        final long elapsedNanos = Math.max(1L, System.nanoTime() - startNanos);
+        return nbrRecords * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
 }
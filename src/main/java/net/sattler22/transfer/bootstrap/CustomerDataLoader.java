@@ -1,50 +1,53 @@
 package net.sattler22.transfer.bootstrap;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import net.jcip.annotations.Immutable;
-import net.sattler22.transfer.domain.Bank;
 import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Bootstrap Customer Data Loader
  *
  * @author Pete Sattler
- * @version November 2025
- * @version August 2019
+ * @version October 2026
+ * @since August 2019
  */
 @Immutable
-final class CustomerDataLoader extends BaseDataLoader {
+final class CustomerDataLoader extends BaseDataLoader<Customer, Customer> {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerDataLoader.class);
-    private final Bank bank;
+    private final TransferService transferService;
+    private final Predicate<String> customerFilter;
 
     /**
      * Constructs a new customer data loader
+     *
+     * @param customerFilter Tells which customer identifiers to load, such as those owned by this partition
      */
-    CustomerDataLoader(Bank bank, String resourceName) {
-        super(resourceName);
-        this.bank = bank;
+    CustomerDataLoader(TransferService transferService, String source, int nbrWorkers, int batchSize,
+                       Predicate<String> customerFilter) {
+        super(source, Customer.class, nbrWorkers, batchSize);
+        this.transferService = transferService;
+        this.customerFilter = Objects.requireNonNull(customerFilter, "Customer filter is required");
     }
 
     @Override
-    int load() throws IOException {
-        final File inputFile = new File(resource.getFile());
-        final List<Customer> customers = objectMapper.readValue(inputFile, new TypeReference<>() {});
-        for (final Customer customer : customers) {
-            bank.addCustomer(customer);
-            logger.info("Added {}", customer);
-        }
-        return customers.size();
+    Customer prepare(Customer customer) {
+        return customerFilter.test(customer.id()) ? customer : null;
+    }
+
+    @Override
+    void insert(Customer customer) {
+        transferService.addCustomer(customer);
+        logger.debug("Added {}", customer);
     }
 
     @Override
     public String toString() {
-        return String.format("%s [resource=%s, bank=%s]", getClass().getSimpleName(), resource, bank);
+        return String.format("%s [source=%s, transferService=%s]", getClass().getSimpleName(), source, transferService);
     }
 }
@@ -1,27 +1,54 @@
 package net.sattler22.transfer.bootstrap;
 
+import net.sattler22.transfer.api.CustomerJsonCache;
+import net.sattler22.transfer.api.IdempotencyCache;
+import net.sattler22.transfer.api.MetricsFilter;
+import net.sattler22.transfer.api.MetricsResource;
 import net.sattler22.transfer.api.MoneyTransferResourceImpl;
+import net.sattler22.transfer.audit.AuditConfig;
+import net.sattler22.transfer.audit.AuditLog;
+import net.sattler22.transfer.domain.Account;
 import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.journal.FsyncPolicy;
+import net.sattler22.transfer.journal.Journal;
+import net.sattler22.transfer.journal.JournalConfig;
+import net.sattler22.transfer.journal.Recovery;
+import net.sattler22.transfer.journal.SnapshotConfig;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import net.sattler22.transfer.partition.PartitionMap;
+import net.sattler22.transfer.replication.JournalReceiver;
+import net.sattler22.transfer.replication.JournalShipper;
+import net.sattler22.transfer.replication.ReplicationConfig;
+import net.sattler22.transfer.replication.ReplicationRole;
+import net.sattler22.transfer.service.InstrumentedTransferService;
+import net.sattler22.transfer.service.JournaledTransferService;
+import net.sattler22.transfer.service.SnapshotScheduler;
+import net.sattler22.transfer.service.TransferEngine;
+import net.sattler22.transfer.service.TransferEngineConfig;
+import net.sattler22.transfer.service.TransferMode;
 import net.sattler22.transfer.service.TransferService;
 import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
+import net.sattler22.transfer.util.LogSampler;
 import net.sattler22.transfer.util.PropertyFileUtils;
 import org.glassfish.grizzly.http.server.HttpServer;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
-import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
  * Money Transfer REST Server Bootstrap
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since July 2019
  */
 public final class MoneyTransferBootstrap {
@@ -35,11 +62,29 @@ public final class MoneyTransferBootstrap {
         int status = 0;
         try {
             final BootstrapConfig bootstrapConfig = getBootstrapConfig();
+            LogSampler.setSampleRate(bootstrapConfig.logSampleRate());
             final Bank bank = new Bank(1, "Pete's World Banking Empire");
-            final TransferService transferService = new TransferServiceInMemoryImpl(bank);
-            final ResourceConfig jerseyConfig = getJerseyConfig(transferService);
-            logger.info("Money Transfer REST API started at [{}{}]", bootstrapConfig.baseUri(), bootstrapConfig.basePath);
-            startHttpServer(bootstrapConfig, jerseyConfig, bank, transferService);
+            Account.reserveNumbers(PartitionMap.firstAccountNumber(bootstrapConfig.partitionIndex()) - 1);
+            final Recovery.Replayer replayer = new Recovery.Replayer(bank);
+            final long lastSequence = recover(replayer, bootstrapConfig);
+            try (final TransferEngine transferEngine = TransferEngine.create(bootstrapConfig.transferEngineConfig());
+                 final AuditLog auditLog = openAuditLog(bootstrapConfig.auditConfig());
+                 final Journal journal = openJournal(bootstrapConfig.journalConfig())) {
+                final long promotedSequence = followPrimary(replayer, journal, lastSequence, bootstrapConfig.replicationConfig());
+                try (final JournalShipper journalShipper = startShipper(journal, bootstrapConfig.replicationConfig())) {
+                    final TransferService inMemoryService = new TransferServiceInMemoryImpl(bank, transferEngine, auditLog);
+                    final TransferService durableService = journaled(inMemoryService, journal, journalShipper,
+                                                                     bootstrapConfig.replicationConfig());
+                    final TransferService transferService =
+                            new InstrumentedTransferService(durableService, MetricsRegistry.defaultRegistry());
+                    final ResourceConfig jerseyConfig = getJerseyConfig(transferService, bootstrapConfig);
+                    try (final SnapshotScheduler snapshotScheduler = scheduleSnapshots(durableService, bootstrapConfig.snapshotConfig())) {
+                        logger.info("Money Transfer REST API started at [{}{}], snapshots {}", bootstrapConfig.baseUri(),
+                                    bootstrapConfig.basePath, (snapshotScheduler != null) ? "scheduled" : "disabled");
+                        startHttpServer(bootstrapConfig, jerseyConfig, transferService, promotedSequence == 0L);
+                    }
+                }
+            }
         }
         catch(IOException e) {
             status++;
@@ -51,12 +96,16 @@ public final class MoneyTransferBootstrap {
         }
     }
 
-    private static void startHttpServer(BootstrapConfig bootstrapConfig, ResourceConfig jerseyConfig, Bank bank, TransferService transferService) throws IOException {
-        final HttpServer httpServer = GrizzlyHttpServerFactory.createHttpServer(bootstrapConfig.baseUri(), jerseyConfig);
+    private static void startHttpServer(BootstrapConfig bootstrapConfig, ResourceConfig jerseyConfig,
+                                        TransferService transferService, boolean loadData) throws IOException {
+        final HttpServer httpServer =
+                bootstrapConfig.serverExecutionConfig().createHttpServer(bootstrapConfig.baseUri(), jerseyConfig);
         try {
             httpServer.start();
-            loadCustomers(bank, bootstrapConfig.customerDataFile());
-            loadAccounts(transferService, bootstrapConfig.accountDataFile());
+            if (loadData) {
+                loadCustomers(transferService, bootstrapConfig);
+                loadAccounts(transferService, bootstrapConfig);
+            }
             logger.info("Press [ENTER] to stop the server...");
             System.in.read();
         }
@@ -73,41 +122,169 @@ public final class MoneyTransferBootstrap {
         final Properties appProps =
                 PropertyFileUtils.readResourceProperties(MoneyTransferBootstrap.class, "app.properties");
         final String basePath = appProps.getProperty("base.path");
-        final Properties bootstrapProps =
-                PropertyFileUtils.readResourceProperties(MoneyTransferBootstrap.class, "bootstrap.properties");
+        final Properties bootstrapProps = PropertyFileUtils.overrideWithSystemProperties(  //To run several partitions on one machine
+                PropertyFileUtils.readResourceProperties(MoneyTransferBootstrap.class, "bootstrap.properties"));
         final URI baseUri = URI.create(bootstrapProps.getProperty("base.uri"));
         final String accountDataFile = bootstrapProps.getProperty("account.data.file");
         final String customerDataFile = bootstrapProps.getProperty("customer.data.file");
         final int shutdownDelaySecs = Integer.parseInt(bootstrapProps.getProperty("shutdown.delay.secs"));
-        return new BootstrapConfig(baseUri, basePath, accountDataFile, customerDataFile, shutdownDelaySecs);
+        final int partitionIndex = Integer.parseInt(bootstrapProps.getProperty("partition.index", "0"));
+        final int partitionCount = Integer.parseInt(bootstrapProps.getProperty("partition.count", "1"));
+        if (partitionIndex < 0 || partitionIndex >= partitionCount)
+            throw new IllegalArgumentException(String.format("Partition index [%d] must be less than the partition count [%d]",
+                                                             partitionIndex, partitionCount));
+        final ServerExecutionConfig serverExecutionConfig = new ServerExecutionConfig(
+                ServerExecutionMode.valueOf(bootstrapProps.getProperty("server.execution.mode", "VIRTUAL")),
+                Integer.parseInt(bootstrapProps.getProperty("server.worker.pool.size", "0")));
+        final String loaderWorkers = bootstrapProps.getProperty("loader.workers", "").trim();
+        final int nbrLoaderWorkers =
+                loaderWorkers.isEmpty() ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(loaderWorkers);
+        final int loaderBatchSize = Integer.parseInt(bootstrapProps.getProperty("loader.batch.size", "1000"));
+        final TransferEngineConfig transferEngineConfig = new TransferEngineConfig(
+                TransferMode.valueOf(bootstrapProps.getProperty("transfer.mode", "LOCKING")),
+                Integer.parseInt(bootstrapProps.getProperty("transfer.max.retries", "64")),
+                Integer.parseInt(bootstrapProps.getProperty("transfer.shards", "4")),
+                Integer.parseInt(bootstrapProps.getProperty("transfer.shard.queue.capacity", "1024")),
+                Integer.parseInt(bootstrapProps.getProperty("transfer.shard.batch.size", "64")));
+        final String journalDirectory = bootstrapProps.getProperty("journal.directory", "").trim();
+        final JournalConfig journalConfig = journalDirectory.isEmpty() ? null : new JournalConfig(
+                Path.of(journalDirectory),
+                Integer.parseInt(bootstrapProps.getProperty("journal.segment.size", "67108864")),
+                FsyncPolicy.valueOf(bootstrapProps.getProperty("journal.fsync.policy", "BATCH")),
+                Long.parseLong(bootstrapProps.getProperty("journal.fsync.interval.millis", "10")));
+        final String snapshotDirectory = bootstrapProps.getProperty("snapshot.directory", "").trim();
+        final SnapshotConfig snapshotConfig = (journalConfig == null) ? null : new SnapshotConfig(
+                snapshotDirectory.isEmpty() ? journalConfig.directory().resolve("snapshots") : Path.of(snapshotDirectory),
+                Long.parseLong(bootstrapProps.getProperty("snapshot.interval.secs", "60")),
+                Integer.parseInt(bootstrapProps.getProperty("snapshot.retained", "2")));
+        final ReplicationRole replicationRole =
+                ReplicationRole.valueOf(bootstrapProps.getProperty("replication.role", "NONE"));
+        if (replicationRole != ReplicationRole.NONE && journalConfig == null)
+            throw new IllegalArgumentException("Replication requires journaling");
+        final ReplicationConfig replicationConfig = (replicationRole == ReplicationRole.NONE) ? null : new ReplicationConfig(
+                replicationRole,
+                bootstrapProps.getProperty("replication.address", "localhost:9090"),
+                Boolean.parseBoolean(bootstrapProps.getProperty("replication.sync.acks", "false")),
+                Long.parseLong(bootstrapProps.getProperty("replication.sync.timeout.millis", "1000")));
+        final String auditFile = bootstrapProps.getProperty("audit.file", "").trim();
+        final AuditConfig auditConfig = !Boolean.parseBoolean(bootstrapProps.getProperty("audit.enabled", "false")) ? null :
+                new AuditConfig(auditFile.isEmpty() ? null : Path.of(auditFile),
+                                Integer.parseInt(bootstrapProps.getProperty("audit.buffer.capacity", "65536")));
+        final double logSampleRate = Double.parseDouble(bootstrapProps.getProperty("log.sample.rate", "1.0"));
+        final long customerJsonCacheMaxBytes =
+                Long.parseLong(bootstrapProps.getProperty("customer.json.cache.max.bytes", "16777216"));
+        final int idempotencyMaxEntries = Integer.parseInt(bootstrapProps.getProperty("idempotency.max.entries", "100000"));
+        final Duration idempotencyTtl =
+                Duration.ofSeconds(Long.parseLong(bootstrapProps.getProperty("idempotency.ttl.secs", "86400")));
+        return new BootstrapConfig(baseUri, basePath, accountDataFile, customerDataFile, nbrLoaderWorkers, loaderBatchSize,
+                                   shutdownDelaySecs, partitionIndex, partitionCount, serverExecutionConfig,
+                                   transferEngineConfig, journalConfig, snapshotConfig, replicationConfig, auditConfig,
+                                   logSampleRate, customerJsonCacheMaxBytes, idempotencyMaxEntries, idempotencyTtl);
     }
 
     private record BootstrapConfig(URI baseUri, String basePath, String accountDataFile, String customerDataFile,
-                                   int shutdownDelaySecs) {
+                                   int nbrLoaderWorkers, int loaderBatchSize, int shutdownDelaySecs, int partitionIndex,
+                                   int partitionCount, ServerExecutionConfig serverExecutionConfig,
+                                   TransferEngineConfig transferEngineConfig, JournalConfig journalConfig,
+                                   SnapshotConfig snapshotConfig, ReplicationConfig replicationConfig, AuditConfig auditConfig,
+                                   double logSampleRate, long customerJsonCacheMaxBytes, int idempotencyMaxEntries,
+                                   Duration idempotencyTtl) {
+    }
+
+    private static long recover(Recovery.Replayer replayer, BootstrapConfig bootstrapConfig) throws IOException {
+        if (bootstrapConfig.journalConfig() == null)
+            return 0L;
+        return Recovery.recover(replayer, bootstrapConfig.snapshotConfig().directory(),
+                                bootstrapConfig.journalConfig().directory()).lastSequence();
+    }
+
+    private static long followPrimary(Recovery.Replayer replayer, Journal journal, long lastSequence,
+                                      ReplicationConfig replicationConfig) throws IOException {
+        if (replicationConfig == null || replicationConfig.role() != ReplicationRole.BACKUP)
+            return lastSequence;
+        try (final JournalReceiver journalReceiver = new JournalReceiver(replicationConfig.socketAddress(), replayer, journal,
+                                                                         lastSequence, MetricsRegistry.defaultRegistry())) {
+            logger.info("Press [ENTER] to promote this backup...");
+            System.in.read();
+            return journalReceiver.promote();
+        }
+    }
+
+    private static JournalShipper startShipper(Journal journal, ReplicationConfig replicationConfig) throws IOException {
+        if (replicationConfig == null || replicationConfig.role() != ReplicationRole.PRIMARY)
+            return null;
+        final JournalShipper journalShipper = new JournalShipper(journal, replicationConfig.socketAddress(),
+                replicationConfig.syncTimeoutMillis(), MetricsRegistry.defaultRegistry());
+        journalShipper.start();
+        return journalShipper;
+    }
+
+    private static TransferService journaled(TransferService transferService, Journal journal, JournalShipper journalShipper,
+                                             ReplicationConfig replicationConfig) {
+        if (journal == null)
+            return transferService;
+        if (journalShipper != null && replicationConfig.syncAcks())
+            return new JournaledTransferService(transferService, journal, journalShipper::awaitAcknowledged);
+        return new JournaledTransferService(transferService, journal);
+    }
+
+    private static AuditLog openAuditLog(AuditConfig auditConfig) throws IOException {
+        if (auditConfig == null) {
+            logger.warn("Auditing is disabled");
+            return AuditLog.disabled();
+        }
+        return new AuditLog(auditConfig);
     }
 
-    private static ResourceConfig getJerseyConfig(TransferService transferService) {
+    private static Journal openJournal(JournalConfig journalConfig) throws IOException {
+        if (journalConfig == null) {
+            logger.warn("Journaling is disabled, all changes will be lost on restart");
+            return null;
+        }
+        return new Journal(journalConfig);
+    }
+
+    private static SnapshotScheduler scheduleSnapshots(TransferService transferService, SnapshotConfig snapshotConfig) {
+        if (transferService instanceof JournaledTransferService journaledTransferService)
+            return new SnapshotScheduler(journaledTransferService, snapshotConfig);
+        return null;
+    }
+
+    private static ResourceConfig getJerseyConfig(TransferService transferService, BootstrapConfig bootstrapConfig) {
         final ResourceConfig jerseyConfig = new ResourceConfig();
         jerseyConfig.register(new AbstractBinder() {
             @Override
             protected void configure() {
                 this.bind(transferService).to(TransferService.class);
+                this.bind(MetricsRegistry.defaultRegistry()).to(MetricsRegistry.class);
+                this.bind(new CustomerJsonCache(bootstrapConfig.customerJsonCacheMaxBytes())).to(CustomerJsonCache.class);
+                this.bind(new IdempotencyCache(bootstrapConfig.idempotencyMaxEntries(), bootstrapConfig.idempotencyTtl()))
+                        .to(IdempotencyCache.class);
             }
         });
+        jerseyConfig.register(MetricsFilter.class);
         jerseyConfig.register(CorsFilter.class);
         jerseyConfig.register(MoneyTransferResourceImpl.class);
+        jerseyConfig.register(MetricsResource.class);
         return jerseyConfig;
     }
 
-    private static void loadCustomers(Bank bank, String resourceName) throws IOException {
-        final CustomerDataLoader dataLoader = new CustomerDataLoader(bank, resourceName);
+    private static void loadCustomers(TransferService transferService, BootstrapConfig bootstrapConfig) throws IOException {
+        final CustomerDataLoader dataLoader = new CustomerDataLoader(transferService, bootstrapConfig.customerDataFile(),
+                bootstrapConfig.nbrLoaderWorkers(), bootstrapConfig.loaderBatchSize(), ownedCustomers(bootstrapConfig));
         final int nbrCustomers = dataLoader.load();
         logger.info("Loaded [{}] customers", nbrCustomers);
     }
 
-    private static void loadAccounts(TransferService transferService, String resourceName) throws IOException {
-        final AccountDataLoader dataLoader = new AccountDataLoader(transferService, resourceName);
+    private static void loadAccounts(TransferService transferService, BootstrapConfig bootstrapConfig) throws IOException {
+        final AccountDataLoader dataLoader = new AccountDataLoader(transferService, bootstrapConfig.accountDataFile(),
+                bootstrapConfig.nbrLoaderWorkers(), bootstrapConfig.loaderBatchSize(), ownedCustomers(bootstrapConfig));
         final int nbrAccounts = dataLoader.load();
         logger.info("Loaded [{}] accounts", nbrAccounts);
     }
+
+    private static Predicate<String> ownedCustomers(BootstrapConfig bootstrapConfig) {
+        return customerId ->
+                PartitionMap.initiallyOwns(customerId, bootstrapConfig.partitionIndex(), bootstrapConfig.partitionCount());
+    }
 }
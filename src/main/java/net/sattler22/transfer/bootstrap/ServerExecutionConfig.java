@@ -0,0 +1,58 @@
+package net.sattler22.transfer.bootstrap;
+
+import net.jcip.annotations.Immutable;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP Server Request Execution Configuration
+ *
+ * @param executionMode The request execution mode
+ * @param workerPoolSize The number of platform worker threads (only applies to the PLATFORM mode, zero keeps the Grizzly
+ *                       default)
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+record ServerExecutionConfig(ServerExecutionMode executionMode, int workerPoolSize) {
+
+    /**
+     * Constructs a new server execution configuration
+     */
+    ServerExecutionConfig {
+        Objects.requireNonNull(executionMode, "Execution mode is required");
+        if (workerPoolSize < 0)
+            throw new IllegalArgumentException("Worker pool size cannot be negative");
+    }
+
+    /**
+     * Create an HTTP server whose requests are executed according to this configuration (the server is not started)
+     */
+    HttpServer createHttpServer(URI baseUri, ResourceConfig jerseyConfig) {
+        final HttpServer httpServer = GrizzlyHttpServerFactory.createHttpServer(baseUri, jerseyConfig, false);
+        for (final NetworkListener listener : httpServer.getListeners()) {
+            final TCPNIOTransport transport = listener.getTransport();
+            switch (executionMode) {
+                case VIRTUAL -> transport.setWorkerThreadPool(
+                        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-worker-", 0).factory()));
+                case PLATFORM -> {
+                    if (workerPoolSize > 0)
+                        transport.setWorkerThreadPoolConfig(ThreadPoolConfig.defaultConfig()
+                                .setPoolName("http-worker")
+                                .setCorePoolSize(workerPoolSize)
+                                .setMaxPoolSize(workerPoolSize));
+                }
+            }
+        }
+        return httpServer;
+    }
+}
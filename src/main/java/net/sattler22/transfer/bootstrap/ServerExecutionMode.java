@@ -0,0 +1,21 @@
+package net.sattler22.transfer.bootstrap;
+
+/**
+ * HTTP Server Request Execution Mode
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+enum ServerExecutionMode {
+
+    /**
+     * Requests run on a bounded pool of platform worker threads
+     */
+    PLATFORM,
+
+    /**
+     * Each request runs on its own virtual thread
+     */
+    VIRTUAL
+}
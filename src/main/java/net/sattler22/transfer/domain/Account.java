@@ -2,10 +2,10 @@ package net.sattler22.transfer.domain;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonCreator.Mode;
-import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
 import net.jcip.annotations.ThreadSafe;
 
 import java.math.BigDecimal;
@@ -13,35 +13,94 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Account Business Object
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since February 2019
  */
 @ThreadSafe
 public final class Account {
 
+    public static final CurrencyUnit CURRENCY = CurrencyUnit.USD;
     private static final AtomicInteger numberCounter = new AtomicInteger();
+    private static final long NOT_COUNTED = Long.MIN_VALUE;
     private final int number;
     private final AccountType type;
 
     @JsonManagedReference
     private final Customer owner;
 
-    private volatile BigDecimal balance;
-    private final AtomicLong version;
+    @JsonIgnore
+    private final AtomicReference<AccountState> state;
+
+    @JsonIgnore
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @JsonIgnore
+    private final AccountHistory history;
 
+    //The balance the bank statistics count for the account, while it is in the bank-wide directory:
     @JsonIgnore
-    private final Object lock = new Object();
+    private final AtomicLong countedBalance = new AtomicLong(NOT_COUNTED);
 
     /**
      * Constructs a new account
      */
     public Account(Customer owner, AccountType type, BigDecimal balance) {
-        this(owner, numberCounter.incrementAndGet(), type, balance, 0L);
+        this(owner, type, (balance != null) ? CURRENCY.toMinorUnits(balance) : 0L);
+    }
+
+    /**
+     * Constructs a new account
+     *
+     * @param balance The opening balance in minor units
+     */
+    public Account(Customer owner, AccountType type, long balance) {
+        this(owner, numberCounter.incrementAndGet(), type, balance, 0L, System.currentTimeMillis());
+    }
+
+    /**
+     * Restore an account exactly as it was, for example from a snapshot or journal
+     *
+     * @param balance The balance in minor units
+     * @param version The version
+     */
+    public static Account restore(Customer owner, int number, AccountType type, long balance, long version) {
+        final long nowMillis = System.currentTimeMillis();
+        return restore(owner, number, type, balance, version, nowMillis, nowMillis);
+    }
+
+    /**
+     * Restore an account exactly as it was, along with how far back its history goes
+     *
+     * @param balance The balance in minor units
+     * @param version The version
+     * @param openedMillis When the account was originally opened, in milliseconds since the epoch
+     * @param horizonMillis When the account reached the given version, in milliseconds since the epoch
+     */
+    public static Account restore(Customer owner, int number, AccountType type, long balance, long version,
+                                  long openedMillis, long horizonMillis) {
+        reserveNumbers(number);  //Never hand out a restored account number again
+        return new Account(owner, number, type, balance, version, openedMillis, horizonMillis);
+    }
+
+    /**
+     * Get the most recently handed out account number
+     */
+    public static int lastNumber() {
+        return numberCounter.get();
+    }
+
+    /**
+     * Make sure new accounts are numbered after the given one
+     */
+    public static void reserveNumbers(int lastNumber) {
+        numberCounter.accumulateAndGet(lastNumber, Math::max);
     }
 
     /**
@@ -53,22 +112,74 @@ public final class Account {
                     @JsonProperty("type") AccountType type,
                     @JsonProperty("balance") BigDecimal balance,
                     @JsonProperty("version") long version) {
+        this(owner, number, type, (balance != null) ? CURRENCY.toMinorUnits(balance) : 0L, version, System.currentTimeMillis());
+    }
+
+    private Account(Customer owner, int number, AccountType type, long balance, long version, long openedMillis) {
+        this(owner, number, type, balance, version, openedMillis, openedMillis);
+    }
+
+    private Account(Customer owner, int number, AccountType type, long balance, long version, long openedMillis,
+                    long horizonMillis) {
         this.number = number;
         this.type = Objects.requireNonNull(type, "Account type is required");
         this.owner = Objects.requireNonNull(owner, "Account owner is required");
-        this.balance = (balance != null) ? balance : BigDecimal.ZERO;
-        this.version = new AtomicLong(version);
+        this.state = new AtomicReference<>(new AccountState(balance, version, false));
+        this.history = new AccountHistory(state.get(), CommitSequence.next(), openedMillis, horizonMillis);
     }
 
     /**
      * Credit funds to the account
      */
     public void credit(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0)
+        credit(CURRENCY.toMinorUnits(amount));
+    }
+
+    /**
+     * Credit funds to the account
+     *
+     * @param amount The amount in minor units
+     * @return The resulting state
+     */
+    public AccountState credit(long amount) {
+        return credit(amount, AccountHistory.NO_COUNTERPARTY);
+    }
+
+    /**
+     * Credit funds transferred from another account
+     *
+     * @param amount The amount in minor units
+     * @param counterparty The account the funds came from
+     * @return The resulting state
+     */
+    public AccountState credit(long amount, int counterparty) {
+        final long ticket = CommitSequence.begin();
+        try {
+            return credit(amount, counterparty, CommitSequence.sequence(ticket));
+        }
+        finally {
+            CommitSequence.end(ticket);
+        }
+    }
+
+    /**
+     * Credit funds transferred from another account as part of a larger commit
+     *
+     * @param amount The amount in minor units
+     * @param counterparty The account the funds came from
+     * @param sequence The commit sequence number
+     * @return The resulting state
+     */
+    public AccountState credit(long amount, int counterparty, long sequence) {
+        if (amount <= 0)
             throw new IllegalArgumentException("Amount must be greater than zero");
-        synchronized (lock) {
-            this.balance = balance.add(amount);
-            this.version.incrementAndGet();
+        while (true) {
+            final AccountState current = unclaimedState();
+            final AccountState posted = current.post(amount);
+            if (state.compareAndSet(current, posted)) {
+                history.record(counterparty, amount, posted, sequence);
+                return posted;
+            }
         }
     }
 
@@ -76,41 +187,279 @@ public final class Account {
      * Debit funds from the account
      */
     public void debit(BigDecimal amount) {
-        synchronized (lock) {
-            final BigDecimal newBalance = balance.subtract(amount);
-            if (newBalance.compareTo(BigDecimal.ZERO) < 0)
+        debit(CURRENCY.toMinorUnits(amount));
+    }
+
+    /**
+     * Debit funds from the account
+     *
+     * @param amount The amount in minor units
+     * @return The resulting state
+     */
+    public AccountState debit(long amount) {
+        return debit(amount, AccountHistory.NO_COUNTERPARTY);
+    }
+
+    /**
+     * Debit funds transferred to another account
+     *
+     * @param amount The amount in minor units
+     * @param counterparty The account the funds go to
+     * @return The resulting state
+     */
+    public AccountState debit(long amount, int counterparty) {
+        final long ticket = CommitSequence.begin();
+        try {
+            return debit(amount, counterparty, CommitSequence.sequence(ticket));
+        }
+        finally {
+            CommitSequence.end(ticket);
+        }
+    }
+
+    /**
+     * Debit funds transferred to another account as part of a larger commit
+     *
+     * @param amount The amount in minor units
+     * @param counterparty The account the funds go to
+     * @param sequence The commit sequence number
+     * @return The resulting state
+     */
+    public AccountState debit(long amount, int counterparty, long sequence) {
+        if (amount <= 0)
+            throw new IllegalArgumentException("Amount must be greater than zero");
+        while (true) {
+            final AccountState current = unclaimedState();
+            if (current.balance() < amount)
                 throw new IllegalStateException("Transfer would lead to an overdrawn account");
-            this.balance = newBalance;
-            this.version.incrementAndGet();
+            final AccountState posted = current.post(-amount);
+            if (state.compareAndSet(current, posted)) {
+                history.record(counterparty, -amount, posted, sequence);
+                return posted;
+            }
         }
     }
 
-    @JsonGetter
+    /**
+     * Replay a posting from the journal, regardless of the current balance
+     *
+     * @param amount The signed amount in minor units
+     * @param postedVersion The version the posting originally produced
+     * @param postedMillis When it was originally posted, in milliseconds since the epoch
+     * @throws IllegalArgumentException If the resulting balance would overflow
+     */
+    public void replay(long amount, long postedVersion, long postedMillis) {
+        final long ticket = CommitSequence.begin();
+        try {
+            while (true) {
+                final AccountState current = unclaimedState();
+                final AccountState replayed = current.replay(amount, postedVersion);
+                if (state.compareAndSet(current, replayed)) {
+                    history.record(AccountHistory.NO_COUNTERPARTY, amount, replayed, CommitSequence.sequence(ticket),
+                                   postedMillis);
+                    return;
+                }
+            }
+        }
+        finally {
+            CommitSequence.end(ticket);
+        }
+    }
+
+    private AccountState unclaimedState() {
+        AccountState current = state.get();
+        while (current.claimed()) {
+            Thread.onSpinWait();
+            current = state.get();
+        }
+        return current;
+    }
+
+    /**
+     * Try to claim the account for an in-flight transfer
+     *
+     * @return The claimed state or null if the account is already claimed or changed concurrently
+     */
+    public AccountState tryClaim() {
+        final AccountState current = state.get();
+        if (current.claimed())
+            return null;
+        final AccountState claimed = current.claim();
+        return state.compareAndSet(current, claimed) ? claimed : null;
+    }
+
+    /**
+     * Release a claim without changing the balance
+     *
+     * @param claimed The state returned by {@link #tryClaim()}
+     */
+    public void release(AccountState claimed) {
+        if (!state.compareAndSet(claimed, claimed.release()))
+            throw new IllegalStateException(String.format("Account #%d is not claimed by the caller", number));
+    }
+
+    /**
+     * Post an amount to a claimed account and release the claim
+     *
+     * @param claimed The state returned by {@link #tryClaim()}
+     * @param amount The signed amount in minor units
+     * @return The resulting state
+     * @throws IllegalArgumentException If the resulting balance would overflow
+     */
+    public AccountState commit(AccountState claimed, long amount) {
+        return commit(claimed, amount, AccountHistory.NO_COUNTERPARTY);
+    }
+
+    /**
+     * Post an amount transferred to or from another account to a claimed account and release the claim
+     *
+     * @param claimed The state returned by {@link #tryClaim()}
+     * @param amount The signed amount in minor units
+     * @param counterparty The other account of the transfer
+     * @return The resulting state
+     * @throws IllegalArgumentException If the resulting balance would overflow
+     */
+    public AccountState commit(AccountState claimed, long amount, int counterparty) {
+        final long ticket = CommitSequence.begin();
+        try {
+            return commit(claimed, amount, counterparty, CommitSequence.sequence(ticket));
+        }
+        finally {
+            CommitSequence.end(ticket);
+        }
+    }
+
+    /**
+     * Post an amount to a claimed account as part of a larger commit and release the claim
+     *
+     * @param claimed The state returned by {@link #tryClaim()}
+     * @param amount The signed amount in minor units
+     * @param counterparty The other account of the transfer, or {@link AccountHistory#NO_COUNTERPARTY}
+     * @param sequence The commit sequence number
+     * @return The resulting state
+     * @throws IllegalArgumentException If the resulting balance would overflow
+     */
+    public AccountState commit(AccountState claimed, long amount, int counterparty, long sequence) {
+        final AccountState posted = claimed.post(amount);
+        if (state.get() != claimed)
+            throw new IllegalStateException(String.format("Account #%d is not claimed by the caller", number));
+        history.record(counterparty, amount, posted, sequence);  //While still claimed, so the history stays in version order
+        state.set(posted);
+        return posted;
+    }
+
+    /**
+     * Post an amount to a claimed account as part of a larger commit, keeping the claim for the rest of it
+     *
+     * @param claimed The state returned by {@link #tryClaim()} or by a previous posting
+     * @param amount The signed amount in minor units
+     * @param counterparty The other account of the transfer
+     * @param sequence The commit sequence number
+     * @return The resulting state, still claimed, to post to again or to release
+     * @throws IllegalArgumentException If the resulting balance would overflow
+     */
+    public AccountState post(AccountState claimed, long amount, int counterparty, long sequence) {
+        final AccountState posted = claimed.post(amount).claim();
+        if (state.get() != claimed)
+            throw new IllegalStateException(String.format("Account #%d is not claimed by the caller", number));
+        history.record(counterparty, amount, posted, sequence);
+        state.set(posted);
+        return posted;
+    }
+
     public int number() {
         return number;
     }
 
-    @JsonGetter
     public AccountType type() {
         return type;
     }
 
-    @JsonGetter
     public Customer owner() {
         return owner;
     }
 
-    @JsonGetter
     public BigDecimal balance() {
-        return balance;
+        return CURRENCY.toBigDecimal(balanceMinorUnits());
+    }
+
+    /**
+     * Get the balance in minor units
+     */
+    public long balanceMinorUnits() {
+        return state.get().balance();
+    }
+
+    /**
+     * Get a consistent view of the balance and version
+     */
+    public AccountState state() {
+        return state.get();
+    }
+
+    /**
+     * Get a consistent view of the account, which is also its JSON representation
+     *
+     * @implNote The balance and version getters read the state once each, so serializing them separately could pair the
+     *           balance of one version with another version
+     */
+    @JsonValue
+    public AccountSnapshot snapshot() {
+        return new AccountSnapshot(this, state.get());
     }
 
-    @JsonGetter
     public long version() {
-        return version.get();
+        return state.get().version();
+    }
+
+    /**
+     * Get the history of postings to the account
+     */
+    public AccountHistory history() {
+        return history;
     }
 
-    public Object lock() {
+    /**
+     * Start counting the account in the bank statistics
+     *
+     * @return The balance counted from now on
+     */
+    long startCounting() {
+        final long balance = balanceMinorUnits();
+        countedBalance.set(balance);
+        return balance;
+    }
+
+    /**
+     * Count a posting in the bank statistics, unless the account is not counted (any more)
+     *
+     * @return True if the statistics are to count the posting
+     */
+    boolean count(long amount) {
+        for (long counted = countedBalance.get(); counted != NOT_COUNTED; counted = countedBalance.get()) {
+            if (countedBalance.compareAndSet(counted, counted + amount))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stop counting the account in the bank statistics
+     *
+     * @return The balance counted until now, which the statistics are to give up, or zero if it was not counted
+     */
+    long stopCounting() {
+        final long counted = countedBalance.getAndSet(NOT_COUNTED);
+        return (counted != NOT_COUNTED) ? counted : 0L;
+    }
+
+    /**
+     * Get the account lock
+     *
+     * @implNote A {@link ReentrantLock} rather than a monitor, so a virtual thread waiting on a contended account parks
+     *           instead of pinning its carrier thread
+     */
+    public ReentrantLock lock() {
         return lock;
     }
 
@@ -137,7 +486,8 @@ public final class Account {
 
     @Override
     public String toString() {
+        final AccountState current = state.get();
         return String.format("%s [number=%s, type=%s, owner=%s, balance=%s, version=%s]",
-                getClass().getSimpleName(), number, type, owner, balance, version);
+                getClass().getSimpleName(), number, type, owner, CURRENCY.toBigDecimal(current.balance()), current.version());
     }
 }
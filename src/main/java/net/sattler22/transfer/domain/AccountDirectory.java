@@ -0,0 +1,148 @@
+package net.sattler22.transfer.domain;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bank-Wide Account Directory
+ *
+ * @implNote Account numbers are handed out by a sequential counter, so they are dense. Rather than hashing (and boxing)
+ *           the number, it is used directly as an index into fixed size chunks that are allocated on demand. Readers
+ *           never lock; writers only lock when the chunk table itself needs to grow.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class AccountDirectory {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_NBR_CHUNKS = 16;
+    private volatile AtomicReferenceArray<AtomicReferenceArray<Account>> chunks =
+            new AtomicReferenceArray<>(INITIAL_NBR_CHUNKS);
+    private final AtomicInteger size = new AtomicInteger();
+    private final Object growLock = new Object();
+
+    /**
+     * Add an account to the directory
+     *
+     * @return True if the account was added. Otherwise, returns false if its account number is already taken.
+     * @throws IllegalArgumentException If the account number is not positive
+     */
+    public boolean add(Account account) {
+        final int number = account.number();
+        if (number <= 0)
+            throw new IllegalArgumentException(String.format("Account #[%d] is not a valid account number", number));
+        if (!chunkFor(number).compareAndSet(number & CHUNK_MASK, null, account))
+            return false;
+        size.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Remove an account from the directory
+     *
+     * @return True if the account was removed. Otherwise, returns false.
+     */
+    public boolean remove(Account account) {
+        final AtomicReferenceArray<Account> chunk = existingChunkFor(account.number());
+        if (chunk == null)
+            return false;
+        final int index = account.number() & CHUNK_MASK;
+        final Account current = chunk.get(index);
+        if (current == null || !current.equals(account) || !chunk.compareAndSet(index, current, null))
+            return false;
+        size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Get an account by its number
+     *
+     * @return The account or null if it does not exist
+     */
+    public Account get(int number) {
+        final AtomicReferenceArray<Account> chunk = existingChunkFor(number);
+        return (chunk != null) ? chunk.get(number & CHUNK_MASK) : null;
+    }
+
+    /**
+     * Perform an action for every account in the directory, in account number order
+     *
+     * @implNote Weakly consistent: accounts added or removed concurrently may or may not be seen
+     */
+    public void forEach(Consumer<? super Account> action) {
+        final AtomicReferenceArray<AtomicReferenceArray<Account>> currentChunks = chunks;
+        for (int chunkIndex = 0; chunkIndex < currentChunks.length(); chunkIndex++) {
+            final AtomicReferenceArray<Account> chunk = currentChunks.get(chunkIndex);
+            if (chunk == null)
+                continue;
+            for (int index = 0; index < CHUNK_SIZE; index++) {
+                final Account account = chunk.get(index);
+                if (account != null)
+                    action.accept(account);
+            }
+        }
+    }
+
+    /**
+     * Get the number of accounts in the directory
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private AtomicReferenceArray<Account> existingChunkFor(int number) {
+        if (number <= 0)
+            return null;
+        final int chunkIndex = number >>> CHUNK_BITS;
+        final AtomicReferenceArray<AtomicReferenceArray<Account>> currentChunks = chunks;
+        return (chunkIndex < currentChunks.length()) ? currentChunks.get(chunkIndex) : null;
+    }
+
+    private AtomicReferenceArray<Account> chunkFor(int number) {
+        final int chunkIndex = number >>> CHUNK_BITS;
+        AtomicReferenceArray<AtomicReferenceArray<Account>> currentChunks = chunks;
+        if (chunkIndex >= currentChunks.length())
+            currentChunks = grow(chunkIndex);
+        final AtomicReferenceArray<Account> chunk = currentChunks.get(chunkIndex);
+        if (chunk != null)
+            return chunk;
+        synchronized (growLock) {
+            //Re-read under the lock since the table may have been replaced in the meantime:
+            final AtomicReferenceArray<AtomicReferenceArray<Account>> latestChunks = chunks;
+            final AtomicReferenceArray<Account> latestChunk = latestChunks.get(chunkIndex);
+            if (latestChunk != null)
+                return latestChunk;
+            final AtomicReferenceArray<Account> newChunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+            latestChunks.set(chunkIndex, newChunk);
+            return newChunk;
+        }
+    }
+
+    private AtomicReferenceArray<AtomicReferenceArray<Account>> grow(int chunkIndex) {
+        synchronized (growLock) {
+            final AtomicReferenceArray<AtomicReferenceArray<Account>> currentChunks = chunks;
+            if (chunkIndex < currentChunks.length())
+                return currentChunks;
+            int newLength = currentChunks.length();
+            while (newLength <= chunkIndex)
+                newLength <<= 1;
+            final AtomicReferenceArray<AtomicReferenceArray<Account>> newChunks = new AtomicReferenceArray<>(newLength);
+            for (int i = 0; i < currentChunks.length(); i++)
+                newChunks.set(i, currentChunks.get(i));
+            this.chunks = newChunks;
+            return newChunks;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [size=%d, nbrChunks=%d]", getClass().getSimpleName(), size.get(), chunks.length());
+    }
+}
@@ -0,0 +1,289 @@
+package net.sattler22.transfer.domain;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Account Posting History
+ *
+ * @implNote An append-only log of every posting to an account since it was opened, or since the snapshot it was restored
+ *           from, which is its history horizon. Postings are packed into fixed size chunks
+ *           of primitive longs rather than one object each, and a full chunk is never copied, so recording one is a
+ *           handful of array stores. It is recorded by the thread that made the posting, while it still has the account
+ *           to itself, so the log is in version order, and its timestamps never go backwards either, which lets both
+ *           paging by version and filtering by time start with a binary search. Readers never block: a posting becomes
+ *           visible only once it is fully written, by publishing the new size.
+ *           <p>
+ *           Since every posting carries the balance it resulted in, each one is also a checkpoint of the account state:
+ *           the state as of any time since the horizon is found by a binary search for the last posting made by then,
+ *           without replaying anything. Postings replayed from the journal keep their original time, so the history
+ *           survives a restart back to the last snapshot.
+ *           <p>
+ *           Every posting also carries the {@link CommitSequence commit sequence number} it was made under. Those are
+ *           not quite in version order, since a cross-shard transfer credits its target after it drew its number, so the
+ *           running maximum is kept alongside: the balance as of a sequence number is the latest balance less the few
+ *           postings, found by a binary search on that maximum, that were made under a later number.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class AccountHistory {
+
+    /**
+     * Counterparty of a posting that is not a single transfer between two accounts, such as the net change of an atomic
+     * batch in CAS mode or a posting replayed from the journal
+     */
+    public static final int NO_COUNTERPARTY = 0;
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int TIMESTAMP = 0;
+    private static final int COUNTERPARTY = 1;
+    private static final int AMOUNT = 2;
+    private static final int BALANCE = 3;
+    private static final int VERSION = 4;
+    private static final int SEQUENCE = 5;
+    private static final int MAX_SEQUENCE = 6;
+    private static final int NBR_FIELDS = 7;
+    private final long openedMillis;
+    private final long horizonMillis;
+    private final AccountState openingState;
+    private final long openingSequence;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile long[][] chunks = new long[0][];
+    private volatile int size;
+    private long lastTimestamp;  //Guarded by the append lock
+    private long maxSequence;  //Guarded by the append lock
+
+    /**
+     * Constructs a new, empty account history
+     *
+     * @param openingState The state of the account when it was opened (or restored)
+     * @param openingSequence The commit sequence number the account was opened under
+     * @param openedMillis When the account was originally opened, in milliseconds since the epoch
+     * @param horizonMillis When the account reached its opening state, in milliseconds since the epoch
+     */
+    AccountHistory(AccountState openingState, long openingSequence, long openedMillis, long horizonMillis) {
+        if (horizonMillis < openedMillis)
+            throw new IllegalArgumentException("History horizon cannot be before the account was opened");
+        this.openingState = Objects.requireNonNull(openingState, "Opening state is required").release();
+        this.openingSequence = openingSequence;
+        this.openedMillis = openedMillis;
+        this.horizonMillis = horizonMillis;
+        this.lastTimestamp = horizonMillis;
+        this.maxSequence = openingSequence;
+    }
+
+    /**
+     * Record a posting
+     *
+     * @param counterparty The other account of the transfer, or {@link #NO_COUNTERPARTY}
+     * @param amount The signed amount in minor units
+     * @param posted The state the posting produced
+     * @param sequence The commit sequence number of the posting
+     */
+    void record(int counterparty, long amount, AccountState posted, long sequence) {
+        record(counterparty, amount, posted, sequence, System.currentTimeMillis());
+    }
+
+    /**
+     * Record a posting made at a given time, such as one replayed from the journal
+     *
+     * @param timestampMillis When it was originally posted, in milliseconds since the epoch
+     */
+    void record(int counterparty, long amount, AccountState posted, long sequence, long timestampMillis) {
+        appendLock.lock();
+        try {
+            final int index = size;
+            final int chunkIndex = index >>> CHUNK_SHIFT;
+            long[][] current = chunks;
+            if (chunkIndex == current.length) {
+                current = Arrays.copyOf(current, Math.max(1, current.length << 1));
+                current[chunkIndex] = new long[CHUNK_SIZE * NBR_FIELDS];
+                chunks = current;
+            }
+            else if (current[chunkIndex] == null)
+                current[chunkIndex] = new long[CHUNK_SIZE * NBR_FIELDS];
+            lastTimestamp = Math.max(lastTimestamp, timestampMillis);
+            final long[] chunk = current[chunkIndex];
+            final int offset = (index & CHUNK_MASK) * NBR_FIELDS;
+            chunk[offset + TIMESTAMP] = lastTimestamp;
+            chunk[offset + COUNTERPARTY] = counterparty;
+            chunk[offset + AMOUNT] = amount;
+            chunk[offset + BALANCE] = posted.balance();
+            chunk[offset + VERSION] = posted.version();
+            maxSequence = Math.max(maxSequence, sequence);
+            chunk[offset + SEQUENCE] = sequence;
+            chunk[offset + MAX_SEQUENCE] = maxSequence;
+            size = index + 1;  //Publish the posting
+        }
+        finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of postings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a page of postings, oldest first
+     *
+     * @param afterVersion The version to start after, or a negative number to start with the oldest posting
+     * @param fromMillis The earliest posting time to include, in milliseconds since the epoch
+     * @param toMillis The posting time to stop at (exclusive), in milliseconds since the epoch
+     * @param limit The maximum number of postings to return
+     */
+    public List<Posting> postings(long afterVersion, long fromMillis, long toMillis, int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Limit cannot be negative");
+        final int visibleSize = size;
+        final long[][] visibleChunks = chunks;
+        final long firstVersion = (afterVersion < 0) ? Long.MIN_VALUE : afterVersion + 1;
+        final int start = Math.max(firstIndex(visibleChunks, visibleSize, VERSION, firstVersion),
+                                   firstIndex(visibleChunks, visibleSize, TIMESTAMP, fromMillis));
+        final List<Posting> postings = new ArrayList<>(Math.min(limit, Math.max(0, visibleSize - start)));
+        for (int index = start; index < visibleSize && postings.size() < limit; index++) {
+            final long[] chunk = visibleChunks[index >>> CHUNK_SHIFT];
+            final int offset = (index & CHUNK_MASK) * NBR_FIELDS;
+            if (chunk[offset + TIMESTAMP] >= toMillis)
+                break;
+            postings.add(new Posting(chunk[offset + TIMESTAMP], (int) chunk[offset + COUNTERPARTY], chunk[offset + AMOUNT],
+                                     chunk[offset + BALANCE], chunk[offset + VERSION]));
+        }
+        return postings;
+    }
+
+    /**
+     * Get the account state as of a point in time
+     *
+     * @param millis The point in time, in milliseconds since the epoch
+     * @return The balance and version as of that time, or empty if the account had not been opened yet
+     * @throws IllegalStateException If the account was open by then, but its history does not go back that far
+     */
+    public Optional<AccountState> stateAsOf(long millis) {
+        if (millis < openedMillis)
+            return Optional.empty();
+        if (millis < horizonMillis)
+            throw new IllegalStateException(
+                    String.format("Account history only goes back to %s", Instant.ofEpochMilli(horizonMillis)));
+        final int visibleSize = size;
+        final long[][] visibleChunks = chunks;
+        final int index = firstIndex(visibleChunks, visibleSize, TIMESTAMP, millis == Long.MAX_VALUE ? millis : millis + 1) - 1;
+        if (index < 0)
+            return Optional.of(openingState);
+        final long[] chunk = visibleChunks[index >>> CHUNK_SHIFT];
+        final int offset = (index & CHUNK_MASK) * NBR_FIELDS;
+        return Optional.of(new AccountState(chunk[offset + BALANCE], chunk[offset + VERSION], false));
+    }
+
+    /**
+     * Get the balance as of a commit sequence number
+     *
+     * @param sequence A sequence number returned by {@link CommitSequence#snapshot()}, so that every posting made under it
+     *        or an earlier one is already recorded
+     * @return The balance in minor units, or empty if the account had not been opened yet
+     */
+    public OptionalLong balanceAsOf(long sequence) {
+        if (sequence < openingSequence)
+            return OptionalLong.empty();
+        final int visibleSize = size;
+        final long[][] visibleChunks = chunks;
+        if (visibleSize == 0)
+            return OptionalLong.of(openingState.balance());
+        final int lastIndex = visibleSize - 1;
+        long balance = visibleChunks[lastIndex >>> CHUNK_SHIFT][(lastIndex & CHUNK_MASK) * NBR_FIELDS + BALANCE];
+        //Every posting before the first one whose running maximum is later was made under the snapshot or before it:
+        final long laterSequence = (sequence == Long.MAX_VALUE) ? sequence : sequence + 1;
+        for (int index = firstIndex(visibleChunks, visibleSize, MAX_SEQUENCE, laterSequence); index < visibleSize; index++) {
+            final long[] chunk = visibleChunks[index >>> CHUNK_SHIFT];
+            final int offset = (index & CHUNK_MASK) * NBR_FIELDS;
+            if (chunk[offset + SEQUENCE] > sequence)
+                balance -= chunk[offset + AMOUNT];
+        }
+        return OptionalLong.of(balance);
+    }
+
+    /**
+     * Get when the account was opened, in milliseconds since the epoch
+     */
+    public long openedMillis() {
+        return openedMillis;
+    }
+
+    /**
+     * Get how far back the history goes, in milliseconds since the epoch, which is when the account was opened unless it
+     * was restored from a snapshot
+     */
+    public long horizonMillis() {
+        return horizonMillis;
+    }
+
+    /**
+     * Get when the account reached a version, which is the time of the posting that produced it
+     *
+     * @implNote Searches back from the latest posting, since this is asked about postings that were just made
+     * @return The time in milliseconds since the epoch, or the horizon if the version predates the history
+     */
+    public long postedMillis(long version) {
+        if (version <= openingState.version())
+            return horizonMillis;
+        final int visibleSize = size;
+        final long[][] visibleChunks = chunks;
+        long millis = horizonMillis;
+        for (int index = visibleSize - 1; index >= 0; index--) {
+            final long[] chunk = visibleChunks[index >>> CHUNK_SHIFT];
+            final int offset = (index & CHUNK_MASK) * NBR_FIELDS;
+            if (chunk[offset + VERSION] < version)
+                break;
+            millis = chunk[offset + TIMESTAMP];
+        }
+        return millis;
+    }
+
+    /**
+     * Find the first posting whose field is at least the given value, relying on every field searched being non-decreasing
+     */
+    private static int firstIndex(long[][] chunks, int size, int field, long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (chunks[middle >>> CHUNK_SHIFT][(middle & CHUNK_MASK) * NBR_FIELDS + field] < value)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [openedMillis=%d, horizonMillis=%d, size=%d]", getClass().getSimpleName(), openedMillis,
+                             horizonMillis, size);
+    }
+
+    /**
+     * A single posting
+     *
+     * @param timestampMillis When it was posted, in milliseconds since the epoch
+     * @param counterparty The other account of the transfer, or {@link #NO_COUNTERPARTY}
+     * @param amount The signed amount in minor units
+     * @param balance The resulting balance in minor units
+     * @param version The resulting version
+     */
+    public record Posting(long timestampMillis, int counterparty, long amount, long balance, long version) {
+    }
+}
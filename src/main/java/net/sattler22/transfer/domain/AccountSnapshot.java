@@ -0,0 +1,87 @@
+package net.sattler22.transfer.domain;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import net.jcip.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Account Snapshot Business Object
+ *
+ * @implNote An account along with one state read from it, serialized exactly like the account itself. Reading the balance
+ *           and the version through separate getters costs one load of the account state each, so a transfer can land in
+ *           between and pair the balance of one version with another version. Everything that needs both, such as the
+ *           JSON of an account or its entity tag and body, reads them from a single snapshot instead. Taking one is a
+ *           single volatile read: it never waits for, or holds up, a transfer.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+@JsonPropertyOrder({ "owner", "number", "type", "balance", "version" })
+public final class AccountSnapshot {
+
+    private final Account account;
+    private final AccountState state;
+
+    /**
+     * Constructs a new account snapshot
+     *
+     * @param account The account
+     * @param state A state of the account
+     */
+    public AccountSnapshot(Account account, AccountState state) {
+        this.account = Objects.requireNonNull(account, "Account is required");
+        this.state = Objects.requireNonNull(state, "Account state is required");
+    }
+
+    /**
+     * Get the underlying account
+     */
+    @JsonIgnore
+    public Account account() {
+        return account;
+    }
+
+    /**
+     * Get the state the snapshot was taken of
+     */
+    @JsonIgnore
+    public AccountState state() {
+        return state;
+    }
+
+    @JsonGetter
+    public int number() {
+        return account.number();
+    }
+
+    @JsonGetter
+    public AccountType type() {
+        return account.type();
+    }
+
+    @JsonGetter
+    public Customer owner() {
+        return account.owner();
+    }
+
+    @JsonGetter
+    public BigDecimal balance() {
+        return Account.CURRENCY.toBigDecimal(state.balance());
+    }
+
+    @JsonGetter
+    public long version() {
+        return state.version();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [number=%s, type=%s, owner=%s, balance=%s, version=%s]",
+                getClass().getSimpleName(), account.number(), account.type(), account.owner(), balance(), state.version());
+    }
+}
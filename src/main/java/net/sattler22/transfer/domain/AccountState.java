@@ -0,0 +1,55 @@
+package net.sattler22.transfer.domain;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Account State Business Object
+ *
+ * @implNote The balance and version of an account always change together, so they are kept in a single immutable value
+ *           that is swapped atomically. A claimed state is owned by an in-flight transfer; its balance and version are
+ *           still the last committed ones, so readers can use it as is.
+ * @param balance The balance in minor units of the account currency
+ * @param version The version, incremented on every balance change
+ * @param claimed True if an in-flight transfer owns the account
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+public record AccountState(long balance, long version, boolean claimed) {
+
+    /**
+     * Get the same state claimed by an in-flight transfer
+     */
+    AccountState claim() {
+        return new AccountState(balance, version, true);
+    }
+
+    /**
+     * Get the same state without a claim
+     */
+    AccountState release() {
+        return new AccountState(balance, version, false);
+    }
+
+    /**
+     * Get the unclaimed state resulting from posting an amount
+     *
+     * @param amount The signed amount in minor units
+     * @throws IllegalArgumentException If the resulting balance would overflow
+     */
+    AccountState post(long amount) {
+        return new AccountState(CurrencyUnit.add(balance, amount), version + 1, false);
+    }
+
+    /**
+     * Get the unclaimed state resulting from replaying a posting that produced a known version
+     *
+     * @param amount The signed amount in minor units
+     * @param postedVersion The version the posting originally produced
+     * @throws IllegalArgumentException If the resulting balance would overflow
+     */
+    AccountState replay(long amount, long postedVersion) {
+        return new AccountState(CurrencyUnit.add(balance, amount), Math.max(version, postedVersion), false);
+    }
+}
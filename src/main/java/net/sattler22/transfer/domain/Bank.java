@@ -4,20 +4,25 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonCreator.Mode;
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import net.jcip.annotations.Immutable;
 
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
 
 /**
  * Banking Institution Business Object
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since February 2019
  */
 @Immutable
@@ -26,8 +31,19 @@ public final class Bank {
     private final int id;
     private final String name;
 
+    //Customers indexed by their identifier, so lookups never block and take constant time:
     @JsonBackReference
-    private final Set<Customer> customers = Collections.synchronizedSet(new HashSet<>());
+    private final ConcurrentMap<String, Customer> customers = new ConcurrentHashMap<>();
+
+    //Customer identifiers in order, so customers can be paged through in a stable order:
+    @JsonIgnore
+    private final ConcurrentSkipListSet<String> customerIds = new ConcurrentSkipListSet<>();
+
+    @JsonIgnore
+    private final AccountDirectory accounts = new AccountDirectory();
+
+    @JsonIgnore
+    private final BankStats stats = new BankStats();
 
     /**
      * Constructs a new banking institution
@@ -52,23 +68,68 @@ public final class Bank {
      * Get all customers of the bank
      */
     public Set<Customer> customers() {
-        return Set.copyOf(customers);
+        return Set.copyOf(customers.values());
+    }
+
+    /**
+     * Get a page of customers, in customer identifier order
+     *
+     * @param after The customer identifier to start after, or null to start with the first customer
+     * @param limit The maximum number of customers to return
+     */
+    public List<Customer> customers(String after, int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Limit cannot be negative");
+        final List<Customer> result = new ArrayList<>(Math.min(limit, 1_024));
+        for (final String customerId : (after != null ? customerIds.tailSet(after, false) : customerIds)) {
+            if (result.size() == limit)
+                break;
+            final Customer customer = customers.get(customerId);
+            if (customer != null)  //Unless deleted in the meantime
+                result.add(customer);
+        }
+        return result;
+    }
+
+    /**
+     * Visit every customer of the bank in customer identifier order, without copying them
+     *
+     * @implNote The walk is weakly consistent: customers added or deleted while it runs may or may not be visited, but none
+     *           is ever visited twice.
+     */
+    public void forEachCustomer(Consumer<? super Customer> action) {
+        for (final String customerId : customerIds) {
+            final Customer customer = customers.get(customerId);
+            if (customer != null)
+                action.accept(customer);
+        }
     }
 
     /**
      * Add a new customer
      *
+     * @implNote The identifier index is only ever changed while the map holds the entry, so the two always agree on
+     *           every customer
      * @return True if the customer was added. Otherwise, returns false if customer was already added.
      */
     public boolean addCustomer(Customer customer) {
-        return customers.add(customer);
+        final boolean[] added = new boolean[1];
+        customers.computeIfAbsent(customer.id(), customerId -> {
+            customerIds.add(customerId);
+            added[0] = true;
+            return customer;
+        });
+        if (!added[0])
+            return false;
+        stats.customerAdded();
+        return true;
     }
 
     /**
      * Bank customer existence check
      */
     public boolean isCustomer(Customer customer) {
-        return customers.contains(customer);
+        return customers.containsKey(customer.id());
     }
 
     /**
@@ -77,7 +138,18 @@ public final class Bank {
      * @return True if the customer was deleted. Otherwise, returns false.
      */
     public boolean deleteCustomer(Customer customer) {
-        return customers.remove(customer);
+        final boolean[] deleted = new boolean[1];
+        customers.computeIfPresent(customer.id(), (customerId, existing) -> {
+            if (!existing.equals(customer))
+                return existing;
+            customerIds.remove(customerId);
+            deleted[0] = true;
+            return null;
+        });
+        if (!deleted[0])
+            return false;
+        stats.customerDeleted();
+        return true;
     }
 
     /**
@@ -86,7 +158,114 @@ public final class Bank {
      * @param id The customer identifier
      */
     public Optional<Customer> findCustomer(String id) {
-        return customers.stream().filter(customer -> customer.id().equals(id)).findFirst();
+        return Optional.ofNullable(lookupCustomer(id));
+    }
+
+    /**
+     * Look up a specific customer without wrapping it
+     *
+     * @param id The customer identifier
+     * @return The customer, or null if there is none
+     */
+    public Customer lookupCustomer(String id) {
+        return (id != null) ? customers.get(id) : null;
+    }
+
+    /**
+     * Add an account to the bank-wide account directory
+     *
+     * @return True if the account was added. Otherwise, returns false if its account number is already taken.
+     */
+    public boolean addAccount(Account account) {
+        if (!accounts.add(account))
+            return false;
+        stats.accountAdded(account.type(), account.startCounting());
+        return true;
+    }
+
+    /**
+     * Delete an account from the bank-wide account directory
+     *
+     * @implNote The statistics give up the balance they counted for the account, rather than the balance it has now,
+     *           which may already include a posting the statistics have yet to count (or never will)
+     * @return True if the account was deleted. Otherwise, returns false.
+     */
+    public boolean deleteAccount(Account account) {
+        if (!accounts.remove(account))
+            return false;
+        stats.accountDeleted(account.type(), account.stopCounting());
+        return true;
+    }
+
+    /**
+     * Account for a transfer in the running statistics
+     *
+     * @implNote Each account keeps the balance the statistics count for it, and a posting is only counted while the
+     *           account is, so a transfer racing the deletion of either account is counted exactly once or not at all
+     * @param amount The amount transferred in minor units
+     */
+    public void transferred(Account source, Account target, long amount) {
+        final boolean sourceCounted = source.count(-amount);
+        final boolean targetCounted = target.count(amount);
+        if (sourceCounted && targetCounted && source.type() == target.type())
+            return;  //Transfers conserve the total, so only one between account types changes anything
+        if (sourceCounted)
+            stats.posted(source.type(), -amount);
+        if (targetCounted)
+            stats.posted(target.type(), amount);
+    }
+
+    /**
+     * Account for a single posting in the running statistics, such as one replayed from the journal
+     *
+     * @param amount The signed amount in minor units
+     */
+    public void posted(Account account, long amount) {
+        if (account.count(amount))
+            stats.posted(account.type(), amount);
+    }
+
+    /**
+     * Get the running statistics
+     */
+    public BankStats stats() {
+        return stats;
+    }
+
+    /**
+     * Find a specific account regardless of its owner
+     *
+     * @param number The account number
+     */
+    public Optional<Account> findAccount(int number) {
+        return Optional.ofNullable(lookupAccount(number));
+    }
+
+    /**
+     * Look up a specific account regardless of its owner without wrapping it
+     *
+     * @param number The account number
+     * @return The account, or null if there is none
+     */
+    public Account lookupAccount(int number) {
+        return accounts.get(number);
+    }
+
+    /**
+     * Get all accounts of the bank, in account number order
+     */
+    public List<Account> accounts() {
+        final List<Account> result = new ArrayList<>(accounts.size());
+        accounts.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Compute a balance report over every account, consistent as of a single commit sequence number
+     */
+    public BankReport report() {
+        final long sequence = CommitSequence.snapshot();
+        return BankReport.of(accounts(), sequence);
     }
 
     @Override
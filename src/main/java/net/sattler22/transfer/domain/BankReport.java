@@ -0,0 +1,82 @@
+package net.sattler22.transfer.domain;
+
+import net.jcip.annotations.Immutable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * Whole-Bank Balance Report Business Object
+ *
+ * @implNote Every balance is taken as of the same {@link CommitSequence commit sequence number}, so the totals are
+ *           consistent across accounts: money in the middle of a transfer is counted exactly once. Accounts are summed in
+ *           parallel, each worker into its own tally, which are merged at the end, so transfers keep running at full speed
+ *           while a report is computed.
+ * @param sequence The commit sequence number the report was computed as of
+ * @param nbrAccounts The number of accounts open as of that sequence number
+ * @param totalDeposits The total of all balances in minor units
+ * @param totalsByType The total balance of each account type in minor units
+ * @param totalsByCustomer The total balance of each customer in minor units, keyed by customer identifier
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+public record BankReport(long sequence, int nbrAccounts, long totalDeposits, Map<AccountType, Long> totalsByType,
+                         Map<String, Long> totalsByCustomer) {
+
+    public BankReport {
+        totalsByType = Collections.unmodifiableMap(new EnumMap<>(Objects.requireNonNull(totalsByType, "Totals by type are required")));
+        totalsByCustomer = Map.copyOf(Objects.requireNonNull(totalsByCustomer, "Totals by customer are required"));
+    }
+
+    /**
+     * Compute a report over a set of accounts
+     *
+     * @param accounts The accounts
+     * @param sequence A sequence number returned by {@link CommitSequence#snapshot()}
+     */
+    static BankReport of(Collection<Account> accounts, long sequence) {
+        final Tally tally = accounts.parallelStream()
+                .collect(() -> new Tally(sequence), Tally::add, Tally::merge);
+        return new BankReport(sequence, tally.nbrAccounts, tally.totalDeposits, tally.totalsByType, tally.totalsByCustomer);
+    }
+
+    /**
+     * Running totals of one worker
+     */
+    private static final class Tally {
+
+        private final long sequence;
+        private final Map<AccountType, Long> totalsByType = new EnumMap<>(AccountType.class);
+        private final Map<String, Long> totalsByCustomer = new HashMap<>();
+        private int nbrAccounts;
+        private long totalDeposits;
+
+        private Tally(long sequence) {
+            this.sequence = sequence;
+        }
+
+        private void add(Account account) {
+            final OptionalLong balance = account.history().balanceAsOf(sequence);
+            if (balance.isEmpty())
+                return;  //Opened after the snapshot
+            nbrAccounts++;
+            totalDeposits = CurrencyUnit.add(totalDeposits, balance.getAsLong());
+            totalsByType.merge(account.type(), balance.getAsLong(), CurrencyUnit::add);
+            totalsByCustomer.merge(account.owner().id(), balance.getAsLong(), CurrencyUnit::add);
+        }
+
+        private void merge(Tally other) {
+            nbrAccounts += other.nbrAccounts;
+            totalDeposits = CurrencyUnit.add(totalDeposits, other.totalDeposits);
+            other.totalsByType.forEach((type, total) -> totalsByType.merge(type, total, CurrencyUnit::add));
+            other.totalsByCustomer.forEach((customerId, total) -> totalsByCustomer.merge(customerId, total, CurrencyUnit::add));
+        }
+    }
+}
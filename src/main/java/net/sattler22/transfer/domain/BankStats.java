@@ -0,0 +1,120 @@
+package net.sattler22.transfer.domain;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bank-Wide Running Statistics
+ *
+ * @implNote Kept up to date as customers and accounts come and go and as money moves between account types, so reading
+ *           them costs the same however large the bank grows, instead of walking every customer and account. Each counter
+ *           is a {@link LongAdder}, which stripes its updates across cells under contention, so transfers never contend on
+ *           a shared counter. The counters are updated independently, so a read taken while a change is being applied may
+ *           reflect part of it: use a {@link BankReport} when the figures must be consistent with each other.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class BankStats {
+
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private final LongAdder nbrCustomers = new LongAdder();
+    private final LongAdder[] nbrAccounts = new LongAdder[ACCOUNT_TYPES.length];
+    private final LongAdder[] deposits = new LongAdder[ACCOUNT_TYPES.length];
+
+    BankStats() {
+        for (int index = 0; index < ACCOUNT_TYPES.length; index++) {
+            nbrAccounts[index] = new LongAdder();
+            deposits[index] = new LongAdder();
+        }
+    }
+
+    void customerAdded() {
+        nbrCustomers.increment();
+    }
+
+    void customerDeleted() {
+        nbrCustomers.decrement();
+    }
+
+    /**
+     * Count a new account along with its opening balance
+     */
+    void accountAdded(AccountType type, long balance) {
+        nbrAccounts[type.ordinal()].increment();
+        deposits[type.ordinal()].add(balance);
+    }
+
+    /**
+     * Stop counting a closed account along with its closing balance
+     */
+    void accountDeleted(AccountType type, long balance) {
+        nbrAccounts[type.ordinal()].decrement();
+        deposits[type.ordinal()].add(-balance);
+    }
+
+    /**
+     * Count an amount posted to an account of the given type
+     */
+    void posted(AccountType type, long amount) {
+        deposits[type.ordinal()].add(amount);
+    }
+
+    /**
+     * Get the number of customers
+     */
+    public long nbrCustomers() {
+        return nbrCustomers.sum();
+    }
+
+    /**
+     * Get the number of accounts
+     */
+    public long nbrAccounts() {
+        long total = 0L;
+        for (final LongAdder counter : nbrAccounts)
+            total += counter.sum();
+        return total;
+    }
+
+    /**
+     * Get the number of accounts of each type
+     */
+    public Map<AccountType, Long> nbrAccountsByType() {
+        return sums(nbrAccounts);
+    }
+
+    /**
+     * Get the total of all balances in minor units
+     */
+    public long totalDeposits() {
+        long total = 0L;
+        for (final LongAdder counter : deposits)
+            total += counter.sum();
+        return total;
+    }
+
+    /**
+     * Get the total balance of each account type in minor units
+     */
+    public Map<AccountType, Long> depositsByType() {
+        return sums(deposits);
+    }
+
+    private static Map<AccountType, Long> sums(LongAdder[] counters) {
+        final Map<AccountType, Long> sums = new EnumMap<>(AccountType.class);
+        for (int index = 0; index < ACCOUNT_TYPES.length; index++)
+            sums.put(ACCOUNT_TYPES[index], counters[index].sum());
+        return sums;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [nbrCustomers=%d, nbrAccountsByType=%s, depositsByType=%s]",
+                getClass().getSimpleName(), nbrCustomers(), nbrAccountsByType(), depositsByType());
+    }
+}
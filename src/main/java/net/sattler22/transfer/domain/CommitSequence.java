@@ -0,0 +1,131 @@
+package net.sattler22.transfer.domain;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Global Commit Sequence
+ *
+ * @implNote Every commit, be it a transfer, an atomic batch or a single posting, is tagged with a number from one global
+ *           sequence, and every posting it makes to an account is recorded under that number. The state of the whole bank
+ *           as of a sequence number is then every posting up to and including it, which is consistent across accounts
+ *           because a transfer's postings always share a number.
+ *           <p>
+ *           A snapshot must not be read while a commit it includes is still posting, so each commit occupies a slot from
+ *           the moment before it draws its number until all of its postings are recorded. A reader draws no number. It
+ *           takes the last one handed out and waits only for the slots still holding a number at or below it, which are
+ *           commits that are already posting. Commits never wait for readers, and readers never hold anything. Slots are
+ *           padded to their own cache lines and a commit starts probing at a slot picked by its thread, so concurrent
+ *           commits do not contend on them.
+ *           <p>
+ *           There are only so many slots, so a commit must never wait on another thread while it holds one: if every
+ *           slot were held by such commits, the threads they wait on could never begin their own. A commit that has to
+ *           wait (such as a cross-shard transfer between its debit and its credit) is detached instead, which moves its
+ *           number from the slot to an unbounded set of open commits. It is added to the set before the slot is freed,
+ *           and readers check the set after the slots, so a reader always finds it in one place or the other.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class CommitSequence {
+
+    private static final int NBR_SLOTS = 128;
+    private static final int SLOT_STRIDE = 8;  //One slot per 64-byte cache line
+    private static final int SPIN_ATTEMPTS = 64;
+    private static final long FREE = 0L;
+    private static final long DRAWING = -1L;  //Occupied by a commit that has not drawn its number yet
+    private static final AtomicLong lastSequence = new AtomicLong();
+    private static final AtomicLongArray slots = new AtomicLongArray(NBR_SLOTS * SLOT_STRIDE);
+    private static final ConcurrentSkipListSet<Long> detached = new ConcurrentSkipListSet<>();
+
+    private CommitSequence() {
+        throw new AssertionError("Cannot be instantiated");
+    }
+
+    /**
+     * Begin a commit
+     *
+     * @return The commit ticket, to be passed to {@link #end(long)} once all of its postings are recorded, which must be
+     *         on the same thread unless the commit is {@link #detach(long) detached} first
+     */
+    public static long begin() {
+        int slot = (int) (Thread.currentThread().threadId() % NBR_SLOTS);
+        for (int attempt = 0; !slots.compareAndSet(slot * SLOT_STRIDE, FREE, DRAWING); attempt++) {
+            slot = (slot + 1) % NBR_SLOTS;
+            backOff(attempt / NBR_SLOTS);  //Only once every slot was found busy
+        }
+        final long sequence = lastSequence.incrementAndGet();
+        slots.set(slot * SLOT_STRIDE, sequence);
+        return sequence * NBR_SLOTS + slot;
+    }
+
+    /**
+     * Get the sequence number of a commit
+     *
+     * @param ticket The ticket returned by {@link #begin()}
+     */
+    public static long sequence(long ticket) {
+        return (ticket < 0) ? -ticket : ticket / NBR_SLOTS;
+    }
+
+    /**
+     * Detach a commit from its slot, so that it can stay open while it waits on another thread
+     *
+     * @param ticket The ticket returned by {@link #begin()}
+     * @return The ticket of the detached commit, to be passed to {@link #end(long)} by any thread
+     */
+    public static long detach(long ticket) {
+        final long sequence = sequence(ticket);
+        detached.add(sequence);
+        end(ticket);
+        return -sequence;
+    }
+
+    /**
+     * End a commit, making its postings part of every snapshot taken at or after its sequence number
+     *
+     * @param ticket The ticket returned by {@link #begin()} or {@link #detach(long)}
+     */
+    public static void end(long ticket) {
+        if (ticket < 0)
+            detached.remove(-ticket);
+        else
+            slots.set((int) (ticket % NBR_SLOTS) * SLOT_STRIDE, FREE);
+    }
+
+    /**
+     * Draw a sequence number for something that is visible the moment it exists, such as a newly opened account
+     */
+    static long next() {
+        return lastSequence.incrementAndGet();
+    }
+
+    /**
+     * Get a snapshot sequence number, once every commit up to and including it has recorded all of its postings
+     */
+    public static long snapshot() {
+        final long snapshot = lastSequence.get();
+        for (int slot = 0; slot < NBR_SLOTS; slot++) {
+            for (int attempt = 0; ; attempt++) {
+                final long occupant = slots.get(slot * SLOT_STRIDE);
+                if (occupant == FREE || occupant > snapshot)
+                    break;
+                backOff(attempt);  //Still drawing (its number may yet turn out to be later) or posting
+            }
+        }
+        for (int attempt = 0; detached.floor(snapshot) != null; attempt++)
+            backOff(attempt);
+        return snapshot;
+    }
+
+    private static void backOff(int attempt) {
+        if (attempt < SPIN_ATTEMPTS)
+            Thread.onSpinWait();
+        else
+            Thread.yield();
+    }
+}
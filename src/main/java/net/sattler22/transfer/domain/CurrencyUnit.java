@@ -0,0 +1,74 @@
+package net.sattler22.transfer.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Currency Unit Business Object
+ *
+ * @implNote Monetary amounts are held as a {@code long} count of minor units (e.g. cents) using the scale of their
+ *           currency. Conversion to and from {@link BigDecimal} only happens at the JSON boundary.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public enum CurrencyUnit {
+    USD(2);
+
+    private final int scale;
+
+    CurrencyUnit(int scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * Get the number of decimal places of a minor unit
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Convert a decimal amount into minor units
+     *
+     * @throws IllegalArgumentException If the amount has more decimal places than the currency allows or is too large
+     */
+    public long toMinorUnits(BigDecimal amount) {
+        try {
+            return amount.setScale(scale).unscaledValue().longValueExact();
+        }
+        catch(ArithmeticException e) {
+            throw new IllegalArgumentException(String.format("Amount [%s] is not a valid %s amount", amount, this), e);
+        }
+    }
+
+    /**
+     * Convert minor units into a decimal amount at the currency scale
+     */
+    public BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    /**
+     * Add two minor unit amounts
+     *
+     * @throws IllegalArgumentException If the result would overflow
+     */
+    public static long add(long augend, long addend) {
+        final long result = augend + addend;
+        if (((augend ^ result) & (addend ^ result)) < 0)
+            throw new IllegalArgumentException("Amount would overflow");
+        return result;
+    }
+
+    /**
+     * Subtract two minor unit amounts
+     *
+     * @throws IllegalArgumentException If the result would overflow
+     */
+    public static long subtract(long minuend, long subtrahend) {
+        final long result = minuend - subtrahend;
+        if (((minuend ^ subtrahend) & (minuend ^ result)) < 0)
+            throw new IllegalArgumentException("Amount would overflow");
+        return result;
+    }
+}
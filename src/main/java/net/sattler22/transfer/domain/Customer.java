@@ -26,7 +26,7 @@ import java.util.Set;
  * Customer Business Object
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since February 2019
  */
 @Immutable
@@ -54,6 +54,22 @@ public final class Customer {
                     @JsonProperty("lastName") String lastName, @JsonProperty("gender") Gender gender,
                     @JsonProperty("address") Address address, @JsonProperty("phone") String phone, @JsonProperty("email") String email,
                     @JsonProperty("images") List<Image> images, @JsonProperty("birthDate") LocalDate birthDate) {
+        this(id, firstName, lastName, gender, address, phone, email, images, birthDate, LocalDateTime.now());
+    }
+
+    /**
+     * Reconstructs an existing customer, such as one read back from the journal or a snapshot
+     *
+     * @param joinedDate When the customer originally joined
+     */
+    public static Customer restore(String id, String firstName, String lastName, Gender gender, Address address, String phone,
+                                   String email, List<Image> images, LocalDate birthDate, LocalDateTime joinedDate) {
+        return new Customer(id, firstName, lastName, gender, address, phone, email, images, birthDate,
+                            Objects.requireNonNull(joinedDate, "Joined date is required"));
+    }
+
+    private Customer(String id, String firstName, String lastName, Gender gender, Address address, String phone, String email,
+                     List<Image> images, LocalDate birthDate, LocalDateTime joinedDate) {
         this.id = Objects.requireNonNull(id, "Customer ID is required");
         this.firstName = Objects.requireNonNull(firstName, "First name is required");
         this.lastName = Objects.requireNonNull(lastName, "Last name is required");
@@ -63,7 +79,7 @@ public final class Customer {
         this.email = email;
         this.images = (images != null) ? images : Collections.emptyList();
         this.birthDate = Objects.requireNonNull(birthDate, "Date of birth is required");
-        this.joinedDate = LocalDateTime.now();
+        this.joinedDate = joinedDate;
     }
 
     @JsonGetter
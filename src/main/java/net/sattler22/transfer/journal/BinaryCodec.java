@@ -0,0 +1,121 @@
+package net.sattler22.transfer.journal;
+
+import net.sattler22.transfer.domain.Address;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.domain.Gender;
+import net.sattler22.transfer.domain.Image;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact Binary Encoding Utilities
+ *
+ * @implNote Strings are written as a length prefixed UTF-8 byte sequence, where a length of -1 means null. Date times are
+ *           written as the epoch day followed by the nano of day, so they come back exactly as they went in.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class BinaryCodec {
+
+    private BinaryCodec() {
+        throw new AssertionError("Cannot be instantiated");
+    }
+
+    /**
+     * Get the encoded size of a string
+     */
+    static int sizeOf(String value) {
+        return Integer.BYTES + ((value != null) ? value.getBytes(StandardCharsets.UTF_8).length : 0);
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0)
+            return null;
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the encoded size of a customer
+     */
+    static int sizeOf(Customer customer) {
+        int size = sizeOf(customer.id()) + sizeOf(customer.firstName()) + sizeOf(customer.lastName()) + Byte.BYTES;
+        final Address address = customer.address();
+        size += sizeOf(address.street()) + sizeOf(address.city()) + sizeOf(address.state()) + sizeOf(address.zip());
+        size += sizeOf(customer.phone()) + sizeOf(customer.email()) + Integer.BYTES;
+        for (final Image image : customer.images())
+            size += sizeOf((image.source() != null) ? image.source().toString() : null) + sizeOf(image.altText());
+        return size + Long.BYTES + Long.BYTES + Long.BYTES;
+    }
+
+    static void putCustomer(ByteBuffer buffer, Customer customer) {
+        putString(buffer, customer.id());
+        putString(buffer, customer.firstName());
+        putString(buffer, customer.lastName());
+        buffer.put((byte) customer.gender().ordinal());
+        final Address address = customer.address();
+        putString(buffer, address.street());
+        putString(buffer, address.city());
+        putString(buffer, address.state());
+        putString(buffer, address.zip());
+        putString(buffer, customer.phone());
+        putString(buffer, customer.email());
+        final List<Image> images = customer.images();
+        buffer.putInt(images.size());
+        for (final Image image : images) {
+            putString(buffer, (image.source() != null) ? image.source().toString() : null);
+            putString(buffer, image.altText());
+        }
+        buffer.putLong(customer.birthDate().toEpochDay());
+        putDateTime(buffer, customer.joinedDate());
+    }
+
+    static Customer getCustomer(ByteBuffer buffer) {
+        final String id = getString(buffer);
+        final String firstName = getString(buffer);
+        final String lastName = getString(buffer);
+        final Gender gender = Gender.values()[buffer.get()];
+        final Address address = new Address(getString(buffer), getString(buffer), getString(buffer), getString(buffer));
+        final String phone = getString(buffer);
+        final String email = getString(buffer);
+        final int nbrImages = buffer.getInt();
+        final List<Image> images = new ArrayList<>(nbrImages);
+        for (int i = 0; i < nbrImages; i++) {
+            final String source = getString(buffer);
+            images.add(new Image((source != null) ? URI.create(source) : null, getString(buffer)));
+        }
+        final LocalDate birthDate = LocalDate.ofEpochDay(buffer.getLong());
+        final LocalDateTime joinedDate = getDateTime(buffer);
+        return Customer.restore(id, firstName, lastName, gender, address, phone, email, images, birthDate, joinedDate);
+    }
+
+    static void putDateTime(ByteBuffer buffer, LocalDateTime value) {
+        buffer.putLong(value.toLocalDate().toEpochDay());
+        buffer.putLong(value.toLocalTime().toNanoOfDay());
+    }
+
+    static LocalDateTime getDateTime(ByteBuffer buffer) {
+        final LocalDate date = LocalDate.ofEpochDay(buffer.getLong());
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(buffer.getLong()));
+    }
+}
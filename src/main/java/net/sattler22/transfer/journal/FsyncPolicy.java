@@ -0,0 +1,23 @@
+package net.sattler22.transfer.journal;
+
+/**
+ * Journal Fsync Policy
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public enum FsyncPolicy {
+    /**
+     * Force every group committed batch to disk before acknowledging any of its appends
+     */
+    BATCH,
+    /**
+     * Acknowledge appends once written and force to disk at a fixed interval
+     */
+    INTERVAL,
+    /**
+     * Never force, leaving it to the operating system to write back the mapped pages
+     */
+    NONE;
+}
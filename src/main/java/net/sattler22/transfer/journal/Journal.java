@@ -0,0 +1,604 @@
+package net.sattler22.transfer.journal;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-Only Memory-Mapped Journal
+ *
+ * @implNote Records are appended to fixed size, memory-mapped segment files named after the sequence number of their first
+ *           record. Each frame is laid out as {@code [length][type][sequence][payload][crc32c]}, where the length covers
+ *           the type, sequence and payload. A zero length marks the end of the written data, since new segments are zero
+ *           filled. Appenders only enqueue their record; a single writer thread drains the queue in batches, encodes each
+ *           record straight into the mapped segment and (depending on the fsync policy) forces the whole batch to disk
+ *           with one call before acknowledging it. Journal order is therefore enqueue order. After every batch the writer
+ *           publishes the committed position, which lets readers such as replication follow the segment files while they
+ *           are still being written. A batch that fails part way is wiped from the segment files, so neither recovery nor
+ *           replication ever sees a record whose append failed, and the journal then rejects every further append.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class Journal implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(Journal.class);
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int FRAME_OVERHEAD = Integer.BYTES + Byte.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final BlockingQueue<PendingAppend> pendingAppends = new LinkedBlockingQueue<>();
+    private final Object appendLock = new Object();
+    private final Thread writer;
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition commitAdvanced = commitLock.newCondition();
+    private volatile boolean running = true;
+    private volatile boolean failed;
+    private volatile Position committed;
+    private long nextSequence;  //Guarded by the append lock
+
+    //Only accessed by the writer thread once started:
+    private final CRC32C checksum = new CRC32C();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentSequence;
+    private long lastSequence;
+    private long lastForceNanos = System.nanoTime();
+    private boolean unforced;
+
+    /**
+     * Opens a journal, continuing after the last intact record if one already exists
+     *
+     * @param directory The journal directory
+     * @param segmentSize The size of each segment file in bytes
+     * @param fsyncPolicy The fsync policy
+     * @param fsyncIntervalMillis The fsync interval in milliseconds (only applies to the INTERVAL policy)
+     * @throws IOException If unable to open the journal
+     */
+    public Journal(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) throws IOException {
+        this.directory = Objects.requireNonNull(directory, "Journal directory is required");
+        this.fsyncPolicy = Objects.requireNonNull(fsyncPolicy, "Fsync policy is required");
+        if (segmentSize <= FRAME_OVERHEAD)
+            throw new IllegalArgumentException("Segment size is too small");
+        if (fsyncIntervalMillis <= 0)
+            throw new IllegalArgumentException("Fsync interval must be greater than zero");
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        Files.createDirectories(directory);
+        openTail();
+        this.writer = Thread.ofPlatform()
+                .name("journal-writer")
+                .daemon()
+                .start(this::run);
+        logger.info("Opened {}", this);
+    }
+
+    /**
+     * Opens a journal, continuing after the last intact record if one already exists
+     *
+     * @throws IOException If unable to open the journal
+     */
+    public Journal(JournalConfig config) throws IOException {
+        this(config.directory(), config.segmentSize(), config.fsyncPolicy(), config.fsyncIntervalMillis());
+    }
+
+    /**
+     * Append a record
+     *
+     * @return A future holding the sequence number of the record, which completes once the fsync policy is satisfied
+     * @throws IllegalArgumentException If the record does not fit into a segment
+     */
+    public CompletableFuture<Long> append(JournalRecord record) {
+        checkAppend(record);
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+        synchronized (appendLock) {
+            //Sequence numbers are handed out in enqueue order, which is also the order they are written in:
+            pendingAppends.add(new PendingAppend(record, nextSequence++, result));
+        }
+        return result;
+    }
+
+    /**
+     * Append a record under a sequence number assigned elsewhere, such as by the primary of a replicated journal
+     *
+     * @param sequence The sequence number, which may skip ahead of the next one but never go back
+     * @return A future holding the sequence number of the record, which completes once the fsync policy is satisfied
+     * @throws IllegalArgumentException If the sequence number has already been used or the record does not fit into a segment
+     */
+    public CompletableFuture<Long> append(long sequence, JournalRecord record) {
+        checkAppend(record);
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+        synchronized (appendLock) {
+            if (sequence < nextSequence)
+                throw new IllegalArgumentException(String.format("Journal sequence #%d has already been used", sequence));
+            this.nextSequence = sequence + 1;
+            pendingAppends.add(new PendingAppend(record, sequence, result));
+        }
+        return result;
+    }
+
+    /**
+     * Make every record appended so far durable, without waiting for the next interval fsync
+     *
+     * @return A future holding the sequence number of the last record appended before the call, which completes once it and
+     *         every record before it have been written and, unless the fsync policy is NONE, forced to disk
+     */
+    public CompletableFuture<Long> sync() {
+        checkRunning();
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+        synchronized (appendLock) {
+            pendingAppends.add(new PendingAppend(null, nextSequence - 1, result));  //Takes its place in journal order
+        }
+        return result;
+    }
+
+    private void checkAppend(JournalRecord record) {
+        checkRunning();
+        if (FRAME_OVERHEAD + record.payloadSize() + Integer.BYTES > segmentSize)
+            throw new IllegalArgumentException(String.format("%s does not fit into a journal segment", record));
+    }
+
+    private void checkRunning() {
+        if (!running)
+            throw new IllegalStateException("Journal has been closed");
+        if (failed)
+            throw new IllegalStateException("Journal has failed");
+    }
+
+    /**
+     * Wait for an append to satisfy the fsync policy
+     *
+     * @return The sequence number of the record
+     * @throws IllegalStateException If the record could not be written
+     */
+    public static long await(CompletableFuture<Long> append) {
+        try {
+            return append.join();
+        }
+        catch(CompletionException e) {
+            throw new IllegalStateException("Unable to write to the journal", e.getCause());
+        }
+    }
+
+    /**
+     * Read all intact records of a journal
+     *
+     * @param directory The journal directory
+     * @param afterSequence Only records with a higher sequence number are passed to the handler
+     * @param handler The record handler
+     * @return The sequence number of the last intact record (zero if the journal is empty)
+     * @throws IOException If unable to read the journal
+     */
+    public static long read(Path directory, long afterSequence, RecordHandler handler) throws IOException {
+        final List<Path> segments = segments(directory);
+        long lastSequence = 0L;
+        for (int index = 0; index < segments.size(); index++) {
+            final boolean hasNext = index + 1 < segments.size();
+            if (hasNext && firstSequence(segments.get(index + 1)) <= afterSequence + 1)
+                continue;  //Every record in this segment has already been seen
+            try (final FileChannel readChannel = FileChannel.open(segments.get(index), StandardOpenOption.READ)) {
+                final ByteBuffer buffer = readChannel.map(MapMode.READ_ONLY, 0, readChannel.size());
+                final long segmentLastSequence = scan(buffer, new CRC32C(), (sequence, record) -> {
+                    if (sequence > afterSequence)
+                        handler.handle(sequence, record);
+                });
+                if (segmentLastSequence > 0)
+                    lastSequence = segmentLastSequence;
+            }
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Scan the intact frames of a buffer, leaving it positioned right after the last one
+     *
+     * @implNote Scanning stops at the first frame that is incomplete or fails its checksum
+     * @param buffer The frames, starting at the buffer position
+     * @param checksum The checksum to use (reset for every frame)
+     * @param handler The record handler
+     * @return The sequence number of the last intact record (zero if there are none)
+     */
+    public static long scan(ByteBuffer buffer, CRC32C checksum, RecordHandler handler) {
+        long lastSequence = 0L;
+        while (buffer.remaining() >= FRAME_OVERHEAD) {
+            final int start = buffer.position();
+            final int length = buffer.getInt(start);
+            if (length <= Byte.BYTES + Long.BYTES || length > buffer.remaining() - Integer.BYTES - Integer.BYTES)
+                break;
+            checksum.reset();
+            checksum.update(buffer.slice(start + Integer.BYTES, length));
+            if ((int) checksum.getValue() != buffer.getInt(start + Integer.BYTES + length))
+                break;
+            final byte type = buffer.get(start + Integer.BYTES);
+            final long sequence = buffer.getLong(start + Integer.BYTES + Byte.BYTES);
+            final ByteBuffer payload = buffer.slice(start + Integer.BYTES + Byte.BYTES + Long.BYTES, length - Byte.BYTES - Long.BYTES);
+            handler.handle(sequence, JournalRecord.read(type, payload));
+            lastSequence = sequence;
+            buffer.position(start + Integer.BYTES + length + Integer.BYTES);
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Get the size of the frame starting at the buffer position
+     *
+     * @return The frame size in bytes, or zero if the buffer does not hold a frame length yet
+     */
+    public static int frameSize(ByteBuffer buffer) {
+        if (buffer.remaining() < Integer.BYTES)
+            return 0;
+        return Integer.BYTES + buffer.getInt(buffer.position()) + Integer.BYTES;
+    }
+
+    /**
+     * Find where the records after a sequence number start within a segment
+     *
+     * @implNote Only the frame headers are read, so the frames before the limit must be complete
+     * @param segment The segment file
+     * @param afterSequence The sequence number to skip up to (use {@link Long#MAX_VALUE} to find the end of the written data)
+     * @param limit The offset to stop at
+     * @return The offset of the first record with a higher sequence number, or the end of the written data
+     * @throws IOException If unable to read the segment
+     */
+    public static int frameOffset(Path segment, long afterSequence, int limit) throws IOException {
+        try (final FileChannel readChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = readChannel.map(MapMode.READ_ONLY, 0, Math.min(limit, readChannel.size()));
+            while (buffer.remaining() >= FRAME_OVERHEAD) {
+                final int start = buffer.position();
+                final int length = buffer.getInt(start);
+                if (length <= Byte.BYTES + Long.BYTES || length > buffer.remaining() - Integer.BYTES - Integer.BYTES)
+                    break;
+                if (buffer.getLong(start + Integer.BYTES + Byte.BYTES) > afterSequence)
+                    break;
+                buffer.position(start + Integer.BYTES + length + Integer.BYTES);
+            }
+            return buffer.position();
+        }
+    }
+
+    /**
+     * Get the segment files of a journal in sequence number order
+     *
+     * @throws IOException If unable to list the journal directory
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory))
+            return List.of();
+        try (final Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Get the sequence number a segment file starts at (no record in it has a lower one)
+     */
+    public static long firstSequence(Path segment) {
+        final String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Tell whether a write has failed, after which every append is rejected
+     */
+    public boolean failed() {
+        return failed;
+    }
+
+    /**
+     * Get the position of the last record written and acknowledged
+     */
+    public Position committed() {
+        return committed;
+    }
+
+    /**
+     * Wait for a record after the given sequence number to be committed
+     *
+     * @return The committed position, which is unchanged if the timeout elapsed first
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public Position awaitCommitted(long afterSequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        commitLock.lock();
+        try {
+            while (committed.lastSequence() <= afterSequence && remainingNanos > 0L && running)
+                remainingNanos = commitAdvanced.awaitNanos(remainingNanos);
+            return committed;
+        }
+        finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Get the sequence number that will be assigned to the next appended record
+     */
+    public long nextSequence() {
+        synchronized (appendLock) {
+            return nextSequence;
+        }
+    }
+
+    /**
+     * Delete every segment whose records all have a sequence number lower than the given one
+     *
+     * @implNote The segment currently being written to is never deleted
+     * @return The number of segments deleted
+     * @throws IOException If unable to delete a segment
+     */
+    public int deleteSegmentsBefore(long sequence) throws IOException {
+        final List<Path> segments = segments(directory);
+        int nbrDeleted = 0;
+        for (int index = 0; index + 1 < segments.size(); index++) {
+            if (firstSequence(segments.get(index + 1)) > sequence)
+                break;
+            Files.delete(segments.get(index));
+            nbrDeleted++;
+        }
+        return nbrDeleted;
+    }
+
+    /**
+     * Get the journal directory
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    @Override
+    public void close() {
+        if (!running)
+            return;
+        this.running = false;
+        try {
+            writer.join();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Closed {}", this);
+    }
+
+    private void run() {
+        final List<PendingAppend> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        final long pollNanos = (fsyncPolicy == FsyncPolicy.INTERVAL) ? fsyncIntervalNanos : IDLE_POLL_NANOS;
+        while (running || !pendingAppends.isEmpty()) {
+            try {
+                final PendingAppend first = pendingAppends.poll(pollNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pendingAppends.drainTo(batch, MAX_BATCH_SIZE - 1);
+                }
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (failed) {
+                for (final PendingAppend pendingAppend : batch)
+                    pendingAppend.result().completeExceptionally(new IllegalStateException("Journal has failed"));
+                batch.clear();
+                continue;
+            }
+            final long batchSegmentSequence = segmentSequence;
+            final int batchStart = segment.position();
+            final long batchLastSequence = lastSequence;
+            try {
+                boolean syncRequested = false;
+                for (final PendingAppend pendingAppend : batch) {
+                    if (pendingAppend.record() == null)
+                        syncRequested = true;
+                    else
+                        write(pendingAppend.record(), pendingAppend.sequence());
+                }
+                if (syncRequested || (fsyncPolicy == FsyncPolicy.BATCH && !batch.isEmpty()))
+                    force();
+                else if (fsyncPolicy == FsyncPolicy.INTERVAL && unforced && System.nanoTime() - lastForceNanos >= fsyncIntervalNanos)
+                    force();
+                if (!batch.isEmpty())
+                    publishCommitted();
+                for (final PendingAppend pendingAppend : batch)
+                    pendingAppend.result().complete(pendingAppend.sequence());
+            }
+            catch(IOException | RuntimeException e) {
+                logger.error("Unable to write {} journal records", batch.size(), e);
+                this.failed = true;
+                discard(batchSegmentSequence, batchStart, batchLastSequence);
+                for (final PendingAppend pendingAppend : batch)
+                    pendingAppend.result().completeExceptionally(e);
+            }
+            batch.clear();
+        }
+        PendingAppend lateAppend;
+        while ((lateAppend = pendingAppends.poll()) != null)
+            lateAppend.result().completeExceptionally(new IllegalStateException("Journal has been closed"));
+        publishCommitted();  //Wakes up anyone still waiting
+        try {
+            force();
+            channel.close();
+        }
+        catch(IOException e) {
+            logger.error("Unable to close the journal", e);
+        }
+    }
+
+    private void write(JournalRecord record, long sequence) throws IOException {
+        final int length = Byte.BYTES + Long.BYTES + record.payloadSize();
+        if (segment.remaining() < Integer.BYTES + length + Integer.BYTES + Integer.BYTES)
+            roll(sequence);
+        final int start = segment.position();
+        segment.putInt(length);
+        segment.put(record.type());
+        segment.putLong(sequence);
+        record.writePayload(segment);
+        checksum.reset();
+        checksum.update(segment.slice(start + Integer.BYTES, length));
+        segment.putInt((int) checksum.getValue());
+        this.lastSequence = sequence;
+        this.unforced = true;
+    }
+
+    /**
+     * Wipe the frames a failed batch left behind and go back to where it started
+     */
+    private void discard(long batchSegmentSequence, int batchStart, long batchLastSequence) {
+        try {
+            if (segmentSequence == batchSegmentSequence)
+                wipe(segment, batchStart, segment.position());
+            else {
+                //Rolled over part way through the batch, so its first frames are in the previous segment:
+                wipe(segment, 0, segment.position());
+                try (final FileChannel batchChannel = FileChannel.open(segmentPath(directory, batchSegmentSequence),
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    wipe(batchChannel.map(MapMode.READ_WRITE, 0, segmentSize), batchStart, segmentSize);
+                }
+            }
+            this.lastSequence = batchLastSequence;
+            logger.warn("Discarded the failed journal records after sequence #{}", batchLastSequence);
+        }
+        catch(IOException | RuntimeException e) {
+            logger.error("Unable to discard the failed journal records after sequence #{}", batchLastSequence, e);
+        }
+    }
+
+    private void wipe(MappedByteBuffer buffer, int from, int to) {
+        if (to > from)
+            buffer.put(from, new byte[to - from]);
+        buffer.position(from);
+        if (fsyncPolicy != FsyncPolicy.NONE)
+            buffer.force();
+    }
+
+    private void publishCommitted() {
+        commitLock.lock();
+        try {
+            this.committed = new Position(segmentSequence, segment.position(), lastSequence);
+            commitAdvanced.signalAll();
+        }
+        finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void force() {
+        if (unforced && fsyncPolicy != FsyncPolicy.NONE)
+            segment.force();
+        this.unforced = false;
+        this.lastForceNanos = System.nanoTime();
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        if (fsyncPolicy != FsyncPolicy.NONE && unforced)
+            segment.force();  //Older segments are always durable
+        channel.close();
+        openSegment(segmentPath(directory, firstSequence));
+        this.segmentSequence = firstSequence;
+        logger.info("Rolled over to journal segment starting at sequence #{}", firstSequence);
+    }
+
+    private void openTail() throws IOException {
+        final List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            this.nextSequence = 1L;
+            this.segmentSequence = nextSequence;
+            openSegment(segmentPath(directory, nextSequence));
+            this.committed = new Position(segmentSequence, 0, 0L);
+            return;
+        }
+        final Path tail = segments.getLast();
+        openSegment(tail);
+        this.segmentSequence = firstSequence(tail);
+        final long tailSequence = scan(segment, checksum, (sequence, record) -> {});
+        this.nextSequence = (tailSequence > 0) ? tailSequence + 1 : segmentSequence;
+        this.lastSequence = nextSequence - 1;
+        this.committed = new Position(segmentSequence, segment.position(), lastSequence);
+        if (segment.getInt(segment.position()) != 0) {
+            //Torn write from a crash, so wipe it to keep readers from tripping over it later:
+            logger.warn("Discarding torn journal record at offset {} of {}", segment.position(), tail);
+            final int tornStart = segment.position();
+            while (segment.hasRemaining())
+                segment.put((byte) 0);
+            segment.position(tornStart);
+            segment.force();
+        }
+    }
+
+    private void openSegment(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segment = channel.map(MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    /**
+     * Get the path of the segment file starting at the given sequence number
+     */
+    public static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [directory=%s, segmentSize=%d, fsyncPolicy=%s, fsyncIntervalNanos=%d]",
+                getClass().getSimpleName(), directory, segmentSize, fsyncPolicy, fsyncIntervalNanos);
+    }
+
+    /**
+     * Journal record handler
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        /**
+         * Handle a journal record
+         *
+         * @param sequence The sequence number of the record
+         * @param record The record
+         */
+        void handle(long sequence, JournalRecord record);
+    }
+
+    /**
+     * Committed journal position
+     *
+     * @param segmentSequence The first sequence number of the segment being written to (which also names its file)
+     * @param offset The end of the committed data within that segment
+     * @param lastSequence The sequence number of the last committed record (zero if there are none)
+     */
+    @Immutable
+    public record Position(long segmentSequence, int offset, long lastSequence) {
+    }
+
+    /**
+     * Record waiting to be written, or a sync request if there is no record
+     */
+    private record PendingAppend(JournalRecord record, long sequence, CompletableFuture<Long> result) {
+    }
+}
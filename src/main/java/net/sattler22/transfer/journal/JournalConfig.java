@@ -0,0 +1,29 @@
+package net.sattler22.transfer.journal;
+
+import net.jcip.annotations.Immutable;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Journal Configuration
+ *
+ * @param directory The journal directory
+ * @param segmentSize The size of each segment file in bytes
+ * @param fsyncPolicy The fsync policy
+ * @param fsyncIntervalMillis The fsync interval in milliseconds (only applies to the INTERVAL policy)
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+public record JournalConfig(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+
+    /**
+     * Constructs a new journal configuration
+     */
+    public JournalConfig {
+        Objects.requireNonNull(directory, "Journal directory is required");
+        Objects.requireNonNull(fsyncPolicy, "Fsync policy is required");
+    }
+}
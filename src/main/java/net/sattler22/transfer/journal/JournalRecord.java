@@ -0,0 +1,252 @@
+package net.sattler22.transfer.journal;
+
+import net.jcip.annotations.Immutable;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Customer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Journal Record
+ *
+ * @implNote Transfer records only carry the amount and the account versions it produced, never the resulting balances.
+ *           Transfers are journaled in the order they were applied to each account, so replaying the journal, or whatever
+ *           prefix of it a crash leaves behind, never overdraws an account even though replay does not check balances. The
+ *           versions tell recovery whether a posting is already reflected in a snapshot, and the posting and opening times
+ *           let recovery rebuild each account history, so that as-of reads give the same answers after a restart.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public sealed interface JournalRecord {
+
+    byte TRANSFER = 1;
+    byte ACCOUNT_ADDED = 2;
+    byte ACCOUNT_DELETED = 3;
+    byte CUSTOMER_ADDED = 4;
+    byte CUSTOMER_DELETED = 5;
+    byte TRANSFER_BATCH = 6;
+
+    /**
+     * Get the record type
+     */
+    byte type();
+
+    /**
+     * Get the size of the encoded payload in bytes
+     */
+    int payloadSize();
+
+    /**
+     * Encode the payload
+     */
+    void writePayload(ByteBuffer buffer);
+
+    /**
+     * Decode a payload
+     *
+     * @param type The record type
+     * @param buffer The payload
+     * @throws IllegalArgumentException If the record type is unknown
+     */
+    static JournalRecord read(byte type, ByteBuffer buffer) {
+        return switch (type) {
+            case TRANSFER -> Transfer.read(buffer);
+            case ACCOUNT_ADDED -> new AccountAdded(buffer.getInt(), BinaryCodec.getString(buffer),
+                                                   AccountType.values()[buffer.get()], buffer.getLong(), buffer.getLong(),
+                                                   buffer.getLong());
+            case ACCOUNT_DELETED -> new AccountDeleted(buffer.getInt());
+            case CUSTOMER_ADDED -> new CustomerAdded(BinaryCodec.getCustomer(buffer));
+            case CUSTOMER_DELETED -> new CustomerDeleted(BinaryCodec.getString(buffer));
+            case TRANSFER_BATCH -> TransferBatch.read(buffer);
+            default -> throw new IllegalArgumentException(String.format("Unknown journal record type [%d]", type));
+        };
+    }
+
+    /**
+     * Money transferred between two accounts
+     *
+     * @param amount The amount in minor units of the account currency
+     * @param sourceVersion The source account version posted by the transfer
+     * @param targetVersion The target account version posted by the transfer
+     * @param postedMillis When the transfer was posted, in milliseconds since the epoch
+     */
+    @Immutable
+    record Transfer(int sourceNumber, int targetNumber, long amount, long sourceVersion, long targetVersion,
+                    long postedMillis) implements JournalRecord {
+
+        /**
+         * Size of the encoded payload in bytes
+         */
+        static final int PAYLOAD_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES + Long.BYTES + Long.BYTES;
+
+        @Override
+        public byte type() {
+            return TRANSFER;
+        }
+
+        @Override
+        public int payloadSize() {
+            return PAYLOAD_SIZE;
+        }
+
+        @Override
+        public void writePayload(ByteBuffer buffer) {
+            buffer.putInt(sourceNumber).putInt(targetNumber).putLong(amount).putLong(sourceVersion).putLong(targetVersion)
+                    .putLong(postedMillis);
+        }
+
+        private static Transfer read(ByteBuffer buffer) {
+            return new Transfer(buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                                buffer.getLong());
+        }
+    }
+
+    /**
+     * Atomic batch of transfers, which are journaled in a single record so that recovery sees all of them or none
+     */
+    @Immutable
+    record TransferBatch(List<Transfer> transfers) implements JournalRecord {
+
+        public TransferBatch {
+            transfers = List.copyOf(Objects.requireNonNull(transfers, "Transfers are required"));
+        }
+
+        @Override
+        public byte type() {
+            return TRANSFER_BATCH;
+        }
+
+        @Override
+        public int payloadSize() {
+            return Integer.BYTES + transfers.size() * Transfer.PAYLOAD_SIZE;
+        }
+
+        @Override
+        public void writePayload(ByteBuffer buffer) {
+            buffer.putInt(transfers.size());
+            for (final Transfer transfer : transfers)
+                transfer.writePayload(buffer);
+        }
+
+        private static TransferBatch read(ByteBuffer buffer) {
+            final int nbrTransfers = buffer.getInt();
+            final List<Transfer> transfers = new ArrayList<>(nbrTransfers);
+            for (int index = 0; index < nbrTransfers; index++)
+                transfers.add(Transfer.read(buffer));
+            return new TransferBatch(transfers);
+        }
+    }
+
+    /**
+     * Account opened, or restored after being moved from another partition
+     *
+     * @param balance The opening balance in minor units of the account currency
+     * @param version The opening version, which is only greater than zero for a restored account
+     * @param openedMillis When the account was opened, in milliseconds since the epoch
+     */
+    @Immutable
+    record AccountAdded(int number, String customerId, AccountType accountType, long balance, long version, long openedMillis)
+            implements JournalRecord {
+
+        public AccountAdded {
+            Objects.requireNonNull(customerId, "Customer ID is required");
+            Objects.requireNonNull(accountType, "Account type is required");
+        }
+
+        @Override
+        public byte type() {
+            return ACCOUNT_ADDED;
+        }
+
+        @Override
+        public int payloadSize() {
+            return Integer.BYTES + BinaryCodec.sizeOf(customerId) + Byte.BYTES + Long.BYTES + Long.BYTES + Long.BYTES;
+        }
+
+        @Override
+        public void writePayload(ByteBuffer buffer) {
+            buffer.putInt(number);
+            BinaryCodec.putString(buffer, customerId);
+            buffer.put((byte) accountType.ordinal());
+            buffer.putLong(balance).putLong(version).putLong(openedMillis);
+        }
+    }
+
+    /**
+     * Account closed
+     */
+    @Immutable
+    record AccountDeleted(int number) implements JournalRecord {
+
+        @Override
+        public byte type() {
+            return ACCOUNT_DELETED;
+        }
+
+        @Override
+        public int payloadSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void writePayload(ByteBuffer buffer) {
+            buffer.putInt(number);
+        }
+    }
+
+    /**
+     * Customer added
+     */
+    @Immutable
+    record CustomerAdded(Customer customer) implements JournalRecord {
+
+        public CustomerAdded {
+            Objects.requireNonNull(customer, "Customer is required");
+        }
+
+        @Override
+        public byte type() {
+            return CUSTOMER_ADDED;
+        }
+
+        @Override
+        public int payloadSize() {
+            return BinaryCodec.sizeOf(customer);
+        }
+
+        @Override
+        public void writePayload(ByteBuffer buffer) {
+            BinaryCodec.putCustomer(buffer, customer);
+        }
+    }
+
+    /**
+     * Customer deleted
+     */
+    @Immutable
+    record CustomerDeleted(String customerId) implements JournalRecord {
+
+        public CustomerDeleted {
+            Objects.requireNonNull(customerId, "Customer ID is required");
+        }
+
+        @Override
+        public byte type() {
+            return CUSTOMER_DELETED;
+        }
+
+        @Override
+        public int payloadSize() {
+            return BinaryCodec.sizeOf(customerId);
+        }
+
+        @Override
+        public void writePayload(ByteBuffer buffer) {
+            BinaryCodec.putString(buffer, customerId);
+        }
+    }
+}
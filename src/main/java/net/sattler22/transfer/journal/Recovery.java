@@ -0,0 +1,187 @@
+package net.sattler22.transfer.journal;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.NotThreadSafe;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Snapshot Plus Journal Recovery
+ *
+ * @implNote The latest snapshot is loaded first and only the journal records after it are replayed, so restart time
+ *           depends on the journal tail rather than the whole history. A snapshot is taken while transfers keep running,
+ *           so it may already reflect some transfers journaled after it. Each transfer record carries the account versions
+ *           it produced, and a posting is only replayed if its version is newer than the one in the snapshot. The same
+ *           replayer keeps applying records after recovery, which is how a replication backup follows its primary.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public final class Recovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(Recovery.class);
+
+    private Recovery() {
+        throw new AssertionError("Cannot be instantiated");
+    }
+
+    /**
+     * Rebuild the bank from the latest snapshot and the journal records after it
+     *
+     * @param bank An empty bank to recover into
+     * @param snapshotDirectory The snapshot directory
+     * @param journalDirectory The journal directory
+     * @throws IOException If unable to read the snapshot or journal
+     */
+    public static Result recover(Bank bank, Path snapshotDirectory, Path journalDirectory) throws IOException {
+        return recover(new Replayer(bank), snapshotDirectory, journalDirectory);
+    }
+
+    /**
+     * Rebuild a bank from the latest snapshot and the journal records after it
+     *
+     * @param replayer The replayer of an empty bank, which can go on replaying records afterwards
+     * @param snapshotDirectory The snapshot directory
+     * @param journalDirectory The journal directory
+     * @throws IOException If unable to read the snapshot or journal
+     */
+    public static Result recover(Replayer replayer, Path snapshotDirectory, Path journalDirectory) throws IOException {
+        final long startNanos = System.nanoTime();
+        final Bank bank = replayer.bank;
+        final Map<Integer, Long> snapshotVersions = replayer.snapshotVersions;
+        final Optional<Path> snapshot = Snapshot.latest(snapshotDirectory);
+        long afterSequence = 0L;
+        if (snapshot.isPresent()) {
+            final Snapshot.Header header = Snapshot.read(snapshot.get(), bank::addCustomer, entry -> {
+                final Customer owner = bank.findCustomer(entry.customerId())
+                        .orElseThrow(() -> new IllegalStateException(String.format("Customer ID [%s] not found", entry.customerId())));
+                restoreAccount(bank, Account.restore(owner, entry.number(), entry.type(), entry.balance(), entry.version(),
+                                                     entry.openedMillis(), entry.horizonMillis()));
+                snapshotVersions.put(entry.number(), entry.version());
+            });
+            Account.reserveNumbers(header.lastAccountNumber());
+            afterSequence = header.lastSequence();
+            logger.info("Loaded {} as of journal sequence #{}", snapshot.get(), afterSequence);
+        }
+        final int[] nbrReplayed = new int[1];
+        final long lastSequence = Journal.read(journalDirectory, afterSequence, (sequence, record) -> {
+            replayer.replay(record);
+            nbrReplayed[0]++;
+        });
+        final Result result = new Result(snapshot.isPresent() || lastSequence > 0, Math.max(afterSequence, lastSequence),
+                                         nbrReplayed[0], Duration.ofNanos(System.nanoTime() - startNanos));
+        logger.info("Recovery complete: {}", result);
+        return result;
+    }
+
+    private static void replay(Bank bank, Map<Integer, Long> snapshotVersions, JournalRecord record) {
+        switch (record) {
+            case JournalRecord.CustomerAdded customerAdded -> bank.addCustomer(customerAdded.customer());
+            case JournalRecord.CustomerDeleted customerDeleted ->
+                    bank.findCustomer(customerDeleted.customerId()).ifPresent(bank::deleteCustomer);
+            case JournalRecord.AccountAdded accountAdded -> {
+                final Optional<Customer> owner = bank.findCustomer(accountAdded.customerId());
+                if (owner.isEmpty()) {
+                    logger.warn("Skipping {} since its owner does not exist", accountAdded);
+                    return;
+                }
+                restoreAccount(bank, Account.restore(owner.get(), accountAdded.number(), accountAdded.accountType(),
+                                                     accountAdded.balance(), accountAdded.version(), accountAdded.openedMillis(),
+                                                     accountAdded.openedMillis()));
+            }
+            case JournalRecord.AccountDeleted accountDeleted -> bank.findAccount(accountDeleted.number()).ifPresent(account -> {
+                account.owner().deleteAccount(account);
+                bank.deleteAccount(account);
+            });
+            case JournalRecord.Transfer transfer -> replayTransfer(bank, snapshotVersions, transfer);
+            case JournalRecord.TransferBatch transferBatch -> {
+                for (final JournalRecord.Transfer transfer : transferBatch.transfers())
+                    replayTransfer(bank, snapshotVersions, transfer);
+            }
+        }
+    }
+
+    private static void replayTransfer(Bank bank, Map<Integer, Long> snapshotVersions, JournalRecord.Transfer transfer) {
+        replayPosting(bank, snapshotVersions, transfer.sourceNumber(), -transfer.amount(), transfer.sourceVersion(),
+                      transfer.postedMillis());
+        replayPosting(bank, snapshotVersions, transfer.targetNumber(), transfer.amount(), transfer.targetVersion(),
+                      transfer.postedMillis());
+    }
+
+    private static void restoreAccount(Bank bank, Account account) {
+        if (bank.addAccount(account))
+            account.owner().addAccount(account);
+    }
+
+    private static void replayPosting(Bank bank, Map<Integer, Long> snapshotVersions, int number, long amount, long version,
+                                      long postedMillis) {
+        final Account account = bank.findAccount(number).orElse(null);
+        if (account == null)
+            return;  //Closed since, and the closing balance was zero
+        if (version <= snapshotVersions.getOrDefault(number, 0L))
+            return;  //Already reflected in the snapshot
+        account.replay(amount, version, postedMillis);
+        bank.posted(account, amount);
+    }
+
+    /**
+     * Journal Record Replayer
+     */
+    @NotThreadSafe
+    public static final class Replayer {
+
+        private final Bank bank;
+        private final Map<Integer, Long> snapshotVersions = new HashMap<>();
+
+        /**
+         * Constructs a new replayer
+         *
+         * @param bank The bank to replay records into
+         */
+        public Replayer(Bank bank) {
+            this.bank = Objects.requireNonNull(bank, "Bank is required");
+        }
+
+        /**
+         * Apply a journal record to the bank
+         */
+        public void replay(JournalRecord record) {
+            Recovery.replay(bank, snapshotVersions, record);
+        }
+
+        /**
+         * Get the bank records are replayed into
+         */
+        public Bank bank() {
+            return bank;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [bank=%s, nbrSnapshotVersions=%d]", getClass().getSimpleName(), bank, snapshotVersions.size());
+        }
+    }
+
+    /**
+     * Recovery result
+     *
+     * @param recovered True if there was anything to recover from
+     * @param lastSequence The sequence number of the last record recovered
+     * @param nbrReplayed The number of journal records replayed after the snapshot
+     * @param elapsed The time taken
+     */
+    @Immutable
+    public record Result(boolean recovered, long lastSequence, int nbrReplayed, Duration elapsed) {
+    }
+}
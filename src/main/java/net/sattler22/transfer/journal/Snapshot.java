@@ -0,0 +1,281 @@
+package net.sattler22.transfer.journal;
+
+import net.jcip.annotations.Immutable;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountState;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Customer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Binary Bank Snapshot
+ *
+ * @implNote A snapshot holds every customer and account, including the balance and version of each account, as of a
+ *           journal sequence number. The layout is {@code [magic][format][lastSequence][lastAccountNumber]}, followed by
+ *           the customer count and length prefixed customer entries, the account count and length prefixed account
+ *           entries, and finally the magic number again to prove the snapshot is complete. Each account entry also carries
+ *           when the account was opened and when it reached the balance in the snapshot, which is how far back its history
+ *           goes once restored. Snapshots are written to a
+ *           temporary file and atomically renamed, so a snapshot that is visible is always whole.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public final class Snapshot {
+
+    private static final int MAGIC = 0x4D545353;  //MTSS
+    private static final int FORMAT = 3;  //Accounts carry their opening time and history horizon
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private Snapshot() {
+        throw new AssertionError("Cannot be instantiated");
+    }
+
+    /**
+     * Write a snapshot
+     *
+     * @param directory The snapshot directory
+     * @param lastSequence The sequence number of the last journal record reflected in the snapshot
+     * @param customers All customers
+     * @param accounts All accounts
+     * @return The snapshot file
+     * @throws IOException If unable to write the snapshot
+     */
+    public static Path write(Path directory, long lastSequence, Collection<Customer> customers,
+                             Collection<Account> accounts) throws IOException {
+        return write(directory, lastSequence, customers, accounts, () -> {});
+    }
+
+    /**
+     * Write a snapshot
+     *
+     * @param directory The snapshot directory
+     * @param lastSequence The sequence number of the last journal record reflected in the snapshot
+     * @param customers All customers
+     * @param accounts All accounts
+     * @param beforePublish Called once every balance has been read and before the snapshot becomes visible
+     * @return The snapshot file
+     * @throws IOException If unable to write the snapshot
+     */
+    public static Path write(Path directory, long lastSequence, Collection<Customer> customers,
+                             Collection<Account> accounts, Runnable beforePublish) throws IOException {
+        Files.createDirectories(directory);
+        final Path file = directory.resolve(String.format("%s%020d%s", PREFIX, lastSequence, SUFFIX));
+        final Path temporaryFile = directory.resolve(file.getFileName() + ".tmp");
+        try (final FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final Writer writer = new Writer(channel);
+            int lastAccountNumber = Account.lastNumber();
+            for (final Account account : accounts)
+                lastAccountNumber = Math.max(lastAccountNumber, account.number());
+            writer.ensure(Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT)
+                    .putLong(lastSequence)
+                    .putInt(lastAccountNumber)
+                    .putInt(customers.size());
+            for (final Customer customer : customers) {
+                final int size = BinaryCodec.sizeOf(customer);
+                BinaryCodec.putCustomer(writer.ensure(Integer.BYTES + size).putInt(size), customer);
+            }
+            writer.ensure(Integer.BYTES).putInt(accounts.size());
+            for (final Account account : accounts) {
+                final AccountState state = account.state();  //Balance and version always belong together
+                final int size = Integer.BYTES + BinaryCodec.sizeOf(account.owner().id()) + Byte.BYTES + 4 * Long.BYTES;
+                final ByteBuffer buffer = writer.ensure(Integer.BYTES + size).putInt(size).putInt(account.number());
+                BinaryCodec.putString(buffer, account.owner().id());
+                buffer.put((byte) account.type().ordinal())
+                        .putLong(state.balance())
+                        .putLong(state.version())
+                        .putLong(account.history().openedMillis())
+                        .putLong(account.history().postedMillis(state.version()));
+            }
+            writer.ensure(Integer.BYTES).putInt(MAGIC);
+            writer.flush();
+            channel.force(true);
+        }
+        beforePublish.run();
+        Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    /**
+     * Find the most recent snapshot
+     *
+     * @throws IOException If unable to list the snapshot directory
+     */
+    public static Optional<Path> latest(Path directory) throws IOException {
+        final List<Path> snapshots = snapshots(directory);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.getLast());
+    }
+
+    /**
+     * Delete all but the most recent snapshots
+     *
+     * @param directory The snapshot directory
+     * @param nbrRetained The number of snapshots to keep
+     * @return The last journal sequence number of the oldest snapshot kept (zero if there are none)
+     * @throws IOException If unable to delete a snapshot
+     */
+    public static long retain(Path directory, int nbrRetained) throws IOException {
+        final List<Path> snapshots = snapshots(directory);
+        final int nbrDeleted = Math.max(0, snapshots.size() - nbrRetained);
+        for (final Path snapshot : snapshots.subList(0, nbrDeleted))
+            Files.delete(snapshot);
+        return (nbrDeleted < snapshots.size()) ? lastSequence(snapshots.get(nbrDeleted)) : 0L;
+    }
+
+    /**
+     * Read a snapshot
+     *
+     * @param file The snapshot file
+     * @param customerHandler Receives every customer, before any account
+     * @param accountHandler Receives every account
+     * @return The snapshot header
+     * @throws IOException If unable to read the snapshot or it is not complete
+     */
+    public static Header read(Path file, Consumer<Customer> customerHandler, Consumer<AccountEntry> accountHandler)
+            throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final Reader reader = new Reader(channel);
+            final ByteBuffer headerBuffer = reader.next(Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES);
+            if (headerBuffer.getInt() != MAGIC || headerBuffer.getInt() != FORMAT)
+                throw new IOException(String.format("%s is not a supported snapshot", file));
+            final Header header = new Header(headerBuffer.getLong(), headerBuffer.getInt());
+            final int nbrCustomers = reader.next(Integer.BYTES).getInt();
+            for (int i = 0; i < nbrCustomers; i++)
+                customerHandler.accept(BinaryCodec.getCustomer(reader.next(reader.next(Integer.BYTES).getInt())));
+            final int nbrAccounts = reader.next(Integer.BYTES).getInt();
+            for (int i = 0; i < nbrAccounts; i++) {
+                final ByteBuffer buffer = reader.next(reader.next(Integer.BYTES).getInt());
+                accountHandler.accept(new AccountEntry(buffer.getInt(), BinaryCodec.getString(buffer),
+                                                       AccountType.values()[buffer.get()], buffer.getLong(), buffer.getLong(),
+                                                       buffer.getLong(), buffer.getLong()));
+            }
+            if (reader.next(Integer.BYTES).getInt() != MAGIC)
+                throw new IOException(String.format("%s is not complete", file));
+            return header;
+        }
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        if (!Files.isDirectory(directory))
+            return List.of();
+        try (final Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> {
+                        final String fileName = path.getFileName().toString();
+                        return fileName.startsWith(PREFIX) && fileName.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long lastSequence(Path snapshot) {
+        final String fileName = snapshot.getFileName().toString();
+        return Long.parseLong(fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Snapshot header
+     *
+     * @param lastSequence The sequence number of the last journal record reflected in the snapshot
+     * @param lastAccountNumber The highest account number handed out
+     */
+    @Immutable
+    public record Header(long lastSequence, int lastAccountNumber) {
+    }
+
+    /**
+     * Snapshot account entry
+     *
+     * @param balance The balance in minor units of the account currency
+     * @param openedMillis When the account was opened, in milliseconds since the epoch
+     * @param horizonMillis When the account reached the balance, in milliseconds since the epoch
+     */
+    @Immutable
+    public record AccountEntry(int number, String customerId, AccountType type, long balance, long version,
+                               long openedMillis, long horizonMillis) {
+
+        public AccountEntry {
+            Objects.requireNonNull(customerId, "Customer ID is required");
+            Objects.requireNonNull(type, "Account type is required");
+        }
+    }
+
+    /**
+     * Buffered channel writer
+     */
+    private static final class Writer {
+
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private ByteBuffer ensure(int size) throws IOException {
+            if (buffer.remaining() < size) {
+                flush();
+                if (buffer.capacity() < size)
+                    this.buffer = ByteBuffer.allocateDirect(size);
+            }
+            return buffer;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Buffered channel reader
+     */
+    private static final class Reader {
+
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).limit(0);
+
+        private Reader(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Get a view of the next bytes, which stays valid until the next call
+         */
+        private ByteBuffer next(int size) throws IOException {
+            if (buffer.remaining() < size) {
+                if (buffer.capacity() < size)
+                    this.buffer = ByteBuffer.allocateDirect(size).put(buffer).flip();
+                buffer.compact();
+                while (buffer.position() < size) {
+                    if (channel.read(buffer) < 0)
+                        throw new IOException("Snapshot is truncated");
+                }
+                buffer.flip();
+            }
+            final ByteBuffer view = buffer.slice(buffer.position(), size);
+            buffer.position(buffer.position() + size);
+            return view;
+        }
+    }
+}
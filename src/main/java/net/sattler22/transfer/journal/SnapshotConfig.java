@@ -0,0 +1,31 @@
+package net.sattler22.transfer.journal;
+
+import net.jcip.annotations.Immutable;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Snapshot Configuration
+ *
+ * @param directory The snapshot directory
+ * @param intervalSecs The number of seconds between snapshots
+ * @param nbrRetained The number of snapshots to keep (the journal is truncated up to the oldest one)
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+public record SnapshotConfig(Path directory, long intervalSecs, int nbrRetained) {
+
+    /**
+     * Constructs a new snapshot configuration
+     */
+    public SnapshotConfig {
+        Objects.requireNonNull(directory, "Snapshot directory is required");
+        if (intervalSecs <= 0)
+            throw new IllegalArgumentException("Snapshot interval must be greater than zero");
+        if (nbrRetained <= 0)
+            throw new IllegalArgumentException("Number of retained snapshots must be greater than zero");
+    }
+}
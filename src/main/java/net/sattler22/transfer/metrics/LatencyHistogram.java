@@ -0,0 +1,135 @@
+package net.sattler22.transfer.metrics;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Striped Log-Linear Latency Histogram
+ *
+ * @implNote Values are recorded in nanoseconds into HDR-style buckets: every value below 64 has a bucket of its own, and
+ *           each power of two above that is split into 32 linear sub-buckets, so any recorded value is reported within
+ *           about 3% of its true value. Values above about 68 seconds are clamped. Each stripe is a flat array of bucket
+ *           counters followed by a running sum and maximum, and threads record into the stripe picked by their thread
+ *           ID. Recording is therefore a few atomic increments on memory that is rarely shared, and never allocates once
+ *           the stripe exists. Snapshots add the stripes up without stopping recording, so they are not a single instant.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final int MAX_EXPONENT = 36;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    static final int NBR_BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+    private static final int SUM = NBR_BUCKETS;
+    private static final int MAX = NBR_BUCKETS + 1;
+    private static final int STRIPE_LENGTH = NBR_BUCKETS + 2;
+    private static final int NBR_STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(NBR_STRIPES);
+
+    /**
+     * Record a latency
+     *
+     * @param nanos The latency in nanoseconds (negative values are recorded as zero)
+     */
+    public void record(long nanos) {
+        final long value = Math.min(Math.max(nanos, 0L), MAX_VALUE);
+        final AtomicLongArray stripe = stripe();
+        stripe.getAndIncrement(bucketIndex(value));
+        stripe.getAndAdd(SUM, value);
+        long max = stripe.get(MAX);
+        while (value > max && !stripe.weakCompareAndSetVolatile(MAX, max, value))
+            max = stripe.get(MAX);
+    }
+
+    private AtomicLongArray stripe() {
+        final int index = (int) Thread.currentThread().threadId() & (NBR_STRIPES - 1);
+        final AtomicLongArray stripe = stripes.get(index);
+        if (stripe != null)
+            return stripe;
+        stripes.compareAndSet(index, null, new AtomicLongArray(STRIPE_LENGTH));
+        return stripes.get(index);
+    }
+
+    /**
+     * Add up all stripes
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[NBR_BUCKETS];
+        long count = 0L;
+        long sum = 0L;
+        long max = 0L;
+        for (int index = 0; index < NBR_STRIPES; index++) {
+            final AtomicLongArray stripe = stripes.get(index);
+            if (stripe == null)
+                continue;
+            for (int bucket = 0; bucket < NBR_BUCKETS; bucket++) {
+                final long bucketCount = stripe.get(bucket);
+                counts[bucket] += bucketCount;
+                count += bucketCount;
+            }
+            sum += stripe.get(SUM);
+            max = Math.max(max, stripe.get(MAX));
+        }
+        return new Snapshot(counts, count, sum, max);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT)
+            return (int) value;
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Get the highest value that maps to a bucket
+     */
+    static long highestEquivalentValue(int bucketIndex) {
+        if (bucketIndex < LINEAR_LIMIT)
+            return bucketIndex;
+        final int offset = bucketIndex - LINEAR_LIMIT;
+        final int shift = offset / SUB_BUCKET_COUNT + 1;
+        final long lowest = (long) (SUB_BUCKET_COUNT + offset % SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Latency histogram snapshot
+     *
+     * @param count The number of recorded values
+     * @param sum The sum of all recorded values in nanoseconds
+     * @param max The largest recorded value in nanoseconds
+     */
+    @Immutable
+    public record Snapshot(long[] counts, long count, long sum, long max) {
+
+        /**
+         * Get the value at a quantile, in nanoseconds
+         *
+         * @param quantile From 0.0 to 1.0
+         * @return The highest value equivalent to the one at the quantile (never more than the maximum), or zero if
+         *         nothing was recorded
+         */
+        public long valueAtQuantile(double quantile) {
+            if (count == 0L)
+                return 0L;
+            final long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+            long cumulative = 0L;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                cumulative += counts[bucket];
+                if (cumulative >= rank)
+                    return Math.min(highestEquivalentValue(bucket), max);
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package net.sattler22.transfer.metrics;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics Registry
+ *
+ * @implNote Metrics are looked up once, when the instrumented component is created, and then updated directly, so the
+ *           registry itself is never on a hot path. Latency histograms are exposed as Prometheus summaries (p50, p99 and
+ *           p99.9 since start up) along with a separate gauge holding the maximum, and counters are plain striped adders.
+ *           Gauges are read from their owner when scraped.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class MetricsRegistry {
+
+    /**
+     * Prometheus text exposition format content type
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final MetricsRegistry DEFAULT_REGISTRY = new MetricsRegistry();
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private final ConcurrentMap<String, Family> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * Get the registry shared by the whole application
+     */
+    public static MetricsRegistry defaultRegistry() {
+        return DEFAULT_REGISTRY;
+    }
+
+    /**
+     * Get or create a latency histogram
+     *
+     * @param name The metric name (by convention ending in {@code _seconds})
+     * @param help The metric description
+     * @param labels Alternating label names and values
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) family(name, help, Type.SUMMARY).metrics
+                .computeIfAbsent(labels(labels), key -> new LatencyHistogram());
+    }
+
+    /**
+     * Get or create a counter
+     *
+     * @param name The metric name (by convention ending in {@code _total})
+     * @param help The metric description
+     * @param labels Alternating label names and values
+     */
+    public LongAdder counter(String name, String help, String... labels) {
+        return (LongAdder) family(name, help, Type.COUNTER).metrics
+                .computeIfAbsent(labels(labels), key -> new LongAdder());
+    }
+
+    /**
+     * Register a gauge, replacing any gauge already registered with the same labels
+     *
+     * @param name The metric name
+     * @param help The metric description
+     * @param value Supplies the current value whenever the registry is scraped
+     * @param labels Alternating label names and values
+     */
+    public void gauge(String name, String help, LongSupplier value, String... labels) {
+        Objects.requireNonNull(value, "Gauge value is required");
+        family(name, help, Type.GAUGE).metrics.put(labels(labels), value);
+    }
+
+    private Family family(String name, String help, Type type) {
+        Objects.requireNonNull(name, "Metric name is required");
+        Objects.requireNonNull(help, "Metric help is required");
+        final Family family = families.computeIfAbsent(name, key -> new Family(help, type));
+        if (family.type != type)
+            throw new IllegalArgumentException(String.format("Metric [%s] is already registered as a %s", name, family.type));
+        return family;
+    }
+
+    private static String labels(String... labels) {
+        if (labels.length % 2 != 0)
+            throw new IllegalArgumentException("Labels must be name and value pairs");
+        final StringBuilder builder = new StringBuilder();
+        for (int index = 0; index < labels.length; index += 2) {
+            if (index > 0)
+                builder.append(',');
+            builder.append(labels[index]).append("=\"");
+            for (final char ch : labels[index + 1].toCharArray()) {
+                switch (ch) {
+                    case '\\' -> builder.append("\\\\");
+                    case '"' -> builder.append("\\\"");
+                    case '\n' -> builder.append("\\n");
+                    default -> builder.append(ch);
+                }
+            }
+            builder.append('"');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Write every metric in the Prometheus text exposition format
+     */
+    public String scrape() {
+        final StringBuilder builder = new StringBuilder(4096);
+        for (final Map.Entry<String, Family> entry : families.entrySet()) {
+            final String name = entry.getKey();
+            final Family family = entry.getValue();
+            header(builder, name, family.help, family.type.name().toLowerCase(Locale.ROOT));
+            if (family.type == Type.COUNTER) {
+                family.metrics.forEach((labels, counter) ->
+                        sample(builder, name, labels, null, ((LongAdder) counter).sum()));
+                continue;
+            }
+            if (family.type == Type.GAUGE) {
+                family.metrics.forEach((labels, gauge) ->
+                        sample(builder, name, labels, null, ((LongSupplier) gauge).getAsLong()));
+                continue;
+            }
+            final StringBuilder maxBuilder = new StringBuilder();
+            header(maxBuilder, name + "_max", "Largest value of " + name, "gauge");
+            family.metrics.forEach((labels, histogram) -> {
+                final LatencyHistogram.Snapshot snapshot = ((LatencyHistogram) histogram).snapshot();
+                for (final double quantile : QUANTILES)
+                    sample(builder, name, labels, "quantile=\"" + quantile + "\"", seconds(snapshot.valueAtQuantile(quantile)));
+                sample(builder, name + "_sum", labels, null, seconds(snapshot.sum()));
+                sample(builder, name + "_count", labels, null, snapshot.count());
+                sample(maxBuilder, name + "_max", labels, null, seconds(snapshot.max()));
+            });
+            builder.append(maxBuilder);
+        }
+        return builder.toString();
+    }
+
+    private static void header(StringBuilder builder, String name, String help, String type) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n')
+               .append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder builder, String name, String labels, String extraLabel, Object value) {
+        builder.append(name);
+        if (!labels.isEmpty() || extraLabel != null) {
+            builder.append('{').append(labels);
+            if (extraLabel != null)
+                builder.append(labels.isEmpty() ? "" : ",").append(extraLabel);
+            builder.append('}');
+        }
+        builder.append(' ').append(value instanceof Double number ? String.format(Locale.ROOT, "%.9f", number) : value)
+               .append('\n');
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / NANOS_PER_SECOND;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [nbrFamilies=%d]", getClass().getSimpleName(), families.size());
+    }
+
+    private enum Type {
+        COUNTER,
+        GAUGE,
+        SUMMARY
+    }
+
+    /**
+     * All metrics sharing a name, keyed by their rendered labels
+     */
+    private record Family(String help, Type type, ConcurrentMap<String, Object> metrics) {
+
+        private Family(String help, Type type) {
+            this(help, type, new ConcurrentSkipListMap<>());
+        }
+    }
+}
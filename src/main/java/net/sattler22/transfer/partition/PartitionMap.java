@@ -0,0 +1,192 @@
+package net.sattler22.transfer.partition;
+
+import net.jcip.annotations.Immutable;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Partition Map
+ *
+ * @implNote Customer identifiers are hashed onto a fixed number of slots, and each slot is owned by one partition, so
+ *           partitions own ranges of the hash space. A new partition takes over just enough slots from the others to even
+ *           things out, so adding one only moves the customers of those slots. A partition also hands out account numbers
+ *           from a range of its own, which is how a request naming nothing but an account number is routed. An account
+ *           keeps its number when its owner is moved to another partition, so the router remembers those separately.
+ *           Maps are immutable: every change produces the next version.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+public final class PartitionMap {
+
+    /**
+     * Number of hash slots
+     */
+    public static final int NBR_SLOTS = 1_024;
+
+    /**
+     * Number of account numbers reserved for each partition
+     */
+    public static final int ACCOUNT_NUMBER_RANGE = 1 << 24;
+    private final long version;
+    private final List<URI> partitions;
+    private final int[] slotOwners;
+
+    private PartitionMap(long version, List<URI> partitions, int[] slotOwners) {
+        this.version = version;
+        this.partitions = List.copyOf(partitions);
+        this.slotOwners = slotOwners;
+    }
+
+    /**
+     * Create the initial map, spreading the slots evenly over the partitions in contiguous ranges
+     *
+     * @param partitions The base URI of each partition
+     */
+    public static PartitionMap of(List<URI> partitions) {
+        Objects.requireNonNull(partitions, "Partitions are required");
+        if (partitions.isEmpty())
+            throw new IllegalArgumentException("At least one partition is required");
+        return new PartitionMap(1L, partitions, initialSlotOwners(partitions.size()));
+    }
+
+    private static int[] initialSlotOwners(int nbrPartitions) {
+        final int[] slotOwners = new int[NBR_SLOTS];
+        for (int slot = 0; slot < NBR_SLOTS; slot++)
+            slotOwners[slot] = (int) ((long) slot * nbrPartitions / NBR_SLOTS);
+        return slotOwners;
+    }
+
+    /**
+     * Check if a partition of the initial map owns a customer
+     *
+     * @param customerId The customer identifier
+     * @param index The partition index
+     * @param nbrPartitions The number of partitions
+     */
+    public static boolean initiallyOwns(String customerId, int index, int nbrPartitions) {
+        return (int) ((long) slotOf(customerId) * nbrPartitions / NBR_SLOTS) == index;
+    }
+
+    /**
+     * Get the first account number handed out by a partition
+     *
+     * @param index The partition index
+     */
+    public static int firstAccountNumber(int index) {
+        if (index < 0 || index >= Integer.MAX_VALUE / ACCOUNT_NUMBER_RANGE)
+            throw new IllegalArgumentException(String.format("Partition index [%d] is out of range", index));
+        return index * ACCOUNT_NUMBER_RANGE + 1;
+    }
+
+    /**
+     * Get the hash slot of a customer
+     */
+    public static int slotOf(String customerId) {
+        int hash = customerId.hashCode();
+        hash ^= hash >>> 16;  //Spread the high bits, as identifiers often only differ in their last characters
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash & (NBR_SLOTS - 1);
+    }
+
+    /**
+     * Add a partition, which takes over slots from the others until every partition owns an even share
+     *
+     * @param partition The base URI of the new partition
+     * @return The next version of the map
+     */
+    public PartitionMap withPartition(URI partition) {
+        Objects.requireNonNull(partition, "Partition is required");
+        if (partitions.contains(partition))
+            throw new IllegalArgumentException(String.format("Partition [%s] already exists", partition));
+        final int newIndex = partitions.size();
+        final int target = NBR_SLOTS / (newIndex + 1);
+        final int[] nbrOwned = new int[newIndex + 1];
+        for (final int owner : slotOwners)
+            nbrOwned[owner]++;
+        final int[] nextSlotOwners = slotOwners.clone();
+        //Walk the slots from the top of each range down, so every partition keeps a contiguous range where it can:
+        for (int slot = NBR_SLOTS - 1; slot >= 0 && nbrOwned[newIndex] < target; slot--) {
+            final int owner = nextSlotOwners[slot];
+            if (nbrOwned[owner] > target) {
+                nextSlotOwners[slot] = newIndex;
+                nbrOwned[owner]--;
+                nbrOwned[newIndex]++;
+            }
+        }
+        final List<URI> nextPartitions = new ArrayList<>(partitions);
+        nextPartitions.add(partition);
+        return new PartitionMap(version + 1, nextPartitions, nextSlotOwners);
+    }
+
+    /**
+     * Get the slots whose owner differs in another map
+     */
+    public List<Integer> movedSlots(PartitionMap other) {
+        final List<Integer> movedSlots = new ArrayList<>();
+        for (int slot = 0; slot < NBR_SLOTS; slot++)
+            if (other.slotOwners[slot] != slotOwners[slot])
+                movedSlots.add(slot);
+        return movedSlots;
+    }
+
+    /**
+     * Get the index of the partition owning a customer
+     */
+    public int ownerOf(String customerId) {
+        return slotOwners[slotOf(customerId)];
+    }
+
+    /**
+     * Get the index of the partition owning a slot
+     */
+    public int ownerOfSlot(int slot) {
+        return slotOwners[slot];
+    }
+
+    /**
+     * Get the index of the partition that handed out an account number
+     *
+     * @return The partition index, or -1 if no partition hands out the number
+     */
+    public int issuerOf(int accountNumber) {
+        final int index = (accountNumber - 1) / ACCOUNT_NUMBER_RANGE;
+        return (accountNumber > 0 && index < partitions.size()) ? index : -1;
+    }
+
+    /**
+     * Get the version, which is incremented by every change
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Get the base URI of every partition, in partition index order
+     */
+    public List<URI> partitions() {
+        return partitions;
+    }
+
+    /**
+     * Get the number of slots owned by each partition
+     */
+    public int[] slotCounts() {
+        final int[] slotCounts = new int[partitions.size()];
+        for (final int owner : slotOwners)
+            slotCounts[owner]++;
+        return slotCounts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [version=%d, partitions=%s, slotCounts=%s]",
+                getClass().getSimpleName(), version, partitions, Arrays.toString(slotCounts()));
+    }
+}
@@ -0,0 +1,716 @@
+package net.sattler22.transfer.partition;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.api.MoneyTransferResource;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Stream;
+
+/**
+ * Money Transfer Partition Router
+ *
+ * @implNote Fronts a set of partitions, each a separate money transfer process owning the customers of its slots (see
+ *           {@link PartitionMap}), and forwards every request to the partition owning the customer it names. A request
+ *           naming nothing but an account number goes to the partition that handed the number out, unless its owner has
+ *           been moved since. Requests are forwarded asynchronously over a shared client, which keeps a pool of persistent
+ *           connections to every partition, so a router thread is never parked waiting on a partition. Independent
+ *           batches are split by partition and their outcomes stitched back together in request order, while an atomic
+ *           batch must stay within one partition. The bank statistics, report and customer list are gathered from every
+ *           partition and merged; a merged report is the sum of each partition's consistent report, not one cut across
+ *           all of them.
+ *           <p>
+ *           {@link #addPartition(URI) Adding a partition} moves the customers of the slots it takes over. Those slots are
+ *           frozen first, answering 503 (Service Unavailable) until the move is over, and the move only starts once the
+ *           requests already forwarded for them have completed. The router cannot tell which customer a bare account
+ *           number belongs to, so requests naming nothing but an account number are frozen and drained the same way for
+ *           every partition giving up slots. Each customer and its accounts are then copied to the new partition, the new
+ *           map is put in place, and the originals are released. A move copies balances and versions but neither the
+ *           history of postings nor the date a customer joined, and idempotency keys stay behind with the old partition.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class PartitionRouter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionRouter.class);
+    private static final Set<String> UNFORWARDED_HEADERS = Set.of("connection", "content-length", "date", "expect", "from",
+            "host", "keep-alive", "transfer-encoding", "upgrade", "via", "warning");
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String TEXT_PLAIN = "text/plain";
+    private static final String RETRY_AFTER_SECS = "1";
+    private final URI routerUri;
+    private final String basePath;
+    private final HttpServer httpServer;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final AtomicIntegerArray inFlight = new AtomicIntegerArray(PartitionMap.NBR_SLOTS);
+    private final AtomicIntegerArray frozen = new AtomicIntegerArray(PartitionMap.NBR_SLOTS);
+    //Requests naming nothing but an account number, by partition (no map has more partitions than slots):
+    private final AtomicIntegerArray accountsInFlight = new AtomicIntegerArray(PartitionMap.NBR_SLOTS);
+    private final AtomicIntegerArray accountsFrozen = new AtomicIntegerArray(PartitionMap.NBR_SLOTS);
+    private final Map<Integer, Integer> movedAccounts = new ConcurrentHashMap<>();
+    private volatile PartitionMap partitionMap;
+    private volatile URI publicUri;
+
+    /**
+     * Constructs a new partition router
+     *
+     * @param routerUri The URI to listen on (port zero picks a free port)
+     * @param basePath The base path of the REST API
+     * @param partitionMap The initial partition map
+     */
+    public PartitionRouter(URI routerUri, String basePath, PartitionMap partitionMap) {
+        this.routerUri = Objects.requireNonNull(routerUri, "Router URI is required");
+        this.basePath = Objects.requireNonNull(basePath, "Base path is required");
+        this.partitionMap = Objects.requireNonNull(partitionMap, "Partition map is required");
+        this.publicUri = routerUri;
+        this.httpServer = new HttpServer();
+        this.httpServer.addListener(new NetworkListener("partition-router", routerUri.getHost(), routerUri.getPort()));
+        this.httpServer.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                route(request, response);
+            }
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+        this.objectMapper = new ObjectMapper()
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+    }
+
+    /**
+     * Start listening
+     *
+     * @return The URI the router is listening on
+     * @throws IOException If unable to bind to the router URI
+     */
+    public URI start() throws IOException {
+        httpServer.start();
+        final int port = httpServer.getListeners().iterator().next().getPort();
+        this.publicUri = URI.create(String.format("%s://%s:%d", routerUri.getScheme(), routerUri.getHost(), port));
+        logger.info("Partition router started at [{}{}] in front of {}", publicUri, basePath, partitionMap);
+        return publicUri;
+    }
+
+    /**
+     * Get the current partition map
+     */
+    public PartitionMap partitionMap() {
+        return partitionMap;
+    }
+
+    private void route(Request request, Response response) throws IOException {
+        final String path = request.getDecodedRequestURI();
+        if (!path.startsWith(basePath + "/")) {
+            reply(response, 404, TEXT_PLAIN, null, bytes(String.format("[%s] is not routed", path)));
+            return;
+        }
+        final String method = request.getMethod().getMethodString();
+        final String[] segments = path.substring(basePath.length() + 1).split("/");
+        final byte[] body = request.getInputStream().readAllBytes();
+        switch (segments[0]) {
+            case "partitions" -> partitions(method, body, response);
+            case "bank" -> {
+                if (segments.length == 1)
+                    forward(0, request, body, response, null);
+                else if (segments[1].equals("stats"))
+                    fanOut(request, response, responses -> sum(responses, null));
+                else if (segments[1].equals("report"))
+                    fanOut(request, response, responses -> sum(responses, "sequence"));
+                else
+                    forward(0, request, body, response, null);
+            }
+            case "customers" -> {
+                final String accept = request.getHeader("Accept");
+                if (accept != null && accept.contains(MoneyTransferResource.APPLICATION_NDJSON))
+                    streamCustomers(request, response);
+                else
+                    fanOut(request, response, responses -> customersPage(request, responses));
+            }
+            case "customer" -> routeByCustomer((segments.length > 1) ? segments[1] : field(body, "id"), request, body, response);
+            case "accounts" -> routeByCustomer((segments.length > 1) ? segments[1] : null, request, body, response);
+            case "account" -> {
+                if (segments.length == 1 || segments[1].equals("transfer"))
+                    routeByCustomer(field(body, "customerId"), request, body, response);
+                else if (segments[1].equals("transfers"))
+                    routeBatch(request, body, response);
+                else if (segments.length == 2 && isAccountNumber(segments[1]))
+                    routeByAccount(Integer.parseInt(segments[1]), request, body, response);
+                else
+                    routeByCustomer(segments[1], request, body, response);
+            }
+            default -> reply(response, 404, TEXT_PLAIN, null, bytes(String.format("[%s] is not routed", path)));
+        }
+    }
+
+    /**
+     * Add a partition and move the customers of the slots it takes over to it
+     *
+     * @param partition The base URI of the new partition, which must be running and empty
+     * @return The new partition map
+     * @throws IOException If a customer could not be copied, in which case the partition map is left as it was
+     */
+    public synchronized PartitionMap addPartition(URI partition) throws IOException, InterruptedException {
+        final PartitionMap current = partitionMap;
+        final PartitionMap next = current.withPartition(partition);
+        final List<Integer> movedSlots = current.movedSlots(next);
+        final int newIndex = next.partitions().size() - 1;
+        final Set<Integer> sourceIndexes = new TreeSet<>();
+        for (final int slot : movedSlots)
+            sourceIndexes.add(current.ownerOfSlot(slot));
+        final long startNanos = System.nanoTime();
+        for (final int slot : movedSlots)
+            frozen.set(slot, 1);
+        for (final int sourceIndex : sourceIndexes)
+            accountsFrozen.set(sourceIndex, 1);
+        try {
+            for (final int slot : movedSlots)
+                while (inFlight.get(slot) != 0)
+                    Thread.sleep(1L);  //Drain what was forwarded before the freeze
+            for (final int sourceIndex : sourceIndexes)
+                while (accountsInFlight.get(sourceIndex) != 0)
+                    Thread.sleep(1L);
+            final List<MovedCustomer> movedCustomers = new ArrayList<>();
+            for (int index = 0; index < current.partitions().size(); index++)
+                copyCustomers(current, next, index, partition, movedCustomers);
+            partitionMap = next;
+            for (final MovedCustomer movedCustomer : movedCustomers)
+                for (final int number : movedCustomer.accountNumbers())
+                    movedAccounts.put(number, newIndex);
+            for (final MovedCustomer movedCustomer : movedCustomers)
+                release(current.partitions().get(movedCustomer.sourceIndex()), movedCustomer);
+            logger.info("Moved [{}] customers in [{}] slots to [{}] in {} ms, now {}", movedCustomers.size(), movedSlots.size(),
+                    partition, Duration.ofNanos(System.nanoTime() - startNanos).toMillis(), next);
+            return next;
+        }
+        finally {
+            for (final int sourceIndex : sourceIndexes)
+                accountsFrozen.set(sourceIndex, 0);
+            for (final int slot : movedSlots)
+                frozen.set(slot, 0);
+        }
+    }
+
+    /**
+     * Customer moved from one partition to another, along with its account numbers
+     */
+    private record MovedCustomer(int sourceIndex, String customerId, List<Integer> accountNumbers) {
+    }
+
+    private void copyCustomers(PartitionMap current, PartitionMap next, int sourceIndex, URI target,
+                               List<MovedCustomer> movedCustomers) throws IOException, InterruptedException {
+        final URI source = current.partitions().get(sourceIndex);
+        String after = null;
+        while (true) {
+            final String query = "?limit=" + MoneyTransferResource.MAX_PAGE_SIZE + ((after != null) ? "&after=" + encode(after) : "");
+            final HttpResponse<byte[]> page = send("GET", apiUri(source, "/customers" + query), null, 200, 404);
+            if (page.statusCode() == 404)
+                return;  //No customers at all
+            final JsonNode customers = objectMapper.readTree(page.body());
+            for (final JsonNode customer : customers) {
+                final String customerId = customer.path("id").asText();
+                final int slot = PartitionMap.slotOf(customerId);
+                if (current.ownerOfSlot(slot) != sourceIndex || next.ownerOfSlot(slot) == sourceIndex)
+                    continue;
+                send("POST", apiUri(target, "/customer"), objectMapper.writeValueAsBytes(customer), 201);
+                final HttpResponse<byte[]> accounts = send("GET", apiUri(source, "/accounts/" + encode(customerId)), null, 200);
+                final List<Integer> accountNumbers = new ArrayList<>();
+                for (final JsonNode account : objectMapper.readTree(accounts.body())) {
+                    final int number = account.path("number").asInt();
+                    send("PUT", apiUri(target, "/account/" + encode(customerId) + "/" + number),
+                         objectMapper.writeValueAsBytes(account), 204);
+                    accountNumbers.add(number);
+                }
+                movedCustomers.add(new MovedCustomer(sourceIndex, customerId, accountNumbers));
+            }
+            if (page.headers().firstValue("Link").isEmpty())
+                return;
+            after = customers.get(customers.size() - 1).path("id").asText();
+        }
+    }
+
+    private void release(URI source, MovedCustomer movedCustomer) throws InterruptedException {
+        final String customerPath = encode(movedCustomer.customerId());
+        try {
+            for (final int number : movedCustomer.accountNumbers())
+                send("POST", apiUri(source, "/account/" + customerPath + "/" + number + "/release"), null, 204);
+            send("DELETE", apiUri(source, "/customer/" + customerPath), null, 204);
+        }
+        catch(IOException e) {
+            //Already routed to its new partition, so the stale copy is only visible in bank-wide totals:
+            logger.warn("Unable to release customer ID [{}] from [{}]: {}", movedCustomer.customerId(), source, e.getMessage());
+        }
+    }
+
+    private HttpResponse<byte[]> send(String method, URI uri, byte[] body, int... expectedStatuses)
+            throws IOException, InterruptedException {
+        final HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", APPLICATION_JSON)
+                .header("Accept", APPLICATION_JSON)
+                .method(method, (body != null) ? HttpRequest.BodyPublishers.ofByteArray(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+        final HttpResponse<byte[]> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        for (final int expectedStatus : expectedStatuses)
+            if (httpResponse.statusCode() == expectedStatus)
+                return httpResponse;
+        throw new IOException(String.format("%s [%s] failed with status [%d]: %s", method, uri, httpResponse.statusCode(),
+                new String(httpResponse.body(), StandardCharsets.UTF_8)));
+    }
+
+    private void partitions(String method, byte[] body, Response response) throws IOException {
+        if (method.equals("POST")) {
+            try {
+                addPartition(URI.create(new String(body, StandardCharsets.UTF_8).trim()));
+            }
+            catch(IllegalArgumentException e) {
+                reply(response, 409, TEXT_PLAIN, null, bytes(e.getMessage()));
+                return;
+            }
+            catch(IOException e) {
+                logger.error(e.getMessage(), e);
+                reply(response, 502, TEXT_PLAIN, null, bytes(e.getMessage()));
+                return;
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reply(response, 503, TEXT_PLAIN, null, bytes("Interrupted while adding a partition"));
+                return;
+            }
+        }
+        final PartitionMap current = partitionMap;
+        final ObjectNode json = objectMapper.createObjectNode();
+        json.put("version", current.version());
+        final ArrayNode partitions = json.putArray("partitions");
+        current.partitions().forEach(partition -> partitions.add(partition.toString()));
+        final ArrayNode slotCounts = json.putArray("slotCounts");
+        for (final int slotCount : current.slotCounts())
+            slotCounts.add(slotCount);
+        reply(response, 200, APPLICATION_JSON, null, objectMapper.writeValueAsBytes(json));
+    }
+
+    private void routeByCustomer(String customerId, Request request, byte[] body, Response response) throws IOException {
+        if (customerId == null) {
+            forward(0, request, body, response, null);  //Let a partition reject it
+            return;
+        }
+        final int slot = PartitionMap.slotOf(customerId);
+        if (!enter(slot)) {
+            unavailable(response);
+            return;
+        }
+        final PartitionMap current = partitionMap;  //Only read once inside the slot, which cannot move until it is left
+        forward(current.ownerOfSlot(slot), request, body, response, () -> inFlight.decrementAndGet(slot));
+    }
+
+    private void routeByAccount(int number, Request request, byte[] body, Response response) throws IOException {
+        int index = partitionOfAccount(number);
+        while (index >= 0) {
+            if (!enterAccounts(index)) {
+                unavailable(response);
+                return;
+            }
+            final int entered = index;
+            index = partitionOfAccount(number);  //Only final once entered, as the account cannot move until it is left
+            if (index == entered) {
+                forward(index, request, body, response, () -> accountsInFlight.decrementAndGet(entered));
+                return;
+            }
+            accountsInFlight.decrementAndGet(entered);  //Moved in the meantime
+        }
+        reply(response, 404, TEXT_PLAIN, null, bytes(String.format("Account #[%d] not found", number)));
+    }
+
+    private int partitionOfAccount(int number) {
+        final Integer moved = movedAccounts.get(number);
+        return (moved != null) ? moved : partitionMap.issuerOf(number);
+    }
+
+    private boolean enterAccounts(int index) {
+        accountsInFlight.incrementAndGet(index);
+        if (accountsFrozen.get(index) == 0)
+            return true;
+        accountsInFlight.decrementAndGet(index);
+        return false;
+    }
+
+    private void routeBatch(Request request, byte[] body, Response response) throws IOException {
+        final JsonNode transfers = readTree(body);
+        if (transfers == null || !transfers.isArray() || transfers.size() < 2) {
+            routeByCustomer((transfers != null) ? transfers.path(0).path("customerId").textValue() : null, request, body, response);
+            return;
+        }
+        final int[] slots = new int[transfers.size()];
+        for (int index = 0; index < slots.length; index++) {
+            final String customerId = transfers.get(index).path("customerId").textValue();
+            slots[index] = (customerId != null) ? PartitionMap.slotOf(customerId) : -1;
+        }
+        int nbrEntered = 0;
+        while (nbrEntered < slots.length && (slots[nbrEntered] < 0 || enter(slots[nbrEntered])))
+            nbrEntered++;
+        if (nbrEntered < slots.length) {
+            leave(slots, nbrEntered);
+            unavailable(response);
+            return;
+        }
+        final Runnable leave = () -> leave(slots, slots.length);
+        final PartitionMap current = partitionMap;
+        final Map<Integer, List<Integer>> transfersByPartition = new TreeMap<>();
+        for (int index = 0; index < slots.length; index++)
+            transfersByPartition.computeIfAbsent((slots[index] >= 0) ? current.ownerOfSlot(slots[index]) : 0,
+                                                 partitionIndex -> new ArrayList<>()).add(index);
+        if (transfersByPartition.size() == 1) {
+            forward(transfersByPartition.keySet().iterator().next(), request, body, response, leave);
+            return;
+        }
+        if ("ATOMIC".equalsIgnoreCase(request.getParameter("mode"))) {
+            leave.run();
+            reply(response, 400, TEXT_PLAIN, null, bytes("An atomic batch cannot span customers owned by different partitions"));
+            return;
+        }
+        final List<CompletableFuture<HttpResponse<byte[]>>> futures = new ArrayList<>(transfersByPartition.size());
+        for (final Map.Entry<Integer, List<Integer>> partitionTransfers : transfersByPartition.entrySet()) {
+            final ArrayNode subBatch = objectMapper.createArrayNode();
+            partitionTransfers.getValue().forEach(index -> subBatch.add(transfers.get(index)));
+            futures.add(httpClient.sendAsync(newRequest(current.partitions().get(partitionTransfers.getKey()), request,
+                    objectMapper.writeValueAsBytes(subBatch)), HttpResponse.BodyHandlers.ofByteArray()));
+        }
+        final List<List<Integer>> indexesByPartition = List.copyOf(transfersByPartition.values());
+        complete(response, futures, leave, responses -> {
+            final JsonNode[] outcomes = new JsonNode[transfers.size()];
+            for (int partition = 0; partition < responses.size(); partition++) {
+                final HttpResponse<byte[]> httpResponse = responses.get(partition);
+                if (httpResponse.statusCode() != 200)
+                    return relayed(httpResponse);
+                final List<Integer> indexes = indexesByPartition.get(partition);
+                final JsonNode subOutcomes = objectMapper.readTree(httpResponse.body());
+                for (int subIndex = 0; subIndex < subOutcomes.size(); subIndex++) {
+                    final ObjectNode outcome = (ObjectNode) subOutcomes.get(subIndex);
+                    final int index = indexes.get(outcome.path("index").asInt(subIndex));
+                    outcome.put("index", index);
+                    outcomes[index] = outcome;
+                }
+            }
+            return new Reply(200, APPLICATION_JSON, null, objectMapper.writeValueAsBytes(List.of(outcomes)));
+        });
+    }
+
+    private boolean enter(int slot) {
+        inFlight.incrementAndGet(slot);
+        if (frozen.get(slot) == 0)
+            return true;
+        inFlight.decrementAndGet(slot);
+        return false;
+    }
+
+    private void leave(int[] slots, int nbrEntered) {
+        for (int index = 0; index < nbrEntered; index++)
+            if (slots[index] >= 0)
+                inFlight.decrementAndGet(slots[index]);
+    }
+
+    private void forward(int index, Request request, byte[] body, Response response, Runnable leave) {
+        final URI partition = partitionMap.partitions().get(index);
+        response.suspend();
+        httpClient.sendAsync(newRequest(partition, request, body), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((httpResponse, failure) -> {
+                    try {
+                        if (failure != null)
+                            write(response, badGateway(failure));
+                        else
+                            write(response, relayed(httpResponse));
+                    }
+                    catch(IOException e) {
+                        logger.warn("Unable to relay the response of [{}]: {}", partition, e.getMessage());
+                    }
+                    finally {
+                        if (leave != null)
+                            leave.run();
+                        response.resume();
+                    }
+                });
+    }
+
+    private void fanOut(Request request, Response response, Merger merger) {
+        final List<CompletableFuture<HttpResponse<byte[]>>> futures = new ArrayList<>();
+        for (final URI partition : partitionMap.partitions())
+            futures.add(httpClient.sendAsync(newRequest(partition, request, new byte[0]), HttpResponse.BodyHandlers.ofByteArray()));
+        complete(response, futures, null, merger);
+    }
+
+    private void complete(Response response, List<CompletableFuture<HttpResponse<byte[]>>> futures, Runnable leave, Merger merger) {
+        response.suspend();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).whenComplete((ignored, failure) -> {
+            try {
+                if (failure != null)
+                    write(response, badGateway(failure));
+                else
+                    write(response, merger.merge(futures.stream().map(CompletableFuture::join).toList()));
+            }
+            catch(IOException e) {
+                logger.warn("Unable to merge partition responses: {}", e.getMessage());
+            }
+            finally {
+                if (leave != null)
+                    leave.run();
+                response.resume();
+            }
+        });
+    }
+
+    /**
+     * Merge the responses of every partition into one reply
+     */
+    @FunctionalInterface
+    private interface Merger {
+
+        Reply merge(List<HttpResponse<byte[]>> responses) throws IOException;
+    }
+
+    /**
+     * Reply to the client
+     */
+    private record Reply(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    private Reply sum(List<HttpResponse<byte[]>> responses, String unmergeableField) throws IOException {
+        ObjectNode total = null;
+        for (final HttpResponse<byte[]> httpResponse : responses) {
+            if (httpResponse.statusCode() != 200)
+                return relayed(httpResponse);
+            final ObjectNode partial = (ObjectNode) objectMapper.readTree(httpResponse.body());
+            total = (total == null) ? partial : sum(total, partial);
+        }
+        if (unmergeableField != null)
+            total.put(unmergeableField, 0L);  //Only meaningful within a single partition
+        return new Reply(200, APPLICATION_JSON, null, objectMapper.writeValueAsBytes(total));
+    }
+
+    private static ObjectNode sum(ObjectNode total, ObjectNode partial) {
+        for (final Map.Entry<String, JsonNode> field : partial.properties()) {
+            final JsonNode value = total.get(field.getKey());
+            if (value == null)
+                total.set(field.getKey(), field.getValue());
+            else if (value.isObject() && field.getValue().isObject())
+                sum((ObjectNode) value, (ObjectNode) field.getValue());
+            else if (value.isIntegralNumber() && field.getValue().isIntegralNumber())
+                total.put(field.getKey(), Math.addExact(value.longValue(), field.getValue().longValue()));
+            else if (value.isNumber() && field.getValue().isNumber())
+                total.put(field.getKey(), value.decimalValue().add(field.getValue().decimalValue()));
+        }
+        return total;
+    }
+
+    private Reply customersPage(Request request, List<HttpResponse<byte[]>> responses) throws IOException {
+        final List<JsonNode> customers = new ArrayList<>();
+        boolean hasNextPage = false;
+        for (final HttpResponse<byte[]> httpResponse : responses) {
+            if (httpResponse.statusCode() == 404)
+                continue;  //No customers in this partition
+            if (httpResponse.statusCode() != 200)
+                return relayed(httpResponse);
+            objectMapper.readTree(httpResponse.body()).forEach(customers::add);
+            hasNextPage |= httpResponse.headers().firstValue("Link").isPresent();
+        }
+        final String after = request.getParameter("after");
+        if (customers.isEmpty() && after == null)
+            return relayed(responses.getFirst());
+        customers.sort(Comparator.comparing(customer -> customer.path("id").asText()));
+        final String limitParameter = request.getParameter("limit");
+        final int limit = (limitParameter != null) ? Integer.parseInt(limitParameter) : MoneyTransferResource.DEFAULT_PAGE_SIZE;
+        hasNextPage |= customers.size() > limit;
+        final List<JsonNode> page = customers.subList(0, Math.min(limit, customers.size()));
+        Map<String, List<String>> headers = null;
+        if (hasNextPage && !page.isEmpty()) {
+            final String next = String.format("%s%s/customers?after=%s&limit=%d", publicUri, basePath,
+                    encode(page.getLast().path("id").asText()), limit);
+            headers = Map.of("Link", List.of(String.format("<%s>; rel=\"next\"", next)));
+        }
+        return new Reply(200, APPLICATION_JSON, headers, objectMapper.writeValueAsBytes(page));
+    }
+
+    /**
+     * Merge the customer streams of every partition, which are each in customer identifier order, as they arrive
+     */
+    private void streamCustomers(Request request, Response response) throws IOException {
+        final List<Stream<String>> streams = new ArrayList<>();
+        final PriorityQueue<StreamHead> heads = new PriorityQueue<>(Comparator.comparing(StreamHead::customerId));
+        try {
+            for (final URI partition : partitionMap.partitions()) {
+                final HttpResponse<Stream<String>> httpResponse =
+                        httpClient.send(newRequest(partition, request, new byte[0]), HttpResponse.BodyHandlers.ofLines());
+                streams.add(httpResponse.body());
+                if (httpResponse.statusCode() != 200) {
+                    reply(response, httpResponse.statusCode(), TEXT_PLAIN, null,
+                          bytes(String.join("\n", httpResponse.body().toList())));
+                    return;
+                }
+                advance(httpResponse.body().iterator(), heads);
+            }
+            response.setStatus(200);
+            response.setContentType(MoneyTransferResource.APPLICATION_NDJSON);
+            final OutputStream outputStream = response.getOutputStream();
+            while (!heads.isEmpty()) {
+                final StreamHead head = heads.poll();
+                outputStream.write(bytes(head.line()));
+                outputStream.write('\n');
+                advance(head.lines(), heads);
+            }
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming customers", e);
+        }
+        finally {
+            streams.forEach(Stream::close);
+        }
+    }
+
+    private record StreamHead(String customerId, String line, Iterator<String> lines) {
+    }
+
+    private void advance(Iterator<String> lines, PriorityQueue<StreamHead> heads) throws IOException {
+        while (lines.hasNext()) {
+            final String line = lines.next();
+            if (!line.isBlank()) {
+                heads.add(new StreamHead(objectMapper.readTree(line).path("id").asText(), line, lines));
+                return;
+            }
+        }
+    }
+
+    private HttpRequest newRequest(URI partition, Request request, byte[] body) {
+        final String query = request.getQueryString();
+        final HttpRequest.Builder builder =
+                HttpRequest.newBuilder(partition.resolve(request.getRequestURI() + ((query != null) ? "?" + query : "")))
+                .timeout(REQUEST_TIMEOUT)
+                .method(request.getMethod().getMethodString(),
+                        (body.length > 0) ? HttpRequest.BodyPublishers.ofByteArray(body) : HttpRequest.BodyPublishers.noBody());
+        for (final String name : request.getHeaderNames())
+            if (!UNFORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT)))
+                for (final String value : request.getHeaders(name))
+                    builder.header(name, value);
+        return builder.build();
+    }
+
+    private Reply relayed(HttpResponse<byte[]> httpResponse) {
+        final String partition = httpResponse.request().uri().resolve("/").toString();
+        final String router = publicUri.resolve("/").toString();
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        httpResponse.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !UNFORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT)) &&
+                    !name.equalsIgnoreCase("Content-Type"))
+                headers.put(name, values.stream().map(value -> value.replace(partition, router)).toList());  //Location, Link
+        });
+        return new Reply(httpResponse.statusCode(), httpResponse.headers().firstValue("Content-Type").orElse(null), headers,
+                         httpResponse.body());
+    }
+
+    private static Reply badGateway(Throwable failure) {
+        logger.warn("Partition request failed: {}", failure.toString());
+        return new Reply(502, TEXT_PLAIN, null, bytes("Partition unavailable"));
+    }
+
+    private static void unavailable(Response response) throws IOException {
+        reply(response, 503, TEXT_PLAIN, Map.of("Retry-After", List.of(RETRY_AFTER_SECS)), bytes("Customer is being moved"));
+    }
+
+    private static void write(Response response, Reply reply) throws IOException {
+        reply(response, reply.status(), reply.contentType(), reply.headers(), reply.body());
+    }
+
+    private static void reply(Response response, int status, String contentType, Map<String, List<String>> headers, byte[] body)
+            throws IOException {
+        response.setStatus(status);
+        if (headers != null)
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (contentType != null)
+            response.setContentType(contentType);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        }
+        catch(IOException e) {
+            return null;  //Forwarded as is, so the partition rejects it
+        }
+    }
+
+    private String field(byte[] body, String name) {
+        final JsonNode json = readTree(body);
+        return (json != null) ? json.path(name).textValue() : null;
+    }
+
+    private static boolean isAccountNumber(String segment) {
+        return !segment.isEmpty() && segment.length() <= 10 && segment.chars().allMatch(Character::isDigit) &&
+               Long.parseLong(segment) <= Integer.MAX_VALUE;
+    }
+
+    private URI apiUri(URI partition, String path) {
+        return partition.resolve(basePath + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        httpServer.shutdownNow();
+        httpClient.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [publicUri=%s, basePath=%s, partitionMap=%s]",
+                getClass().getSimpleName(), publicUri, basePath, partitionMap);
+    }
+}
@@ -0,0 +1,56 @@
+package net.sattler22.transfer.partition;
+
+import net.sattler22.transfer.util.PropertyFileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Money Transfer Partition Router Bootstrap
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public final class PartitionRouterBootstrap {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionRouterBootstrap.class);
+
+    /**
+     * Handle the partition router life cycle
+     */
+    public static void main(String[] args) {
+        int status = 0;
+        try {
+            final Properties appProps =
+                    PropertyFileUtils.readResourceProperties(PartitionRouterBootstrap.class, "app.properties");
+            final Properties routerProps = PropertyFileUtils.overrideWithSystemProperties(
+                    PropertyFileUtils.readResourceProperties(PartitionRouterBootstrap.class, "router.properties"));
+            final List<URI> partitions = Arrays.stream(routerProps.getProperty("router.partitions").split(","))
+                    .map(String::trim)
+                    .filter(partition -> !partition.isEmpty())
+                    .map(URI::create)
+                    .toList();
+            try (final PartitionRouter partitionRouter = new PartitionRouter(URI.create(routerProps.getProperty("router.uri")),
+                    appProps.getProperty("base.path"), PartitionMap.of(partitions))) {
+                partitionRouter.start();
+                logger.info("Press [ENTER] to stop the router...");
+                System.in.read();
+                logger.info("Shutting down partition router...");
+            }
+        }
+        catch(IOException e) {
+            status++;
+            logger.error(e.getMessage(), e);
+        }
+        finally {
+            logger.info("Partition router shutdown complete, ES={}", status);
+            System.exit(status);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package net.sattler22.transfer.replication;
+
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.journal.Journal;
+import net.sattler22.transfer.journal.JournalRecord;
+import net.sattler22.transfer.journal.Recovery;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Backup Journal Receiver
+ *
+ * @implNote A single thread follows the primary: it reads whatever frames have arrived, checks each one, replays it into
+ *           the bank and appends it to the local journal under the primary's sequence number, so that the local journal
+ *           and snapshots line up with the primary's and recovery works the same on either side. Once every record read
+ *           in one go has been journaled according to the local fsync policy, the last sequence number is acknowledged,
+ *           so acknowledgements are batched exactly like the shipments. If the connection drops, the receiver reconnects
+ *           and carries on after the last record it holds. A missing record means the primary no longer has the history
+ *           this backup needs, so it stops following and has to be seeded again from a copy of the primary's snapshot.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class JournalReceiver implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalReceiver.class);
+    private static final int INITIAL_BUFFER_SIZE = 1024 * 1024;
+    private static final long RECONNECT_DELAY_MILLIS = 1_000L;
+    private final SocketAddress primaryAddress;
+    private final Recovery.Replayer replayer;
+    private final Journal journal;
+    private final LongAdder appliedRecords;
+    private final ReentrantLock appliedLock = new ReentrantLock();
+    private final Condition appliedAdvanced = appliedLock.newCondition();
+    private final Thread receiver;
+    private volatile boolean running = true;
+    private volatile SocketChannel channel;
+    private volatile long lastSequence;  //Applied and journaled
+
+    //Only accessed by the receiver thread:
+    private final CRC32C checksum = new CRC32C();
+    private long appliedSequence;
+    private CompletableFuture<Long> lastAppend;
+
+    /**
+     * Starts following a primary
+     *
+     * @param primaryAddress The address of the primary (TCP or Unix domain socket)
+     * @param replayer The replayer of the backup bank, usually the one it was recovered with
+     * @param journal The backup journal
+     * @param lastSequence The sequence number of the last record the backup already holds
+     * @param metricsRegistry The registry to publish the replication metrics to
+     */
+    public JournalReceiver(SocketAddress primaryAddress, Recovery.Replayer replayer, Journal journal, long lastSequence,
+                           MetricsRegistry metricsRegistry) {
+        this.primaryAddress = Objects.requireNonNull(primaryAddress, "Primary address is required");
+        this.replayer = Objects.requireNonNull(replayer, "Replayer is required");
+        this.journal = Objects.requireNonNull(journal, "Journal is required");
+        this.lastSequence = lastSequence;
+        this.appliedSequence = lastSequence;
+        this.appliedRecords = metricsRegistry.counter("replication_applied_records_total",
+                "Journal records applied by this backup");
+        this.receiver = Thread.ofPlatform()
+                .name("journal-receiver")
+                .daemon()
+                .start(this::run);
+    }
+
+    /**
+     * Get the sequence number of the last record applied and journaled
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Check whether the receiver is currently connected to its primary
+     */
+    public boolean isConnected() {
+        final SocketChannel currentChannel = channel;
+        return currentChannel != null && currentChannel.isConnected();
+    }
+
+    /**
+     * Wait for a record to be applied and journaled
+     *
+     * @return True if it was, false if the timeout elapsed or the receiver stopped first
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        long remainingNanos = timeout.toNanos();
+        appliedLock.lock();
+        try {
+            while (lastSequence < sequence) {
+                if (remainingNanos <= 0L || !running)
+                    return false;
+                remainingNanos = appliedAdvanced.awaitNanos(remainingNanos);
+            }
+            return true;
+        }
+        finally {
+            appliedLock.unlock();
+        }
+    }
+
+    /**
+     * Stop following the primary so the backup can take over
+     *
+     * @implNote Every record received so far has been journaled by the time this returns, so the bank and journal are
+     *           ready to serve requests as they are
+     * @return The sequence number of the last record applied
+     */
+    public long promote() {
+        close();
+        logger.info("Promoted to primary as of journal sequence #{}", lastSequence);
+        return lastSequence;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running)
+            return;
+        this.running = false;
+        final SocketChannel currentChannel = channel;
+        try {
+            if (currentChannel != null)
+                currentChannel.close();
+        }
+        catch(IOException e) {
+            logger.debug("Unable to close {}", currentChannel, e);
+        }
+        receiver.interrupt();  //In case it is waiting to reconnect
+        try {
+            receiver.join();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (final SocketChannel socketChannel = SocketChannel.open(primaryAddress)) {
+                JournalShipper.setNoDelay(socketChannel);
+                this.channel = socketChannel;
+                logger.info("Following primary at [{}] after journal sequence #{}", primaryAddress, lastSequence);
+                follow(socketChannel);
+            }
+            catch(IOException e) {
+                if (running)
+                    logger.warn("Lost primary at [{}], reconnecting in {} ms: {}", primaryAddress, RECONNECT_DELAY_MILLIS, e.toString());
+            }
+            catch(RuntimeException e) {
+                logger.error("Stopped following primary at [{}] after journal sequence #{}", primaryAddress, lastSequence, e);
+                break;
+            }
+            finally {
+                this.channel = null;
+            }
+            try {
+                if (running)
+                    TimeUnit.MILLISECONDS.sleep(RECONNECT_DELAY_MILLIS);
+            }
+            catch(InterruptedException e) {
+                break;
+            }
+        }
+        this.running = false;
+        signalApplied();  //Wakes up anyone still waiting
+    }
+
+    private void follow(SocketChannel socketChannel) throws IOException {
+        final ByteBuffer ack = ByteBuffer.allocate(Long.BYTES);
+        write(socketChannel, ack, lastSequence);  //Hand shake
+        ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+        while (running) {
+            if (socketChannel.read(buffer) < 0)
+                throw new EOFException("Connection closed by primary");
+            buffer.flip();
+            Journal.scan(buffer, checksum, this::apply);
+            final int frameSize = Journal.frameSize(buffer);
+            if (frameSize != 0 && frameSize <= buffer.remaining())
+                throw new IllegalStateException(String.format("Corrupt journal record after sequence #%d", appliedSequence));
+            buffer.compact();
+            if (!buffer.hasRemaining()) {
+                //The next frame is bigger than the whole buffer:
+                final ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, frameSize));
+                buffer = larger.put(buffer.flip());
+            }
+            if (appliedSequence > lastSequence) {
+                Journal.await(lastAppend);  //Records are acknowledged in order, so the last one covers them all
+                this.lastSequence = appliedSequence;
+                signalApplied();
+                write(socketChannel, ack, appliedSequence);
+            }
+        }
+    }
+
+    private void apply(long sequence, JournalRecord record) {
+        if (sequence <= appliedSequence)
+            return;  //Already held before reconnecting
+        if (sequence != appliedSequence + 1)
+            throw new IllegalStateException(String.format("Journal sequence #%d is no longer held by the primary", appliedSequence + 1));
+        replayer.replay(record);
+        this.lastAppend = journal.append(sequence, record);
+        this.appliedSequence = sequence;
+        appliedRecords.increment();
+    }
+
+    private void signalApplied() {
+        appliedLock.lock();
+        try {
+            appliedAdvanced.signalAll();
+        }
+        finally {
+            appliedLock.unlock();
+        }
+    }
+
+    private static void write(SocketChannel socketChannel, ByteBuffer buffer, long sequence) throws IOException {
+        buffer.clear();
+        buffer.putLong(0, sequence);
+        while (buffer.hasRemaining())
+            socketChannel.write(buffer);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [primaryAddress=%s, journal=%s, lastSequence=%d]", getClass().getSimpleName(), primaryAddress,
+                             journal, lastSequence);
+    }
+}
@@ -0,0 +1,434 @@
+package net.sattler22.transfer.replication;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.journal.Journal;
+import net.sattler22.transfer.metrics.LatencyHistogram;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NetworkChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Primary Journal Shipper
+ *
+ * @implNote Each backup connects, sends the sequence number of the last record it holds and is then streamed the journal
+ *           frames after it, exactly as they lie in the segment files, up to the committed position. The bytes go from the
+ *           page cache straight to the socket with {@link FileChannel#transferTo}, and everything committed since the last
+ *           send goes out in one call, so a busy journal is shipped in large batches. The backup answers with the sequence
+ *           number of the last record it has applied and journaled. With sync acks, a change only returns once every backup
+ *           that has caught up has acknowledged it. A backup that does not answer within the sync timeout is dropped from
+ *           the wait until it catches up again, so a slow or dead backup costs at most one timeout.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class JournalShipper implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalShipper.class);
+    private static final long IDLE_WAIT_MILLIS = 100L;
+    private final Journal journal;
+    private final SocketAddress address;
+    private final long syncTimeoutNanos;
+    private final List<Backup> backups = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nbrConnected = new AtomicInteger();
+    private final ReentrantLock ackLock = new ReentrantLock();
+    private final Condition acknowledged = ackLock.newCondition();
+    private final LongAdder shippedBytes;
+    private final LatencyHistogram ackLatency;
+    private final LatencyHistogram syncWait;
+    private final LongAdder syncTimeouts;
+    private volatile boolean running;
+    private ServerSocketChannel serverChannel;
+    private Thread acceptor;
+
+    /**
+     * Constructs a new journal shipper
+     *
+     * @param journal The journal to ship
+     * @param address The address to listen on for backups (TCP or Unix domain socket)
+     * @param syncTimeoutMillis The longest time {@link #awaitAcknowledged(long)} waits for the backups
+     * @param metricsRegistry The registry to publish the replication metrics to
+     */
+    public JournalShipper(Journal journal, SocketAddress address, long syncTimeoutMillis, MetricsRegistry metricsRegistry) {
+        this.journal = Objects.requireNonNull(journal, "Journal is required");
+        this.address = Objects.requireNonNull(address, "Replication address is required");
+        if (syncTimeoutMillis <= 0)
+            throw new IllegalArgumentException("Sync timeout must be greater than zero");
+        this.syncTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(syncTimeoutMillis);
+        this.shippedBytes = metricsRegistry.counter("replication_shipped_bytes_total", "Journal bytes shipped to backups");
+        this.ackLatency = metricsRegistry.histogram("replication_ack_latency_seconds",
+                "Time from shipping journal records until a backup acknowledges them");
+        this.syncWait = metricsRegistry.histogram("replication_sync_wait_seconds",
+                "Time changes spent waiting for backup acknowledgements");
+        this.syncTimeouts = metricsRegistry.counter("replication_sync_timeouts_total",
+                "Changes that stopped waiting for a backup after the sync timeout");
+        metricsRegistry.gauge("replication_lag_records", "Committed journal records not yet acknowledged by the slowest backup",
+                this::lag);
+    }
+
+    /**
+     * Start listening for backups
+     *
+     * @return The address backups connect to (with the actual port if it was left to the operating system)
+     * @throws IOException If unable to listen on the address
+     */
+    public synchronized SocketAddress start() throws IOException {
+        if (running)
+            throw new IllegalStateException("Journal shipper is already running");
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            Files.deleteIfExists(unixAddress.getPath());  //Left behind by a process that did not shut down cleanly
+            this.serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        }
+        else
+            this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        this.running = true;
+        this.acceptor = Thread.ofPlatform()
+                .name("journal-shipper-acceptor")
+                .daemon()
+                .start(this::accept);
+        logger.info("Shipping {} to backups connecting to [{}]", journal, serverChannel.getLocalAddress());
+        return serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Wait for every caught up backup to acknowledge a record
+     *
+     * @implNote Returns straight away when no backup is connected, and gives up on the backups that are still behind once
+     *           the sync timeout elapses
+     * @param sequence The sequence number of the record
+     */
+    public void awaitAcknowledged(long sequence) {
+        if (isAcknowledged(sequence))
+            return;
+        final long startNanos = System.nanoTime();
+        long remainingNanos = syncTimeoutNanos;
+        ackLock.lock();
+        try {
+            while (!isAcknowledged(sequence)) {
+                if (remainingNanos <= 0L) {
+                    syncTimeouts.increment();
+                    dropLagging(sequence);
+                    break;
+                }
+                remainingNanos = acknowledged.awaitNanos(remainingNanos);
+            }
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            ackLock.unlock();
+        }
+        syncWait.record(System.nanoTime() - startNanos);
+    }
+
+    private boolean isAcknowledged(long sequence) {
+        for (final Backup backup : backups)
+            if (backup.caughtUp && backup.acked < sequence)
+                return false;
+        return true;
+    }
+
+    private void dropLagging(long sequence) {
+        final long lastSequence = journal.committed().lastSequence();
+        for (final Backup backup : backups) {
+            if (backup.caughtUp && backup.acked < sequence) {
+                backup.caughtUp = false;
+                backup.catchUpSequence = lastSequence;
+                logger.warn("Backup [{}] did not acknowledge journal sequence #{} in time, no longer waiting for it", backup.name,
+                            sequence);
+            }
+        }
+    }
+
+    /**
+     * Get the number of committed records the slowest backup has yet to acknowledge (zero if no backup is connected)
+     */
+    public long lag() {
+        final long lastSequence = journal.committed().lastSequence();
+        long lag = 0L;
+        for (final Backup backup : backups)
+            lag = Math.max(lag, lastSequence - backup.acked);
+        return lag;
+    }
+
+    /**
+     * Get the number of connected backups
+     */
+    public int nbrBackups() {
+        return backups.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!running)
+                return;
+            this.running = false;
+        }
+        closeQuietly(serverChannel);
+        for (final Backup backup : backups)
+            closeQuietly(backup.channel);
+        try {
+            acceptor.join();
+            for (final Backup backup : backups)
+                backup.sender.join();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            try {
+                Files.deleteIfExists(unixAddress.getPath());
+            }
+            catch(IOException e) {
+                logger.warn("Unable to delete socket file [{}]", unixAddress.getPath(), e);
+            }
+        }
+        logger.info("Stopped shipping {}", journal);
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                final SocketChannel channel = serverChannel.accept();
+                setNoDelay(channel);
+                final int nbr = nbrConnected.incrementAndGet();
+                final Backup backup = new Backup(channel, String.format("#%d %s", nbr, channel.getRemoteAddress()).strip());
+                backup.sender = Thread.ofPlatform()
+                        .name("journal-shipper-" + nbr)
+                        .daemon()
+                        .unstarted(() -> serve(backup));
+                backup.sender.start();
+            }
+            catch(ClosedChannelException e) {
+                break;
+            }
+            catch(IOException e) {
+                logger.warn("Unable to accept a backup connection", e);
+            }
+        }
+    }
+
+    private void serve(Backup backup) {
+        try {
+            final long afterSequence = readLong(backup.channel, ByteBuffer.allocate(Long.BYTES));
+            backup.acked = afterSequence;
+            backup.catchUpSequence = journal.committed().lastSequence();
+            backup.caughtUp = afterSequence >= backup.catchUpSequence;
+            backups.add(backup);
+            logger.info("Backup [{}] connected after journal sequence #{}", backup.name, afterSequence);
+            Thread.ofPlatform()
+                    .name(Thread.currentThread().getName() + "-acks")
+                    .daemon()
+                    .start(() -> readAcks(backup));
+            ship(backup, afterSequence);
+        }
+        catch(IOException e) {
+            if (running)
+                logger.warn("Backup [{}] disconnected: {}", backup.name, e.toString());
+        }
+        catch(RuntimeException e) {
+            logger.error("Unable to ship the journal to backup [{}]", backup.name, e);
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            disconnect(backup);
+        }
+    }
+
+    private void ship(Backup backup, long afterSequence) throws IOException, InterruptedException {
+        final Path directory = journal.directory();
+        Journal.Position committed = journal.committed();
+        long segmentSequence = firstSegment(directory, afterSequence, committed.segmentSequence());
+        Path segment = Journal.segmentPath(directory, segmentSequence);
+        FileChannel file = FileChannel.open(segment, StandardOpenOption.READ);
+        try {
+            long offset = Journal.frameOffset(segment, afterSequence,
+                    (segmentSequence == committed.segmentSequence()) ? committed.offset() : Integer.MAX_VALUE);
+            while (running) {
+                committed = journal.committed();
+                final boolean current = committed.segmentSequence() == segmentSequence;
+                final long end = current ? committed.offset() : Journal.frameOffset(segment, Long.MAX_VALUE, Integer.MAX_VALUE);
+                if (offset < end) {
+                    //Everything committed since the last send goes out as one batch:
+                    shippedBytes.add(end - offset);
+                    while (offset < end)
+                        offset += file.transferTo(offset, end - offset, backup.channel);
+                    if (current)
+                        backup.shipments.add(new Shipment(committed.lastSequence(), System.nanoTime()));
+                }
+                else if (!current) {
+                    //The writer has moved on, so this segment is complete:
+                    file.close();
+                    segmentSequence = nextSegment(directory, segmentSequence);
+                    segment = Journal.segmentPath(directory, segmentSequence);
+                    file = FileChannel.open(segment, StandardOpenOption.READ);
+                    offset = 0L;
+                }
+                else
+                    journal.awaitCommitted(committed.lastSequence(), IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        finally {
+            file.close();
+        }
+    }
+
+    private void readAcks(Backup backup) {
+        final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        try {
+            while (running) {
+                final long sequence = readLong(backup.channel, buffer);
+                final long nowNanos = System.nanoTime();
+                Shipment shipment;
+                while ((shipment = backup.shipments.peek()) != null && shipment.lastSequence() <= sequence) {
+                    backup.shipments.poll();
+                    ackLatency.record(nowNanos - shipment.shippedNanos());
+                }
+                ackLock.lock();
+                try {
+                    backup.acked = sequence;
+                    if (!backup.caughtUp && sequence >= backup.catchUpSequence) {
+                        backup.caughtUp = true;
+                        logger.info("Backup [{}] caught up at journal sequence #{}", backup.name, sequence);
+                    }
+                    acknowledged.signalAll();
+                }
+                finally {
+                    ackLock.unlock();
+                }
+            }
+        }
+        catch(IOException e) {
+            if (running)
+                logger.debug("Stopped reading acknowledgements from backup [{}]: {}", backup.name, e.toString());
+        }
+        finally {
+            closeQuietly(backup.channel);  //Also stops the sender
+        }
+    }
+
+    private void disconnect(Backup backup) {
+        closeQuietly(backup.channel);
+        ackLock.lock();
+        try {
+            if (backups.remove(backup))
+                logger.info("Backup [{}] disconnected at journal sequence #{}", backup.name, backup.acked);
+            acknowledged.signalAll();
+        }
+        finally {
+            ackLock.unlock();
+        }
+    }
+
+    /**
+     * Find the segment holding the first record after the given sequence number
+     */
+    private static long firstSegment(Path directory, long afterSequence, long tailSequence) throws IOException {
+        long segmentSequence = -1L;
+        for (final Path segment : Journal.segments(directory)) {
+            final long firstSequence = Journal.firstSequence(segment);
+            if (segmentSequence < 0L || firstSequence <= afterSequence + 1)
+                segmentSequence = firstSequence;  //Past the oldest segment, the backup finds out it has a gap
+        }
+        return (segmentSequence < 0L) ? tailSequence : segmentSequence;
+    }
+
+    private static long nextSegment(Path directory, long segmentSequence) throws IOException {
+        for (final Path segment : Journal.segments(directory)) {
+            final long firstSequence = Journal.firstSequence(segment);
+            if (firstSequence > segmentSequence)
+                return firstSequence;
+        }
+        throw new IllegalStateException(String.format("No journal segment after the one starting at sequence #%d", segmentSequence));
+    }
+
+    static long readLong(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0)
+                throw new EOFException("Connection closed by peer");
+        return buffer.getLong(0);
+    }
+
+    static void setNoDelay(NetworkChannel channel) throws IOException {
+        if (channel.supportedOptions().contains(StandardSocketOptions.TCP_NODELAY))
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);  //Acknowledgements are tiny and latency bound
+    }
+
+    private static void closeQuietly(NetworkChannel channel) {
+        try {
+            if (channel != null)
+                channel.close();
+        }
+        catch(IOException e) {
+            logger.debug("Unable to close {}", channel, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [journal=%s, address=%s, nbrBackups=%d]", getClass().getSimpleName(), journal, address,
+                             backups.size());
+    }
+
+    /**
+     * A connected backup
+     */
+    private static final class Backup {
+
+        private final SocketChannel channel;
+        private final String name;
+        private final Queue<Shipment> shipments = new ConcurrentLinkedQueue<>();
+        private volatile long acked;
+        private volatile boolean caughtUp;
+        private volatile long catchUpSequence;
+        private Thread sender;
+
+        private Backup(SocketChannel channel, String name) {
+            this.channel = channel;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Records shipped in one batch
+     *
+     * @param lastSequence The sequence number of the last record in the batch
+     * @param shippedNanos When the batch was handed to the socket
+     */
+    @Immutable
+    private record Shipment(long lastSequence, long shippedNanos) {
+    }
+}
@@ -0,0 +1,59 @@
+package net.sattler22.transfer.replication;
+
+import net.jcip.annotations.Immutable;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.util.Objects;
+
+/**
+ * Journal Replication Configuration
+ *
+ * @param role The replication role
+ * @param address The address a primary listens on and a backup connects to, either {@code host:port} for TCP or
+ *                {@code unix:path} for a Unix domain socket
+ * @param syncAcks True if changes only return once every connected backup has acknowledged them (only applies to a primary)
+ * @param syncTimeoutMillis The longest time to wait for the backups before giving up on them (only applies to sync acks)
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+public record ReplicationConfig(ReplicationRole role, String address, boolean syncAcks, long syncTimeoutMillis) {
+
+    private static final String UNIX_PREFIX = "unix:";
+
+    /**
+     * Constructs a new replication configuration
+     */
+    public ReplicationConfig {
+        Objects.requireNonNull(role, "Replication role is required");
+        Objects.requireNonNull(address, "Replication address is required");
+        if (syncTimeoutMillis <= 0)
+            throw new IllegalArgumentException("Sync timeout must be greater than zero");
+    }
+
+    /**
+     * Resolve the replication address
+     *
+     * @throws IllegalArgumentException If the address is malformed
+     */
+    public SocketAddress socketAddress() {
+        return socketAddress(address);
+    }
+
+    /**
+     * Resolve a replication address, either {@code host:port} or {@code unix:path}
+     *
+     * @throws IllegalArgumentException If the address is malformed
+     */
+    public static SocketAddress socketAddress(String address) {
+        if (address.startsWith(UNIX_PREFIX))
+            return UnixDomainSocketAddress.of(address.substring(UNIX_PREFIX.length()));
+        final int separator = address.lastIndexOf(':');
+        if (separator <= 0)
+            throw new IllegalArgumentException(String.format("Replication address [%s] must be host:port or unix:path", address));
+        return new InetSocketAddress(address.substring(0, separator), Integer.parseInt(address.substring(separator + 1)));
+    }
+}
@@ -0,0 +1,23 @@
+package net.sattler22.transfer.replication;
+
+/**
+ * Journal Replication Role
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public enum ReplicationRole {
+    /**
+     * Stand-alone, nothing is replicated
+     */
+    NONE,
+    /**
+     * Serve requests and ship every committed journal record to the connected backups
+     */
+    PRIMARY,
+    /**
+     * Follow a primary, applying its journal records to a bank and journal of its own until promoted
+     */
+    BACKUP;
+}
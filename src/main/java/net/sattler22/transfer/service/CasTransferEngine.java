@@ -0,0 +1,180 @@
+package net.sattler22.transfer.service;
+
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountState;
+import net.sattler22.transfer.domain.CommitSequence;
+import net.sattler22.transfer.domain.CurrencyUnit;
+import net.sattler22.transfer.metrics.LatencyHistogram;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+/**
+ * Money Transfer Engine Using Compare-And-Swap (CAS)
+ *
+ * @implNote Both accounts are claimed by swapping in a claimed copy of their state, in account number order. If either
+ *           claim fails, any claim already held is released and the transfer backs off and retries, up to a bounded
+ *           number of attempts. Once both accounts are claimed, the postings are committed by swapping in the resulting
+ *           states. No monitors are ever taken and readers always see the last committed balance and version.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class CasTransferEngine implements TransferEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(CasTransferEngine.class);
+    private static final int SPIN_ATTEMPTS = 16;
+    private final int maxRetries;
+    private final LatencyHistogram claimWait = MetricsRegistry.defaultRegistry().histogram(TransferEngine.LOCK_WAIT_METRIC,
+            TransferEngine.LOCK_WAIT_HELP, "engine", "cas");
+
+    /**
+     * Constructs a new CAS transfer engine
+     *
+     * @param maxRetries The maximum number of attempts to claim both accounts
+     */
+    public CasTransferEngine(int maxRetries) {
+        if (maxRetries <= 0)
+            throw new IllegalArgumentException("Maximum number of retries must be greater than zero");
+        this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public TransferResult transfer(Account source, Account target, long amount) {
+        final boolean sourceFirst = source.number() < target.number();
+        final Account first = sourceFirst ? source : target;
+        final Account second = sourceFirst ? target : source;
+        long contendedSince = 0L;
+        for (int attempt = 0; attempt < maxRetries; attempt++) {
+            final AccountState firstClaim = first.tryClaim();
+            if (firstClaim != null) {
+                final AccountState secondClaim = second.tryClaim();
+                if (secondClaim != null) {
+                    claimWait.record(attempt == 0 ? 0L : System.nanoTime() - contendedSince);
+                    return commit(source, sourceFirst ? firstClaim : secondClaim,
+                                  target, sourceFirst ? secondClaim : firstClaim, amount);
+                }
+                first.release(firstClaim);
+            }
+            if (attempt == 0)
+                contendedSince = System.nanoTime();
+            backOff(attempt);
+        }
+        claimWait.record(System.nanoTime() - contendedSince);
+        logger.warn("Unable to claim accounts #{} and #{} after {} attempts", source.number(), target.number(), maxRetries);
+        throw new ConcurrentModificationException(
+                String.format("Transfer from account #%d to account #%d could not be completed due to contention, please retry",
+                        source.number(), target.number()));
+    }
+
+    private static TransferResult commit(Account source, AccountState sourceClaim,
+                                         Account target, AccountState targetClaim, long amount) {
+        try {
+            if (amount > sourceClaim.balance())
+                throw new IllegalArgumentException("Transfer amount exceeds the amount of available funds");
+            CurrencyUnit.add(targetClaim.balance(), amount);  //Fail before anything is posted
+        }
+        catch(IllegalArgumentException e) {
+            source.release(sourceClaim);
+            target.release(targetClaim);
+            throw e;
+        }
+        final long ticket = CommitSequence.begin();
+        try {
+            final long sequence = CommitSequence.sequence(ticket);
+            final AccountState sourceState = source.commit(sourceClaim, -amount, target.number(), sequence);
+            final AccountState targetState = target.commit(targetClaim, amount, source.number(), sequence);
+            return new TransferResult(source, sourceState, target, targetState);
+        }
+        finally {
+            CommitSequence.end(ticket);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote Every account in the batch is claimed in account number order, then each transfer is posted in order
+     *           while the claims are held, exactly as the locking engine does, and every claim is released at the end.
+     */
+    @Override
+    public List<TransferResult> transferAll(List<TransferRequest> transfers) {
+        final List<Account> lockOrder = TransferBatch.lockOrder(transfers);
+        final AccountState[] claims = new AccountState[lockOrder.size()];
+        long contendedSince = 0L;
+        for (int attempt = 0; attempt < maxRetries; attempt++) {
+            int nbrClaimed = 0;
+            while (nbrClaimed < claims.length && (claims[nbrClaimed] = lockOrder.get(nbrClaimed).tryClaim()) != null)
+                nbrClaimed++;
+            if (nbrClaimed == claims.length) {
+                claimWait.record(attempt == 0 ? 0L : System.nanoTime() - contendedSince);
+                return commitAll(lockOrder, claims, transfers);
+            }
+            for (int index = 0; index < nbrClaimed; index++)
+                lockOrder.get(index).release(claims[index]);
+            if (attempt == 0)
+                contendedSince = System.nanoTime();
+            backOff(attempt);
+        }
+        claimWait.record(System.nanoTime() - contendedSince);
+        logger.warn("Unable to claim {} accounts after {} attempts", lockOrder.size(), maxRetries);
+        throw new ConcurrentModificationException(
+                String.format("Batch of %d transfers could not be completed due to contention, please retry", transfers.size()));
+    }
+
+    private static List<TransferResult> commitAll(List<Account> lockOrder, AccountState[] claims,
+                                                  List<TransferRequest> transfers) {
+        final long[] balances = new long[claims.length];
+        for (int index = 0; index < claims.length; index++)
+            balances[index] = claims[index].balance();
+        try {
+            TransferBatch.validate(transfers, lockOrder, balances);
+        }
+        catch(IllegalArgumentException e) {
+            for (int index = 0; index < lockOrder.size(); index++)
+                lockOrder.get(index).release(claims[index]);
+            throw e;
+        }
+        final List<TransferResult> transferResults = new ArrayList<>(transfers.size());
+        final long ticket = CommitSequence.begin();
+        try {
+            final long sequence = CommitSequence.sequence(ticket);
+            for (final TransferRequest transfer : transfers) {
+                final int sourcePosition = TransferBatch.position(lockOrder, transfer.source());
+                final int targetPosition = TransferBatch.position(lockOrder, transfer.target());
+                claims[sourcePosition] = transfer.source().post(claims[sourcePosition], -transfer.amount(),
+                                                                transfer.target().number(), sequence);
+                claims[targetPosition] = transfer.target().post(claims[targetPosition], transfer.amount(),
+                                                                transfer.source().number(), sequence);
+                transferResults.add(new TransferResult(transfer.source(), claims[sourcePosition],
+                                                       transfer.target(), claims[targetPosition]));
+            }
+        }
+        finally {
+            for (int index = 0; index < lockOrder.size(); index++)
+                lockOrder.get(index).release(claims[index]);
+            CommitSequence.end(ticket);
+        }
+        return transferResults;
+    }
+
+    private static void backOff(int attempt) {
+        if (attempt < SPIN_ATTEMPTS)
+            Thread.onSpinWait();
+        else
+            Thread.yield();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [maxRetries=%d]", getClass().getSimpleName(), maxRetries);
+    }
+}
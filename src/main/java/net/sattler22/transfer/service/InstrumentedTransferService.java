@@ -0,0 +1,277 @@
+package net.sattler22.transfer.service;
+
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.metrics.LatencyHistogram;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Money Transfer Service Metrics Decorator
+ *
+ * @implNote Records the latency of every operation, whether or not it succeeded, along with the number of failed
+ *           operations and the number of transfers applied. Every metric is resolved up front, so recording only reads
+ *           the clock twice and updates striped counters.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class InstrumentedTransferService implements TransferService {
+
+    private static final String LATENCY_METRIC = "transfer_service_duration_seconds";
+    private static final String LATENCY_HELP = "Time spent in each transfer service operation";
+    private static final String FAILURES_METRIC = "transfer_service_failures_total";
+    private static final String FAILURES_HELP = "Number of transfer service operations that threw an exception";
+    private final TransferService delegate;
+    private final Operation getCustomers;
+    private final Operation getCustomersPage;
+    private final Operation forEachCustomer;
+    private final Operation findCustomer;
+    private final Operation addCustomer;
+    private final Operation deleteCustomer;
+    private final Operation addAccount;
+    private final Operation findAccount;
+    private final Operation deleteAccount;
+    private final Operation releaseAccount;
+    private final Operation transfer;
+    private final Operation transferBatch;
+    private final LongAdder nbrTransfers;
+
+    /**
+     * Constructs a new instrumented transfer service
+     *
+     * @param delegate The underlying transfer service
+     * @param metricsRegistry The registry to record metrics in
+     */
+    public InstrumentedTransferService(TransferService delegate, MetricsRegistry metricsRegistry) {
+        this.delegate = Objects.requireNonNull(delegate, "Transfer service is required");
+        Objects.requireNonNull(metricsRegistry, "Metrics registry is required");
+        this.getCustomers = new Operation(metricsRegistry, "get_customers");
+        this.getCustomersPage = new Operation(metricsRegistry, "get_customers_page");
+        this.forEachCustomer = new Operation(metricsRegistry, "for_each_customer");
+        this.findCustomer = new Operation(metricsRegistry, "find_customer");
+        this.addCustomer = new Operation(metricsRegistry, "add_customer");
+        this.deleteCustomer = new Operation(metricsRegistry, "delete_customer");
+        this.addAccount = new Operation(metricsRegistry, "add_account");
+        this.findAccount = new Operation(metricsRegistry, "find_account");
+        this.deleteAccount = new Operation(metricsRegistry, "delete_account");
+        this.releaseAccount = new Operation(metricsRegistry, "release_account");
+        this.transfer = new Operation(metricsRegistry, "transfer");
+        this.transferBatch = new Operation(metricsRegistry, "transfer_batch");
+        this.nbrTransfers = metricsRegistry.counter("transfers_total", "Number of transfers applied, including batched ones");
+    }
+
+    @Override
+    public Bank getBank() {
+        return delegate.getBank();
+    }
+
+    @Override
+    public Set<Customer> getCustomers() {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final Set<Customer> customers = delegate.getCustomers();
+            succeeded = true;
+            return customers;
+        }
+        finally {
+            getCustomers.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public List<Customer> getCustomers(String after, int limit) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final List<Customer> customers = delegate.getCustomers(after, limit);
+            succeeded = true;
+            return customers;
+        }
+        finally {
+            getCustomersPage.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public void forEachCustomer(Consumer<? super Customer> action) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            delegate.forEachCustomer(action);
+            succeeded = true;
+        }
+        finally {
+            forEachCustomer.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public Customer lookupCustomer(String id) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final Customer customer = delegate.lookupCustomer(id);
+            succeeded = true;
+            return customer;
+        }
+        finally {
+            findCustomer.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public boolean addCustomer(Customer customer) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final boolean added = delegate.addCustomer(customer);
+            succeeded = true;
+            return added;
+        }
+        finally {
+            addCustomer.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public boolean deleteCustomer(Customer customer) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final boolean deleted = delegate.deleteCustomer(customer);
+            succeeded = true;
+            return deleted;
+        }
+        finally {
+            deleteCustomer.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public boolean addAccount(Account account) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final boolean added = delegate.addAccount(account);
+            succeeded = true;
+            return added;
+        }
+        finally {
+            addAccount.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public Account lookupAccount(int number) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final Account account = delegate.lookupAccount(number);
+            succeeded = true;
+            return account;
+        }
+        finally {
+            findAccount.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public boolean deleteAccount(Account account) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final boolean deleted = delegate.deleteAccount(account);
+            succeeded = true;
+            return deleted;
+        }
+        finally {
+            deleteAccount.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public boolean releaseAccount(Account account) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final boolean released = delegate.releaseAccount(account);
+            succeeded = true;
+            return released;
+        }
+        finally {
+            releaseAccount.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public TransferResult transfer(Customer owner, Account source, Account target, long amount) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final TransferResult transferResult = delegate.transfer(owner, source, target, amount);
+            succeeded = true;
+            nbrTransfers.increment();
+            return transferResult;
+        }
+        finally {
+            transfer.record(startNanos, succeeded);
+        }
+    }
+
+    @Override
+    public List<TransferOutcome> transfer(List<TransferRequest> requests, boolean atomic) {
+        final long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final List<TransferOutcome> transferOutcomes = delegate.transfer(requests, atomic);
+            succeeded = true;
+            for (final TransferOutcome transferOutcome : transferOutcomes) {
+                if (transferOutcome.succeeded())
+                    nbrTransfers.increment();
+            }
+            return transferOutcomes;
+        }
+        finally {
+            transferBatch.record(startNanos, succeeded);
+        }
+    }
+
+    /**
+     * Get the underlying transfer service
+     */
+    public TransferService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [delegate=%s]", getClass().getSimpleName(), delegate);
+    }
+
+    /**
+     * Latency and failure metrics of a single operation
+     */
+    private record Operation(LatencyHistogram latency, LongAdder failures) {
+
+        private Operation(MetricsRegistry metricsRegistry, String name) {
+            this(metricsRegistry.histogram(LATENCY_METRIC, LATENCY_HELP, "operation", name),
+                 metricsRegistry.counter(FAILURES_METRIC, FAILURES_HELP, "operation", name));
+        }
+
+        private void record(long startNanos, boolean succeeded) {
+            latency.record(System.nanoTime() - startNanos);
+            if (!succeeded)
+                failures.increment();
+        }
+    }
+}
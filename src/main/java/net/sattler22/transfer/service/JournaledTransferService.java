@@ -0,0 +1,298 @@
+package net.sattler22.transfer.service;
+
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.journal.Journal;
+import net.sattler22.transfer.journal.JournalRecord;
+import net.sattler22.transfer.journal.Snapshot;
+import net.sattler22.transfer.journal.SnapshotConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Money Transfer Service Journaling Decorator
+ *
+ * @implNote Customer and account changes are serialized, and their records are enqueued while the change is being made,
+ *           so that the journal always sees an account opened before anything references it. Additions are journaled
+ *           before they become visible. A transfer holds the locks of its accounts from before it is applied until its
+ *           record is enqueued, so no other transfer can build on it before it has its place in the journal. Transfers
+ *           are therefore journaled in the order they were applied to each account, and every prefix of the journal
+ *           replays without overdrawing an account. Once the journal has failed, no transfer is applied at all. A
+ *           transfer also holds the cut lock shared until its record is enqueued, so that a snapshot can wait for every
+ *           posting it has read to be journaled. In every case, the caller only returns once
+ *           the journal acknowledges the record according to its fsync policy, and then passes the barrier, which is
+ *           where synchronous replication waits for the backups to acknowledge it.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class JournaledTransferService implements TransferService {
+
+    private final TransferService delegate;
+    private final Journal journal;
+    private final LongConsumer commitBarrier;
+    private final Object structureLock = new Object();
+    private final ReentrantReadWriteLock cutLock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructs a new journaling transfer service
+     *
+     * @param delegate The underlying transfer service
+     * @param journal The journal to record every change to
+     */
+    public JournaledTransferService(TransferService delegate, Journal journal) {
+        this(delegate, journal, sequence -> {});
+    }
+
+    /**
+     * Constructs a new journaling transfer service
+     *
+     * @param delegate The underlying transfer service
+     * @param journal The journal to record every change to
+     * @param commitBarrier Called with the sequence number of every acknowledged record before returning to the caller
+     */
+    public JournaledTransferService(TransferService delegate, Journal journal, LongConsumer commitBarrier) {
+        this.delegate = Objects.requireNonNull(delegate, "Transfer service is required");
+        this.journal = Objects.requireNonNull(journal, "Journal is required");
+        this.commitBarrier = Objects.requireNonNull(commitBarrier, "Commit barrier is required");
+    }
+
+    @Override
+    public Bank getBank() {
+        return delegate.getBank();
+    }
+
+    @Override
+    public Set<Customer> getCustomers() {
+        return delegate.getCustomers();
+    }
+
+    @Override
+    public List<Customer> getCustomers(String after, int limit) {
+        return delegate.getCustomers(after, limit);
+    }
+
+    @Override
+    public void forEachCustomer(Consumer<? super Customer> action) {
+        delegate.forEachCustomer(action);
+    }
+
+    @Override
+    public Customer lookupCustomer(String id) {
+        return delegate.lookupCustomer(id);
+    }
+
+    @Override
+    public boolean addCustomer(Customer customer) {
+        final CompletableFuture<Long> append;
+        synchronized (structureLock) {
+            if (delegate.lookupCustomer(customer.id()) != null)
+                return false;
+            append = journal.append(new JournalRecord.CustomerAdded(customer));
+            delegate.addCustomer(customer);
+        }
+        await(append);
+        return true;
+    }
+
+    @Override
+    public boolean deleteCustomer(Customer customer) {
+        final CompletableFuture<Long> append;
+        synchronized (structureLock) {
+            if (!delegate.deleteCustomer(customer))
+                return false;
+            append = journal.append(new JournalRecord.CustomerDeleted(customer.id()));
+        }
+        await(append);
+        return true;
+    }
+
+    @Override
+    public boolean addAccount(Account account) {
+        final CompletableFuture<Long> append;
+        synchronized (structureLock) {
+            if (delegate.lookupAccount(account.number()) != null || account.owner().findAccount(account.number()).isPresent())
+                return false;
+            append = journal.append(new JournalRecord.AccountAdded(account.number(), account.owner().id(), account.type(),
+                                                                   account.balanceMinorUnits(), account.version(),
+                                                                   account.history().openedMillis()));
+            delegate.addAccount(account);
+        }
+        await(append);
+        return true;
+    }
+
+    @Override
+    public Account lookupAccount(int number) {
+        return delegate.lookupAccount(number);
+    }
+
+    @Override
+    public boolean deleteAccount(Account account) {
+        final CompletableFuture<Long> append;
+        synchronized (structureLock) {
+            if (!delegate.deleteAccount(account))
+                return false;
+            append = journal.append(new JournalRecord.AccountDeleted(account.number()));
+        }
+        await(append);
+        return true;
+    }
+
+    @Override
+    public boolean releaseAccount(Account account) {
+        final CompletableFuture<Long> append;
+        synchronized (structureLock) {
+            if (!delegate.releaseAccount(account))
+                return false;
+            append = journal.append(new JournalRecord.AccountDeleted(account.number()));  //Replayed whatever its balance
+        }
+        await(append);
+        return true;
+    }
+
+    @Override
+    public TransferResult transfer(Customer owner, Account source, Account target, long amount) {
+        final TransferResult transferResult;
+        final CompletableFuture<Long> append;
+        final ReentrantLock lock1 = source.number() < target.number() ? source.lock() : target.lock();
+        final ReentrantLock lock2 = source.number() < target.number() ? target.lock() : source.lock();
+        cutLock.readLock().lock();
+        lock1.lock();
+        try {
+            lock2.lock();
+            try {
+                checkJournal();
+                transferResult = delegate.transfer(owner, source, target, amount);
+                append = journal.append(journalRecord(source, target, amount, transferResult));
+            }
+            finally {
+                lock2.unlock();
+            }
+        }
+        finally {
+            lock1.unlock();
+            cutLock.readLock().unlock();
+        }
+        await(append);
+        return transferResult;
+    }
+
+    @Override
+    public List<TransferOutcome> transfer(List<TransferRequest> requests, boolean atomic) {
+        final List<TransferOutcome> transferOutcomes;
+        final CompletableFuture<Long> lastAppend;
+        final List<Account> lockOrder = TransferBatch.lockOrder(requests);
+        int nbrLocked = 0;
+        cutLock.readLock().lock();
+        try {
+            for (final Account account : lockOrder) {
+                account.lock().lock();
+                nbrLocked++;
+            }
+            checkJournal();
+            transferOutcomes = delegate.transfer(requests, atomic);
+            lastAppend = append(requests, transferOutcomes, atomic);
+        }
+        finally {
+            for (int index = nbrLocked - 1; index >= 0; index--)
+                lockOrder.get(index).lock().unlock();
+            cutLock.readLock().unlock();
+        }
+        if (lastAppend != null)
+            await(lastAppend);  //Records are acknowledged in order, so the last one covers them all
+        return transferOutcomes;
+    }
+
+    private CompletableFuture<Long> append(List<TransferRequest> requests, List<TransferOutcome> transferOutcomes,
+                                           boolean atomic) {
+        final List<JournalRecord.Transfer> transfers = new ArrayList<>(transferOutcomes.size());
+        for (int index = 0; index < transferOutcomes.size(); index++) {
+            final TransferResult transferResult = transferOutcomes.get(index).result();
+            if (transferResult != null)
+                transfers.add(journalRecord(transferResult.source(), transferResult.target(), requests.get(index).amount(),
+                                            transferResult));
+        }
+        if (atomic)
+            return journal.append(new JournalRecord.TransferBatch(transfers));
+        CompletableFuture<Long> lastAppend = null;
+        for (final JournalRecord.Transfer transfer : transfers)
+            lastAppend = journal.append(transfer);
+        return lastAppend;
+    }
+
+    private static JournalRecord.Transfer journalRecord(Account source, Account target, long amount,
+                                                        TransferResult transferResult) {
+        final long sourceVersion = transferResult.sourceState().version();
+        final long targetVersion = transferResult.targetState().version();
+        final long postedMillis = Math.max(source.history().postedMillis(sourceVersion),
+                                           target.history().postedMillis(targetVersion));
+        return new JournalRecord.Transfer(source.number(), target.number(), amount, sourceVersion, targetVersion, postedMillis);
+    }
+
+    private void checkJournal() {
+        if (journal.failed())
+            throw new IllegalStateException("Unable to write to the journal since it has failed");
+    }
+
+    private void await(CompletableFuture<Long> append) {
+        commitBarrier.accept(Journal.await(append));
+    }
+
+    /**
+     * Write a snapshot, then drop the snapshots and journal segments that are no longer needed for recovery
+     *
+     * @implNote The cut is taken under the structure lock, so the snapshot holds exactly the customers and accounts as of
+     *           its journal sequence number. Balances are read afterwards without stopping transfers. Each balance is read
+     *           along with its version, which recovery uses to skip the journaled transfers the snapshot already reflects.
+     *           Since a transfer is applied before it is journaled, the balances may include postings (even half of a
+     *           transfer) whose records are not on disk yet. So before the snapshot is published, transfers are held off
+     *           just long enough for those in flight to enqueue their records, and the journal is synced up to them.
+     * @return The snapshot file
+     * @throws IOException If unable to write the snapshot or delete old files
+     */
+    public Path snapshot(SnapshotConfig snapshotConfig) throws IOException {
+        final long lastSequence;
+        final List<Customer> customers;
+        final List<Account> accounts;
+        synchronized (structureLock) {
+            lastSequence = journal.nextSequence() - 1;
+            customers = new ArrayList<>(delegate.getCustomers());
+            accounts = delegate.getBank().accounts();
+        }
+        final Path snapshot = Snapshot.write(snapshotConfig.directory(), lastSequence, customers, accounts, this::syncPostings);
+        final long oldestRetained = Snapshot.retain(snapshotConfig.directory(), snapshotConfig.nbrRetained());
+        journal.deleteSegmentsBefore(oldestRetained + 1);
+        return snapshot;
+    }
+
+    private void syncPostings() {
+        final CompletableFuture<Long> sync;
+        cutLock.writeLock().lock();
+        try {
+            sync = journal.sync();
+        }
+        finally {
+            cutLock.writeLock().unlock();
+        }
+        Journal.await(sync);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [delegate=%s, journal=%s]", getClass().getSimpleName(), delegate, journal);
+    }
+}
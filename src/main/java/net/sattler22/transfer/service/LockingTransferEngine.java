@@ -0,0 +1,118 @@
+package net.sattler22.transfer.service;
+
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountState;
+import net.sattler22.transfer.domain.CommitSequence;
+import net.sattler22.transfer.domain.CurrencyUnit;
+import net.sattler22.transfer.metrics.LatencyHistogram;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Money Transfer Engine Using Account Level Locking
+ *
+ * @implNote The time spent waiting for account locks is recorded per transfer (or batch). An uncontended lock is taken
+ *           with a single {@code tryLock()} and records a wait of zero without reading the clock.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class LockingTransferEngine implements TransferEngine {
+
+    private final LatencyHistogram lockWait = MetricsRegistry.defaultRegistry().histogram(TransferEngine.LOCK_WAIT_METRIC,
+            TransferEngine.LOCK_WAIT_HELP, "engine", "locking");
+
+    @Override
+    public TransferResult transfer(Account source, Account target, long amount) {
+        //Lock both accounts before making the transfer, but always in the SAME order to avoid deadlocking:
+        final ReentrantLock lock1 = source.number() < target.number() ? source.lock() : target.lock();
+        final ReentrantLock lock2 = source.number() < target.number() ? target.lock() : source.lock();
+        final TransferResult transferResult;
+        long waitNanos = acquire(lock1);
+        try {
+            waitNanos += acquire(lock2);
+            try {
+                if (amount > source.balanceMinorUnits())
+                    throw new IllegalArgumentException("Transfer amount exceeds the amount of available funds");
+                CurrencyUnit.add(target.balanceMinorUnits(), amount);  //Fail before anything is posted
+                final long ticket = CommitSequence.begin();
+                try {
+                    final long sequence = CommitSequence.sequence(ticket);
+                    final AccountState sourceState = source.debit(amount, target.number(), sequence);
+                    final AccountState targetState = target.credit(amount, source.number(), sequence);
+                    transferResult = new TransferResult(source, sourceState, target, targetState);
+                }
+                finally {
+                    CommitSequence.end(ticket);
+                }
+            }
+            finally {
+                lock2.unlock();
+            }
+        }
+        finally {
+            lock1.unlock();
+            lockWait.record(waitNanos);
+        }
+        return transferResult;
+    }
+
+    @Override
+    public List<TransferResult> transferAll(List<TransferRequest> transfers) {
+        //Lock every account in the batch, always in the SAME global order, before applying any of it:
+        final List<Account> lockOrder = TransferBatch.lockOrder(transfers);
+        int nbrLocked = 0;
+        long waitNanos = 0L;
+        try {
+            for (final Account account : lockOrder) {
+                waitNanos += acquire(account.lock());
+                nbrLocked++;
+            }
+            TransferBatch.validate(transfers, Account::balanceMinorUnits);
+            final List<TransferResult> transferResults = new ArrayList<>(transfers.size());
+            final long ticket = CommitSequence.begin();
+            try {
+                final long sequence = CommitSequence.sequence(ticket);
+                for (final TransferRequest transfer : transfers) {
+                    final AccountState sourceState = transfer.source().debit(transfer.amount(), transfer.target().number(), sequence);
+                    final AccountState targetState = transfer.target().credit(transfer.amount(), transfer.source().number(), sequence);
+                    transferResults.add(new TransferResult(transfer.source(), sourceState, transfer.target(), targetState));
+                }
+            }
+            finally {
+                CommitSequence.end(ticket);
+            }
+            return transferResults;
+        }
+        finally {
+            for (int index = nbrLocked - 1; index >= 0; index--)
+                lockOrder.get(index).lock().unlock();
+            lockWait.record(waitNanos);
+        }
+    }
+
+    /**
+     * Take a lock
+     *
+     * @return The time spent waiting for it in nanoseconds
+     */
+    private static long acquire(ReentrantLock lock) {
+        if (lock.tryLock())
+            return 0L;
+        final long startNanos = System.nanoTime();
+        lock.lock();
+        return System.nanoTime() - startNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+}
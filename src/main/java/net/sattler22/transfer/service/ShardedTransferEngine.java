@@ -0,0 +1,386 @@
+package net.sattler22.transfer.service;
+
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountState;
+import net.sattler22.transfer.domain.CommitSequence;
+import net.sattler22.transfer.domain.CurrencyUnit;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Money Transfer Engine Using Single-Writer Shards
+ *
+ * @implNote Accounts are partitioned by number across single-threaded shards, so each account only ever has one writer.
+ *           A shard drains its bounded ring buffer of transfer commands in batches and applies them without locking.
+ *           A transfer is always submitted to the shard owning the source account. If the target account lives on the
+ *           same shard, the whole transfer runs on that one thread. Otherwise, the source shard debits the source
+ *           account and hands a credit off to the target shard, which completes the transfer. If the credit cannot be
+ *           applied, the target shard hands a refund back to the source shard before failing the transfer. Hand-offs
+ *           use an unbounded inbox that is drained ahead of new commands, so shards never block on each other. A
+ *           cross-shard transfer holds its {@link CommitSequence commit} open from the debit until the credit (or the
+ *           refund) is posted, so a snapshot never sees the amount missing from both accounts. It detaches the commit
+ *           before handing off, so no shard ever holds a commit slot while it waits on another shard, and any number of
+ *           cross-shard transfers can be in flight without a shard getting stuck waiting for a free slot. An
+ *           atomic batch parks every shard it touches at a barrier, applies the whole batch on the calling thread while
+ *           it is the only writer of those accounts, and then releases the shards. Batches run one at a time, so two
+ *           batches can never wait on each other's barriers.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class ShardedTransferEngine implements TransferEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedTransferEngine.class);
+    private final Shard[] shards;
+    private final int shardQueueCapacity;
+    private final int shardBatchSize;
+    private final ReentrantLock batchLock = new ReentrantLock();
+
+    /**
+     * Constructs a new sharded transfer engine and starts its shards
+     *
+     * @param nbrShards The number of single-threaded shards
+     * @param shardQueueCapacity The capacity of each shard's command ring buffer
+     * @param shardBatchSize The maximum number of commands a shard applies per batch
+     */
+    public ShardedTransferEngine(int nbrShards, int shardQueueCapacity, int shardBatchSize) {
+        if (nbrShards <= 0)
+            throw new IllegalArgumentException("Number of shards must be greater than zero");
+        if (shardQueueCapacity <= 0)
+            throw new IllegalArgumentException("Shard queue capacity must be greater than zero");
+        if (shardBatchSize <= 0)
+            throw new IllegalArgumentException("Shard batch size must be greater than zero");
+        this.shardQueueCapacity = shardQueueCapacity;
+        this.shardBatchSize = shardBatchSize;
+        this.shards = new Shard[nbrShards];
+        for (int index = 0; index < nbrShards; index++)
+            shards[index] = new Shard(index);
+        for (final Shard shard : shards)
+            shard.thread.start();
+        logger.info("Started {}", this);
+    }
+
+    @Override
+    public TransferResult transfer(Account source, Account target, long amount) {
+        try {
+            return submit(source, target, amount).join();
+        }
+        catch(CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Submit a transfer to the shard owning the source account
+     *
+     * @param source The source account
+     * @param target The target account
+     * @param amount The transfer amount in minor units of the account currency
+     * @return A future that completes once the shard owning the target account acknowledges the transfer
+     */
+    public CompletableFuture<TransferResult> submit(Account source, Account target, long amount) {
+        final CompletableFuture<TransferResult> result = new CompletableFuture<>();
+        shardFor(source).submit(new Debit(source, target, amount, result));
+        return result;
+    }
+
+    @Override
+    public List<TransferResult> transferAll(List<TransferRequest> transfers) {
+        final Set<Shard> involvedShards = new LinkedHashSet<>();
+        for (final TransferRequest transfer : transfers) {
+            involvedShards.add(shardFor(transfer.source()));
+            involvedShards.add(shardFor(transfer.target()));
+        }
+        batchLock.lock();
+        try {
+            final CountDownLatch released = new CountDownLatch(1);
+            try {
+                final List<CompletableFuture<Void>> parked = new ArrayList<>(involvedShards.size());
+                for (final Shard shard : involvedShards) {
+                    final Barrier barrier = new Barrier(new CompletableFuture<>(), released);
+                    shard.submit(barrier);
+                    parked.add(barrier.result());
+                }
+                for (final CompletableFuture<Void> shardParked : parked)
+                    shardParked.join();
+                TransferBatch.validate(transfers, Account::balanceMinorUnits);
+                final List<TransferResult> transferResults = new ArrayList<>(transfers.size());
+                final long ticket = CommitSequence.begin();
+                try {
+                    final long sequence = CommitSequence.sequence(ticket);
+                    for (final TransferRequest transfer : transfers) {
+                        final AccountState sourceState =
+                                transfer.source().debit(transfer.amount(), transfer.target().number(), sequence);
+                        final AccountState targetState =
+                                transfer.target().credit(transfer.amount(), transfer.source().number(), sequence);
+                        transferResults.add(new TransferResult(transfer.source(), sourceState, transfer.target(), targetState));
+                    }
+                }
+                finally {
+                    CommitSequence.end(ticket);
+                }
+                return transferResults;
+            }
+            catch(CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                throw e;
+            }
+            finally {
+                released.countDown();
+            }
+        }
+        finally {
+            batchLock.unlock();
+        }
+    }
+
+    private Shard shardFor(Account account) {
+        return shards[Math.floorMod(account.number(), shards.length)];
+    }
+
+    @Override
+    public void close() {
+        for (final Shard shard : shards)
+            shard.stop();
+        logger.info("Stopped {}", this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [nbrShards=%d, shardQueueCapacity=%d, shardBatchSize=%d]",
+                getClass().getSimpleName(), shards.length, shardQueueCapacity, shardBatchSize);
+    }
+
+    /**
+     * Shard command
+     */
+    private sealed interface Command permits Debit, Credit, Refund, Barrier {
+
+        CompletableFuture<?> result();
+    }
+
+    /**
+     * Debit the source account (runs on the source shard)
+     */
+    private record Debit(Account source, Account target, long amount, CompletableFuture<TransferResult> result)
+            implements Command {
+    }
+
+    /**
+     * Credit the target account after a cross-shard hand-off (runs on the target shard)
+     *
+     * @param ticket The commit ticket of the transfer, which the credit ends
+     */
+    private record Credit(Account source, AccountState sourceState, Account target, long amount, long ticket,
+                          CompletableFuture<TransferResult> result)
+            implements Command {
+    }
+
+    /**
+     * Give the amount back to the source account after a failed credit (runs on the source shard)
+     *
+     * @param ticket The commit ticket of the transfer, which the refund ends
+     */
+    private record Refund(Account source, Account target, long amount, long ticket, RuntimeException failure,
+                          CompletableFuture<TransferResult> result)
+            implements Command {
+    }
+
+    /**
+     * Hold the shard still while an atomic batch is applied by another thread (runs on each involved shard)
+     */
+    private record Barrier(CompletableFuture<Void> result, CountDownLatch released) implements Command {
+    }
+
+    /**
+     * Single-threaded shard that owns all accounts whose number maps to it
+     */
+    private final class Shard implements Runnable {
+
+        private final BlockingQueue<Command> commands = new ArrayBlockingQueue<>(shardQueueCapacity);
+        private final Queue<Command> handOffs = new ConcurrentLinkedQueue<>();
+        private final List<Command> batch = new ArrayList<>(shardBatchSize);
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Shard(int index) {
+            this.thread = Thread.ofPlatform()
+                    .name("transfer-shard-" + index)
+                    .daemon()
+                    .unstarted(this);
+        }
+
+        private void submit(Command command) {
+            if (!running)
+                throw new IllegalStateException("Transfer engine has been stopped");
+            try {
+                commands.put(command);  //Back pressure when the ring buffer is full
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while submitting a transfer", e);
+            }
+            LockSupport.unpark(thread);
+        }
+
+        private void handOff(Command command) {
+            handOffs.add(command);
+            LockSupport.unpark(thread);
+        }
+
+        private void stop() {
+            this.running = false;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Command handOff;
+                while ((handOff = handOffs.poll()) != null)
+                    apply(handOff);
+                final int batchSize = commands.drainTo(batch, shardBatchSize);
+                for (final Command command : batch)
+                    apply(command);
+                batch.clear();
+                if (batchSize == 0 && handOffs.isEmpty())
+                    LockSupport.park(this);
+            }
+            final IllegalStateException stopped = new IllegalStateException("Transfer engine has been stopped");
+            Command pending;
+            while ((pending = handOffs.poll()) != null) {
+                switch (pending) {
+                    case Credit credit -> CommitSequence.end(credit.ticket());
+                    case Refund refund -> CommitSequence.end(refund.ticket());
+                    default -> { }
+                }
+                pending.result().completeExceptionally(stopped);
+            }
+            while ((pending = commands.poll()) != null)
+                pending.result().completeExceptionally(stopped);
+        }
+
+        private void apply(Command command) {
+            try {
+                switch (command) {
+                    case Debit debit -> applyDebit(debit);
+                    case Credit credit -> applyCredit(credit);
+                    case Refund refund -> applyRefund(refund);
+                    case Barrier barrier -> applyBarrier(barrier);
+                }
+            }
+            catch(RuntimeException e) {
+                logger.error("Unable to apply {}", command, e);
+                command.result().completeExceptionally(e);
+            }
+        }
+
+        private void applyDebit(Debit debit) {
+            final Account source = debit.source();
+            final Account target = debit.target();
+            final long amount = debit.amount();
+            if (amount > source.balanceMinorUnits()) {
+                debit.result().completeExceptionally(
+                        new IllegalArgumentException("Transfer amount exceeds the amount of available funds"));
+                return;
+            }
+            final Shard targetShard = shardFor(target);
+            if (targetShard == this) {
+                try {
+                    CurrencyUnit.add(target.balanceMinorUnits(), amount);  //Fail before anything is posted
+                }
+                catch(IllegalArgumentException e) {
+                    debit.result().completeExceptionally(e);
+                    return;
+                }
+                final long ticket = CommitSequence.begin();
+                try {
+                    final long sequence = CommitSequence.sequence(ticket);
+                    final AccountState sourceState = source.debit(amount, target.number(), sequence);
+                    final AccountState targetState = target.credit(amount, source.number(), sequence);
+                    debit.result().complete(new TransferResult(source, sourceState, target, targetState));
+                }
+                finally {
+                    CommitSequence.end(ticket);
+                }
+                return;
+            }
+            final long ticket = CommitSequence.begin();
+            final AccountState sourceState;
+            try {
+                sourceState = source.debit(amount, target.number(), CommitSequence.sequence(ticket));
+            }
+            catch(RuntimeException e) {
+                CommitSequence.end(ticket);
+                throw e;
+            }
+            final long detachedTicket = CommitSequence.detach(ticket);  //Ended by the credit or the refund
+            targetShard.handOff(new Credit(source, sourceState, target, amount, detachedTicket, debit.result()));
+        }
+
+        private void applyCredit(Credit credit) {
+            final AccountState targetState;
+            try {
+                targetState = credit.target().credit(credit.amount(), credit.source().number(), CommitSequence.sequence(credit.ticket()));
+            }
+            catch(IllegalArgumentException e) {
+                shardFor(credit.source()).handOff(
+                        new Refund(credit.source(), credit.target(), credit.amount(), credit.ticket(), e, credit.result()));
+                return;
+            }
+            catch(RuntimeException e) {
+                CommitSequence.end(credit.ticket());
+                throw e;
+            }
+            CommitSequence.end(credit.ticket());
+            credit.result().complete(new TransferResult(credit.source(), credit.sourceState(), credit.target(), targetState));
+        }
+
+        private void applyRefund(Refund refund) {
+            try {
+                refund.source().credit(refund.amount(), refund.target().number(), CommitSequence.sequence(refund.ticket()));
+            }
+            finally {
+                CommitSequence.end(refund.ticket());
+            }
+            refund.result().completeExceptionally(refund.failure());
+        }
+
+        private void applyBarrier(Barrier barrier) {
+            barrier.result().complete(null);
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    barrier.released().await();
+                    break;
+                }
+                catch(InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+}
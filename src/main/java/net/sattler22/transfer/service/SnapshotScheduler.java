@@ -0,0 +1,72 @@
+package net.sattler22.transfer.service;
+
+import net.jcip.annotations.ThreadSafe;
+import net.sattler22.transfer.journal.SnapshotConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic Bank Snapshot Scheduler
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@ThreadSafe
+public final class SnapshotScheduler implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotScheduler.class);
+    private final JournaledTransferService transferService;
+    private final SnapshotConfig snapshotConfig;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Constructs a new snapshot scheduler and schedules the first snapshot
+     *
+     * @param transferService The journaling transfer service to snapshot
+     * @param snapshotConfig The snapshot configuration
+     */
+    public SnapshotScheduler(JournaledTransferService transferService, SnapshotConfig snapshotConfig) {
+        this.transferService = Objects.requireNonNull(transferService, "Transfer service is required");
+        this.snapshotConfig = Objects.requireNonNull(snapshotConfig, "Snapshot configuration is required");
+        this.executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("snapshot-writer").daemon().factory());
+        executor.scheduleWithFixedDelay(this::snapshot, snapshotConfig.intervalSecs(), snapshotConfig.intervalSecs(), TimeUnit.SECONDS);
+        logger.info("Started {}", this);
+    }
+
+    private void snapshot() {
+        try {
+            final long startNanos = System.nanoTime();
+            final Path snapshot = transferService.snapshot(snapshotConfig);
+            logger.info("Wrote {} in {} ms", snapshot, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+        catch(IOException | RuntimeException e) {
+            logger.error("Unable to write a snapshot", e);  //Keep the schedule alive, the journal still has everything
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES))
+                logger.warn("Timed out waiting for the snapshot writer to finish");
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Stopped {}", this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [snapshotConfig=%s]", getClass().getSimpleName(), snapshotConfig);
+    }
+}
@@ -0,0 +1,117 @@
+package net.sattler22.transfer.service;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.CurrencyUnit;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Atomic Transfer Batch Support
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class TransferBatch {
+
+    private TransferBatch() {
+        throw new AssertionError("Cannot be instantiated");
+    }
+
+    /**
+     * Get every account involved in a batch exactly once, in the global (account number) lock order
+     */
+    static List<Account> lockOrder(List<TransferRequest> transfers) {
+        final Map<Integer, Account> accounts = new HashMap<>();
+        for (final TransferRequest transfer : transfers) {
+            accounts.putIfAbsent(transfer.source().number(), transfer.source());
+            accounts.putIfAbsent(transfer.target().number(), transfer.target());
+        }
+        final List<Account> lockOrder = new ArrayList<>(accounts.values());
+        lockOrder.sort(Comparator.comparingInt(Account::number));
+        return lockOrder;
+    }
+
+    /**
+     * Get the position of an account in a lock order
+     */
+    static int position(List<Account> lockOrder, Account account) {
+        int low = 0;
+        int high = lockOrder.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int number = lockOrder.get(middle).number();
+            if (number < account.number())
+                low = middle + 1;
+            else if (number > account.number())
+                high = middle - 1;
+            else
+                return middle;
+        }
+        throw new IllegalArgumentException(String.format("Account #%d is not part of the batch", account.number()));
+    }
+
+    /**
+     * Walk through the batch in order without posting anything, to make sure every transfer can be applied
+     *
+     * @param transfers The transfers
+     * @param lockOrder Every involved account, as returned by {@link #lockOrder(List)}
+     * @param balances The balance of each account in lock order before the batch, in minor units, which are replaced by
+     *                 their closing balances
+     * @throws IllegalArgumentException If any transfer would overdraw its source or overflow its target
+     */
+    static void validate(List<TransferRequest> transfers, List<Account> lockOrder, long[] balances) {
+        for (int index = 0; index < transfers.size(); index++) {
+            final TransferRequest transfer = transfers.get(index);
+            final int sourcePosition = position(lockOrder, transfer.source());
+            final int targetPosition = position(lockOrder, transfer.target());
+            balances[targetPosition] = credit(index, transfer, balances[sourcePosition], balances[targetPosition]);
+            balances[sourcePosition] -= transfer.amount();
+        }
+    }
+
+    /**
+     * Walk through the batch in order without posting anything, to make sure every transfer can be applied
+     *
+     * @param transfers The transfers
+     * @param openingBalance The balance of each account before the batch, in minor units
+     * @return The closing balance of each involved account, keyed by account number
+     * @throws IllegalArgumentException If any transfer would overdraw its source or overflow its target
+     */
+    static Map<Integer, Long> validate(List<TransferRequest> transfers, ToLongFunction<Account> openingBalance) {
+        final Map<Integer, Long> balances = new HashMap<>();
+        for (int index = 0; index < transfers.size(); index++) {
+            final TransferRequest transfer = transfers.get(index);
+            final long sourceBalance = balances.computeIfAbsent(transfer.source().number(),
+                    number -> openingBalance.applyAsLong(transfer.source()));
+            final long targetBalance = balances.computeIfAbsent(transfer.target().number(),
+                    number -> openingBalance.applyAsLong(transfer.target()));
+            balances.put(transfer.target().number(), credit(index, transfer, sourceBalance, targetBalance));
+            balances.put(transfer.source().number(), sourceBalance - transfer.amount());
+        }
+        return balances;
+    }
+
+    /**
+     * Check a single transfer of a batch
+     *
+     * @return The target balance once credited
+     */
+    private static long credit(int index, TransferRequest transfer, long sourceBalance, long targetBalance) {
+        if (transfer.amount() > sourceBalance)
+            throw new IllegalArgumentException(
+                    String.format("Transfer #%d: transfer amount exceeds the amount of available funds", index + 1));
+        try {
+            return CurrencyUnit.add(targetBalance, transfer.amount());
+        }
+        catch(IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Transfer #%d: %s", index + 1, e.getMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package net.sattler22.transfer.service;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+
+import java.util.List;
+
+/**
+ * Money Transfer Engine Interface
+ *
+ * @implSpec All implementations are required to be thread-safe. The caller has already checked that the accounts are
+ *           different and the amount is positive; the engine makes the funds check and the two postings atomic.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public sealed interface TransferEngine extends AutoCloseable
+        permits LockingTransferEngine, CasTransferEngine, ShardedTransferEngine {
+
+    /**
+     * Name of the histogram of time spent waiting to take hold of the accounts of a transfer
+     */
+    String LOCK_WAIT_METRIC = "transfer_lock_wait_seconds";
+    String LOCK_WAIT_HELP = "Time spent waiting to take hold of the accounts of a transfer or batch";
+
+    /**
+     * Atomically move money from the source account to the target account
+     *
+     * @param source The source account
+     * @param target The target account
+     * @param amount The transfer amount in minor units of the account currency
+     * @throws IllegalArgumentException If the amount is more than the available amount or would overflow the target
+     * @throws java.util.ConcurrentModificationException If the transfer could not be completed due to contention
+     */
+    TransferResult transfer(Account source, Account target, long amount);
+
+    /**
+     * Atomically apply a batch of transfers in order, so that either all of them are posted or none are
+     *
+     * @param transfers The transfers, already checked the same way as a single transfer
+     * @return The result of each transfer, in order
+     * @throws IllegalArgumentException If any transfer would overdraw its source or overflow its target
+     * @throws java.util.ConcurrentModificationException If the batch could not be completed due to contention
+     */
+    List<TransferResult> transferAll(List<TransferRequest> transfers);
+
+    /**
+     * Release any resources held by the engine
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Create a transfer engine
+     *
+     * @param config The transfer engine configuration
+     */
+    static TransferEngine create(TransferEngineConfig config) {
+        return switch (config.transferMode()) {
+            case LOCKING -> new LockingTransferEngine();
+            case CAS -> new CasTransferEngine(config.maxRetries());
+            case SEQUENCER -> new ShardedTransferEngine(config.nbrShards(), config.shardQueueCapacity(), config.shardBatchSize());
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package net.sattler22.transfer.service;
+
+import net.jcip.annotations.Immutable;
+
+import java.util.Objects;
+
+/**
+ * Money Transfer Engine Configuration
+ *
+ * @param transferMode The transfer mode
+ * @param maxRetries The maximum number of attempts to claim both accounts (only applies to CAS mode)
+ * @param nbrShards The number of single-threaded shards (only applies to SEQUENCER mode)
+ * @param shardQueueCapacity The capacity of each shard's command ring buffer (only applies to SEQUENCER mode)
+ * @param shardBatchSize The maximum number of commands a shard applies per batch (only applies to SEQUENCER mode)
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@Immutable
+public record TransferEngineConfig(TransferMode transferMode, int maxRetries, int nbrShards, int shardQueueCapacity,
+                                   int shardBatchSize) {
+
+    /**
+     * Constructs a new transfer engine configuration
+     */
+    public TransferEngineConfig {
+        Objects.requireNonNull(transferMode, "Transfer mode is required");
+    }
+}
@@ -0,0 +1,23 @@
+package net.sattler22.transfer.service;
+
+/**
+ * Money Transfer Mode
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public enum TransferMode {
+    /**
+     * Lock both accounts using their monitors, always in account number order
+     */
+    LOCKING,
+    /**
+     * Claim both accounts by atomically swapping their state, without any monitors
+     */
+    CAS,
+    /**
+     * Partition accounts by number across single-threaded shards that apply transfers in batches without locking
+     */
+    SEQUENCER;
+}
@@ -3,6 +3,7 @@ package net.sattler22.transfer.service;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonCreator.Mode;
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -10,23 +11,30 @@ import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import net.jcip.annotations.Immutable;
 import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountSnapshot;
+import net.sattler22.transfer.domain.AccountState;
 import net.sattler22.transfer.domain.Bank;
 import net.sattler22.transfer.domain.Customer;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Money Transfer Service Interface
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since February 2019
  */
-public sealed interface TransferService permits TransferServiceInMemoryImpl {
+public sealed interface TransferService
+        permits TransferServiceInMemoryImpl, JournaledTransferService, InstrumentedTransferService {
 
     /**
      * Get the banking institution
@@ -38,12 +46,35 @@ public sealed interface TransferService permits TransferServiceInMemoryImpl {
      */
     Set<Customer> getCustomers();
 
+    /**
+     * Get a page of customers of the bank, in customer identifier order
+     *
+     * @param after The customer identifier to start after, or null to start with the first customer
+     * @param limit The maximum number of customers to return
+     */
+    List<Customer> getCustomers(String after, int limit);
+
+    /**
+     * Visit every customer of the bank in customer identifier order, without copying them
+     */
+    void forEachCustomer(Consumer<? super Customer> action);
+
     /**
      * Find a specific customer
      *
      * @param id The customer identifier
      */
-    Optional<Customer> findCustomer(String id);
+    default Optional<Customer> findCustomer(String id) {
+        return Optional.ofNullable(lookupCustomer(id));
+    }
+
+    /**
+     * Look up a specific customer without wrapping it, for callers on the transfer path
+     *
+     * @param id The customer identifier
+     * @return The customer, or null if there is none
+     */
+    Customer lookupCustomer(String id);
 
     /**
      * Add a new customer
@@ -67,6 +98,23 @@ public sealed interface TransferService permits TransferServiceInMemoryImpl {
      */
     boolean addAccount(Account account);
 
+    /**
+     * Find a specific account regardless of its owner
+     *
+     * @param number The account number
+     */
+    default Optional<Account> findAccount(int number) {
+        return Optional.ofNullable(lookupAccount(number));
+    }
+
+    /**
+     * Look up a specific account regardless of its owner without wrapping it, for callers on the transfer path
+     *
+     * @param number The account number
+     * @return The account, or null if there is none
+     */
+    Account lookupAccount(int number);
+
     /**
      * Delete an existing account
      *
@@ -75,6 +123,13 @@ public sealed interface TransferService permits TransferServiceInMemoryImpl {
      */
     boolean deleteAccount(Account account);
 
+    /**
+     * Release an account whose owner has been handed over to another partition, whatever its balance
+     *
+     * @return True if the account was released. Otherwise, returns false.
+     */
+    boolean releaseAccount(Account account);
+
     /**
      * Transfer money between accounts of the same owner
      *
@@ -85,7 +140,72 @@ public sealed interface TransferService permits TransferServiceInMemoryImpl {
      * @throws IllegalArgumentException If the source and target accounts are the same, the transaction amount is zero or is
      *                                  more than the available amount
      */
-    TransferResult transfer(Customer owner, Account source, Account target, BigDecimal amount);
+    default TransferResult transfer(Customer owner, Account source, Account target, BigDecimal amount) {
+        if (amount == null)
+            throw new IllegalArgumentException("Transfer amount is required");
+        return transfer(owner, source, target, Account.CURRENCY.toMinorUnits(amount));
+    }
+
+    /**
+     * Transfer money between accounts of the same owner
+     *
+     * @param owner The account owner
+     * @param source The source account
+     * @param target The target account
+     * @param amount The transfer amount in minor units of the account currency
+     * @throws IllegalArgumentException If the source and target accounts are the same, the transaction amount is zero or is
+     *                                  more than the available amount
+     * @throws java.util.ConcurrentModificationException If the transfer could not be completed due to contention
+     */
+    TransferResult transfer(Customer owner, Account source, Account target, long amount);
+
+    /**
+     * Transfer money for a whole batch of requests in one call
+     *
+     * @param requests The transfer requests, in the order they are to be applied
+     * @param atomic True if either all transfers are applied or none are. Otherwise, each one succeeds or fails on its own.
+     * @return The outcome of each request, in request order
+     * @throws IllegalArgumentException If the batch is atomic and any of its transfers cannot be applied
+     * @throws java.util.ConcurrentModificationException If the batch is atomic and could not be completed due to contention
+     */
+    List<TransferOutcome> transfer(List<TransferRequest> requests, boolean atomic);
+
+    /**
+     * Money transfer request
+     *
+     * @param owner The account owner
+     * @param source The source account
+     * @param target The target account
+     * @param amount The transfer amount in minor units of the account currency
+     */
+    @Immutable
+    record TransferRequest(Customer owner, Account source, Account target, long amount) {
+
+        public TransferRequest {
+            Objects.requireNonNull(owner, "Account owner is required");
+            Objects.requireNonNull(source, "Source account is required");
+            Objects.requireNonNull(target, "Target account is required");
+        }
+    }
+
+    /**
+     * Money transfer outcome within a batch, holding either the result or the reason it failed
+     */
+    @Immutable
+    record TransferOutcome(TransferResult result, RuntimeException failure) {
+
+        public TransferOutcome {
+            if ((result == null) == (failure == null))
+                throw new IllegalArgumentException("Exactly one of the result or the failure is required");
+        }
+
+        /**
+         * Check if the transfer was applied
+         */
+        public boolean succeeded() {
+            return result != null;
+        }
+    }
 
     /**
      * Money transfer result
@@ -93,9 +213,11 @@ public sealed interface TransferService permits TransferServiceInMemoryImpl {
     @Immutable
     final class TransferResult {
 
-        private final LocalDateTime dateTime;
+        private final long timestampMillis;
         private final Account source;
         private final Account target;
+        private final AccountState sourceState;
+        private final AccountState targetState;
 
         /**
          * Constructs a new transfer result
@@ -103,32 +225,92 @@ public sealed interface TransferService permits TransferServiceInMemoryImpl {
          * @param source The resulting source account
          * @param target The resulting target account
          */
+        public TransferResult(Account source, Account target) {
+            this(source, source.state(), target, target.state());
+        }
+
         @JsonCreator(mode = Mode.PROPERTIES)
-        public TransferResult(@JsonProperty("source") Account source, @JsonProperty("target") Account target) {
-            this.dateTime = LocalDateTime.now();
+        private TransferResult(@JsonProperty("dateTime") @JsonDeserialize(using = LocalDateTimeDeserializer.class) LocalDateTime dateTime,
+                               @JsonProperty("source") Account source, @JsonProperty("target") Account target) {
+            this(dateTime == null ? System.currentTimeMillis() : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                 source, source.state(), target, target.state());
+        }
+
+        /**
+         * Constructs a new transfer result
+         *
+         * @param source The resulting source account
+         * @param sourceState The source account state posted by the transfer
+         * @param target The resulting target account
+         * @param targetState The target account state posted by the transfer
+         */
+        public TransferResult(Account source, AccountState sourceState, Account target, AccountState targetState) {
+            this(System.currentTimeMillis(), source, sourceState, target, targetState);  //Only a date and time once serialized
+        }
+
+        private TransferResult(long timestampMillis, Account source, AccountState sourceState, Account target, AccountState targetState) {
+            this.timestampMillis = timestampMillis;
             this.source = Objects.requireNonNull(source, "Source account is required");
             this.target = Objects.requireNonNull(target, "Target account is required");
+            this.sourceState = Objects.requireNonNull(sourceState, "Source account state is required");
+            this.targetState = Objects.requireNonNull(targetState, "Target account state is required");
         }
 
         @JsonSerialize(using = LocalDateTimeSerializer.class)
         @JsonDeserialize(using = LocalDateTimeDeserializer.class)
         public LocalDateTime dateTime() {
-            return dateTime;
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
         }
 
-        @JsonGetter
+        /**
+         * Get the source account
+         */
         public Account source() {
             return source;
         }
 
-        @JsonGetter
+        /**
+         * Get the target account
+         */
         public Account target() {
             return target;
         }
 
+        /**
+         * Get the source account as the transfer left it
+         */
+        @JsonGetter("source")
+        public AccountSnapshot sourceSnapshot() {
+            return new AccountSnapshot(source, sourceState);
+        }
+
+        /**
+         * Get the target account as the transfer left it
+         */
+        @JsonGetter("target")
+        public AccountSnapshot targetSnapshot() {
+            return new AccountSnapshot(target, targetState);
+        }
+
+        /**
+         * Get the source account state posted by the transfer
+         */
+        @JsonIgnore
+        public AccountState sourceState() {
+            return sourceState;
+        }
+
+        /**
+         * Get the target account state posted by the transfer
+         */
+        @JsonIgnore
+        public AccountState targetState() {
+            return targetState;
+        }
+
         @Override
         public String toString() {
-            return String.format("%s [dateTime=%s, source=%s, target=%s]", getClass().getSimpleName(), dateTime, source, target);
+            return String.format("%s [dateTime=%s, source=%s, target=%s]", getClass().getSimpleName(), dateTime(), source, target);
         }
     }
 }
@@ -1,25 +1,51 @@
 package net.sattler22.transfer.service;
 
+import net.sattler22.transfer.audit.AuditLog;
 import net.sattler22.transfer.domain.Account;
 import net.sattler22.transfer.domain.Bank;
 import net.sattler22.transfer.domain.Customer;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Money Transfer Service In-Memory Implementation
  *
+ * @implNote Completed transfers are published to the audit log after the transfer engine has released the accounts,
+ *           so auditing never lengthens a critical section.
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since February 2019
  */
-public record TransferServiceInMemoryImpl(Bank bank) implements TransferService {
+public record TransferServiceInMemoryImpl(Bank bank, TransferEngine transferEngine, AuditLog auditLog)
+        implements TransferService {
 
-    private static final Logger logger = LoggerFactory.getLogger(TransferServiceInMemoryImpl.class);
+    /**
+     * Constructs a new in-memory transfer service
+     */
+    public TransferServiceInMemoryImpl {
+        Objects.requireNonNull(bank, "Bank is required");
+        Objects.requireNonNull(transferEngine, "Transfer engine is required");
+        Objects.requireNonNull(auditLog, "Audit log is required");
+    }
+
+    /**
+     * Constructs a new in-memory transfer service without auditing
+     */
+    public TransferServiceInMemoryImpl(Bank bank, TransferEngine transferEngine) {
+        this(bank, transferEngine, AuditLog.disabled());
+    }
+
+    /**
+     * Constructs a new in-memory transfer service using account level locking
+     */
+    public TransferServiceInMemoryImpl(Bank bank) {
+        this(bank, new LockingTransferEngine());
+    }
 
     @Override
     public Bank getBank() {
@@ -31,6 +57,16 @@ public record TransferServiceInMemoryImpl(Bank bank) implements TransferService
         return bank.customers();
     }
 
+    @Override
+    public List<Customer> getCustomers(String after, int limit) {
+        return bank.customers(after, limit);
+    }
+
+    @Override
+    public void forEachCustomer(Consumer<? super Customer> action) {
+        bank.forEachCustomer(action);
+    }
+
     @Override
     public boolean addCustomer(Customer customer) {
         return bank.addCustomer(customer);
@@ -46,51 +82,99 @@ public record TransferServiceInMemoryImpl(Bank bank) implements TransferService
     }
 
     @Override
-    public Optional<Customer> findCustomer(String id) {
-        return bank.findCustomer(id);
+    public Customer lookupCustomer(String id) {
+        return bank.lookupCustomer(id);
     }
 
     @Override
     public boolean addAccount(Account account) {
-        return account.owner().addAccount(account);
+        if (!bank.addAccount(account))
+            return false;
+        if (!account.owner().addAccount(account)) {
+            bank.deleteAccount(account);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Account lookupAccount(int number) {
+        return bank.lookupAccount(number);
     }
 
     @Override
     public boolean deleteAccount(Account account) {
-        if (account.balance().compareTo(BigDecimal.ZERO) > 0)
+        if (account.balanceMinorUnits() > 0)
             throw new IllegalStateException(String.format("Account #%d cannot be deleted because it contains a non-zero balance",
                     account.number()));
+        return releaseAccount(account);
+    }
+
+    @Override
+    public boolean releaseAccount(Account account) {
         final Customer owner = account.owner();
-        return owner.deleteAccount(account);
+        if (!owner.deleteAccount(account))
+            return false;
+        bank.deleteAccount(account);
+        return true;
     }
 
     @Override
-    public TransferResult transfer(Customer owner, Account source, Account target, BigDecimal amount) {
+    public TransferResult transfer(Customer owner, Account source, Account target, long amount) {
+        validate(source, target, amount);
+        final TransferResult transferResult = transferEngine.transfer(source, target, amount);
+        bank.transferred(source, target, amount);
+        audit(AuditLog.EventType.TRANSFER, transferResult, amount);
+        return transferResult;
+    }
+
+    @Override
+    public List<TransferOutcome> transfer(List<TransferRequest> requests, boolean atomic) {
+        final List<TransferOutcome> transferOutcomes = new ArrayList<>(requests.size());
+        if (atomic) {
+            for (int index = 0; index < requests.size(); index++) {
+                final TransferRequest request = requests.get(index);
+                try {
+                    validate(request.source(), request.target(), request.amount());
+                }
+                catch(IllegalArgumentException e) {
+                    throw new IllegalArgumentException(String.format("Transfer #%d: %s", index + 1, e.getMessage()), e);
+                }
+            }
+            final List<TransferResult> transferResults = transferEngine.transferAll(requests);
+            for (int index = 0; index < transferResults.size(); index++) {
+                bank.transferred(requests.get(index).source(), requests.get(index).target(), requests.get(index).amount());
+                audit(AuditLog.EventType.BATCH_TRANSFER, transferResults.get(index), requests.get(index).amount());
+                transferOutcomes.add(new TransferOutcome(transferResults.get(index), null));
+            }
+            return transferOutcomes;
+        }
+        for (final TransferRequest request : requests) {
+            try {
+                transferOutcomes.add(new TransferOutcome(
+                        transfer(request.owner(), request.source(), request.target(), request.amount()), null));
+            }
+            catch(IllegalArgumentException | ConcurrentModificationException e) {
+                transferOutcomes.add(new TransferOutcome(null, e));
+            }
+        }
+        return transferOutcomes;
+    }
+
+    private void audit(AuditLog.EventType type, TransferResult transferResult, long amount) {
+        auditLog.transfer(type, transferResult.source(), transferResult.sourceState(), transferResult.target(),
+                          transferResult.targetState(), amount);
+    }
+
+    private static void validate(Account source, Account target, long amount) {
         if (source.number() == target.number())
             throw new IllegalArgumentException("Source and target accounts must be different");
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0)
+        if (amount <= 0)
             throw new IllegalArgumentException("Transfer amount must be greater than zero");
-        if (amount.compareTo(source.balance()) > 0)
-            throw new IllegalArgumentException("Transfer amount exceeds the amount of available funds");
-        //Lock both accounts before making the transfer, but always in the SAME order to avoid deadlocking:
-        final Object lock1 = source.number() < target.number() ? source.lock() : target.lock();
-        final Object lock2 = source.number() < target.number() ? target.lock() : source.lock();
-        final TransferResult transferResult;
-        synchronized (lock1) {
-            synchronized (lock2) {
-                logger.info("Source before transfer: {}", source);
-                logger.info("Target before transfer {}", target);
-                source.debit(amount);
-                target.credit(amount);
-                transferResult = new TransferResult(source, target);
-                logger.info("After transfer of ${}, {}", amount, transferResult);
-            }
-        }
-        return transferResult;
     }
 
     @Override
     public String toString() {
-        return String.format("%s [%s]", getClass().getSimpleName(), bank);
+        return String.format("%s [%s, %s]", getClass().getSimpleName(), bank, transferEngine);
     }
 }
@@ -0,0 +1,50 @@
+package net.sattler22.transfer.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Diagnostic Log Sampler
+ *
+ * @implNote Routine diagnostic log lines on the request path are only written for a random sample of requests, so
+ *           logging costs stay flat under load. Warnings and errors are never sampled. Every line is written until a
+ *           sample rate is set.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public final class LogSampler {
+
+    private static volatile double sampleRate = 1.0;
+
+    private LogSampler() {
+        throw new AssertionError("Cannot be instantiated");
+    }
+
+    /**
+     * Set the fraction of diagnostic log lines to write
+     *
+     * @param sampleRate From 0.0 (none) to 1.0 (all)
+     */
+    public static void setSampleRate(double sampleRate) {
+        if (!(sampleRate >= 0.0 && sampleRate <= 1.0))
+            throw new IllegalArgumentException("Sample rate must be between 0.0 and 1.0");
+        LogSampler.sampleRate = sampleRate;
+    }
+
+    /**
+     * Get the fraction of diagnostic log lines to write
+     */
+    public static double sampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Decide whether to write the next diagnostic log line
+     */
+    public static boolean sample() {
+        final double rate = sampleRate;
+        if (rate >= 1.0)
+            return true;
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
@@ -9,7 +9,7 @@ import java.util.Properties;
  * Property File Utilities
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since March 2022
  */
 public class PropertyFileUtils {
@@ -36,4 +36,19 @@ public class PropertyFileUtils {
             return properties;
         }
     }
+
+    /**
+     * Override properties with system properties of the same name, such as {@code -Dbase.uri=http://localhost:8081}
+     *
+     * @param properties The properties to override
+     * @return The same properties
+     */
+    public static Properties overrideWithSystemProperties(Properties properties) {
+        for (final String name : properties.stringPropertyNames()) {
+            final String override = System.getProperty(name);
+            if (override != null)
+                properties.setProperty(name, override);
+        }
+        return properties;
+    }
 }
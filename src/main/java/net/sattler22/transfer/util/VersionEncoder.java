@@ -0,0 +1,85 @@
+package net.sattler22.transfer.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Version String Encoder
+ *
+ * @implNote Versions are dash separated decimal numbers, such as the {@code 12-3-14-7} of an account transfer. They are
+ *           built on every transfer and every conditional read, so they are written digit by digit into a byte array of
+ *           exactly the right size rather than going through a formatter, leaving the array and the string as the only
+ *           allocations.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+public final class VersionEncoder {
+
+    private static final char SEPARATOR = '-';
+
+    private VersionEncoder() {
+        throw new AssertionError("Cannot be instantiated");
+    }
+
+    /**
+     * Encode two numbers as a version string
+     */
+    public static String encode(long first, long second) {
+        final byte[] bytes = new byte[length(first) + 1 + length(second)];
+        int position = write(bytes, 0, first);
+        bytes[position++] = SEPARATOR;
+        write(bytes, position, second);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Encode four numbers as a version string
+     */
+    public static String encode(long first, long second, long third, long fourth) {
+        final byte[] bytes = new byte[length(first) + 1 + length(second) + 1 + length(third) + 1 + length(fourth)];
+        int position = write(bytes, 0, first);
+        bytes[position++] = SEPARATOR;
+        position = write(bytes, position, second);
+        bytes[position++] = SEPARATOR;
+        position = write(bytes, position, third);
+        bytes[position++] = SEPARATOR;
+        write(bytes, position, fourth);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static int length(long value) {
+        if (value == Long.MIN_VALUE)
+            return 20;
+        if (value < 0)
+            return 1 + length(-value);
+        int length = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10)
+            length++;
+        return length;
+    }
+
+    /**
+     * Write a number in decimal
+     *
+     * @return The position after its last digit
+     */
+    private static int write(byte[] bytes, int position, long value) {
+        final int end = position + length(value);
+        if (value == Long.MIN_VALUE) {
+            final String digits = Long.toString(value);
+            for (int index = 0; index < digits.length(); index++)
+                bytes[position + index] = (byte) digits.charAt(index);
+            return end;
+        }
+        if (value < 0) {
+            bytes[position] = '-';
+            value = -value;
+        }
+        int index = end;
+        do {
+            bytes[--index] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        return end;
+    }
+}
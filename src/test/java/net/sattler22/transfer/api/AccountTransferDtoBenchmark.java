@@ -0,0 +1,51 @@
+package net.sattler22.transfer.api;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.util.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account Transfer Version Benchmark
+ *
+ * @implNote The transfer version is built on every transfer request to evaluate the If-Match precondition. Add
+ *           {@code -prof gc} to the JMH arguments to see its allocation rate.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountTransferDtoBenchmark {
+
+    private Account source;
+    private Account target;
+
+    @Setup
+    public void setUp() {
+        final Customer bobWire = TestData.bobWire("123");
+        this.source = new Account(bobWire, AccountType.CHECKING, 1_000_000L);
+        this.target = new Account(bobWire, AccountType.SAVINGS, 1_000_000L);
+    }
+
+    @Benchmark
+    public String createVersion() {
+        return AccountTransferDto.createVersion(source, target);
+    }
+}
@@ -0,0 +1,79 @@
+package net.sattler22.transfer.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Customer JSON Cache Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class CustomerJsonCacheTest {
+
+    @Test
+    void serializedOnceTestCase() throws IOException {
+        final CustomerJsonCache customerJsonCache = new CustomerJsonCache(1_048_576);
+        final Customer bobWire = TestData.bobWire("1");
+        final byte[] json = customerJsonCache.json(bobWire);
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(bobWire), json);
+        assertSame(json, customerJsonCache.json(bobWire));
+        assertEquals(1, customerJsonCache.size());
+        assertEquals(json.length, customerJsonCache.bytes());
+    }
+
+    @Test
+    void replacedCustomerTestCase() {
+        final CustomerJsonCache customerJsonCache = new CustomerJsonCache(1_048_576);
+        final byte[] bobWireJson = customerJsonCache.json(TestData.bobWire("1"));
+        final byte[] eileenDoverJson = customerJsonCache.json(TestData.eileenDover("1"));
+        assertNotSame(bobWireJson, eileenDoverJson);
+        assertTrue(new String(eileenDoverJson).contains("\"firstName\":\"Eileen\""));
+        assertEquals(1, customerJsonCache.size());
+        assertEquals(eileenDoverJson.length, customerJsonCache.bytes());
+    }
+
+    @Test
+    void invalidateTestCase() {
+        final CustomerJsonCache customerJsonCache = new CustomerJsonCache(1_048_576);
+        final Customer bobWire = TestData.bobWire("1");
+        final byte[] json = customerJsonCache.json(bobWire);
+        customerJsonCache.invalidate(bobWire);
+        assertEquals(0, customerJsonCache.size());
+        assertEquals(0, customerJsonCache.bytes());
+        assertNotSame(json, customerJsonCache.json(bobWire));
+    }
+
+    @Test
+    void evictionTestCase() {
+        final int jsonSize = new CustomerJsonCache(1_048_576).json(TestData.bobWire("0")).length;
+        final CustomerJsonCache customerJsonCache = new CustomerJsonCache(jsonSize * 10L);
+        final Customer hotCustomer = TestData.bobWire("hot");
+        for (int index = 0; index < 100; index++) {
+            customerJsonCache.json(hotCustomer);
+            customerJsonCache.json(TestData.bobWire(String.format("%03d", index)));
+            assertTrue(customerJsonCache.bytes() <= jsonSize * 10L, customerJsonCache::toString);
+        }
+        assertTrue(customerJsonCache.size() > 1, customerJsonCache::toString);
+    }
+
+    @Test
+    void disabledTestCase() {
+        final CustomerJsonCache customerJsonCache = new CustomerJsonCache(0);
+        customerJsonCache.json(TestData.bobWire("1"));
+        assertEquals(0, customerJsonCache.size());
+        assertThrows(IllegalArgumentException.class, () -> new CustomerJsonCache(-1));
+    }
+}
@@ -0,0 +1,158 @@
+package net.sattler22.transfer.api;
+
+import jakarta.ws.rs.core.EntityTag;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Idempotency Key Cache Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class IdempotencyCacheTest {
+
+    private final Customer bobWire = TestData.bobWire("1");
+    private final AccountTransferDto accountTransferDto = new AccountTransferDto(bobWire.id(), 1, 2, BigDecimal.TEN);
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    @Test
+    void replayTestCase() {
+        final IdempotencyCache idempotencyCache = new IdempotencyCache(16, Duration.ofMinutes(1), nanoClock::get);
+        final IdempotencyCache.Claim claim = idempotencyCache.claim("key", accountTransferDto);
+        assertTrue(claim.owner());
+        final IdempotencyCache.Outcome outcome = outcome();
+        claim.complete(outcome);
+        final IdempotencyCache.Claim duplicate =
+                idempotencyCache.claim("key", new AccountTransferDto(bobWire.id(), 1, 2, new BigDecimal("10.00")));
+        assertFalse(duplicate.owner());
+        assertSame(outcome, duplicate.await());
+    }
+
+    @Test
+    void differentTransferTestCase() {
+        final IdempotencyCache idempotencyCache = new IdempotencyCache(16, Duration.ofMinutes(1), nanoClock::get);
+        idempotencyCache.claim("key", accountTransferDto);
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyCache.claim("key", new AccountTransferDto(bobWire.id(), 1, 2, BigDecimal.ONE)));
+    }
+
+    @Test
+    void failureReleasesKeyTestCase() {
+        final IdempotencyCache idempotencyCache = new IdempotencyCache(16, Duration.ofMinutes(1), nanoClock::get);
+        final IdempotencyCache.Claim claim = idempotencyCache.claim("key", accountTransferDto);
+        final IdempotencyCache.Claim duplicate = idempotencyCache.claim("key", accountTransferDto);
+        final IllegalStateException failure = new IllegalStateException("Insufficient funds");
+        claim.fail(failure);
+        assertSame(failure, assertThrows(IllegalStateException.class, duplicate::await));
+        assertTrue(idempotencyCache.claim("key", accountTransferDto).owner());
+    }
+
+    @Test
+    void expiryTestCase() {
+        final IdempotencyCache idempotencyCache = new IdempotencyCache(16, Duration.ofSeconds(10), nanoClock::get);
+        idempotencyCache.claim("key", accountTransferDto).complete(outcome());
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertFalse(idempotencyCache.claim("key", accountTransferDto).owner());
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(idempotencyCache.claim("key", accountTransferDto).owner());
+        assertEquals(1, idempotencyCache.size());
+    }
+
+    @Test
+    void capacityTestCase() {
+        final IdempotencyCache idempotencyCache = new IdempotencyCache(4, Duration.ofMinutes(1), nanoClock::get);
+        for (int index = 0; index < 10; index++)
+            idempotencyCache.claim("key" + index, accountTransferDto).complete(outcome());
+        assertEquals(4, idempotencyCache.size());
+        assertTrue(idempotencyCache.claim("key0", accountTransferDto).owner());
+        assertFalse(idempotencyCache.claim("key9", accountTransferDto).owner());
+    }
+
+    @Test
+    void inFlightTestCase() {
+        final IdempotencyCache idempotencyCache = new IdempotencyCache(4, Duration.ofSeconds(10), nanoClock::get);
+        final IdempotencyCache.Claim claim = idempotencyCache.claim("inFlight", accountTransferDto);
+        for (int index = 0; index < 10; index++)
+            idempotencyCache.claim("key" + index, accountTransferDto).complete(outcome());
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        //Neither a full cache nor the time to live evicts a key whose transfer is still executing:
+        final IdempotencyCache.Claim duplicate = idempotencyCache.claim("inFlight", accountTransferDto);
+        assertFalse(duplicate.owner());
+        final IdempotencyCache.Outcome outcome = outcome();
+        claim.complete(outcome);
+        assertSame(outcome, duplicate.await());
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertFalse(idempotencyCache.claim("inFlight", accountTransferDto).owner());
+    }
+
+    @Test
+    void failuresTakeNoRoomTestCase() {
+        final IdempotencyCache idempotencyCache = new IdempotencyCache(4, Duration.ofMinutes(1), nanoClock::get);
+        idempotencyCache.claim("key0", accountTransferDto).complete(outcome());
+        idempotencyCache.claim("key1", accountTransferDto).complete(outcome());
+        idempotencyCache.claim("failed0", accountTransferDto).fail(new IllegalStateException("Insufficient funds"));
+        idempotencyCache.claim("failed1", accountTransferDto).fail(new IllegalStateException("Insufficient funds"));
+        idempotencyCache.claim("key2", accountTransferDto).complete(outcome());
+        assertEquals(3, idempotencyCache.size());
+        assertFalse(idempotencyCache.claim("key0", accountTransferDto).owner());
+    }
+
+    @Test
+    void concurrentDuplicatesTestCase() throws Exception {
+        final IdempotencyCache idempotencyCache = new IdempotencyCache(16, Duration.ofMinutes(1));
+        final int nbrRequests = 32;
+        final AtomicInteger nbrExecutions = new AtomicInteger();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Future<IdempotencyCache.Outcome>> futures = new ArrayList<>(nbrRequests);
+        try (final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index = 0; index < nbrRequests; index++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    final IdempotencyCache.Claim claim = idempotencyCache.claim("key", accountTransferDto);
+                    if (!claim.owner())
+                        return claim.await();
+                    nbrExecutions.incrementAndGet();
+                    Thread.sleep(10);
+                    final IdempotencyCache.Outcome outcome = outcome();
+                    claim.complete(outcome);
+                    return outcome;
+                }));
+            }
+            startLatch.countDown();
+            final IdempotencyCache.Outcome outcome = futures.getFirst().get();
+            for (final Future<IdempotencyCache.Outcome> future : futures)
+                assertSame(outcome, future.get());
+        }
+        assertEquals(1, nbrExecutions.get());
+    }
+
+    private IdempotencyCache.Outcome outcome() {
+        final Account source = new Account(bobWire, AccountType.CHECKING, BigDecimal.TEN);
+        final Account target = new Account(bobWire, AccountType.SAVINGS, BigDecimal.ZERO);
+        return new IdempotencyCache.Outcome(new TransferResult(source, target), new EntityTag("1-0-2-0"));
+    }
+}
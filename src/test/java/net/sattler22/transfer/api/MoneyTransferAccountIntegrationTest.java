@@ -1,5 +1,10 @@
 package net.sattler22.transfer.api;
 
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import net.sattler22.transfer.domain.Account;
 import net.sattler22.transfer.domain.AccountType;
@@ -11,9 +16,14 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -22,7 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * Money Transfer Account Integration Tests
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since September 2019
  */
 final class MoneyTransferAccountIntegrationTest extends MoneyTransferBaseTest {
@@ -43,7 +53,7 @@ final class MoneyTransferAccountIntegrationTest extends MoneyTransferBaseTest {
                 assertEquals(burtRentals, actualAccount.owner());
                 final BigDecimal expectedBalance =
                         actualAccount.type() == AccountType.CHECKING ? checkingBalance : savingsBalance;
-                assertEquals(expectedBalance, actualAccount.balance());
+                assertEquals(expectedBalance.setScale(2), actualAccount.balance());
             }
         }
 
@@ -59,6 +69,57 @@ final class MoneyTransferAccountIntegrationTest extends MoneyTransferBaseTest {
             assertTrue(accounts.isEmpty());
         }
 
+        @Test
+        void getSingleAccountNotModifiedTestCase() {
+            final Customer eileenDover = addCustomer(TestData.eileenDover("789"));
+            final Account checking = addAccount(eileenDover, AccountType.CHECKING, BigDecimal.TEN);
+            final Account savings = addAccount(eileenDover, AccountType.SAVINGS, BigDecimal.ONE);
+            final String accountPath = "account/%s/%d".formatted(eileenDover.id(), checking.number());
+            final EntityTag entityTag;
+            try (final Response response = target(basePath).path(accountPath).request().get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                entityTag = response.getEntityTag();
+                assertNotNull(entityTag);
+                assertFalse(entityTag.isWeak());
+            }
+            try (final Response response = target(basePath).path(accountPath).request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag).get()) {
+                assertEquals(Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+                assertEquals(entityTag, response.getEntityTag());
+                assertFalse(response.hasEntity());
+            }
+            transfer(eileenDover, checking, savings, BigDecimal.ONE, Status.OK);
+            try (final Response response = target(basePath).path(accountPath).request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag).get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                assertNotEquals(entityTag, response.getEntityTag());
+                assertEquals(0, new BigDecimal("9").compareTo(response.readEntity(Account.class).balance()));
+            }
+        }
+
+        @Test
+        void getAllAccountsNotModifiedTestCase() {
+            final Customer burtRentals = addCustomer(TestData.burtRentals("234"));
+            addAccount(burtRentals, AccountType.CHECKING, BigDecimal.TEN);
+            final String accountsPath = "accounts/" + burtRentals.id();
+            final EntityTag entityTag;
+            try (final Response response = target(basePath).path(accountsPath).request().get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                entityTag = response.getEntityTag();
+                assertNotNull(entityTag);
+            }
+            try (final Response response = target(basePath).path(accountsPath).request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag).get()) {
+                assertEquals(Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+            }
+            addAccount(burtRentals, AccountType.SAVINGS, BigDecimal.ONE);
+            try (final Response response = target(basePath).path(accountsPath).request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag).get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                assertNotEquals(entityTag, response.getEntityTag());
+            }
+        }
+
         @Test
         void getSingleAccountForCustomerHappyPathTestCase() {
             final Customer eileenDover = addCustomer(TestData.eileenDover("789"));
@@ -70,7 +131,24 @@ final class MoneyTransferAccountIntegrationTest extends MoneyTransferBaseTest {
             assertEquals(expectedAccountType, actual.type());
             assertNotNull(actual.owner());
             assertEquals(eileenDover, actual.owner());
-            assertEquals(expectedBalance, actual.balance());
+            assertEquals(expectedBalance.setScale(2), actual.balance());
+        }
+
+        @Test
+        void getSingleAccountByNumberHappyPathTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account expected = addAccount(bobWire, AccountType.SAVINGS, BigDecimal.TEN);
+            final Account actual = getAccount(expected.number(), Status.OK);
+            assertNotNull(actual);
+            assertEquals(expected, actual);
+            assertEquals(bobWire, actual.owner());
+            assertEquals(new BigDecimal("10.00"), actual.balance());
+        }
+
+        @Test
+        void getSingleAccountByNumberNotFoundTestCase() {
+            final Account newAccount = new Account(TestData.bobWire("123"), AccountType.SAVINGS, BigDecimal.TEN);
+            assertNull(getAccount(newAccount.number(), Status.NOT_FOUND));
         }
 
         @Test
@@ -98,7 +176,7 @@ final class MoneyTransferAccountIntegrationTest extends MoneyTransferBaseTest {
             final Account actual = addAccount(bobWire, expectedAccountType, expectedBalance, Status.CREATED);
             assertEquals(bobWire, actual.owner());
             assertEquals(expectedAccountType, actual.type());
-            assertEquals(expectedBalance, actual.balance());
+            assertEquals(expectedBalance.setScale(2), actual.balance());
         }
 
         @Test
@@ -121,6 +199,21 @@ final class MoneyTransferAccountIntegrationTest extends MoneyTransferBaseTest {
             assertNull(actual);
         }
 
+        @Test
+        void deleteAccountOwnedByAnotherCustomerTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Customer eileenDover = addCustomer(TestData.eileenDover("789"));
+            final Account account = addAccount(bobWire, AccountType.SAVINGS, BigDecimal.ZERO);
+            try (final Response response = target(basePath).path("account")
+                    .path(eileenDover.id())
+                    .path(String.valueOf(account.number()))
+                    .request()
+                    .delete()) {
+                assertEquals(Status.NOT_FOUND.getStatusCode(), response.getStatus());
+            }
+            assertNotNull(getAccount(account, Status.OK));
+        }
+
         @Test
         void deleteAccountNotFoundTestCase() {
             final Customer bobWire = addCustomer(TestData.bobWire("123"));
@@ -162,8 +255,58 @@ final class MoneyTransferAccountIntegrationTest extends MoneyTransferBaseTest {
             final BigDecimal transferAmount = new BigDecimal("50");
             final TransferResult transferResult = transfer(bobWire, sourceAccount, targetAccount, transferAmount, Status.OK);
             assertNotNull(transferResult);
-            assertEquals(sourceAccountInitialBalance.subtract(transferAmount), transferResult.source().balance());
-            assertEquals(targetAccountInitialBalance.add(transferAmount), transferResult.target().balance());
+            assertEquals(sourceAccountInitialBalance.subtract(transferAmount).setScale(2), transferResult.source().balance());
+            assertEquals(targetAccountInitialBalance.add(transferAmount).setScale(2), transferResult.target().balance());
+        }
+
+        @Test
+        void accountTransferIdempotencyKeyTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account sourceAccount = addAccount(bobWire, AccountType.CHECKING, new BigDecimal("100"));
+            final Account targetAccount = addAccount(bobWire, AccountType.SAVINGS, new BigDecimal("200"));
+            final String transferVersion = AccountTransferDto.createVersion(sourceAccount, targetAccount);
+            final AccountTransferDto accountTransferDto =
+                    new AccountTransferDto(bobWire.id(), sourceAccount.number(), targetAccount.number(), new BigDecimal("50"));
+            for (int attempt = 0; attempt < 3; attempt++) {
+                try (final Response response = target(basePath).path("/account/transfer").request()
+                        .header(HttpHeaders.IF_MATCH, "\"%s\"".formatted(transferVersion))
+                        .header(MoneyTransferResource.IDEMPOTENCY_KEY, "retry-me")
+                        .put(Entity.json(accountTransferDto))) {
+                    assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                    assertEquals(attempt > 0 ? "true" : null, response.getHeaderString(MoneyTransferResource.IDEMPOTENT_REPLAYED));
+                }
+            }
+            assertEquals(0, new BigDecimal("50").compareTo(getAccount(sourceAccount, Status.OK).balance()));
+            assertEquals(0, new BigDecimal("250").compareTo(getAccount(targetAccount, Status.OK).balance()));
+            final AccountTransferDto differentTransferDto =
+                    new AccountTransferDto(bobWire.id(), sourceAccount.number(), targetAccount.number(), BigDecimal.ONE);
+            try (final Response response = target(basePath).path("/account/transfer").request()
+                    .header(MoneyTransferResource.IDEMPOTENCY_KEY, "retry-me")
+                    .put(Entity.json(differentTransferDto))) {
+                assertEquals(422, response.getStatus());
+            }
+        }
+
+        @Test
+        void accountTransferIdempotencyKeyReleasedOnFailureTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account sourceAccount = addAccount(bobWire, AccountType.CHECKING, BigDecimal.ONE);
+            final Account targetAccount = addAccount(bobWire, AccountType.SAVINGS, BigDecimal.ZERO);
+            final AccountTransferDto accountTransferDto =
+                    new AccountTransferDto(bobWire.id(), sourceAccount.number(), targetAccount.number(), BigDecimal.TEN);
+            try (final Response response = target(basePath).path("/account/transfer").request()
+                    .header(MoneyTransferResource.IDEMPOTENCY_KEY, "insufficient-funds")
+                    .put(Entity.json(accountTransferDto))) {
+                assertEquals(Status.CONFLICT.getStatusCode(), response.getStatus());
+            }
+            final Account fundingAccount = addAccount(bobWire, AccountType.SAVINGS, new BigDecimal("100"));
+            transfer(bobWire, fundingAccount, sourceAccount, BigDecimal.TEN, Status.OK);
+            try (final Response response = target(basePath).path("/account/transfer").request()
+                    .header(MoneyTransferResource.IDEMPOTENCY_KEY, "insufficient-funds")
+                    .put(Entity.json(accountTransferDto))) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                assertNull(response.getHeaderString(MoneyTransferResource.IDEMPOTENT_REPLAYED));
+            }
         }
 
         @Test
@@ -226,4 +369,139 @@ final class MoneyTransferAccountIntegrationTest extends MoneyTransferBaseTest {
             assertNull(transferResult);
         }
     }
+
+    @Nested
+    @DisplayName("Account History")
+    final class HistoryTest {
+        @Test
+        void accountHistoryPagesTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account sourceAccount = addAccount(bobWire, AccountType.CHECKING, new BigDecimal("100"));
+            final Account targetAccount = addAccount(bobWire, AccountType.SAVINGS, new BigDecimal("200"));
+            final TransferResult transferResult = transfer(bobWire, sourceAccount, targetAccount, new BigDecimal("10"), Status.OK);
+            transfer(bobWire, transferResult.source(), transferResult.target(), new BigDecimal("20"), Status.OK);
+            final String historyPath = "account/%s/%d/history".formatted(bobWire.id(), sourceAccount.number());
+            final URI next;
+            try (final Response response = target(basePath).path(historyPath).queryParam("limit", 1).request().get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                final List<PostingDto> page = response.readEntity(new GenericType<>() {});
+                assertEquals(1, page.size());
+                assertEquals(targetAccount.number(), page.getFirst().counterparty());
+                assertEquals(0, new BigDecimal("-10").compareTo(page.getFirst().amount()));
+                assertEquals(0, new BigDecimal("90").compareTo(page.getFirst().balance()));
+                assertNotNull(response.getLink("next"));
+                next = response.getLink("next").getUri();
+            }
+            try (final Response response = client().target(next).request().get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                final List<PostingDto> page = response.readEntity(new GenericType<>() {});
+                assertEquals(1, page.size());
+                assertEquals(2L, page.getFirst().version());
+                assertEquals(0, new BigDecimal("70").compareTo(page.getFirst().balance()));
+                assertNull(response.getLink("next"));
+            }
+            try (final Response response = target(basePath).path(historyPath).queryParam("to", "2000-01-01T00:00:00Z").request().get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                assertTrue(response.readEntity(new GenericType<List<PostingDto>>() {}).isEmpty());
+            }
+        }
+
+        @Test
+        void accountBalanceAsOfTestCase() throws InterruptedException {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account sourceAccount = addAccount(bobWire, AccountType.CHECKING, new BigDecimal("100"));
+            final Account targetAccount = addAccount(bobWire, AccountType.SAVINGS, new BigDecimal("200"));
+            Thread.sleep(5);
+            final Instant beforeTransfer = Instant.now();
+            Thread.sleep(5);
+            transfer(bobWire, sourceAccount, targetAccount, new BigDecimal("10"), Status.OK);
+            try (final Response response = target(basePath).path("account/%d".formatted(sourceAccount.number()))
+                    .queryParam("asOf", beforeTransfer.toString()).request().get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                final AccountBalanceDto accountBalanceDto = response.readEntity(AccountBalanceDto.class);
+                assertEquals(0, new BigDecimal("100").compareTo(accountBalanceDto.balance()));
+                assertEquals(0L, accountBalanceDto.version());
+            }
+            try (final Response response = target(basePath).path("accounts/" + bobWire.id())
+                    .queryParam("asOf", Instant.now().toString()).request().get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                final List<AccountBalanceDto> accountBalanceDtos = response.readEntity(new GenericType<>() {});
+                assertEquals(List.of(sourceAccount.number(), targetAccount.number()),
+                             accountBalanceDtos.stream().map(AccountBalanceDto::number).toList());
+                assertEquals(0, new BigDecimal("210").compareTo(accountBalanceDtos.getLast().balance()));
+            }
+            try (final Response response = target(basePath).path("account/%s/%d".formatted(bobWire.id(), sourceAccount.number()))
+                    .queryParam("asOf", "2000-01-01T00:00:00Z").request().get()) {
+                assertEquals(Status.NOT_FOUND.getStatusCode(), response.getStatus());
+            }
+        }
+
+        @Test
+        void accountHistoryInvalidTimeTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account account = addAccount(bobWire, AccountType.CHECKING, BigDecimal.TEN);
+            try (final Response response = target(basePath).path("account/%s/%d/history".formatted(bobWire.id(), account.number()))
+                    .queryParam("from", "yesterday").request().get()) {
+                assertEquals(Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+            }
+        }
+
+        @Test
+        void accountHistoryNotFoundTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            try (final Response response = target(basePath).path("account/%s/%d/history".formatted(bobWire.id(), Integer.MAX_VALUE))
+                    .request().get()) {
+                assertEquals(Status.NOT_FOUND.getStatusCode(), response.getStatus());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Account Transfer")
+    final class BatchTransferTest {
+        @Test
+        void atomicBatchTransferHappyPathTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account checking = addAccount(bobWire, AccountType.CHECKING, new BigDecimal("100"));
+            final Account savings = addAccount(bobWire, AccountType.SAVINGS, BigDecimal.ZERO);
+            final List<TransferOutcomeDto> outcomes = transfer(TransferBatchMode.ATOMIC, List.of(
+                    new AccountTransferDto(bobWire.id(), checking.number(), savings.number(), new BigDecimal("60")),
+                    new AccountTransferDto(bobWire.id(), savings.number(), checking.number(), new BigDecimal("10.50"))),
+                    Status.OK);
+            assertEquals(2, outcomes.size());
+            assertEquals(Status.OK.getStatusCode(), outcomes.get(1).status());
+            assertEquals(0, new BigDecimal("50.50").compareTo(getAccount(checking, Status.OK).balance()));
+            assertEquals(0, new BigDecimal("49.50").compareTo(getAccount(savings, Status.OK).balance()));
+        }
+
+        @Test
+        void atomicBatchTransferAllOrNothingTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account checking = addAccount(bobWire, AccountType.CHECKING, new BigDecimal("100"));
+            final Account savings = addAccount(bobWire, AccountType.SAVINGS, BigDecimal.ZERO);
+            final List<TransferOutcomeDto> outcomes = transfer(TransferBatchMode.ATOMIC, List.of(
+                    new AccountTransferDto(bobWire.id(), checking.number(), savings.number(), new BigDecimal("60")),
+                    new AccountTransferDto(bobWire.id(), checking.number(), savings.number(), new BigDecimal("60"))),
+                    Status.CONFLICT);
+            assertNull(outcomes);
+            assertEquals(0, new BigDecimal("100").compareTo(getAccount(checking, Status.OK).balance()));
+        }
+
+        @Test
+        void independentBatchTransferTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Account checking = addAccount(bobWire, AccountType.CHECKING, new BigDecimal("100"));
+            final Account savings = addAccount(bobWire, AccountType.SAVINGS, BigDecimal.ZERO);
+            final List<TransferOutcomeDto> outcomes = transfer(TransferBatchMode.INDEPENDENT, List.of(
+                    new AccountTransferDto(bobWire.id(), checking.number(), savings.number(), new BigDecimal("60")),
+                    new AccountTransferDto(bobWire.id(), checking.number(), savings.number(), new BigDecimal("60")),
+                    new AccountTransferDto(bobWire.id(), checking.number(), Integer.MAX_VALUE, BigDecimal.ONE),
+                    new AccountTransferDto(bobWire.id(), checking.number(), savings.number(), new BigDecimal("40"))),
+                    Status.OK);
+            assertEquals(List.of(200, 409, 404, 200), outcomes.stream().map(TransferOutcomeDto::status).toList());
+            assertEquals(0, BigDecimal.ZERO.compareTo(outcomes.get(3).sourceBalance()));
+            assertEquals(0, new BigDecimal("100").compareTo(outcomes.get(3).targetBalance()));
+            assertNotNull(outcomes.get(1).error());
+        }
+    }
 }
@@ -5,16 +5,20 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
+import net.sattler22.transfer.domain.Account;
 import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.BankReport;
+import net.sattler22.transfer.domain.BankStats;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Money Transfer Bank Integration Tests
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since September 2019
  */
 final class MoneyTransferBankIntegrationTest extends MoneyTransferBaseTest {
@@ -31,4 +35,38 @@ final class MoneyTransferBankIntegrationTest extends MoneyTransferBaseTest {
             assertEquals(bank, actual);
         }
     }
+
+    @Test
+    void getBankStatsHappyPathTestCase() {
+        final BankStats expected = bank.stats();
+        final Invocation.Builder getBankStatsRequest = target(basePath)
+                .path("bank")
+                .path("stats")
+                .request();
+        try (final Response getBankStatsResponse = getBankStatsRequest.get()) {
+            assertEquals(Status.OK.getStatusCode(), getBankStatsResponse.getStatus());
+            final BankStatsDto actual = getBankStatsResponse.readEntity(BankStatsDto.class);
+            assertEquals(expected.nbrCustomers(), actual.customerCount());
+            assertEquals(expected.nbrAccounts(), actual.accountCount());
+            assertEquals(expected.nbrAccountsByType(), actual.accountCountsByType());
+            assertEquals(0, Account.CURRENCY.toBigDecimal(expected.totalDeposits()).compareTo(actual.totalDeposits()));
+        }
+    }
+
+    @Test
+    void getBankReportHappyPathTestCase() {
+        final BankReport expected = bank.report();
+        final Invocation.Builder getBankReportRequest = target(basePath)
+                .path("bank")
+                .path("report")
+                .request();
+        try (final Response getBankReportResponse = getBankReportRequest.get()) {
+            assertEquals(Status.OK.getStatusCode(), getBankReportResponse.getStatus());
+            final BankReportDto actual = getBankReportResponse.readEntity(BankReportDto.class);
+            assertTrue(actual.sequence() >= expected.sequence());
+            assertEquals(expected.nbrAccounts(), actual.accountCount());
+            assertEquals(0, Account.CURRENCY.toBigDecimal(expected.totalDeposits()).compareTo(actual.totalDeposits()));
+            assertEquals(expected.totalsByCustomer().keySet(), actual.totalsByCustomer().keySet());
+        }
+    }
 }
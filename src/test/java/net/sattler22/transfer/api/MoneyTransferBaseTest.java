@@ -13,6 +13,8 @@ import net.sattler22.transfer.domain.Account;
 import net.sattler22.transfer.domain.AccountType;
 import net.sattler22.transfer.domain.Bank;
 import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import net.sattler22.transfer.service.InstrumentedTransferService;
 import net.sattler22.transfer.service.TransferService;
 import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
 import net.sattler22.transfer.util.PropertyFileUtils;
@@ -23,7 +25,9 @@ import org.glassfish.jersey.test.TestProperties;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
@@ -36,15 +40,19 @@ import static org.junit.jupiter.api.Assertions.assertNull;
  * Money Transfer Test Base Class
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since September 2019
  */
 abstract sealed class MoneyTransferBaseTest extends JerseyTest
         permits MoneyTransferBankIntegrationTest, MoneyTransferCustomerIntegrationTest,
-                MoneyTransferAccountIntegrationTest, MoneyTransferConcurrencyTest  {
+                MoneyTransferAccountIntegrationTest, MoneyTransferConcurrencyTest, MoneyTransferMetricsIntegrationTest {
 
+    private static final long CUSTOMER_JSON_CACHE_MAX_BYTES = 1_048_576;
+    private static final int IDEMPOTENCY_MAX_ENTRIES = 1_024;
+    private static final Duration IDEMPOTENCY_TTL = Duration.ofMinutes(5);
     protected final String basePath;
     protected final Bank bank;
+    protected final CustomerJsonCache customerJsonCache = new CustomerJsonCache(CUSTOMER_JSON_CACHE_MAX_BYTES);
 
     protected MoneyTransferBaseTest() {
         try {
@@ -65,10 +73,16 @@ abstract sealed class MoneyTransferBaseTest extends JerseyTest
         resourceConfig.register(new AbstractBinder() {
             @Override
             protected void configure() {
-                this.bind(new TransferServiceInMemoryImpl(bank)).to(TransferService.class);
+                this.bind(new InstrumentedTransferService(new TransferServiceInMemoryImpl(bank), MetricsRegistry.defaultRegistry()))
+                        .to(TransferService.class);
+                this.bind(MetricsRegistry.defaultRegistry()).to(MetricsRegistry.class);
+                this.bind(customerJsonCache).to(CustomerJsonCache.class);
+                this.bind(new IdempotencyCache(IDEMPOTENCY_MAX_ENTRIES, IDEMPOTENCY_TTL)).to(IdempotencyCache.class);
             }
         });
+        resourceConfig.register(MetricsFilter.class);
         resourceConfig.register(MoneyTransferResourceImpl.class);
+        resourceConfig.register(MetricsResource.class);
         return resourceConfig;
     }
 
@@ -150,6 +164,18 @@ abstract sealed class MoneyTransferBaseTest extends JerseyTest
         }
     }
 
+    protected Account getAccount(int accountNumber, Status status) {
+        final Invocation.Builder request = target(basePath)
+                .path("account")
+                .path(String.valueOf(accountNumber))
+                .request();
+        try (final Response response = request.get()) {
+            assertContentType(response.getHeaderString(HttpHeaders.CONTENT_TYPE), status);
+            assertEquals(status.getStatusCode(), response.getStatus());
+            return response.readEntity(Account.class);
+        }
+    }
+
     protected Set<Account> getAllAccounts(Customer customer, Status status) {
         final Invocation.Builder request = target(basePath)
                 .path("accounts")
@@ -216,6 +242,19 @@ abstract sealed class MoneyTransferBaseTest extends JerseyTest
         }
     }
 
+    protected List<TransferOutcomeDto> transfer(TransferBatchMode mode, List<AccountTransferDto> accountTransferDtos,
+                                                Status status) {
+        final Invocation.Builder request = target(basePath)
+                .path("/account/transfers")
+                .queryParam("mode", mode)
+                .request();
+        try (final Response response = request.post(Entity.json(accountTransferDtos))) {
+            assertContentType(response.getHeaderString(HttpHeaders.CONTENT_TYPE), status);
+            assertEquals(status.getStatusCode(), response.getStatus());
+            return (status == Status.OK) ? response.readEntity(new GenericType<>() {}) : null;
+        }
+    }
+
     private static String parseLocation(@NotBlank String location) {
         final String[] segments = location.split("/");
         return segments[segments.length - 1];
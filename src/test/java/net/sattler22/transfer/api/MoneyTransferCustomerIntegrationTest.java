@@ -1,5 +1,10 @@
 package net.sattler22.transfer.api;
 
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Link;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import net.sattler22.transfer.domain.AccountType;
 import net.sattler22.transfer.domain.Customer;
@@ -9,11 +14,13 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Money Transfer Customer Integration Tests
@@ -37,6 +44,47 @@ final class MoneyTransferCustomerIntegrationTest extends MoneyTransferBaseTest {
             assertEquals(Set.of(bobWire, burtRentals, eileenDover), actual);
         }
 
+        @Test
+        void getCustomerPagesHappyPathTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final Customer burtRentals = addCustomer(TestData.burtRentals("234"));
+            final Customer eileenDover = addCustomer(TestData.eileenDover("789"));
+            try (final Response firstPage = target(basePath).path("customers").queryParam("limit", 2).request().get()) {
+                assertEquals(Status.OK.getStatusCode(), firstPage.getStatus());
+                assertEquals(List.of(bobWire, burtRentals), firstPage.readEntity(new GenericType<List<Customer>>() {}));
+                final Link next = firstPage.getLink("next");
+                assertNotNull(next);
+                try (final Response lastPage = client().target(next).request().get()) {
+                    assertEquals(Status.OK.getStatusCode(), lastPage.getStatus());
+                    assertEquals(List.of(eileenDover), lastPage.readEntity(new GenericType<List<Customer>>() {}));
+                    assertNull(lastPage.getLink("next"));
+                }
+            }
+        }
+
+        @Test
+        void getCustomerPageInvalidLimitTestCase() {
+            addCustomer(TestData.bobWire("123"));
+            try (final Response response = target(basePath).path("customers").queryParam("limit", 0).request().get()) {
+                assertEquals(Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+            }
+        }
+
+        @Test
+        void streamAllCustomersHappyPathTestCase() {
+            addCustomer(TestData.bobWire("123"));
+            addCustomer(TestData.burtRentals("234"));
+            addCustomer(TestData.eileenDover("789"));
+            try (final Response response = target(basePath).path("customers").request(MoneyTransferResource.APPLICATION_NDJSON).get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                assertEquals(MoneyTransferResource.APPLICATION_NDJSON, response.getMediaType().toString());
+                final String[] lines = response.readEntity(String.class).split("\n");
+                assertEquals(3, lines.length);
+                assertTrue(lines[0].contains("\"id\":\"123\""), lines[0]);
+                assertTrue(lines[2].contains("\"id\":\"789\""), lines[2]);
+            }
+        }
+
         @Test
         void getOneCustomerHappyPathTestCase() {
             final Customer bobWire = addCustomer(TestData.bobWire("123"));
@@ -45,6 +93,24 @@ final class MoneyTransferCustomerIntegrationTest extends MoneyTransferBaseTest {
             assertEquals(bobWire, actual);
         }
 
+        @Test
+        void getOneCustomerNotModifiedTestCase() {
+            final Customer bobWire = addCustomer(TestData.bobWire("123"));
+            final EntityTag entityTag;
+            try (final Response response = target(basePath).path("customer").path(bobWire.id()).request().get()) {
+                assertEquals(Status.OK.getStatusCode(), response.getStatus());
+                entityTag = response.getEntityTag();
+                assertNotNull(entityTag);
+            }
+            customerJsonCache.invalidate(bobWire);
+            try (final Response response = target(basePath).path("customer").path(bobWire.id()).request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag).get()) {
+                assertEquals(Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+                assertEquals(entityTag, response.getEntityTag());
+            }
+            assertEquals(0, customerJsonCache.size());  //Never serialized for the 304
+        }
+
         @Test
         void getOneCustomerNotFoundTestCase() {
             final Customer bobWire = TestData.bobWire("123");
@@ -0,0 +1,45 @@
+package net.sattler22.transfer.api;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Money Transfer Metrics Integration Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class MoneyTransferMetricsIntegrationTest extends MoneyTransferBaseTest {
+
+    @Test
+    void getMetricsHappyPathTestCase() {
+        try (final Response response = target(basePath).path("bank").request().get()) {
+            assertEquals(Status.OK.getStatusCode(), response.getStatus());
+        }
+        try (final Response response = target(basePath).path("customer").path("NOT-FOUND").request().get()) {
+            assertEquals(Status.NOT_FOUND.getStatusCode(), response.getStatus());
+        }
+        try (final Response response = target("metrics").request().get()) {
+            assertEquals(Status.OK.getStatusCode(), response.getStatus());
+            assertTrue(response.getHeaderString(HttpHeaders.CONTENT_TYPE).startsWith("text/plain"));
+            final String metrics = response.readEntity(String.class);
+            final String bankPath = basePath + "/bank";
+            final String customerPath = basePath + "/customer/{id}";
+            assertTrue(metrics.contains("# TYPE http_request_duration_seconds summary"), metrics);
+            assertTrue(metrics.contains(String.format(
+                    "http_request_duration_seconds{method=\"GET\",path=\"%s\",quantile=\"0.99\"}", bankPath)), metrics);
+            assertTrue(metrics.contains(String.format(
+                    "http_request_duration_seconds_count{method=\"GET\",path=\"%s\"} 1", bankPath)), metrics);
+            assertTrue(metrics.contains(String.format(
+                    "http_responses_total{method=\"GET\",path=\"%s\",status=\"404\"}", customerPath)), metrics);
+            assertTrue(metrics.contains("transfer_service_duration_seconds_count{operation=\"find_customer\"}"), metrics);
+            assertTrue(metrics.contains("http_request_duration_seconds_max{"), metrics);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package net.sattler22.transfer.audit;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.LockingTransferEngine;
+import net.sattler22.transfer.service.TransferService;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
+import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asynchronous Audit Log Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class AuditLogTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void writesEveryTransferTestCase() throws Exception {
+        final Path file = directory.resolve("audit.log");
+        final int nbrThreads = 4;
+        final int nbrTransfers = 5_000;
+        final Account[] accounts = new Account[nbrThreads * 2];
+        try (final AuditLog auditLog = new AuditLog(new AuditConfig(file, 64))) {  //Small enough to wrap many times
+            final TransferService transferService =
+                    new TransferServiceInMemoryImpl(new Bank(1, "Audit Bank"), new LockingTransferEngine(), auditLog);
+            final Customer owner = TestData.bobWire("1");
+            transferService.addCustomer(owner);
+            for (int index = 0; index < accounts.length; index++) {
+                accounts[index] = new Account(owner, AccountType.CHECKING, BigDecimal.valueOf(1_000_000));
+                transferService.addAccount(accounts[index]);
+            }
+            try (final ExecutorService executor = Executors.newFixedThreadPool(nbrThreads)) {
+                final List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < nbrThreads; thread++) {
+                    final Account source = accounts[thread * 2];
+                    final Account target = accounts[thread * 2 + 1];
+                    futures.add(executor.submit(() -> {
+                        for (int index = 0; index < nbrTransfers; index++)
+                            transferService.transfer(owner, source, target, 1L);
+                    }));
+                }
+                for (final Future<?> future : futures)
+                    future.get();
+            }
+        }
+        final List<String> lines = Files.readAllLines(file);
+        assertEquals(nbrThreads * nbrTransfers, lines.size());
+        final String expectedLast = String.format(" TRANSFER amount=0.01 source=#%d balance=%s version=%d target=#%d",
+                accounts[0].number(), Account.CURRENCY.toBigDecimal(100_000_000L - nbrTransfers), nbrTransfers,
+                accounts[1].number());
+        assertTrue(lines.stream().anyMatch(line -> line.contains(expectedLast)), expectedLast);
+    }
+
+    @Test
+    void writesAtomicBatchTestCase() throws IOException {
+        final Path file = directory.resolve("audit.log");
+        final Customer owner = TestData.bobWire("1");
+        try (final AuditLog auditLog = new AuditLog(new AuditConfig(file, 16))) {
+            final TransferService transferService =
+                    new TransferServiceInMemoryImpl(new Bank(1, "Audit Bank"), new LockingTransferEngine(), auditLog);
+            transferService.addCustomer(owner);
+            final Account source = new Account(owner, AccountType.CHECKING, BigDecimal.TEN);
+            final Account target = new Account(owner, AccountType.SAVINGS, BigDecimal.ZERO);
+            transferService.addAccount(source);
+            transferService.addAccount(target);
+            transferService.transfer(List.of(new TransferRequest(owner, source, target, 100L),
+                                             new TransferRequest(owner, target, source, 50L)), true);
+        }
+        final List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.contains(" BATCH_TRANSFER ")));
+    }
+
+    @Test
+    void disabledTestCase() {
+        final AuditLog auditLog = AuditLog.disabled();
+        auditLog.close();
+        assertEquals(auditLog, AuditLog.disabled());
+    }
+
+    @Test
+    void bufferCapacityMustBePowerOfTwoTestCase() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditConfig(null, 100));
+    }
+}
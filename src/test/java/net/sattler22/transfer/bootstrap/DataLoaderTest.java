@@ -0,0 +1,128 @@
+package net.sattler22.transfer.bootstrap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.NotFoundException;
+import net.sattler22.transfer.api.AccountDto;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.partition.PartitionMap;
+import net.sattler22.transfer.service.TransferService;
+import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bootstrap Data Loader Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class DataLoaderTest {
+
+    private static final String CUSTOMER_DATA = "bootstrap-customer-data.json";
+    private static final String ACCOUNT_DATA = "bootstrap-account-data.json";
+    private static final Predicate<String> ALL = customerId -> true;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void loadFromClassPathTestCase() throws IOException {
+        final TransferService transferService = new TransferServiceInMemoryImpl(new Bank(1, "Loader Test Bank"));
+        final int nbrCustomers = new CustomerDataLoader(transferService, CUSTOMER_DATA, 4, 3, ALL).load();
+        final int nbrAccounts = new AccountDataLoader(transferService, ACCOUNT_DATA, 4, 3, ALL).load();
+        assertEquals(nbrCustomers, transferService.getCustomers().size());
+        assertEquals(nbrAccounts, transferService.getBank().accounts().size());
+    }
+
+    @Test
+    void loadFromGzipFileTestCase() throws IOException {
+        final Path customerFile = gzip(CUSTOMER_DATA);
+        final Path accountFile = gzip(ACCOUNT_DATA);
+        final TransferService transferService = new TransferServiceInMemoryImpl(new Bank(1, "Loader Test Bank"));
+        final int nbrCustomers = new CustomerDataLoader(transferService, customerFile.toString(), 2, 1, ALL).load();
+        final int nbrAccounts = new AccountDataLoader(transferService, accountFile.toString(), 2, 1_000, ALL).load();
+        assertEquals(nbrCustomers, transferService.getCustomers().size());
+        assertEquals(nbrAccounts, transferService.getBank().accounts().size());
+    }
+
+    @Test
+    void loadPartitionTestCase() throws IOException {
+        final TransferService fullService = new TransferServiceInMemoryImpl(new Bank(1, "Loader Test Bank"));
+        new CustomerDataLoader(fullService, CUSTOMER_DATA, 4, 3, ALL).load();
+        new AccountDataLoader(fullService, ACCOUNT_DATA, 4, 3, ALL).load();
+        int nbrCustomers = 0;
+        int nbrAccounts = 0;
+        for (int index = 0; index < 2; index++) {
+            final int partitionIndex = index;
+            final Predicate<String> owned = customerId -> PartitionMap.initiallyOwns(customerId, partitionIndex, 2);
+            final TransferService transferService = new TransferServiceInMemoryImpl(new Bank(1, "Loader Test Bank"));
+            nbrCustomers += new CustomerDataLoader(transferService, CUSTOMER_DATA, 4, 3, owned).load();
+            nbrAccounts += new AccountDataLoader(transferService, ACCOUNT_DATA, 4, 3, owned).load();
+            assertTrue(transferService.getCustomers().stream().allMatch(customer -> owned.test(customer.id())));
+        }
+        assertEquals(fullService.getCustomers().size(), nbrCustomers);
+        assertEquals(fullService.getBank().accounts().size(), nbrAccounts);
+    }
+
+    @Test
+    void accountNumbersFollowSourceOrderTestCase() throws IOException {
+        final TransferService transferService = new TransferServiceInMemoryImpl(new Bank(1, "Loader Test Bank"));
+        new CustomerDataLoader(transferService, CUSTOMER_DATA, 4, 1, ALL).load();
+        new AccountDataLoader(transferService, ACCOUNT_DATA, 8, 1, ALL).load();
+        final List<AccountDto> expected;
+        try (final InputStream inputStream = getClass().getClassLoader().getResourceAsStream(ACCOUNT_DATA)) {
+            expected = Arrays.asList(new ObjectMapper().readValue(inputStream, AccountDto[].class));
+        }
+        final List<AccountDto> actual = transferService.getBank().accounts().stream()
+                .sorted(Comparator.comparingInt(Account::number))
+                .map(account -> new AccountDto(account.owner().id(), account.type(), account.balance()))
+                .toList();
+        assertEquals(expected.stream().map(DataLoaderTest::key).toList(), actual.stream().map(DataLoaderTest::key).toList());
+    }
+
+    @Test
+    void unknownOwnerFailsTestCase() throws IOException {
+        final Path accountFile = directory.resolve("accounts.json");
+        Files.writeString(accountFile, "[{\"customerId\": \"999\", \"type\": \"CHECKING\", \"balance\": 10}]", StandardCharsets.UTF_8);
+        final TransferService transferService = new TransferServiceInMemoryImpl(new Bank(1, "Loader Test Bank"));
+        assertThrows(NotFoundException.class, () -> new AccountDataLoader(transferService, accountFile.toString(), 2, 10, ALL).load());
+    }
+
+    @Test
+    void missingSourceTestCase() {
+        final TransferService transferService = new TransferServiceInMemoryImpl(new Bank(1, "Loader Test Bank"));
+        assertThrows(FileNotFoundException.class, () -> new CustomerDataLoader(transferService, "missing.json.gz", 2, 10, ALL).load());
+    }
+
+    private static String key(AccountDto accountDto) {
+        return String.format("%s/%s/%d", accountDto.customerId(), accountDto.type(), accountDto.balanceMinorUnits());
+    }
+
+    private Path gzip(String resourceName) throws IOException {
+        final Path file = directory.resolve(resourceName + ".gz");
+        try (final InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resourceName);
+             final OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(file))) {
+            inputStream.transferTo(outputStream);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,121 @@
+package net.sattler22.transfer.bootstrap;
+
+import net.sattler22.transfer.api.MoneyTransferResourceImpl;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService;
+import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
+import net.sattler22.transfer.util.PropertyFileUtils;
+import net.sattler22.transfer.util.TestData;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP Server Request Execution Benchmark
+ *
+ * @implNote Many concurrent clients send transfers between a handful of hot accounts through the full HTTP stack, so that
+ *           requests spend most of their time waiting on account locks. The sample time mode reports the latency
+ *           percentiles, which show how each execution mode copes once the platform worker pool is saturated.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class ServerExecutionBenchmark {
+
+    private static final int NBR_HOT_ACCOUNTS = 4;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String executionMode;  //The execution mode is package private, which the generated harness cannot see
+
+    @Param({"8"})
+    private int workerPoolSize;
+
+    private HttpServer httpServer;
+    private HttpClient httpClient;
+    private URI transferUri;
+    private String customerId;
+    private Account[] accounts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final Bank bank = new Bank(1, "Server Execution Benchmark Bank");
+        final TransferService transferService = new TransferServiceInMemoryImpl(bank);
+        final Customer bobWire = TestData.bobWire("123");
+        transferService.addCustomer(bobWire);
+        this.customerId = bobWire.id();
+        this.accounts = new Account[NBR_HOT_ACCOUNTS];
+        for (int i = 0; i < NBR_HOT_ACCOUNTS; i++) {
+            accounts[i] = new Account(bobWire, AccountType.CHECKING, Long.MAX_VALUE / (2 * NBR_HOT_ACCOUNTS));
+            transferService.addAccount(accounts[i]);
+        }
+        final ResourceConfig jerseyConfig = new ResourceConfig();
+        jerseyConfig.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                this.bind(transferService).to(TransferService.class);
+            }
+        });
+        jerseyConfig.register(MoneyTransferResourceImpl.class);
+        final ServerExecutionConfig serverExecutionConfig = new ServerExecutionConfig(ServerExecutionMode.valueOf(executionMode),
+                                                                                    workerPoolSize);
+        this.httpServer = serverExecutionConfig.createHttpServer(URI.create("http://localhost:0/"), jerseyConfig);
+        httpServer.start();
+        final int port = httpServer.getListeners().iterator().next().getPort();
+        final String basePath =
+                PropertyFileUtils.readResourceProperties(getClass(), "app.properties").getProperty("base.path");
+        this.transferUri = URI.create(String.format("http://localhost:%d%s/account/transfer", port, basePath));
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        httpServer.shutdownNow();
+    }
+
+    @Benchmark
+    public int transfer() throws IOException, InterruptedException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int source = random.nextInt(NBR_HOT_ACCOUNTS);
+        final int target = (source + 1 + random.nextInt(NBR_HOT_ACCOUNTS - 1)) % NBR_HOT_ACCOUNTS;
+        final String body = String.format("{\"customerId\":\"%s\",\"sourceNumber\":%d,\"targetNumber\":%d,\"amount\":0.01}",
+                customerId, accounts[source].number(), accounts[target].number());
+        final HttpRequest request = HttpRequest.newBuilder(transferUri)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,94 @@
+package net.sattler22.transfer.domain;
+
+import net.sattler22.transfer.util.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account Balance Arithmetic Benchmark
+ *
+ * @implNote Compares the fixed-point minor unit balance against the original {@link BigDecimal} balance. Add
+ *           {@code -prof gc} to the JMH arguments to compare allocation rates as well.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountBalanceBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("12.34");
+    private static final long AMOUNT_MINOR_UNITS = Account.CURRENCY.toMinorUnits(AMOUNT);
+    private Account account;
+    private BigDecimalBalance bigDecimalBalance;
+
+    @Setup
+    public void setUp() {
+        final BigDecimal openingBalance = new BigDecimal("1000000.00");
+        this.account = new Account(TestData.bobWire("123"), AccountType.CHECKING, openingBalance);
+        this.bigDecimalBalance = new BigDecimalBalance(openingBalance);
+    }
+
+    @Benchmark
+    public long minorUnitsCreditDebit() {
+        account.credit(AMOUNT_MINOR_UNITS);
+        account.debit(AMOUNT_MINOR_UNITS);
+        return account.balanceMinorUnits();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalCreditDebit() {
+        bigDecimalBalance.credit(AMOUNT);
+        bigDecimalBalance.debit(AMOUNT);
+        return bigDecimalBalance.balance;
+    }
+
+    /**
+     * The original {@link BigDecimal} balance arithmetic, kept here as the baseline
+     */
+    private static final class BigDecimalBalance {
+
+        private volatile BigDecimal balance;
+        private final AtomicLong version = new AtomicLong();
+        private final Object lock = new Object();
+
+        private BigDecimalBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        private void credit(BigDecimal amount) {
+            if (amount.compareTo(BigDecimal.ZERO) <= 0)
+                throw new IllegalArgumentException("Amount must be greater than zero");
+            synchronized (lock) {
+                this.balance = balance.add(amount);
+                this.version.incrementAndGet();
+            }
+        }
+
+        private void debit(BigDecimal amount) {
+            synchronized (lock) {
+                final BigDecimal newBalance = balance.subtract(amount);
+                if (newBalance.compareTo(BigDecimal.ZERO) < 0)
+                    throw new IllegalStateException("Transfer would lead to an overdrawn account");
+                this.balance = newBalance;
+                this.version.incrementAndGet();
+            }
+        }
+    }
+}
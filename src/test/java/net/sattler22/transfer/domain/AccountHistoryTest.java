@@ -0,0 +1,111 @@
+package net.sattler22.transfer.domain;
+
+import net.sattler22.transfer.domain.AccountHistory.Posting;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Account History Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class AccountHistoryTest {
+
+    @Test
+    void postingsTestCase() {
+        final Customer bobWire = TestData.bobWire("1");
+        final Account source = new Account(bobWire, AccountType.CHECKING, 1_000L);
+        final Account target = new Account(bobWire, AccountType.SAVINGS, 0L);
+        source.debit(100L, target.number());
+        target.credit(100L, source.number());
+        final List<Posting> postings = source.history().postings(-1L, Long.MIN_VALUE, Long.MAX_VALUE, 10);
+        assertEquals(1, postings.size());
+        final Posting posting = postings.getFirst();
+        assertEquals(target.number(), posting.counterparty());
+        assertEquals(-100L, posting.amount());
+        assertEquals(900L, posting.balance());
+        assertEquals(1L, posting.version());
+        assertTrue(posting.timestampMillis() > 0);
+        assertEquals(new Posting(posting.timestampMillis(), source.number(), 100L, 100L, 1L),
+                     target.history().postings(-1L, Long.MIN_VALUE, Long.MAX_VALUE, 10).getFirst());
+    }
+
+    @Test
+    void pagingAcrossChunksTestCase() {
+        final Account account = new Account(TestData.bobWire("1"), AccountType.CHECKING, 0L);
+        final int nbrPostings = 1_000;
+        for (int index = 0; index < nbrPostings; index++)
+            account.credit(1L, 42);
+        assertEquals(nbrPostings, account.history().size());
+        long afterVersion = -1L;
+        int nbrRead = 0;
+        for (List<Posting> page = account.history().postings(afterVersion, Long.MIN_VALUE, Long.MAX_VALUE, 99);
+             !page.isEmpty();
+             page = account.history().postings(afterVersion, Long.MIN_VALUE, Long.MAX_VALUE, 99)) {
+            for (final Posting posting : page) {
+                assertEquals(++nbrRead, posting.version());
+                assertEquals(posting.version(), posting.balance());
+            }
+            afterVersion = page.getLast().version();
+        }
+        assertEquals(nbrPostings, nbrRead);
+    }
+
+    @Test
+    void stateAsOfTestCase() throws InterruptedException {
+        final long beforeOpenedMillis = System.currentTimeMillis() - 1;
+        final Account account = new Account(TestData.bobWire("1"), AccountType.CHECKING, 100L);
+        final long openedMillis = account.history().openedMillis();
+        Thread.sleep(5);
+        account.debit(30L);
+        final long afterDebitMillis = System.currentTimeMillis();
+        Thread.sleep(5);
+        account.credit(5L);
+        assertTrue(account.history().stateAsOf(beforeOpenedMillis).isEmpty());
+        assertEquals(new AccountState(100L, 0L, false), account.history().stateAsOf(openedMillis).orElseThrow());
+        assertEquals(new AccountState(70L, 1L, false), account.history().stateAsOf(afterDebitMillis).orElseThrow());
+        assertEquals(new AccountState(75L, 2L, false), account.history().stateAsOf(Long.MAX_VALUE).orElseThrow());
+    }
+
+    @Test
+    void horizonTestCase() {
+        final long openedMillis = 1_000_000L;
+        final Account account = Account.restore(TestData.bobWire("1"), Account.lastNumber() + 1, AccountType.CHECKING, 500L,
+                                                7L, openedMillis, openedMillis + 100L);
+        account.replay(-50L, 8L, openedMillis + 200L);
+        account.replay(25L, 9L, openedMillis + 300L);
+        assertEquals(openedMillis + 100L, account.history().postedMillis(7L));
+        assertEquals(openedMillis + 200L, account.history().postedMillis(8L));
+        assertEquals(openedMillis + 300L, account.history().postedMillis(9L));
+        assertTrue(account.history().stateAsOf(openedMillis - 1L).isEmpty());
+        assertThrows(IllegalStateException.class, () -> account.history().stateAsOf(openedMillis + 99L));
+        assertEquals(new AccountState(500L, 7L, false), account.history().stateAsOf(openedMillis + 100L).orElseThrow());
+        assertEquals(new AccountState(450L, 8L, false), account.history().stateAsOf(openedMillis + 299L).orElseThrow());
+        assertEquals(new AccountState(475L, 9L, false), account.history().stateAsOf(Long.MAX_VALUE).orElseThrow());
+    }
+
+    @Test
+    void timeRangeTestCase() throws InterruptedException {
+        final Account account = new Account(TestData.bobWire("1"), AccountType.CHECKING, 0L);
+        account.credit(1L);
+        Thread.sleep(5);
+        final long fromMillis = System.currentTimeMillis();
+        account.credit(2L);
+        account.credit(3L);
+        final long toMillis = System.currentTimeMillis() + 1;
+        Thread.sleep(5);
+        account.credit(4L);
+        final List<Posting> postings = account.history().postings(-1L, fromMillis, toMillis, 10);
+        assertEquals(List.of(2L, 3L), postings.stream().map(Posting::amount).toList());
+        assertEquals(AccountHistory.NO_COUNTERPARTY, postings.getFirst().counterparty());
+        assertEquals(List.of(3L), account.history().postings(2L, fromMillis, toMillis, 10).stream().map(Posting::amount).toList());
+    }
+}
@@ -0,0 +1,63 @@
+package net.sattler22.transfer.domain;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Account Snapshot Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class AccountSnapshotTest {
+
+    private static final long OPENING_BALANCE = 1_000_000L;
+    private static final int NBR_READS = 20_000;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void snapshotTestCase() throws IOException {
+        final Customer bobWire = TestData.bobWire("1");
+        final Account account = new Account(bobWire, AccountType.CHECKING, OPENING_BALANCE);
+        final AccountState state = account.credit(25L);
+        final AccountSnapshot snapshot = account.snapshot();
+        assertSame(account, snapshot.account());
+        assertSame(state, snapshot.state());
+        account.credit(25L);
+        assertEquals(1L, snapshot.version());
+        assertEquals(0, Account.CURRENCY.toBigDecimal(OPENING_BALANCE + 25L).compareTo(snapshot.balance()));
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(account)),
+                     objectMapper.readTree(objectMapper.writeValueAsBytes(account.snapshot())));
+    }
+
+    @Test
+    void consistentJsonUnderTransfersTestCase() throws Exception {
+        final Account account = new Account(TestData.bobWire("1"), AccountType.CHECKING, OPENING_BALANCE);
+        final AtomicBoolean done = new AtomicBoolean();
+        final Thread writer = Thread.ofPlatform().start(() -> {
+            while (!done.get())
+                account.credit(1L);  //Every version is exactly one minor unit over the opening balance
+        });
+        try {
+            for (int index = 0; index < NBR_READS; index++) {
+                final JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(account));
+                final long balance = Account.CURRENCY.toMinorUnits(new BigDecimal(json.get("balance").asText()));
+                assertEquals(OPENING_BALANCE + json.get("version").asLong(), balance, json::toString);
+            }
+        }
+        finally {
+            done.set(true);
+            writer.join();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package net.sattler22.transfer.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bank Customer Lookup Benchmark
+ *
+ * @implNote Lookup latency should stay flat as the customer population grows
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BankBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int nbrCustomers;
+
+    private Bank bank;
+    private String[] customerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Address address = new Address("22 Main Street", "West City", "NJ", "56789");
+        final LocalDate birthDate = LocalDate.of(1984, 2, 27);
+        this.bank = new Bank(1, "Benchmark Bank");
+        this.customerIds = new String[nbrCustomers];
+        for (int i = 0; i < nbrCustomers; i++) {
+            final String customerId = Integer.toString(i);
+            customerIds[i] = customerId;
+            bank.addCustomer(new Customer(customerId, "Bob", "Wire", Gender.MALE, address, "(111) 111-1111", null,
+                    Collections.emptyList(), birthDate));
+        }
+    }
+
+    @Benchmark
+    public Optional<Customer> findCustomer() {
+        return bank.findCustomer(customerIds[ThreadLocalRandom.current().nextInt(nbrCustomers)]);
+    }
+
+    @Benchmark
+    public Optional<Customer> findMissingCustomer() {
+        return bank.findCustomer("MISSING");
+    }
+}
@@ -0,0 +1,132 @@
+package net.sattler22.transfer.domain;
+
+import net.sattler22.transfer.service.CasTransferEngine;
+import net.sattler22.transfer.service.LockingTransferEngine;
+import net.sattler22.transfer.service.ShardedTransferEngine;
+import net.sattler22.transfer.service.TransferEngine;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Whole-Bank Balance Report Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class BankReportTest {
+
+    private static final int NBR_ACCOUNTS = 16;
+    private static final long OPENING_BALANCE = 10_000L;
+    private static final int NBR_TRANSFER_THREADS = 4;
+    private static final int NBR_REPORTS = 500;
+
+    @Test
+    void totalsTestCase() {
+        final Bank bank = new Bank(1, "Report Test Bank");
+        final Customer bobWire = TestData.bobWire("1");
+        final Customer eileenDover = TestData.eileenDover("2");
+        final Account checking = open(bank, bobWire, AccountType.CHECKING, 100L);
+        final Account savings = open(bank, bobWire, AccountType.SAVINGS, 250L);
+        open(bank, eileenDover, AccountType.CHECKING, 50L);
+        checking.debit(30L, savings.number());
+        savings.credit(30L, checking.number());
+        final BankReport bankReport = bank.report();
+        assertEquals(3, bankReport.nbrAccounts());
+        assertEquals(400L, bankReport.totalDeposits());
+        assertEquals(Map.of(AccountType.CHECKING, 120L, AccountType.SAVINGS, 280L), bankReport.totalsByType());
+        assertEquals(Map.of(bobWire.id(), 350L, eileenDover.id(), 50L), bankReport.totalsByCustomer());
+    }
+
+    @Test
+    void asOfSequenceTestCase() {
+        final Bank bank = new Bank(1, "Report Test Bank");
+        final Customer bobWire = TestData.bobWire("1");
+        final Account account = open(bank, bobWire, AccountType.CHECKING, 100L);
+        final long sequence = CommitSequence.snapshot();
+        account.credit(25L);
+        open(bank, bobWire, AccountType.SAVINGS, 500L);
+        final BankReport bankReport = BankReport.of(bank.accounts(), sequence);
+        assertEquals(1, bankReport.nbrAccounts());
+        assertEquals(100L, bankReport.totalDeposits());
+        assertEquals(125L, account.history().balanceAsOf(Long.MAX_VALUE).orElseThrow());
+    }
+
+    @Test
+    void lockingConsistentUnderTransfersTestCase() throws Exception {
+        consistentUnderTransfers(new LockingTransferEngine());
+    }
+
+    @Test
+    void casConsistentUnderTransfersTestCase() throws Exception {
+        consistentUnderTransfers(new CasTransferEngine(1_000));
+    }
+
+    @Test
+    void shardedConsistentUnderTransfersTestCase() throws Exception {
+        try (final ShardedTransferEngine transferEngine = new ShardedTransferEngine(4, 1_024, 64)) {
+            consistentUnderTransfers(transferEngine);
+        }
+    }
+
+    private static void consistentUnderTransfers(TransferEngine transferEngine) throws Exception {
+        final Bank bank = new Bank(1, "Report Test Bank");
+        final Customer bobWire = TestData.bobWire("1");
+        final List<Account> accounts = new ArrayList<>(NBR_ACCOUNTS);
+        for (int index = 0; index < NBR_ACCOUNTS; index++)
+            accounts.add(open(bank, bobWire, AccountType.values()[index % AccountType.values().length], OPENING_BALANCE));
+        final AtomicBoolean done = new AtomicBoolean();
+        try (final ExecutorService executorService = Executors.newFixedThreadPool(NBR_TRANSFER_THREADS)) {
+            final List<Future<?>> transfers = new ArrayList<>(NBR_TRANSFER_THREADS);
+            for (int thread = 0; thread < NBR_TRANSFER_THREADS; thread++) {
+                transfers.add(executorService.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (!done.get()) {
+                        final Account source = accounts.get(random.nextInt(NBR_ACCOUNTS));
+                        final Account target = accounts.get(random.nextInt(NBR_ACCOUNTS));
+                        if (source == target)
+                            continue;
+                        try {
+                            transferEngine.transfer(source, target, random.nextLong(1L, 100L));
+                        }
+                        catch(IllegalArgumentException e) {
+                            //Insufficient funds
+                        }
+                    }
+                }));
+            }
+            try {
+                for (int report = 0; report < NBR_REPORTS; report++) {
+                    final BankReport bankReport = bank.report();
+                    assertEquals(NBR_ACCOUNTS * OPENING_BALANCE, bankReport.totalDeposits(), bankReport::toString);
+                    assertEquals(bankReport.totalDeposits(),
+                                 bankReport.totalsByType().values().stream().mapToLong(Long::longValue).sum());
+                }
+            }
+            finally {
+                done.set(true);
+            }
+            for (final Future<?> transfer : transfers)
+                transfer.get();
+        }
+        assertTrue(accounts.stream().mapToLong(account -> account.history().size()).sum() > 0);
+    }
+
+    private static Account open(Bank bank, Customer owner, AccountType type, long balance) {
+        final Account account = new Account(owner, type, balance);
+        bank.addAccount(account);
+        return account;
+    }
+}
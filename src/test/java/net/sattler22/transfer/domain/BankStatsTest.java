@@ -0,0 +1,97 @@
+package net.sattler22.transfer.domain;
+
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bank-Wide Running Statistics Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class BankStatsTest {
+
+    @Test
+    void customersAndAccountsTestCase() {
+        final Bank bank = new Bank(1, "Stats Test Bank");
+        final Customer bobWire = TestData.bobWire("1");
+        final Customer eileenDover = TestData.eileenDover("2");
+        bank.addCustomer(bobWire);
+        bank.addCustomer(eileenDover);
+        bank.addCustomer(bobWire);
+        final Account checking = new Account(bobWire, AccountType.CHECKING, 100L);
+        final Account savings = new Account(bobWire, AccountType.SAVINGS, 250L);
+        bank.addAccount(checking);
+        bank.addAccount(savings);
+        bank.addAccount(checking);
+        assertEquals(2L, bank.stats().nbrCustomers());
+        assertEquals(Map.of(AccountType.CHECKING, 1L, AccountType.SAVINGS, 1L), bank.stats().nbrAccountsByType());
+        assertEquals(350L, bank.stats().totalDeposits());
+        checking.debit(100L, savings.number());
+        savings.credit(100L, checking.number());
+        bank.transferred(checking, savings, 100L);
+        assertEquals(Map.of(AccountType.CHECKING, 0L, AccountType.SAVINGS, 350L), bank.stats().depositsByType());
+        bank.deleteAccount(checking);
+        bank.deleteCustomer(eileenDover);
+        assertEquals(1L, bank.stats().nbrCustomers());
+        assertEquals(1L, bank.stats().nbrAccounts());
+        assertEquals(350L, bank.stats().totalDeposits());
+    }
+
+    @Test
+    void postedToForeignAccountTestCase() {
+        final Bank bank = new Bank(1, "Stats Test Bank");
+        final Account account = new Account(TestData.bobWire("1"), AccountType.CHECKING, 100L);
+        bank.posted(account, 50L);
+        assertEquals(0L, bank.stats().totalDeposits());
+    }
+
+    @Test
+    void deleteRacingTransfersTestCase() throws Exception {
+        final Bank bank = new Bank(1, "Stats Test Bank");
+        final Customer bobWire = TestData.bobWire("1");
+        final Account checking = new Account(bobWire, AccountType.CHECKING, 1_000_000L);
+        final AtomicReference<Account> savings = new AtomicReference<>(new Account(bobWire, AccountType.SAVINGS, 0L));
+        bank.addAccount(checking);
+        bank.addAccount(savings.get());
+        final AtomicBoolean running = new AtomicBoolean(true);
+        try (final ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            final List<Future<?>> transfers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                transfers.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        final Account target = savings.get();
+                        checking.debit(1L, target.number());
+                        target.credit(1L, checking.number());
+                        bank.transferred(checking, target, 1L);
+                    }
+                }));
+            }
+            final Future<?> churn = executor.submit(() -> {
+                while (running.get()) {  //Close the savings account, whatever its balance, and open a new one
+                    final Account replacement = new Account(bobWire, AccountType.SAVINGS, 0L);
+                    bank.addAccount(replacement);
+                    bank.deleteAccount(savings.getAndSet(replacement));
+                }
+            });
+            for (final Future<?> transfer : transfers)
+                transfer.get();
+            running.set(false);
+            churn.get();
+        }
+        assertEquals(Map.of(AccountType.CHECKING, checking.balanceMinorUnits(), AccountType.SAVINGS, savings.get().balanceMinorUnits()),
+                     bank.stats().depositsByType());
+    }
+}
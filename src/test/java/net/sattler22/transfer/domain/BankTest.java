@@ -3,14 +3,19 @@ package net.sattler22.transfer.domain;
 import net.sattler22.transfer.util.TestData;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Money Transfer Bank Business Object Unit Tests
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since February 2019
  */
 final class BankTest {
@@ -37,5 +42,51 @@ final class BankTest {
         assertEquals(expected, bank.findCustomer(customerId).orElseThrow(IllegalStateException::new));
         bank.deleteCustomer(expected);
         assertTrue(bank.customers().isEmpty());
+        assertFalse(bank.isCustomer(expected));
+        assertTrue(bank.findCustomer(customerId).isEmpty());
+    }
+
+    @Test
+    void testAddDuplicateCustomer() {
+        final Bank bank = new Bank(30, "Bank of Spam");
+        final String customerId = "BOS-30";
+        final Customer expected = TestData.burtRentals(customerId);
+        assertTrue(bank.addCustomer(expected));
+        assertFalse(bank.addCustomer(TestData.bobWire(customerId)));
+        assertEquals(1, bank.customers().size());
+        assertEquals("Burt", bank.findCustomer(customerId).orElseThrow(IllegalStateException::new).firstName());
+    }
+
+    @Test
+    void testCustomerPages() {
+        final Bank bank = new Bank(35, "Bank of Pages");
+        final Customer first = TestData.bobWire("P-1");
+        final Customer second = TestData.eileenDover("P-2");
+        final Customer third = TestData.burtRentals("P-3");
+        bank.addCustomer(third);
+        bank.addCustomer(first);
+        bank.addCustomer(second);
+        assertEquals(List.of(first, second), bank.customers(null, 2));
+        assertEquals(List.of(third), bank.customers("P-2", 2));
+        assertTrue(bank.customers("P-3", 2).isEmpty());
+        final List<Customer> visited = new ArrayList<>();
+        bank.forEachCustomer(visited::add);
+        assertEquals(List.of(first, second, third), visited);
+    }
+
+    @Test
+    void testAccountDirectory() {
+        final Bank bank = new Bank(40, "First Bank of Ham");
+        final Customer owner = TestData.bobWire("FBH-40");
+        bank.addCustomer(owner);
+        final Account expected = new Account(owner, AccountType.CHECKING, BigDecimal.ONE);
+        assertTrue(bank.addAccount(expected));
+        assertFalse(bank.addAccount(expected));
+        assertEquals(expected, bank.findAccount(expected.number()).orElseThrow(IllegalStateException::new));
+        assertTrue(bank.findAccount(expected.number() + 1).isEmpty());
+        assertTrue(bank.findAccount(-1).isEmpty());
+        assertTrue(bank.deleteAccount(expected));
+        assertFalse(bank.deleteAccount(expected));
+        assertTrue(bank.findAccount(expected.number()).isEmpty());
     }
 }
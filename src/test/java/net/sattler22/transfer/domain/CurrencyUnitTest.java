@@ -0,0 +1,45 @@
+package net.sattler22.transfer.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Money Transfer Currency Unit Business Object Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class CurrencyUnitTest {
+
+    @Test
+    void testToMinorUnits() {
+        assertEquals(280811L, CurrencyUnit.USD.toMinorUnits(new BigDecimal("2808.11")));
+        assertEquals(50000L, CurrencyUnit.USD.toMinorUnits(new BigDecimal("500")));
+        assertEquals(10L, CurrencyUnit.USD.toMinorUnits(new BigDecimal("0.1")));
+    }
+
+    @Test
+    void testToMinorUnitsTooManyDecimalPlaces() {
+        assertThrows(IllegalArgumentException.class, () -> CurrencyUnit.USD.toMinorUnits(new BigDecimal("10.005")));
+    }
+
+    @Test
+    void testToBigDecimal() {
+        assertEquals(new BigDecimal("2808.11"), CurrencyUnit.USD.toBigDecimal(280811L));
+        assertEquals(new BigDecimal("100.00"), CurrencyUnit.USD.toBigDecimal(10000L));
+        assertEquals(new BigDecimal("50.50"), CurrencyUnit.USD.toBigDecimal(5050L));
+        assertEquals(new BigDecimal("0.00"), CurrencyUnit.USD.toBigDecimal(0L));
+    }
+
+    @Test
+    void testOverflow() {
+        assertEquals(Long.MAX_VALUE, CurrencyUnit.add(Long.MAX_VALUE - 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyUnit.add(Long.MAX_VALUE, 1));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyUnit.subtract(Long.MIN_VALUE, 1));
+    }
+}
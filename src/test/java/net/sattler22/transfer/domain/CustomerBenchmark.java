@@ -0,0 +1,63 @@
+package net.sattler22.transfer.domain;
+
+import net.sattler22.transfer.util.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer Account Lookup Benchmark
+ *
+ * @implNote Shows how account lookup by number scales with the number of accounts a single customer holds
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int nbrAccounts;
+
+    private Customer customer;
+    private int[] accountNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.customer = TestData.bobWire("123");
+        this.accountNumbers = new int[nbrAccounts];
+        for (int i = 0; i < nbrAccounts; i++) {
+            final Account account = new Account(customer, AccountType.CHECKING, 0L);
+            customer.addAccount(account);
+            accountNumbers[i] = account.number();
+        }
+    }
+
+    @Benchmark
+    public Optional<Account> findAccount() {
+        return customer.findAccount(accountNumbers[ThreadLocalRandom.current().nextInt(nbrAccounts)]);
+    }
+
+    @Benchmark
+    public Optional<Account> findMissingAccount() {
+        return customer.findAccount(-1);
+    }
+}
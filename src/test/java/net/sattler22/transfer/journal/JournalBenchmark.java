@@ -0,0 +1,68 @@
+package net.sattler22.transfer.journal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Journal Group Commit Benchmark
+ *
+ * @implNote Measures both throughput and the distribution of commit latency (the time until an append is acknowledged)
+ *           for every fsync policy, with enough concurrent appenders for group commit to kick in
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class JournalBenchmark {
+
+    @Param({"BATCH", "INTERVAL", "NONE"})
+    private FsyncPolicy fsyncPolicy;
+
+    private Path directory;
+    private Journal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("journal-benchmark");
+        this.journal = new Journal(directory, 64 * 1024 * 1024, fsyncPolicy, 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    @Benchmark
+    public long commit() {
+        return Journal.await(journal.append(new JournalRecord.Transfer(1, 2, 1_234L, 1L, 1L, System.currentTimeMillis())));
+    }
+}
@@ -0,0 +1,155 @@
+package net.sattler22.transfer.journal;
+
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Money Transfer Journal Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class JournalTest {
+
+    private static final long POSTED_MILLIS = Instant.parse("2026-10-01T09:30:00Z").toEpochMilli();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void appendAndReadTestCase() throws IOException {
+        final Customer bobWire = TestData.bobWire("123");
+        final List<JournalRecord> expected = List.of(
+                new JournalRecord.CustomerAdded(bobWire),
+                new JournalRecord.AccountAdded(1, bobWire.id(), AccountType.CHECKING, 10_000L, 0L, POSTED_MILLIS),
+                new JournalRecord.AccountAdded(2, bobWire.id(), AccountType.SAVINGS, 0L, 0L, POSTED_MILLIS),
+                new JournalRecord.Transfer(1, 2, 2_500L, 1L, 1L, POSTED_MILLIS),
+                new JournalRecord.TransferBatch(List.of(new JournalRecord.Transfer(2, 1, 500L, 2L, 2L, POSTED_MILLIS),
+                                                        new JournalRecord.Transfer(1, 2, 2_000L, 3L, 3L, POSTED_MILLIS))),
+                new JournalRecord.AccountDeleted(2),
+                new JournalRecord.CustomerDeleted(bobWire.id()));
+        try (final Journal journal = new Journal(directory, 4096, FsyncPolicy.BATCH, 10)) {
+            for (final JournalRecord record : expected)
+                Journal.await(journal.append(record));
+        }
+        final List<JournalRecord> actual = new ArrayList<>();
+        assertEquals(expected.size(), Journal.read(directory, 0L, (sequence, record) -> actual.add(record)));
+        assertEquals(expected, actual);
+        final Customer restored = ((JournalRecord.CustomerAdded) actual.getFirst()).customer();
+        assertEquals(bobWire.address(), restored.address());
+        assertEquals(bobWire.images(), restored.images());
+        assertEquals(bobWire.birthDate(), restored.birthDate());
+        assertEquals(bobWire.joinedDate(), restored.joinedDate());
+    }
+
+    @Test
+    void segmentRollingTestCase() throws IOException {
+        final int nbrRecords = 1_000;
+        try (final Journal journal = new Journal(directory, 1024, FsyncPolicy.NONE, 10)) {
+            for (int i = 1; i <= nbrRecords; i++)
+                journal.append(new JournalRecord.Transfer(1, 2, i, 1L, 1L, POSTED_MILLIS));
+            Journal.await(journal.append(new JournalRecord.Transfer(2, 1, nbrRecords + 1, 1L, 1L, POSTED_MILLIS)));
+        }
+        try (final Stream<Path> segments = Files.list(directory)) {
+            assertTrue(segments.count() > 1);
+        }
+        final List<Long> sequences = new ArrayList<>();
+        assertEquals(nbrRecords + 1, Journal.read(directory, 500L, (sequence, record) -> sequences.add(sequence)));
+        assertEquals(nbrRecords + 1 - 500, sequences.size());
+        assertEquals(501L, sequences.getFirst());
+    }
+
+    @Test
+    void reopenContinuesAfterTornRecordTestCase() throws IOException {
+        try (final Journal journal = new Journal(directory, 4096, FsyncPolicy.BATCH, 10)) {
+            Journal.await(journal.append(new JournalRecord.Transfer(1, 2, 100L, 1L, 1L, POSTED_MILLIS)));
+            Journal.await(journal.append(new JournalRecord.Transfer(1, 2, 200L, 1L, 1L, POSTED_MILLIS)));
+        }
+        //Simulate a crash part way through writing the second record:
+        final Path segment;
+        try (final Stream<Path> segments = Files.list(directory)) {
+            segment = segments.findFirst().orElseThrow();
+        }
+        try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { (byte) 0xFF }), 57 + 20);  //Each transfer frame is 57 bytes
+        }
+        try (final Journal journal = new Journal(directory, 4096, FsyncPolicy.BATCH, 10)) {
+            assertEquals(2L, journal.nextSequence());
+            assertEquals(2L, Journal.await(journal.append(new JournalRecord.Transfer(1, 2, 300L, 1L, 1L, POSTED_MILLIS))));
+        }
+        final List<JournalRecord> actual = new ArrayList<>();
+        Journal.read(directory, 0L, (sequence, record) -> actual.add(record));
+        assertEquals(List.of(new JournalRecord.Transfer(1, 2, 100L, 1L, 1L, POSTED_MILLIS),
+                             new JournalRecord.Transfer(1, 2, 300L, 1L, 1L, POSTED_MILLIS)), actual);
+    }
+
+    @Test
+    void appendWithSequenceAndCommittedPositionTestCase() throws IOException {
+        try (final Journal journal = new Journal(directory, 4096, FsyncPolicy.BATCH, 10)) {
+            assertEquals(new Journal.Position(1L, 0, 0L), journal.committed());
+            Journal.await(journal.append(1L, new JournalRecord.Transfer(1, 2, 100L, 1L, 1L, POSTED_MILLIS)));
+            assertEquals(5L, Journal.await(journal.append(5L, new JournalRecord.Transfer(1, 2, 200L, 2L, 2L, POSTED_MILLIS))));
+            assertEquals(6L, Journal.await(journal.append(new JournalRecord.Transfer(1, 2, 300L, 3L, 3L, POSTED_MILLIS))));
+            assertThrows(IllegalArgumentException.class,
+                         () -> journal.append(6L, new JournalRecord.Transfer(1, 2, 1L, 4L, 4L, POSTED_MILLIS)));
+            assertEquals(new Journal.Position(1L, 3 * 57, 6L), journal.committed());  //Each transfer frame is 57 bytes
+            final Path segment = Journal.segmentPath(directory, 1L);
+            assertEquals(57, Journal.frameOffset(segment, 1L, Integer.MAX_VALUE));
+            assertEquals(2 * 57, Journal.frameOffset(segment, 5L, Integer.MAX_VALUE));
+            assertEquals(3 * 57, Journal.frameOffset(segment, Long.MAX_VALUE, Integer.MAX_VALUE));
+        }
+        final List<Long> sequences = new ArrayList<>();
+        Journal.read(directory, 0L, (sequence, record) -> sequences.add(sequence));
+        assertEquals(List.of(1L, 5L, 6L), sequences);
+    }
+
+    @Test
+    void failedBatchIsDiscardedTestCase() throws IOException {
+        //A 1 KB segment holds 17 transfer frames, so the 18th record rolls over to a segment that cannot be created:
+        final Path blocked = Journal.segmentPath(directory, 18L);
+        final List<CompletableFuture<Long>> appends = new ArrayList<>();
+        try (final Journal journal = new Journal(directory, 1024, FsyncPolicy.BATCH, 10)) {
+            Files.createDirectory(blocked);
+            for (int i = 1; i <= 30; i++)
+                appends.add(journal.append(new JournalRecord.Transfer(1, 2, i, i, i, POSTED_MILLIS)));
+            assertThrows(CompletionException.class, () -> appends.getLast().join());
+            assertThrows(IllegalStateException.class,
+                         () -> journal.append(new JournalRecord.Transfer(1, 2, 1L, 1L, 1L, POSTED_MILLIS)));
+            final List<Long> acknowledged = appends.stream()
+                    .filter(append -> !append.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .toList();
+            assertTrue(acknowledged.size() < 18);
+            assertEquals(acknowledged.isEmpty() ? 0L : acknowledged.getLast(), journal.committed().lastSequence());
+            Files.delete(blocked);
+            final List<Long> sequences = new ArrayList<>();
+            Journal.read(directory, 0L, (sequence, record) -> sequences.add(sequence));
+            assertEquals(acknowledged, sequences);  //Never a record whose append failed
+        }
+        try (final Journal journal = new Journal(directory, 1024, FsyncPolicy.BATCH, 10)) {
+            final long sequence = Journal.await(journal.append(new JournalRecord.Transfer(1, 2, 1L, 1L, 1L, POSTED_MILLIS)));
+            assertEquals(journal.committed().lastSequence(), sequence);
+        }
+    }
+}
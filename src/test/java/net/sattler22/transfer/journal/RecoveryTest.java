@@ -0,0 +1,335 @@
+package net.sattler22.transfer.journal;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountHistory;
+import net.sattler22.transfer.domain.AccountState;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.CasTransferEngine;
+import net.sattler22.transfer.service.JournaledTransferService;
+import net.sattler22.transfer.service.TransferService;
+import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Snapshot Plus Journal Recovery Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class RecoveryTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void recoverFromJournalOnlyTestCase() throws IOException {
+        final Path journalDirectory = directory.resolve("journal");
+        final Path snapshotDirectory = directory.resolve("snapshots");
+        final Bank original = newBank();
+        final int[] numbers;
+        try (final Journal journal = new Journal(journalDirectory, 4096, FsyncPolicy.BATCH, 10)) {
+            numbers = populate(new JournaledTransferService(new TransferServiceInMemoryImpl(original), journal));
+        }
+        final Bank bank = newBank();
+        final Recovery.Result result = Recovery.recover(bank, snapshotDirectory, journalDirectory);
+        assertTrue(result.recovered());
+        assertEquals(result.lastSequence(), result.nbrReplayed());
+        assertBalances(bank, numbers, 7_500L, 2_500L);
+        for (final int number : numbers)
+            assertSameHistory(original.findAccount(number).orElseThrow(), bank.findAccount(number).orElseThrow());
+    }
+
+    @Test
+    void recoverFromSnapshotPlusTailTestCase() throws IOException {
+        final Path journalDirectory = directory.resolve("journal");
+        final SnapshotConfig snapshotConfig = new SnapshotConfig(directory.resolve("snapshots"), 60, 2);
+        final int[] numbers;
+        try (final Journal journal = new Journal(journalDirectory, 4096, FsyncPolicy.BATCH, 10)) {
+            final TransferService inMemoryService = new TransferServiceInMemoryImpl(newBank());
+            final JournaledTransferService transferService = new JournaledTransferService(inMemoryService, journal);
+            numbers = populate(transferService);
+            transferService.snapshot(snapshotConfig);
+            final Customer owner = transferService.findCustomer("1").orElseThrow();
+            final Account source = transferService.findAccount(numbers[0]).orElseThrow();
+            final Account target = transferService.findAccount(numbers[1]).orElseThrow();
+            transferService.transfer(owner, source, target, 1_000L);
+            transferService.transfer(owner, target, source, 250L);
+        }
+        final Bank bank = newBank();
+        final Recovery.Result result = Recovery.recover(bank, snapshotConfig.directory(), journalDirectory);
+        assertTrue(result.recovered());
+        assertEquals(2, result.nbrReplayed());
+        assertBalances(bank, numbers, 6_750L, 3_250L);
+        assertTrue(Account.lastNumber() >= numbers[1]);
+    }
+
+    @Test
+    void skipPostingsAlreadyInSnapshotTestCase() throws IOException {
+        final Path journalDirectory = directory.resolve("journal");
+        final Path snapshotDirectory = directory.resolve("snapshots");
+        final Customer bobWire = TestData.bobWire("1");
+        final long openedMillis = Instant.parse("2026-10-01T09:00:00Z").toEpochMilli();
+        final long minuteMillis = Duration.ofMinutes(1L).toMillis();
+        final Account source = Account.restore(bobWire, Account.lastNumber() + 1, AccountType.CHECKING, 10_000L, 0L,
+                                               openedMillis, openedMillis);
+        final Account target = Account.restore(bobWire, Account.lastNumber() + 1, AccountType.SAVINGS, 0L, 0L,
+                                               openedMillis, openedMillis);
+        try (final Journal journal = new Journal(journalDirectory, 4096, FsyncPolicy.BATCH, 10)) {
+            Journal.await(journal.append(new JournalRecord.CustomerAdded(bobWire)));
+            Journal.await(journal.append(new JournalRecord.AccountAdded(source.number(), bobWire.id(), source.type(), 10_000L,
+                                                                        0L, openedMillis)));
+            Journal.await(journal.append(new JournalRecord.AccountAdded(target.number(), bobWire.id(), target.type(), 0L,
+                                                                        0L, openedMillis)));
+            //Both transfers were applied before the snapshot read the balances, but only the first was journaled before the cut:
+            Journal.await(journal.append(new JournalRecord.Transfer(source.number(), target.number(), 1_000L, 1L, 1L,
+                                                                    openedMillis + minuteMillis)));
+            source.replay(-1_000L, 1L, openedMillis + minuteMillis);
+            target.replay(1_000L, 1L, openedMillis + minuteMillis);
+            source.replay(-2_000L, 2L, openedMillis + 2 * minuteMillis);
+            target.replay(2_000L, 2L, openedMillis + 2 * minuteMillis);
+            Snapshot.write(snapshotDirectory, 4L, List.of(bobWire), List.of(source, target));
+            Journal.await(journal.append(new JournalRecord.Transfer(source.number(), target.number(), 2_000L, 2L, 2L,
+                                                                    openedMillis + 2 * minuteMillis)));
+            Journal.await(journal.append(new JournalRecord.Transfer(target.number(), source.number(), 500L, 3L, 3L,
+                                                                    openedMillis + 3 * minuteMillis)));
+        }
+        final Bank bank = newBank();
+        final Recovery.Result result = Recovery.recover(bank, snapshotDirectory, journalDirectory);
+        assertEquals(2, result.nbrReplayed());
+        assertBalances(bank, new int[] { source.number(), target.number() }, 7_500L, 2_500L);
+        final Account restored = bank.findAccount(source.number()).orElseThrow();
+        assertEquals(3L, restored.state().version());
+        assertEquals(bobWire.joinedDate(), bank.findCustomer(bobWire.id()).orElseThrow().joinedDate());
+        //The history goes back to the snapshot, and no further:
+        assertEquals(openedMillis, restored.history().openedMillis());
+        assertEquals(openedMillis + 2 * minuteMillis, restored.history().horizonMillis());
+        assertEquals(7_500L, restored.history().stateAsOf(openedMillis + 3 * minuteMillis).orElseThrow().balance());
+        assertEquals(7_000L, restored.history().stateAsOf(openedMillis + 2 * minuteMillis).orElseThrow().balance());
+        assertThrows(IllegalStateException.class, () -> restored.history().stateAsOf(openedMillis + minuteMillis));
+        assertTrue(restored.history().stateAsOf(openedMillis - 1L).isEmpty());
+    }
+
+    @Test
+    void snapshotMidTransferTestCase() throws Exception {
+        final Path journalDirectory = directory.resolve("journal");
+        final SnapshotConfig snapshotConfig = new SnapshotConfig(directory.resolve("snapshots"), 60, 2);
+        final Path crashDirectory = directory.resolve("crash");
+        final int[] numbers;
+        try (final Journal journal = new Journal(journalDirectory, 4096, FsyncPolicy.BATCH, 10)) {
+            final JournaledTransferService transferService =
+                    new JournaledTransferService(new TransferServiceInMemoryImpl(newBank()), journal);
+            numbers = populate(transferService);
+            final Customer owner = transferService.findCustomer("1").orElseThrow();
+            final Account source = transferService.findAccount(numbers[0]).orElseThrow();
+            final Account target = transferService.findAccount(numbers[1]).orElseThrow();
+            //Hold the credit back, so the transfer stops after debiting the source and before it is journaled:
+            final AccountState claimed = target.tryClaim();
+            final CompletableFuture<Void> transfer =
+                    CompletableFuture.runAsync(() -> transferService.transfer(owner, source, target, 1_000L));
+            while (source.balanceMinorUnits() != 6_500L)
+                Thread.onSpinWait();
+            final CompletableFuture<Void> snapshot = CompletableFuture.runAsync(() -> {
+                try {
+                    transferService.snapshot(snapshotConfig);
+                    //Crash as soon as the snapshot is published, so only what the journal already holds survives:
+                    copy(snapshotConfig.directory(), crashDirectory.resolve("snapshots"));
+                    copy(journalDirectory, crashDirectory.resolve("journal"));
+                }
+                catch(IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> snapshot.get(250L, TimeUnit.MILLISECONDS));
+            target.release(claimed);
+            transfer.get();
+            snapshot.get();
+        }
+        final Bank bank = newBank();
+        Recovery.recover(bank, crashDirectory.resolve("snapshots"), crashDirectory.resolve("journal"));
+        assertBalances(bank, numbers, 6_500L, 3_500L);
+    }
+
+    @Test
+    void journalOrderNeverOverdrawsTestCase() throws Exception {
+        final Path journalDirectory = directory.resolve("journal");
+        final Map<Integer, Long> balances = new HashMap<>();
+        try (final Journal journal = new Journal(journalDirectory, 1 << 20, FsyncPolicy.NONE, 10);
+             final ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            final TransferService transferService = new JournaledTransferService(
+                    new TransferServiceInMemoryImpl(newBank(), new CasTransferEngine(1_000)), journal);
+            final Customer bobWire = TestData.bobWire("1");
+            transferService.addCustomer(bobWire);
+            final List<Account> accounts = List.of(new Account(bobWire, AccountType.CHECKING, 100L),
+                                                   new Account(bobWire, AccountType.SAVINGS, 0L),
+                                                   new Account(bobWire, AccountType.SAVINGS, 0L));
+            accounts.forEach(transferService::addAccount);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < 4; worker++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        //Always move the whole balance along, so every transfer depends on the one before it:
+                        final Account source = accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+                        final Account target = accounts.get((accounts.indexOf(source) + 1) % accounts.size());
+                        final long amount = source.balanceMinorUnits();
+                        try {
+                            if (amount > 0)
+                                transferService.transfer(bobWire, source, target, amount);
+                        }
+                        catch(IllegalArgumentException | ConcurrentModificationException e) {
+                            //Moved on by another worker in the meantime
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures)
+                future.get();
+        }
+        Journal.read(journalDirectory, 0L, (sequence, record) -> {
+            switch (record) {
+                case JournalRecord.AccountAdded accountAdded -> balances.put(accountAdded.number(), accountAdded.balance());
+                case JournalRecord.Transfer transfer -> {
+                    final long sourceBalance = balances.get(transfer.sourceNumber());
+                    assertTrue(sourceBalance >= transfer.amount(), () -> "Journal sequence #" + sequence + " overdraws");
+                    balances.put(transfer.sourceNumber(), sourceBalance - transfer.amount());
+                    balances.merge(transfer.targetNumber(), transfer.amount(), Long::sum);
+                }
+                default -> {
+                }
+            }
+        });
+        assertEquals(100L, balances.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void failedJournalRejectsTransfersTestCase() throws IOException {
+        try (final Journal journal = new Journal(directory, 1024, FsyncPolicy.BATCH, 10)) {
+            final TransferService transferService = new JournaledTransferService(new TransferServiceInMemoryImpl(newBank()), journal);
+            final int[] numbers = populate(transferService);
+            for (long sequence = journal.nextSequence(); sequence < 100L; sequence++)
+                Files.createDirectory(Journal.segmentPath(directory, sequence));  //No segment can be rolled over to
+            final Customer owner = transferService.findCustomer("1").orElseThrow();
+            final Account source = transferService.findAccount(numbers[0]).orElseThrow();
+            final Account target = transferService.findAccount(numbers[1]).orElseThrow();
+            assertThrows(IllegalStateException.class, () -> {
+                while (true)
+                    transferService.transfer(owner, source, target, 1L);
+            });
+            assertTrue(journal.failed());
+            final long sourceBalance = source.balanceMinorUnits();
+            assertThrows(IllegalStateException.class, () -> transferService.transfer(owner, source, target, 1L));
+            assertEquals(sourceBalance, source.balanceMinorUnits());  //Never applied
+        }
+    }
+
+    @Test
+    void recoverRestoredAccountVersionTestCase() throws IOException {
+        final Path journalDirectory = directory.resolve("journal");
+        final int[] numbers = new int[2];
+        final int idleNumber;
+        try (final Journal journal = new Journal(journalDirectory, 4096, FsyncPolicy.BATCH, 10)) {
+            final TransferService transferService = new JournaledTransferService(new TransferServiceInMemoryImpl(newBank()), journal);
+            final Customer bobWire = TestData.bobWire("1");
+            transferService.addCustomer(bobWire);
+            final Account moved = Account.restore(bobWire, Account.lastNumber() + 1, AccountType.CHECKING, 10_000L, 7L);
+            final Account savings = new Account(bobWire, AccountType.SAVINGS, 0L);
+            transferService.addAccount(moved);  //Moved in from another partition
+            transferService.addAccount(savings);
+            transferService.transfer(bobWire, moved, savings, 2_500L);
+            assertEquals(8L, moved.version());
+            numbers[0] = moved.number();
+            numbers[1] = savings.number();
+            final Customer burtRentals = TestData.burtRentals("2");
+            transferService.addCustomer(burtRentals);
+            final Account idle = Account.restore(burtRentals, Account.lastNumber() + 1, AccountType.CHECKING, 500L, 3L);
+            transferService.addAccount(idle);  //Never posted to again, so only the journaled version survives
+            idleNumber = idle.number();
+        }
+        final Bank bank = newBank();
+        Recovery.recover(bank, directory.resolve("snapshots"), journalDirectory);
+        assertBalances(bank, numbers, 7_500L, 2_500L);
+        assertEquals(8L, bank.findAccount(numbers[0]).orElseThrow().version());
+        assertEquals(1L, bank.findAccount(numbers[1]).orElseThrow().version());
+        assertEquals(3L, bank.findAccount(idleNumber).orElseThrow().version());
+    }
+
+    @Test
+    void nothingToRecoverTestCase() throws IOException {
+        final Bank bank = newBank();
+        final Recovery.Result result = Recovery.recover(bank, directory.resolve("snapshots"), directory.resolve("journal"));
+        assertFalse(result.recovered());
+        assertTrue(bank.customers().isEmpty());
+    }
+
+    private static void copy(Path from, Path to) throws IOException {
+        Files.createDirectories(to);
+        try (final Stream<Path> files = Files.list(from)) {
+            for (final Path file : files.toList())
+                Files.copy(file, to.resolve(file.getFileName()));
+        }
+    }
+
+    private static Bank newBank() {
+        return new Bank(1, "Recovery Test Bank");
+    }
+
+    private static int[] populate(TransferService transferService) {
+        final Customer bobWire = TestData.bobWire("1");
+        transferService.addCustomer(bobWire);
+        final Account checking = new Account(bobWire, AccountType.CHECKING, 10_000L);
+        final Account savings = new Account(bobWire, AccountType.SAVINGS, 0L);
+        transferService.addAccount(checking);
+        transferService.addAccount(savings);
+        transferService.transfer(bobWire, checking, savings, 2_500L);
+        return new int[] { checking.number(), savings.number() };
+    }
+
+    private static void assertSameHistory(Account original, Account recovered) {
+        final AccountHistory history = recovered.history();
+        assertEquals(original.history().openedMillis(), history.openedMillis());
+        assertEquals(original.history().openedMillis(), history.horizonMillis());
+        final List<AccountHistory.Posting> postings = original.history().postings(-1L, Long.MIN_VALUE, Long.MAX_VALUE, 100);
+        assertEquals(postings.size(), history.size());
+        for (final AccountHistory.Posting posting : postings)
+            assertEquals(original.history().stateAsOf(posting.timestampMillis()), history.stateAsOf(posting.timestampMillis()));
+    }
+
+    private static void assertBalances(Bank bank, int[] numbers, long sourceBalance, long targetBalance) {
+        final Customer owner = bank.findCustomer("1").orElseThrow();
+        final Account source = bank.findAccount(numbers[0]).orElseThrow();
+        final Account target = bank.findAccount(numbers[1]).orElseThrow();
+        assertEquals(sourceBalance, source.balanceMinorUnits());
+        assertEquals(targetBalance, target.balanceMinorUnits());
+        assertEquals(2, owner.accounts().size());
+        assertTrue(owner.findAccount(numbers[0]).isPresent());
+    }
+}
@@ -0,0 +1,64 @@
+package net.sattler22.transfer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Striped Log-Linear Latency Histogram Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class LatencyHistogramTest {
+
+    @Test
+    void bucketBoundariesTestCase() {
+        for (int bucket = 0; bucket < LatencyHistogram.NBR_BUCKETS; bucket++) {
+            final long highest = LatencyHistogram.highestEquivalentValue(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketIndex(highest));
+            if (bucket + 1 < LatencyHistogram.NBR_BUCKETS)
+                assertEquals(bucket + 1, LatencyHistogram.bucketIndex(highest + 1));
+        }
+    }
+
+    @Test
+    void quantilesTestCase() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++)
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_000L, snapshot.count());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(10_000), snapshot.max());
+        assertWithinPrecision(TimeUnit.MICROSECONDS.toNanos(5_000), snapshot.valueAtQuantile(0.5));
+        assertWithinPrecision(TimeUnit.MICROSECONDS.toNanos(9_900), snapshot.valueAtQuantile(0.99));
+        assertWithinPrecision(TimeUnit.MICROSECONDS.toNanos(9_990), snapshot.valueAtQuantile(0.999));
+        assertEquals(snapshot.max(), snapshot.valueAtQuantile(1.0));
+    }
+
+    @Test
+    void clampedValuesTestCase() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1L);
+        histogram.record(Long.MAX_VALUE);
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2L, snapshot.count());
+        assertEquals(0L, snapshot.valueAtQuantile(0.5));
+        assertTrue(snapshot.max() > TimeUnit.SECONDS.toNanos(60));
+    }
+
+    @Test
+    void emptyTestCase() {
+        final LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0L, snapshot.count());
+        assertEquals(0L, snapshot.valueAtQuantile(0.99));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 32, String.format("Expected %d but was %d", expected, actual));
+    }
+}
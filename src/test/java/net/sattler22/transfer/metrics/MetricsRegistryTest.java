@@ -0,0 +1,51 @@
+package net.sattler22.transfer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Metrics Registry Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class MetricsRegistryTest {
+
+    @Test
+    void scrapeTestCase() {
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("requests_total", "Requests", "status", "409").add(3);
+        metricsRegistry.histogram("latency_seconds", "Latency", "operation", "transfer").record(TimeUnit.MILLISECONDS.toNanos(2));
+        final String metrics = metricsRegistry.scrape();
+        assertTrue(metrics.contains("# TYPE requests_total counter\nrequests_total{status=\"409\"} 3\n"), metrics);
+        assertTrue(metrics.contains("# TYPE latency_seconds summary\n"), metrics);
+        assertTrue(metrics.contains("latency_seconds{operation=\"transfer\",quantile=\"0.999\"} 0.00"), metrics);
+        assertTrue(metrics.contains("latency_seconds_count{operation=\"transfer\"} 1\n"), metrics);
+        assertTrue(metrics.contains("# TYPE latency_seconds_max gauge\nlatency_seconds_max{operation=\"transfer\"} 0.002000000\n"),
+                   metrics);
+    }
+
+    @Test
+    void gaugeTestCase() {
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        final long[] value = {5L};
+        metricsRegistry.gauge("lag_records", "Lag", () -> value[0], "backup", "b1");
+        assertTrue(metricsRegistry.scrape().contains("# TYPE lag_records gauge\nlag_records{backup=\"b1\"} 5\n"));
+        value[0] = 7L;
+        assertTrue(metricsRegistry.scrape().contains("lag_records{backup=\"b1\"} 7\n"));
+        assertThrows(IllegalArgumentException.class, () -> metricsRegistry.counter("lag_records", "Lag"));
+    }
+
+    @Test
+    void sameLabelsSameMetricTestCase() {
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        assertSame(metricsRegistry.counter("a_total", "A", "x", "1"), metricsRegistry.counter("a_total", "A", "x", "1"));
+        assertThrows(IllegalArgumentException.class, () -> metricsRegistry.histogram("a_total", "A"));
+    }
+}
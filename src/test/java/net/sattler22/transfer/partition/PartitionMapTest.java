@@ -0,0 +1,81 @@
+package net.sattler22.transfer.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Partition Map Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class PartitionMapTest {
+
+    private static final URI PARTITION_0 = URI.create("http://localhost:8081");
+    private static final URI PARTITION_1 = URI.create("http://localhost:8082");
+    private static final URI PARTITION_2 = URI.create("http://localhost:8083");
+    private static final URI PARTITION_3 = URI.create("http://localhost:8084");
+
+    @Test
+    void initialMapTestCase() {
+        final PartitionMap partitionMap = PartitionMap.of(List.of(PARTITION_0, PARTITION_1, PARTITION_2));
+        assertEquals(1L, partitionMap.version());
+        final int[] slotCounts = partitionMap.slotCounts();
+        for (final int slotCount : slotCounts)
+            assertTrue(Math.abs(slotCount - PartitionMap.NBR_SLOTS / 3) <= 1);
+        for (int customerId = 0; customerId < 1_000; customerId++) {
+            final String id = Integer.toString(customerId);
+            final int owner = partitionMap.ownerOf(id);
+            for (int index = 0; index < 3; index++)
+                assertEquals(index == owner, PartitionMap.initiallyOwns(id, index, 3));
+        }
+    }
+
+    @Test
+    void addPartitionTestCase() {
+        final PartitionMap before = PartitionMap.of(List.of(PARTITION_0, PARTITION_1, PARTITION_2));
+        final PartitionMap after = before.withPartition(PARTITION_3);
+        assertEquals(2L, after.version());
+        assertEquals(List.of(PARTITION_0, PARTITION_1, PARTITION_2, PARTITION_3), after.partitions());
+        for (final int slotCount : after.slotCounts())
+            assertTrue(Math.abs(slotCount - PartitionMap.NBR_SLOTS / 4) <= 1);
+        final List<Integer> movedSlots = before.movedSlots(after);
+        assertEquals(after.slotCounts()[3], movedSlots.size());
+        for (final int slot : movedSlots)
+            assertEquals(3, after.ownerOfSlot(slot));  //Only ever moved to the new partition
+    }
+
+    @Test
+    void spreadTestCase() {
+        final PartitionMap partitionMap = PartitionMap.of(List.of(PARTITION_0, PARTITION_1));
+        final int[] nbrOwned = new int[2];
+        for (int customerId = 0; customerId < 10_000; customerId++)
+            nbrOwned[partitionMap.ownerOf(Integer.toString(customerId))]++;
+        assertTrue(Math.abs(nbrOwned[0] - nbrOwned[1]) < 1_000, () -> nbrOwned[0] + " vs " + nbrOwned[1]);
+    }
+
+    @Test
+    void accountNumberRangesTestCase() {
+        final PartitionMap partitionMap = PartitionMap.of(List.of(PARTITION_0, PARTITION_1));
+        assertEquals(1, PartitionMap.firstAccountNumber(0));
+        assertEquals(0, partitionMap.issuerOf(PartitionMap.firstAccountNumber(1) - 1));
+        assertEquals(1, partitionMap.issuerOf(PartitionMap.firstAccountNumber(1)));
+        assertEquals(-1, partitionMap.issuerOf(PartitionMap.firstAccountNumber(2)));
+        assertEquals(-1, partitionMap.issuerOf(0));
+        assertThrows(IllegalArgumentException.class, () -> PartitionMap.firstAccountNumber(Integer.MAX_VALUE / PartitionMap.ACCOUNT_NUMBER_RANGE));
+    }
+
+    @Test
+    void duplicatePartitionTestCase() {
+        final PartitionMap partitionMap = PartitionMap.of(List.of(PARTITION_0));
+        assertThrows(IllegalArgumentException.class, () -> partitionMap.withPartition(PARTITION_0));
+        assertThrows(IllegalArgumentException.class, () -> PartitionMap.of(List.of()));
+    }
+}
@@ -0,0 +1,289 @@
+package net.sattler22.transfer.partition;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import net.sattler22.transfer.api.CustomerJsonCache;
+import net.sattler22.transfer.api.IdempotencyCache;
+import net.sattler22.transfer.api.MoneyTransferResourceImpl;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService;
+import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
+import net.sattler22.transfer.util.PropertyFileUtils;
+import net.sattler22.transfer.util.TestData;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Partition Router Integration Tests
+ *
+ * @implNote The partitions run in this JVM, which shares one account number counter between them, so accounts are
+ *           opened with numbers from the range of their partition
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class PartitionRouterTest {
+
+    private static final int NBR_CUSTOMERS = 40;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Partition> partitions = new ArrayList<>();
+    private String basePath;
+    private PartitionRouter partitionRouter;
+    private URI routerUri;
+    private HttpClient httpClient;
+
+    /**
+     * Partition running in this JVM
+     */
+    private record Partition(HttpServer httpServer, TransferService transferService, URI uri) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException, InterruptedException {
+        this.basePath = PropertyFileUtils.readResourceProperties(getClass(), "app.properties").getProperty("base.path");
+        for (int index = 0; index < 2; index++)
+            partitions.add(startPartition());
+        this.partitionRouter = new PartitionRouter(URI.create("http://localhost:0"), basePath,
+                PartitionMap.of(partitions.stream().map(Partition::uri).toList()));
+        this.routerUri = partitionRouter.start();
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        for (int customerId = 1; customerId <= NBR_CUSTOMERS; customerId++)
+            assertEquals(201, send("POST", "/customer", objectMapper.writeValueAsString(TestData.bobWire(Integer.toString(customerId)))).statusCode());
+        for (int customerId = 1; customerId <= NBR_CUSTOMERS; customerId++) {
+            final int index = partitionRouter.partitionMap().ownerOf(Integer.toString(customerId));
+            final TransferService transferService = partitions.get(index).transferService();
+            final Customer owner = transferService.findCustomer(Integer.toString(customerId)).orElseThrow();
+            for (int account = 0; account < 2; account++)
+                transferService.addAccount(Account.restore(owner, PartitionMap.firstAccountNumber(index) + 2 * customerId + account,
+                                                           AccountType.CHECKING, 10_000L, 0L));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        partitionRouter.close();
+        partitions.forEach(partition -> partition.httpServer().shutdownNow());
+    }
+
+    @Test
+    void routeByCustomerTestCase() throws IOException, InterruptedException {
+        final PartitionMap partitionMap = partitionRouter.partitionMap();
+        for (int customerId = 1; customerId <= NBR_CUSTOMERS; customerId++)
+            assertOwnedBy(Integer.toString(customerId), partitionMap.ownerOf(Integer.toString(customerId)));
+        final Customer customer = firstCustomerOf(1);
+        final List<Account> accounts = List.copyOf(customer.accounts());
+        final HttpResponse<String> transfer = send("PUT", "/account/transfer", String.format(
+                "{\"customerId\":\"%s\",\"sourceNumber\":%d,\"targetNumber\":%d,\"amount\":25.00}",
+                customer.id(), accounts.get(0).number(), accounts.get(1).number()));
+        assertEquals(200, transfer.statusCode(), transfer::body);
+        assertEquals(0, new BigDecimal("75.00").compareTo(accounts.get(0).balance()));
+        final HttpResponse<String> account = send("GET", "/account/" + accounts.get(1).number(), null);
+        assertEquals(200, account.statusCode());
+        assertEquals(0, new BigDecimal("125.00").compareTo(objectMapper.readTree(account.body()).path("balance").decimalValue()));
+        final HttpResponse<String> added = send("POST", "/account",
+                String.format("{\"customerId\":\"%s\",\"type\":\"SAVINGS\",\"balance\":10.00}", customer.id()));
+        assertEquals(201, added.statusCode());
+        assertTrue(added.headers().firstValue("Location").orElseThrow().startsWith(routerUri.toString()));
+        assertEquals(3, customer.accounts().size());
+    }
+
+    @Test
+    void batchTestCase() throws IOException, InterruptedException {
+        final ArrayNode transfers = objectMapper.createArrayNode();
+        for (int index = 0; index < partitions.size(); index++) {
+            for (final Customer customer : List.of(firstCustomerOf(index), firstCustomerOf(index))) {
+                final List<Account> accounts = List.copyOf(customer.accounts());
+                transfers.addObject()
+                        .put("customerId", customer.id())
+                        .put("sourceNumber", accounts.get(0).number())
+                        .put("targetNumber", accounts.get(1).number())
+                        .put("amount", new BigDecimal("1.00"));
+            }
+        }
+        final HttpResponse<String> independent = send("POST", "/account/transfers", transfers.toString());
+        assertEquals(200, independent.statusCode(), independent::body);
+        final JsonNode outcomes = objectMapper.readTree(independent.body());
+        assertEquals(transfers.size(), outcomes.size());
+        for (int index = 0; index < outcomes.size(); index++) {
+            assertEquals(index, outcomes.get(index).path("index").asInt());
+            assertEquals(200, outcomes.get(index).path("status").asInt());
+            assertEquals(transfers.get(index).path("sourceNumber").asInt(), outcomes.get(index).path("sourceNumber").asInt());
+        }
+        assertEquals(400, send("POST", "/account/transfers?mode=ATOMIC", transfers.toString()).statusCode());
+    }
+
+    @Test
+    void fanOutTestCase() throws IOException, InterruptedException {
+        final JsonNode stats = objectMapper.readTree(send("GET", "/bank/stats", null).body());
+        assertEquals(NBR_CUSTOMERS, stats.path("customerCount").asInt());
+        assertEquals(2 * NBR_CUSTOMERS, stats.path("accountCount").asInt());
+        assertEquals(0, new BigDecimal(200 * NBR_CUSTOMERS).compareTo(stats.path("totalDeposits").decimalValue()));
+        final JsonNode report = objectMapper.readTree(send("GET", "/bank/report", null).body());
+        assertEquals(0, new BigDecimal(200 * NBR_CUSTOMERS).compareTo(report.path("totalDeposits").decimalValue()));
+        assertEquals(NBR_CUSTOMERS, report.path("totalsByCustomer").size());
+        assertEquals(customerIds(), pagedCustomerIds());
+        final HttpResponse<Stream<String>> stream = httpClient.send(
+                HttpRequest.newBuilder(URI.create(routerUri + basePath + "/customers")).header("Accept", "application/x-ndjson").build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+        final List<String> streamedCustomerIds = new ArrayList<>();
+        for (final String line : stream.body().toList())
+            streamedCustomerIds.add(objectMapper.readTree(line).path("id").asText());
+        assertEquals(customerIds(), streamedCustomerIds);
+    }
+
+    @Test
+    void addPartitionTestCase() throws IOException, InterruptedException {
+        final Customer customer = firstCustomerOf(0);
+        final List<Integer> accountNumbers = customer.accounts().stream().map(Account::number).toList();
+        final Partition partition = startPartition();
+        partitions.add(partition);
+        final PartitionMap partitionMap = partitionRouter.addPartition(partition.uri());
+        assertEquals(3, partitionMap.partitions().size());
+        assertTrue(partition.transferService().getCustomers().size() > 0);
+        int nbrCustomers = 0;
+        for (final Partition each : partitions)
+            nbrCustomers += each.transferService().getCustomers().size();
+        assertEquals(NBR_CUSTOMERS, nbrCustomers);
+        for (int customerId = 1; customerId <= NBR_CUSTOMERS; customerId++)
+            assertOwnedBy(Integer.toString(customerId), partitionMap.ownerOf(Integer.toString(customerId)));
+        final JsonNode stats = objectMapper.readTree(send("GET", "/bank/stats", null).body());
+        assertEquals(NBR_CUSTOMERS, stats.path("customerCount").asInt());
+        assertEquals(0, new BigDecimal(200 * NBR_CUSTOMERS).compareTo(stats.path("totalDeposits").decimalValue()));
+        for (final int number : accountNumbers)
+            assertEquals(200, send("GET", "/account/" + number, null).statusCode());
+        final HttpResponse<String> transfer = send("PUT", "/account/transfer", String.format(
+                "{\"customerId\":\"%s\",\"sourceNumber\":%d,\"targetNumber\":%d,\"amount\":5.00}",
+                customer.id(), accountNumbers.get(0), accountNumbers.get(1)));
+        assertEquals(200, transfer.statusCode(), transfer::body);
+        assertEquals(customerIds(), pagedCustomerIds());
+    }
+
+    @Test
+    void accountRoutesFrozenDuringMoveTestCase() throws Exception {
+        final int number = firstCustomerOf(0).accounts().iterator().next().number();
+        final CountDownLatch copying = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final Partition partition = startPartition((ContainerRequestFilter) requestContext -> {
+            copying.countDown();
+            try {
+                proceed.await();  //Hold the move part way through copying
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        partitions.add(partition);
+        final CompletableFuture<PartitionMap> move = CompletableFuture.supplyAsync(() -> {
+            try {
+                return partitionRouter.addPartition(partition.uri());
+            }
+            catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            assertTrue(copying.await(30L, TimeUnit.SECONDS));
+            assertEquals(503, send("GET", "/account/" + number, null).statusCode());
+        }
+        finally {
+            proceed.countDown();
+        }
+        move.get(30L, TimeUnit.SECONDS);
+        assertEquals(200, send("GET", "/account/" + number, null).statusCode());
+    }
+
+    private Partition startPartition(Object... components) {
+        final TransferService transferService = new TransferServiceInMemoryImpl(new Bank(1, "Partition Test Bank"));
+        final ResourceConfig resourceConfig = new ResourceConfig();
+        resourceConfig.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                this.bind(transferService).to(TransferService.class);
+                this.bind(new CustomerJsonCache(0L)).to(CustomerJsonCache.class);
+                this.bind(new IdempotencyCache(16, Duration.ofMinutes(1))).to(IdempotencyCache.class);
+            }
+        });
+        resourceConfig.register(MoneyTransferResourceImpl.class);
+        for (final Object component : components)
+            resourceConfig.register(component);
+        final HttpServer httpServer = GrizzlyHttpServerFactory.createHttpServer(URI.create("http://localhost:0/"), resourceConfig);
+        final int port = httpServer.getListeners().iterator().next().getPort();
+        return new Partition(httpServer, transferService, URI.create("http://localhost:" + port));
+    }
+
+    private Customer firstCustomerOf(int index) {
+        return partitions.get(index).transferService().getCustomers(null, 1).getFirst();
+    }
+
+    private void assertOwnedBy(String customerId, int owner) {
+        for (int index = 0; index < partitions.size(); index++)
+            assertEquals(index == owner, partitions.get(index).transferService().findCustomer(customerId).isPresent(),
+                    () -> String.format("Customer ID [%s] should be owned by partition %d", customerId, owner));
+    }
+
+    private List<String> customerIds() {
+        final List<String> customerIds = new ArrayList<>();
+        for (int customerId = 1; customerId <= NBR_CUSTOMERS; customerId++)
+            customerIds.add(Integer.toString(customerId));
+        customerIds.sort(null);
+        return customerIds;
+    }
+
+    private List<String> pagedCustomerIds() throws IOException, InterruptedException {
+        final List<String> customerIds = new ArrayList<>();
+        String next = routerUri + basePath + "/customers?limit=15";
+        while (next != null) {
+            final HttpResponse<String> page = httpClient.send(HttpRequest.newBuilder(URI.create(next)).GET().build(),
+                                                              HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, page.statusCode(), page::body);
+            objectMapper.readTree(page.body()).forEach(customer -> customerIds.add(customer.path("id").asText()));
+            next = page.headers().firstValue("Link")
+                    .map(link -> link.substring(link.indexOf('<') + 1, link.indexOf('>')))
+                    .orElse(null);
+        }
+        return customerIds;
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(routerUri + basePath + path))
+                .header("Content-Type", "application/json")
+                .method(method, Objects.isNull(body) ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
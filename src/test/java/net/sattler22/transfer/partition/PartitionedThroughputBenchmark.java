@@ -0,0 +1,171 @@
+package net.sattler22.transfer.partition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.sattler22.transfer.bootstrap.MoneyTransferBootstrap;
+import net.sattler22.transfer.util.PropertyFileUtils;
+import net.sattler22.transfer.util.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partitioned Deployment Throughput Benchmark
+ *
+ * @implNote Starts each partition as its own money transfer process on this machine, puts a router in front of them and
+ *           drives transfers between the accounts of many customers through the router, so the score is the aggregate
+ *           throughput of the whole deployment as partitions are added. Every process shares the same processors, so the
+ *           scaling flattens out once they are saturated.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class PartitionedThroughputBenchmark {
+
+    private static final int NBR_CUSTOMERS = 256;
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    @Param({"1", "2", "4"})
+    private int nbrPartitions;
+
+    private final List<Process> processes = new ArrayList<>();
+    private PartitionRouter partitionRouter;
+    private HttpClient httpClient;
+    private URI transferUri;
+    private String[] customerIds;
+    private int[][] accountNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        final String basePath = PropertyFileUtils.readResourceProperties(getClass(), "app.properties").getProperty("base.path");
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final List<URI> partitions = new ArrayList<>(nbrPartitions);
+        for (int index = 0; index < nbrPartitions; index++) {
+            final URI partition = URI.create("http://localhost:" + freePort());
+            processes.add(startPartition(partition, index));
+            partitions.add(partition);
+        }
+        for (final URI partition : partitions)
+            awaitStartup(partition.resolve(basePath + "/bank"));
+        this.partitionRouter = new PartitionRouter(URI.create("http://localhost:0"), basePath, PartitionMap.of(partitions));
+        final URI routerUri = partitionRouter.start();
+        this.transferUri = routerUri.resolve(basePath + "/account/transfer");
+        this.customerIds = new String[NBR_CUSTOMERS];
+        this.accountNumbers = new int[NBR_CUSTOMERS][2];
+        for (int customer = 0; customer < NBR_CUSTOMERS; customer++) {
+            customerIds[customer] = "benchmark-" + customer;
+            post(routerUri.resolve(basePath + "/customer"), objectMapper.writeValueAsString(TestData.bobWire(customerIds[customer])));
+            for (int account = 0; account < 2; account++) {
+                final String location = post(routerUri.resolve(basePath + "/account"), String.format(
+                        "{\"customerId\":\"%s\",\"type\":\"CHECKING\",\"balance\":1000000.00}", customerIds[customer]));
+                accountNumbers[customer][account] = Integer.parseInt(location.substring(location.lastIndexOf('/') + 1));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        partitionRouter.close();
+        httpClient.close();
+        for (final Process process : processes) {
+            try (final OutputStream outputStream = process.getOutputStream()) {
+                outputStream.write('\n');  //Press [ENTER] to stop the server
+            }
+        }
+        for (final Process process : processes)
+            if (!process.waitFor(30, TimeUnit.SECONDS))
+                process.destroyForcibly();
+    }
+
+    @Benchmark
+    public int transfer() throws IOException, InterruptedException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int customer = random.nextInt(NBR_CUSTOMERS);
+        final int source = random.nextInt(2);
+        final String body = String.format("{\"customerId\":\"%s\",\"sourceNumber\":%d,\"targetNumber\":%d,\"amount\":0.01}",
+                customerIds[customer], accountNumbers[customer][source], accountNumbers[customer][1 - source]);
+        final HttpRequest request = HttpRequest.newBuilder(transferUri)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private Process startPartition(URI partition, int index) throws IOException {
+        final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                                  "-Dbase.uri=" + partition,
+                                  "-Dpartition.index=" + index,
+                                  "-Dpartition.count=" + nbrPartitions,
+                                  "-Daudit.enabled=false",
+                                  "-Dlog.sample.rate=0",
+                                  "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn",
+                                  MoneyTransferBootstrap.class.getName())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private void awaitStartup(URI uri) throws IOException, InterruptedException {
+        final long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                if (httpClient.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                    return;
+            }
+            catch(IOException e) {
+                if (System.currentTimeMillis() > deadline)
+                    throw e;
+            }
+            Thread.sleep(100L);
+        }
+    }
+
+    private String post(URI uri, String body) throws IOException, InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        final HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201)
+            throw new IOException(String.format("POST [%s] failed with status [%d]: %s", uri, response.statusCode(), response.body()));
+        return response.headers().firstValue("Location").orElseThrow();
+    }
+
+    private static int freePort() throws IOException {
+        try (final ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package net.sattler22.transfer.replication;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.journal.FsyncPolicy;
+import net.sattler22.transfer.journal.Journal;
+import net.sattler22.transfer.journal.JournalRecord;
+import net.sattler22.transfer.journal.Recovery;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import net.sattler22.transfer.service.JournaledTransferService;
+import net.sattler22.transfer.service.TransferService;
+import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Journal Shipping Replication Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class JournalReplicationTest {
+
+    private static final int SEGMENT_SIZE = 4096;  //Small enough for the transfers to roll over several segments
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void syncAcksOverTcpTestCase() throws IOException {
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        final Bank backupBank = newBank();
+        try (final Journal primaryJournal = newJournal("primary");
+             final Journal backupJournal = newJournal("backup");
+             final JournalShipper journalShipper = new JournalShipper(primaryJournal, new InetSocketAddress("localhost", 0),
+                                                                      TIMEOUT.toMillis(), metricsRegistry)) {
+            final SocketAddress address = journalShipper.start();
+            try (final JournalReceiver journalReceiver =
+                         new JournalReceiver(address, new Recovery.Replayer(backupBank), backupJournal, 0L, metricsRegistry)) {
+                awaitBackups(journalShipper, 1);
+                final TransferService transferService = new JournaledTransferService(
+                        new TransferServiceInMemoryImpl(newBank()), primaryJournal, journalShipper::awaitAcknowledged);
+                final int[] numbers = populate(transferService);
+                //Every change has been acknowledged by the time it returns, so the backup is already up to date:
+                final long lastSequence = primaryJournal.nextSequence() - 1;
+                assertEquals(lastSequence, journalReceiver.lastSequence());
+                assertEquals(0L, journalShipper.lag());
+                assertBalances(backupBank, numbers);
+                assertEquals(lastSequence, journalReceiver.promote());
+                final String metrics = metricsRegistry.scrape();
+                assertTrue(metrics.contains("replication_applied_records_total " + lastSequence + "\n"), metrics);
+                assertTrue(metrics.contains("replication_sync_timeouts_total 0\n"), metrics);
+                assertTrue(metrics.contains("replication_lag_records 0\n"), metrics);
+            }
+        }
+        //The backup journal recovers to the same state on its own:
+        final Bank recoveredBank = newBank();
+        Recovery.recover(recoveredBank, directory.resolve("snapshots"), directory.resolve("backup"));
+        assertBalances(recoveredBank, numbersOf(backupBank));
+    }
+
+    @Test
+    void catchUpOverUnixDomainSocketTestCase() throws IOException, InterruptedException {
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        final Bank backupBank = newBank();
+        try (final Journal primaryJournal = newJournal("primary");
+             final Journal backupJournal = newJournal("backup");
+             final JournalShipper journalShipper = new JournalShipper(primaryJournal,
+                     UnixDomainSocketAddress.of(directory.resolve("replication.sock")), TIMEOUT.toMillis(), metricsRegistry)) {
+            final SocketAddress address = journalShipper.start();
+            final TransferService transferService =
+                    new JournaledTransferService(new TransferServiceInMemoryImpl(newBank()), primaryJournal);
+            final int[] numbers = populate(transferService);
+            final Recovery.Replayer replayer = new Recovery.Replayer(backupBank);
+            final long firstHalf;
+            try (final JournalReceiver journalReceiver = new JournalReceiver(address, replayer, backupJournal, 0L, metricsRegistry)) {
+                //Everything journaled before the backup connected, across several segments:
+                firstHalf = primaryJournal.nextSequence() - 1;
+                assertTrue(journalReceiver.awaitSequence(firstHalf, TIMEOUT));
+            }
+            final Customer owner = transferService.findCustomer("1").orElseThrow();
+            final Account source = transferService.findAccount(numbers[0]).orElseThrow();
+            final Account target = transferService.findAccount(numbers[1]).orElseThrow();
+            for (int count = 0; count < 100; count++)
+                transferService.transfer(owner, source, target, 1L);
+            //A restarted backup only asks for what it is missing:
+            try (final JournalReceiver journalReceiver =
+                         new JournalReceiver(address, replayer, backupJournal, firstHalf, metricsRegistry)) {
+                assertTrue(journalReceiver.awaitSequence(primaryJournal.nextSequence() - 1, TIMEOUT));
+                assertTrue(journalReceiver.isConnected());
+            }
+            assertEquals(source.balanceMinorUnits(), backupBank.findAccount(numbers[0]).orElseThrow().balanceMinorUnits());
+            assertEquals(target.balanceMinorUnits(), backupBank.findAccount(numbers[1]).orElseThrow().balanceMinorUnits());
+            assertEquals(primaryJournal.nextSequence() - 1, metricsRegistry.counter("replication_applied_records_total",
+                    "Journal records applied by this backup").sum());
+        }
+    }
+
+    @Test
+    void failedAppendIsNeverShippedTestCase() throws IOException, InterruptedException {
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        final Path primaryDirectory = directory.resolve("primary");
+        final List<Long> acknowledged;
+        try (final Journal primaryJournal = newJournal("primary");
+             final Journal backupJournal = newJournal("backup");
+             final JournalShipper journalShipper = new JournalShipper(primaryJournal, new InetSocketAddress("localhost", 0),
+                                                                      TIMEOUT.toMillis(), metricsRegistry)) {
+            final SocketAddress address = journalShipper.start();
+            try (final JournalReceiver journalReceiver = new JournalReceiver(address, new Recovery.Replayer(newBank()),
+                                                                             backupJournal, 0L, metricsRegistry)) {
+                awaitBackups(journalShipper, 1);
+                final List<CompletableFuture<Long>> appends = new ArrayList<>();
+                for (int count = 0; count < 10; count++)
+                    appends.add(primaryJournal.append(new JournalRecord.CustomerDeleted(Integer.toString(count))));
+                assertTrue(journalReceiver.awaitSequence(Journal.await(appends.getLast()), TIMEOUT));
+                //Fail a group commit part way by making the next segment impossible to roll over to:
+                final long firstSequence = primaryJournal.nextSequence();
+                for (long sequence = firstSequence; sequence < firstSequence + 500; sequence++)
+                    Files.createDirectory(Journal.segmentPath(primaryDirectory, sequence));
+                try {
+                    for (int count = 10; count < 500; count++)
+                        appends.add(primaryJournal.append(new JournalRecord.CustomerDeleted(Integer.toString(count))));
+                }
+                catch(IllegalStateException e) {
+                    //Already failed, so the journal rejects the rest straight away
+                }
+                assertThrows(CompletionException.class, () -> appends.getLast().join());
+                acknowledged = appends.stream()
+                        .filter(append -> !append.isCompletedExceptionally())
+                        .map(CompletableFuture::join)
+                        .toList();
+                final long lastAcknowledged = acknowledged.getLast();
+                assertTrue(acknowledged.size() < appends.size());
+                assertTrue(journalReceiver.awaitSequence(lastAcknowledged, TIMEOUT));
+                assertFalse(journalReceiver.awaitSequence(lastAcknowledged + 1, Duration.ofMillis(250)));
+                assertEquals(lastAcknowledged, journalReceiver.lastSequence());
+            }
+        }
+        final List<Long> shipped = new ArrayList<>();
+        Journal.read(directory.resolve("backup"), 0L, (sequence, record) -> shipped.add(sequence));
+        assertEquals(acknowledged, shipped);  //Never a record whose append failed
+    }
+
+    @Test
+    void missingHistoryTestCase() throws IOException, InterruptedException {
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        try (final Journal primaryJournal = newJournal("primary");
+             final Journal backupJournal = newJournal("backup");
+             final JournalShipper journalShipper = new JournalShipper(primaryJournal, new InetSocketAddress("localhost", 0),
+                                                                      TIMEOUT.toMillis(), metricsRegistry)) {
+            final SocketAddress address = journalShipper.start();
+            for (int count = 0; count < 500; count++)
+                Journal.await(primaryJournal.append(new JournalRecord.CustomerDeleted(Integer.toString(count))));
+            assertTrue(primaryJournal.deleteSegmentsBefore(primaryJournal.nextSequence()) > 0);
+            //An empty backup needs records the primary no longer has, so it gives up rather than diverge:
+            try (final JournalReceiver journalReceiver = new JournalReceiver(address, new Recovery.Replayer(newBank()),
+                                                                             backupJournal, 0L, metricsRegistry)) {
+                assertFalse(journalReceiver.awaitSequence(1L, TIMEOUT));
+                assertEquals(0L, journalReceiver.lastSequence());
+            }
+        }
+    }
+
+    @Test
+    void noBackupTestCase() throws IOException {
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        try (final Journal primaryJournal = newJournal("primary");
+             final JournalShipper journalShipper = new JournalShipper(primaryJournal, new InetSocketAddress("localhost", 0),
+                                                                      TIMEOUT.toMillis(), metricsRegistry)) {
+            journalShipper.start();
+            final TransferService transferService = new JournaledTransferService(
+                    new TransferServiceInMemoryImpl(newBank()), primaryJournal, journalShipper::awaitAcknowledged);
+            populate(transferService);  //Sync acks do not wait when there is nobody to wait for
+            assertEquals(0, journalShipper.nbrBackups());
+            assertEquals(0L, journalShipper.lag());
+        }
+    }
+
+    private Journal newJournal(String name) throws IOException {
+        return new Journal(directory.resolve(name), SEGMENT_SIZE, FsyncPolicy.NONE, 10);
+    }
+
+    private static Bank newBank() {
+        return new Bank(1, "Replication Test Bank");
+    }
+
+    private static void awaitBackups(JournalShipper journalShipper, int nbrBackups) {
+        final long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (journalShipper.nbrBackups() < nbrBackups && System.nanoTime() < deadline)
+            Thread.onSpinWait();
+        assertEquals(nbrBackups, journalShipper.nbrBackups());
+    }
+
+    private static int[] populate(TransferService transferService) {
+        final Customer bobWire = TestData.bobWire("1");
+        transferService.addCustomer(bobWire);
+        final Account checking = new Account(bobWire, AccountType.CHECKING, 10_000L);
+        final Account savings = new Account(bobWire, AccountType.SAVINGS, 0L);
+        transferService.addAccount(checking);
+        transferService.addAccount(savings);
+        for (int count = 0; count < 250; count++)
+            transferService.transfer(bobWire, checking, savings, 10L);
+        return new int[] { checking.number(), savings.number() };
+    }
+
+    private static int[] numbersOf(Bank bank) {
+        return bank.findCustomer("1").orElseThrow().accounts().stream()
+                .mapToInt(Account::number)
+                .sorted()
+                .toArray();
+    }
+
+    private static void assertBalances(Bank bank, int[] numbers) {
+        assertEquals(7_500L, bank.findAccount(numbers[0]).orElseThrow().balanceMinorUnits());
+        assertEquals(2_500L, bank.findAccount(numbers[1]).orElseThrow().balanceMinorUnits());
+        assertEquals(250L, bank.findAccount(numbers[0]).orElseThrow().state().version());
+    }
+}
@@ -0,0 +1,146 @@
+package net.sattler22.transfer.replication;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.journal.FsyncPolicy;
+import net.sattler22.transfer.journal.Journal;
+import net.sattler22.transfer.journal.Recovery;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import net.sattler22.transfer.service.JournaledTransferService;
+import net.sattler22.transfer.service.TransferService;
+import net.sattler22.transfer.service.TransferServiceInMemoryImpl;
+import net.sattler22.transfer.util.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Journal Shipping Replication Benchmark
+ *
+ * @implNote Runs journaled transfers on a primary with a backup following it in the same process, over either transport,
+ *           and measures throughput and the latency distribution of each transfer. Without replication the score is the
+ *           plain journaling cost, with async replication it shows what shipping takes away from the primary, and with
+ *           sync acks the difference is what waiting for the backup adds to every transfer. The replication lag and
+ *           shipping throughput are printed at the end of each trial.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class ReplicationBenchmark {
+
+    private static final long BALANCE = 1_000_000_000L;
+
+    @Param({"NONE", "ASYNC", "SYNC"})
+    private String replication;
+
+    @Param({"TCP", "UNIX"})
+    private String transport;
+
+    @Param({"BATCH", "NONE"})
+    private FsyncPolicy fsyncPolicy;
+
+    private Path directory;
+    private MetricsRegistry metricsRegistry;
+    private Journal primaryJournal;
+    private Journal backupJournal;
+    private JournalShipper journalShipper;
+    private JournalReceiver journalReceiver;
+    private TransferService transferService;
+    private Customer owner;
+    private Account[] accounts;
+    private long startNanos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        this.directory = Files.createTempDirectory("replication-benchmark");
+        this.metricsRegistry = new MetricsRegistry();
+        this.primaryJournal = new Journal(directory.resolve("primary"), 64 * 1024 * 1024, fsyncPolicy, 10);
+        final TransferService inMemoryService = new TransferServiceInMemoryImpl(new Bank(1, "Primary Benchmark Bank"));
+        if ("NONE".equals(replication))
+            this.transferService = new JournaledTransferService(inMemoryService, primaryJournal);
+        else {
+            final SocketAddress address = "UNIX".equals(transport) ?
+                    UnixDomainSocketAddress.of(directory.resolve("replication.sock")) : new InetSocketAddress("localhost", 0);
+            this.journalShipper = new JournalShipper(primaryJournal, address, 1_000L, metricsRegistry);
+            final SocketAddress boundAddress = journalShipper.start();
+            this.backupJournal = new Journal(directory.resolve("backup"), 64 * 1024 * 1024, fsyncPolicy, 10);
+            this.journalReceiver = new JournalReceiver(boundAddress, new Recovery.Replayer(new Bank(1, "Backup Benchmark Bank")),
+                                                       backupJournal, 0L, metricsRegistry);
+            while (journalShipper.nbrBackups() == 0)
+                TimeUnit.MILLISECONDS.sleep(10L);
+            this.transferService = "SYNC".equals(replication) ?
+                    new JournaledTransferService(inMemoryService, primaryJournal, journalShipper::awaitAcknowledged) :
+                    new JournaledTransferService(inMemoryService, primaryJournal);
+        }
+        this.owner = TestData.bobWire("1");
+        transferService.addCustomer(owner);
+        this.accounts = new Account[64];
+        for (int index = 0; index < accounts.length; index++) {
+            accounts[index] = new Account(owner, AccountType.CHECKING, BALANCE);
+            transferService.addAccount(accounts[index]);
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        if (journalShipper != null) {
+            final long lastSequence = primaryJournal.committed().lastSequence();
+            final long lagAtEnd = journalShipper.lag();
+            final long catchUpStartNanos = System.nanoTime();
+            journalReceiver.awaitSequence(lastSequence, Duration.ofSeconds(30));
+            final double elapsedSecs = (System.nanoTime() - startNanos) / 1e9;
+            System.out.printf("%nReplication: %,d records, lag at end %,d records (caught up in %.1f ms), shipped %,.1f MB/s%n",
+                    lastSequence, lagAtEnd, (System.nanoTime() - catchUpStartNanos) / 1e6,
+                    metricsRegistry.counter("replication_shipped_bytes_total", "Journal bytes shipped to backups").sum() / elapsedSecs / 1e6);
+            journalReceiver.close();
+            journalShipper.close();
+            backupJournal.close();
+        }
+        primaryJournal.close();
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    @Benchmark
+    public long transfer() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int source = random.nextInt(accounts.length);
+        final int target = (source + 1 + random.nextInt(accounts.length - 1)) % accounts.length;
+        return transferService.transfer(owner, accounts[source], accounts[target], 1L).sourceState().version();
+    }
+}
@@ -0,0 +1,97 @@
+package net.sattler22.transfer.service;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountState;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Money Transfer Compare-And-Swap (CAS) Engine Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class CasTransferEngineTest {
+
+    private final TransferEngine transferEngine = new CasTransferEngine(64);
+    private final Customer bobWire = TestData.bobWire("123");
+
+    @Test
+    void transferHappyPathTestCase() {
+        final Account source = new Account(bobWire, AccountType.CHECKING, 10_000L);
+        final Account target = new Account(bobWire, AccountType.SAVINGS, 5_000L);
+        final TransferResult transferResult = transferEngine.transfer(source, target, 2_500L);
+        assertEquals(7_500L, transferResult.source().balanceMinorUnits());
+        assertEquals(7_500L, transferResult.target().balanceMinorUnits());
+        assertEquals(1L, source.version());
+        assertEquals(1L, target.version());
+    }
+
+    @Test
+    void transferInsufficientFundsReleasesClaimsTestCase() {
+        final Account source = new Account(bobWire, AccountType.CHECKING, 100L);
+        final Account target = new Account(bobWire, AccountType.SAVINGS, 0L);
+        assertThrows(IllegalArgumentException.class, () -> transferEngine.transfer(source, target, 101L));
+        assertFalse(source.state().claimed());
+        assertFalse(target.state().claimed());
+        assertEquals(0L, source.version());
+    }
+
+    @Test
+    void transferContentionTestCase() {
+        final Account source = new Account(bobWire, AccountType.CHECKING, 100L);
+        final Account target = new Account(bobWire, AccountType.SAVINGS, 0L);
+        final AccountState claimed = target.tryClaim();  //Simulate a stuck in-flight transfer
+        assertThrows(ConcurrentModificationException.class, () -> transferEngine.transfer(source, target, 1L));
+        assertFalse(source.state().claimed());
+        target.release(claimed);
+    }
+
+    @Test
+    void concurrentTransfersConserveTotalTestCase() throws Exception {
+        final int nbrAccounts = 4;
+        final long openingBalance = 1_000_000L;
+        final List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < nbrAccounts; i++)
+            accounts.add(new Account(bobWire, AccountType.CHECKING, openingBalance));
+        final TransferEngine contendedEngine = new CasTransferEngine(Integer.MAX_VALUE);
+        try (final ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 10_000; i++) {
+                        final int from = random.nextInt(nbrAccounts);
+                        final int to = (from + 1 + random.nextInt(nbrAccounts - 1)) % nbrAccounts;
+                        try {
+                            contendedEngine.transfer(accounts.get(from), accounts.get(to), 1L + random.nextInt(100));
+                        }
+                        catch(IllegalArgumentException e) {
+                            //Insufficient funds is fine, the total must still be conserved
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures)
+                future.get();
+        }
+        final long total = accounts.stream().mapToLong(Account::balanceMinorUnits).sum();
+        assertEquals(nbrAccounts * openingBalance, total);
+    }
+}
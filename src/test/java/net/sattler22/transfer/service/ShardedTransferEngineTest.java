@@ -0,0 +1,132 @@
+package net.sattler22.transfer.service;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.CommitSequence;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Money Transfer Sharded Engine Unit Tests
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class ShardedTransferEngineTest {
+
+    private final TransferEngine transferEngine = new ShardedTransferEngine(4, 16, 8);
+    private final Customer bobWire = TestData.bobWire("123");
+
+    @AfterEach
+    void afterEach() {
+        transferEngine.close();
+    }
+
+    @Test
+    void sameShardTransferTestCase() {
+        final Account source = new Account(bobWire, AccountType.CHECKING, 10_000L);
+        Account target = new Account(bobWire, AccountType.SAVINGS, 5_000L);
+        while ((target.number() - source.number()) % 4 != 0)
+            target = new Account(bobWire, AccountType.SAVINGS, 5_000L);
+        final TransferResult transferResult = transferEngine.transfer(source, target, 2_500L);
+        assertEquals(7_500L, transferResult.source().balanceMinorUnits());
+        assertEquals(7_500L, transferResult.target().balanceMinorUnits());
+    }
+
+    @Test
+    void crossShardTransferTestCase() {
+        final Account source = new Account(bobWire, AccountType.CHECKING, 10_000L);
+        final Account target = new Account(bobWire, AccountType.SAVINGS, 5_000L);  //Next number, so the next shard
+        final TransferResult transferResult = transferEngine.transfer(source, target, 2_500L);
+        assertEquals(7_500L, transferResult.source().balanceMinorUnits());
+        assertEquals(7_500L, transferResult.target().balanceMinorUnits());
+    }
+
+    @Test
+    void crossShardOverflowIsRefundedTestCase() {
+        final Account source = new Account(bobWire, AccountType.CHECKING, 10_000L);
+        final Account target = new Account(bobWire, AccountType.SAVINGS, Long.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> transferEngine.transfer(source, target, 1L));
+        assertEquals(10_000L, source.balanceMinorUnits());
+        assertEquals(Long.MAX_VALUE, target.balanceMinorUnits());
+    }
+
+    @Test
+    void insufficientFundsTestCase() {
+        final Account source = new Account(bobWire, AccountType.CHECKING, 100L);
+        final Account target = new Account(bobWire, AccountType.SAVINGS, 0L);
+        assertThrows(IllegalArgumentException.class, () -> transferEngine.transfer(source, target, 101L));
+        assertEquals(100L, source.balanceMinorUnits());
+    }
+
+    @Test
+    void concurrentTransfersConserveTotalTestCase() throws Exception {
+        final int nbrAccounts = 8;
+        final long openingBalance = 1_000_000L;
+        final List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < nbrAccounts; i++)
+            accounts.add(new Account(bobWire, AccountType.CHECKING, openingBalance));
+        try (final ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        final int from = random.nextInt(nbrAccounts);
+                        final int to = (from + 1 + random.nextInt(nbrAccounts - 1)) % nbrAccounts;
+                        try {
+                            transferEngine.transfer(accounts.get(from), accounts.get(to), 1L + random.nextInt(100));
+                        }
+                        catch(IllegalArgumentException e) {
+                            //Insufficient funds is fine, the total must still be conserved
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures)
+                future.get();
+        }
+        final long total = accounts.stream().mapToLong(Account::balanceMinorUnits).sum();
+        assertEquals(nbrAccounts * openingBalance, total);
+    }
+
+    @Test
+    void manyCrossShardTransfersInFlightTestCase() throws Exception {
+        final int nbrTransfers = 5_000;  //Far more than the commit sequence has slots
+        try (final ShardedTransferEngine twoShardEngine = new ShardedTransferEngine(2, nbrTransfers, 256)) {
+            final Account first = new Account(bobWire, AccountType.CHECKING, nbrTransfers);
+            final Account second = new Account(bobWire, AccountType.SAVINGS, nbrTransfers);  //Next number, so the other shard
+            final List<CompletableFuture<TransferResult>> results = new ArrayList<>(2 * nbrTransfers);
+            for (int i = 0; i < nbrTransfers; i++) {
+                results.add(twoShardEngine.submit(first, second, 1L));
+                results.add(twoShardEngine.submit(second, first, 1L));
+            }
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30L, TimeUnit.SECONDS);
+            final List<TransferRequest> batch =
+                    List.of(new TransferRequest(bobWire, first, second, 10L), new TransferRequest(bobWire, second, first, 5L));
+            assertEquals(2, twoShardEngine.transferAll(batch).size());
+            assertEquals(nbrTransfers - 5L, first.balanceMinorUnits());
+            assertEquals(nbrTransfers + 5L, second.balanceMinorUnits());
+            assertTimeoutPreemptively(Duration.ofSeconds(5L), CommitSequence::snapshot);
+        }
+    }
+}
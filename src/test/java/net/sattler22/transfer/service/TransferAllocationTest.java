@@ -0,0 +1,143 @@
+package net.sattler22.transfer.service;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+import net.sattler22.transfer.api.AccountTransferDto;
+import net.sattler22.transfer.api.CustomerJsonCache;
+import net.sattler22.transfer.api.IdempotencyCache;
+import net.sattler22.transfer.api.MoneyTransferResourceImpl;
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.metrics.MetricsRegistry;
+import net.sattler22.transfer.util.TestData;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Transfer Path Allocation Tests
+ *
+ * @implNote Counts the bytes the current thread allocates per transfer, so a change that adds garbage to the transfer
+ *           path fails here rather than showing up later as GC pauses in the transfer tail latency
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class TransferAllocationTest {
+
+    private static final int NBR_WARM_UP_TRANSFERS = 50_000;
+    private static final int NBR_MEASURED_TRANSFERS = 100_000;
+
+    /**
+     * Allocation budget of a single transfer: the result, the two posted account states and the amortized cost of the
+     * posting history chunks. Anything else is garbage.
+     */
+    private static final long TRANSFER_BYTES_BUDGET = 256;
+
+    /**
+     * Allocation budget of a transfer request on top of its transfer and of the response Jersey builds for it, which is
+     * the header lookups. Anything else, like an exception or a lookup wrapper, is garbage.
+     */
+    private static final long RESOURCE_BYTES_BUDGET = 256;
+
+    /**
+     * Allocation budget of the account transfer version, which is the string itself
+     */
+    private static final long VERSION_BYTES_BUDGET = 96;
+
+    @Test
+    void transferAllocationBudgetTestCase() {
+        final Bank bank = new Bank(1, "Allocation Test Bank");
+        final Customer bobWire = TestData.bobWire("1");
+        final TransferService transferService = new InstrumentedTransferService(
+                new TransferServiceInMemoryImpl(bank, new LockingTransferEngine()), new MetricsRegistry());
+        transferService.addCustomer(bobWire);
+        final Account first = new Account(bobWire, AccountType.CHECKING, 1_000_000L);
+        final Account second = new Account(bobWire, AccountType.SAVINGS, 1_000_000L);
+        transferService.addAccount(first);
+        transferService.addAccount(second);
+        final long bytesPerTransfer = measure(index -> {
+            if ((index & 1) == 0)
+                transferService.transfer(bobWire, first, second, 1L);
+            else
+                transferService.transfer(bobWire, second, first, 1L);
+        });
+        assertTrue(bytesPerTransfer <= TRANSFER_BYTES_BUDGET,
+                   String.format("Transfer allocated %d bytes, over its budget of %d", bytesPerTransfer, TRANSFER_BYTES_BUDGET));
+    }
+
+    @Test
+    void resourceTransferAllocationBudgetTestCase() {
+        final Bank bank = new Bank(1, "Allocation Test Bank");
+        final Customer bobWire = TestData.bobWire("1");
+        final TransferService transferService = new InstrumentedTransferService(
+                new TransferServiceInMemoryImpl(bank, new LockingTransferEngine()), new MetricsRegistry());
+        transferService.addCustomer(bobWire);
+        final Account first = new Account(bobWire, AccountType.CHECKING, 1_000_000L);
+        final Account second = new Account(bobWire, AccountType.SAVINGS, 1_000_000L);
+        transferService.addAccount(first);
+        transferService.addAccount(second);
+        final MoneyTransferResourceImpl resource = new MoneyTransferResourceImpl(
+                transferService, new CustomerJsonCache(0), new IdempotencyCache(16, Duration.ofMinutes(1)));
+        final ContainerRequest request = new ContainerRequest(URI.create("http://localhost/"),
+                URI.create("http://localhost/api/v1/money-transfer/account/transfer"), HttpMethod.PUT, null,
+                new MapPropertiesDelegate());
+        final BigDecimal amount = new BigDecimal("0.01");
+        final AccountTransferDto forward = new AccountTransferDto(bobWire.id(), first.number(), second.number(), amount);
+        final AccountTransferDto backward = new AccountTransferDto(bobWire.id(), second.number(), first.number(), amount);
+        final AccountTransferDto missing = new AccountTransferDto(bobWire.id(), first.number(), Integer.MAX_VALUE, amount);
+        final long bytesPerTransfer = measure(index -> {
+            final Response response = resource.transfer(request, request, ((index & 1) == 0) ? forward : backward);
+            if (response.getStatus() != Status.OK.getStatusCode())
+                throw new AssertionError(String.format("Transfer answered [%d]", response.getStatus()));
+        });
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        final long bytesPerOkResponse = measure(index -> Response.ok().cacheControl(cacheControl).entity(forward).build());
+        final long transferBytesBudget = bytesPerOkResponse + TRANSFER_BYTES_BUDGET + RESOURCE_BYTES_BUDGET;
+        assertTrue(bytesPerTransfer <= transferBytesBudget,
+                   String.format("Transfer request allocated %d bytes, over its budget of %d", bytesPerTransfer, transferBytesBudget));
+        assertEquals(Status.NOT_FOUND.getStatusCode(), resource.transfer(request, request, missing).getStatus());
+        final long bytesPerNotFound = measure(index -> resource.transfer(request, request, missing));
+        final long bytesPerNotFoundResponse = measure(index -> Response.status(Status.NOT_FOUND).build());
+        final long notFoundBytesBudget = bytesPerNotFoundResponse + RESOURCE_BYTES_BUDGET;
+        assertTrue(bytesPerNotFound <= notFoundBytesBudget,
+                   String.format("Not found transfer request allocated %d bytes, over its budget of %d", bytesPerNotFound,
+                                 notFoundBytesBudget));
+    }
+
+    @Test
+    void transferVersionAllocationBudgetTestCase() {
+        final Customer bobWire = TestData.bobWire("1");
+        //Fixed account numbers, since the length of the version depends on them and the counter is shared by every test:
+        final Account first = Account.restore(bobWire, 1, AccountType.CHECKING, 1_000_000L, 0L);
+        final Account second = Account.restore(bobWire, 2, AccountType.SAVINGS, 1_000_000L, 0L);
+        final long bytesPerVersion = measure(index -> AccountTransferDto.createVersion(first, second));
+        assertTrue(bytesPerVersion <= VERSION_BYTES_BUDGET,
+                   String.format("Transfer version allocated %d bytes, over its budget of %d", bytesPerVersion, VERSION_BYTES_BUDGET));
+    }
+
+    private static long measure(IntConsumer operation) {
+        for (int index = 0; index < NBR_WARM_UP_TRANSFERS; index++)
+            operation.accept(index);
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().threadId();
+        final long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int index = 0; index < NBR_MEASURED_TRANSFERS; index++)
+            operation.accept(index);
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - startBytes) / NBR_MEASURED_TRANSFERS;
+    }
+}
@@ -0,0 +1,147 @@
+package net.sattler22.transfer.service;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountHistory.Posting;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService.TransferRequest;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+import net.sattler22.transfer.util.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Money Transfer Atomic Batch Unit Tests (run against every transfer mode)
+ *
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+final class TransferBatchTest {
+
+    private final Customer bobWire = TestData.bobWire("123");
+
+    @Test
+    void atomicBatchAppliesAllInOrderTestCase() {
+        for (final TransferMode transferMode : TransferMode.values()) {
+            try (final TransferEngine transferEngine = createEngine(transferMode)) {
+                final Account checking = new Account(bobWire, AccountType.CHECKING, 100L);
+                final Account savings = new Account(bobWire, AccountType.SAVINGS, 0L);
+                final Account other = new Account(bobWire, AccountType.SAVINGS, 0L);
+                final List<TransferResult> transferResults = transferEngine.transferAll(List.of(
+                        new TransferRequest(bobWire, checking, savings, 60L),
+                        new TransferRequest(bobWire, savings, other, 50L),  //Only possible after the first transfer
+                        new TransferRequest(bobWire, other, checking, 10L)));
+                assertEquals(3, transferResults.size(), transferMode.name());
+                assertEquals(50L, checking.balanceMinorUnits(), transferMode.name());
+                assertEquals(10L, savings.balanceMinorUnits(), transferMode.name());
+                assertEquals(40L, other.balanceMinorUnits(), transferMode.name());
+            }
+        }
+    }
+
+    @Test
+    void atomicBatchPostsEachTransferTestCase() {
+        for (final TransferMode transferMode : TransferMode.values()) {
+            try (final TransferEngine transferEngine = createEngine(transferMode)) {
+                final Account checking = new Account(bobWire, AccountType.CHECKING, 100L);
+                final Account savings = new Account(bobWire, AccountType.SAVINGS, 0L);
+                final List<TransferResult> transferResults = transferEngine.transferAll(List.of(
+                        new TransferRequest(bobWire, checking, savings, 60L),
+                        new TransferRequest(bobWire, savings, checking, 60L)));  //Nets out to nothing
+                assertEquals(40L, transferResults.get(0).sourceState().balance(), transferMode.name());
+                assertEquals(1L, transferResults.get(0).sourceState().version(), transferMode.name());
+                assertEquals(60L, transferResults.get(0).targetState().balance(), transferMode.name());
+                assertEquals(0L, transferResults.get(1).sourceState().balance(), transferMode.name());
+                assertEquals(2L, transferResults.get(1).sourceState().version(), transferMode.name());
+                assertEquals(100L, transferResults.get(1).targetState().balance(), transferMode.name());
+                assertEquals(2L, checking.version(), transferMode.name());
+                final List<Posting> postings = checking.history().postings(0L, 0L, Long.MAX_VALUE, 10);
+                assertEquals(List.of(savings.number(), savings.number()),
+                        postings.stream().map(Posting::counterparty).toList(), transferMode.name());
+                assertEquals(List.of(-60L, 60L), postings.stream().map(Posting::amount).toList(), transferMode.name());
+                assertFalse(checking.state().claimed(), transferMode.name());
+                assertFalse(savings.state().claimed(), transferMode.name());
+            }
+        }
+    }
+
+    @Test
+    void atomicBatchAppliesNoneTestCase() {
+        for (final TransferMode transferMode : TransferMode.values()) {
+            try (final TransferEngine transferEngine = createEngine(transferMode)) {
+                final Account checking = new Account(bobWire, AccountType.CHECKING, 100L);
+                final Account savings = new Account(bobWire, AccountType.SAVINGS, 0L);
+                final Account other = new Account(bobWire, AccountType.SAVINGS, 0L);
+                final List<TransferRequest> transfers = List.of(
+                        new TransferRequest(bobWire, checking, savings, 60L),
+                        new TransferRequest(bobWire, checking, other, 50L));  //Overdraws the checking account
+                final IllegalArgumentException exception =
+                        assertThrows(IllegalArgumentException.class, () -> transferEngine.transferAll(transfers));
+                assertEquals("Transfer #2: transfer amount exceeds the amount of available funds", exception.getMessage());
+                assertEquals(100L, checking.balanceMinorUnits(), transferMode.name());
+                assertEquals(0L, savings.balanceMinorUnits(), transferMode.name());
+                assertEquals(0L, other.balanceMinorUnits(), transferMode.name());
+                transferEngine.transfer(checking, savings, 1L);  //Nothing is left locked or claimed
+            }
+        }
+    }
+
+    @Test
+    void concurrentBatchesConserveTotalTestCase() throws Exception {
+        for (final TransferMode transferMode : TransferMode.values()) {
+            final int nbrAccounts = 8;
+            final long openingBalance = 1_000_000L;
+            final List<Account> accounts = new ArrayList<>();
+            for (int i = 0; i < nbrAccounts; i++)
+                accounts.add(new Account(bobWire, AccountType.CHECKING, openingBalance));
+            try (final TransferEngine transferEngine = createEngine(transferMode);
+                 final ExecutorService executor = Executors.newFixedThreadPool(8)) {
+                final List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    final boolean batches = (t % 2 == 0);
+                    futures.add(executor.submit(() -> {
+                        final ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 500; i++) {
+                            final List<TransferRequest> transfers = new ArrayList<>();
+                            for (int j = batches ? 4 : 1; j > 0; j--) {
+                                final int from = random.nextInt(nbrAccounts);
+                                final int to = (from + 1 + random.nextInt(nbrAccounts - 1)) % nbrAccounts;
+                                transfers.add(new TransferRequest(bobWire, accounts.get(from), accounts.get(to), 1L + random.nextInt(100)));
+                            }
+                            try {
+                                if (batches)
+                                    transferEngine.transferAll(transfers);
+                                else
+                                    transferEngine.transfer(transfers.getFirst().source(), transfers.getFirst().target(),
+                                                            transfers.getFirst().amount());
+                            }
+                            catch(IllegalArgumentException | ConcurrentModificationException e) {
+                                //Rejected transfers are fine, the total must still be conserved
+                            }
+                        }
+                    }));
+                }
+                for (final Future<?> future : futures)
+                    future.get();
+            }
+            final long total = accounts.stream().mapToLong(Account::balanceMinorUnits).sum();
+            assertEquals(nbrAccounts * openingBalance, total, transferMode.name());
+        }
+    }
+
+    private static TransferEngine createEngine(TransferMode transferMode) {
+        return TransferEngine.create(new TransferEngineConfig(transferMode, 1_024, 4, 16, 8));
+    }
+}
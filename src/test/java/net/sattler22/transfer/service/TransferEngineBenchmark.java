@@ -0,0 +1,96 @@
+package net.sattler22.transfer.service;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+import net.sattler22.transfer.util.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money Transfer Engine Throughput Benchmark
+ *
+ * @implNote Random transfers between a small pool of accounts, so that both monitor contention and cross-shard hand-offs
+ *           are frequent. Each benchmark method runs the same workload with a different number of client threads.
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferEngineBenchmark {
+
+    private static final int NBR_ACCOUNTS = 64;
+    private static final long OPENING_BALANCE = Long.MAX_VALUE / (2 * NBR_ACCOUNTS);
+
+    @Param({"LOCKING", "CAS", "SEQUENCER"})
+    private TransferMode transferMode;
+
+    private TransferEngine transferEngine;
+    private Account[] accounts;
+
+    @Setup
+    public void setUp() {
+        final int nbrShards = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.transferEngine = TransferEngine.create(new TransferEngineConfig(transferMode, Integer.MAX_VALUE, nbrShards, 1024, 64));
+        final Customer bobWire = TestData.bobWire("123");
+        this.accounts = new Account[NBR_ACCOUNTS];
+        for (int i = 0; i < NBR_ACCOUNTS; i++)
+            accounts[i] = new Account(bobWire, AccountType.CHECKING, OPENING_BALANCE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        transferEngine.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TransferResult threads01() {
+        return randomTransfer();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TransferResult threads04() {
+        return randomTransfer();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public TransferResult threads16() {
+        return randomTransfer();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public TransferResult threads64() {
+        return randomTransfer();
+    }
+
+    private TransferResult randomTransfer() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int source = random.nextInt(NBR_ACCOUNTS);
+        final int target = (source + 1 + random.nextInt(NBR_ACCOUNTS - 1)) % NBR_ACCOUNTS;
+        return transferEngine.transfer(accounts[source], accounts[target], 1L);
+    }
+}
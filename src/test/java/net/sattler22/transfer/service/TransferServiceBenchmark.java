@@ -0,0 +1,114 @@
+package net.sattler22.transfer.service;
+
+import net.sattler22.transfer.domain.Account;
+import net.sattler22.transfer.domain.AccountType;
+import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.Customer;
+import net.sattler22.transfer.service.TransferService.TransferResult;
+import net.sattler22.transfer.util.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money Transfer Service Workload Benchmark
+ *
+ * @implNote Runs the full service transfer (validation plus engine) under three workloads: every thread moving money
+ *           between its own pair of accounts (uncontended), every thread hammering the same pair (hot pair) and every
+ *           thread picking a random pair out of a larger pool (random pair)
+ * @author Pete Sattler
+ * @version October 2026
+ * @since October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class TransferServiceBenchmark {
+
+    private static final int NBR_ACCOUNTS = 1024;
+    private static final long OPENING_BALANCE = Long.MAX_VALUE / (2 * NBR_ACCOUNTS);
+
+    @Param({"LOCKING", "CAS", "SEQUENCER"})
+    private TransferMode transferMode;
+
+    private TransferEngine transferEngine;
+    private TransferService transferService;
+    private Customer owner;
+    private Account[] accounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.transferEngine = TransferEngine.create(new TransferEngineConfig(transferMode, Integer.MAX_VALUE, 4, 1024, 64));
+        this.transferService = new TransferServiceInMemoryImpl(new Bank(1, "Benchmark Bank"), transferEngine);
+        this.owner = TestData.bobWire("123");
+        transferService.addCustomer(owner);
+        this.accounts = new Account[NBR_ACCOUNTS];
+        for (int i = 0; i < NBR_ACCOUNTS; i++) {
+            accounts[i] = new Account(owner, AccountType.CHECKING, OPENING_BALANCE);
+            transferService.addAccount(accounts[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transferEngine.close();
+    }
+
+    /**
+     * A pair of accounts only ever used by one thread
+     */
+    @State(Scope.Thread)
+    public static class PrivatePair {
+
+        private Account source;
+        private Account target;
+
+        @Setup(Level.Trial)
+        public void setUp(TransferServiceBenchmark benchmark) {
+            this.source = new Account(benchmark.owner, AccountType.CHECKING, OPENING_BALANCE);
+            this.target = new Account(benchmark.owner, AccountType.SAVINGS, OPENING_BALANCE);
+            benchmark.transferService.addAccount(source);
+            benchmark.transferService.addAccount(target);
+        }
+    }
+
+    @Benchmark
+    public TransferResult uncontended(PrivatePair pair) {
+        return ThreadLocalRandom.current().nextBoolean()
+                ? transferService.transfer(owner, pair.source, pair.target, 1L)
+                : transferService.transfer(owner, pair.target, pair.source, 1L);
+    }
+
+    @Benchmark
+    public TransferResult hotPair() {
+        return ThreadLocalRandom.current().nextBoolean()
+                ? transferService.transfer(owner, accounts[0], accounts[1], 1L)
+                : transferService.transfer(owner, accounts[1], accounts[0], 1L);
+    }
+
+    @Benchmark
+    public TransferResult randomPair() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int source = random.nextInt(NBR_ACCOUNTS);
+        final int target = (source + 1 + random.nextInt(NBR_ACCOUNTS - 1)) % NBR_ACCOUNTS;
+        return transferService.transfer(owner, accounts[source], accounts[target], 1L);
+    }
+}
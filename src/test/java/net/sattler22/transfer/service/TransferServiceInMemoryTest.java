@@ -3,6 +3,7 @@ package net.sattler22.transfer.service;
 import net.sattler22.transfer.domain.Account;
 import net.sattler22.transfer.domain.AccountType;
 import net.sattler22.transfer.domain.Bank;
+import net.sattler22.transfer.domain.BankStats;
 import net.sattler22.transfer.domain.Customer;
 import net.sattler22.transfer.service.TransferService.TransferResult;
 import net.sattler22.transfer.util.TestData;
@@ -10,15 +11,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Money Transfer Service (In-Memory) Unit Tests
  *
  * @author Pete Sattler
- * @version November 2025
+ * @version October 2026
  * @since February 2019
  */
 final class TransferServiceInMemoryTest {
@@ -52,6 +56,18 @@ final class TransferServiceInMemoryTest {
         );
     }
 
+    @Test
+    void releaseAccountWithNonZeroBalanceTestCase() {
+        final Customer bobWire = transferService.getCustomers().iterator().next();
+        final Account account = new Account(bobWire, AccountType.CHECKING, BigDecimal.ONE);
+        transferService.addAccount(account);
+        assertTrue(transferService.releaseAccount(account));
+        assertTrue(transferService.findAccount(account.number()).isEmpty());
+        assertTrue(bobWire.accounts().isEmpty());
+        assertEquals(0L, transferService.getBank().stats().totalDeposits());
+        assertFalse(transferService.releaseAccount(account));
+    }
+
     @Test
     void transferZeroAmountTestCase() {
         final Customer bobWire = transferService.getCustomers().iterator().next();
@@ -85,4 +101,18 @@ final class TransferServiceInMemoryTest {
         final BigDecimal actualTargetAccountBalance = transferResult.target().balance();
         assertEquals(0, expectedTargetAccountBalance.compareTo(actualTargetAccountBalance));
     }
+
+    @Test
+    void transferBetweenAccountTypesStatsTestCase() {
+        final Customer bobWire = transferService.getCustomers().iterator().next();
+        final Account sourceAccount = new Account(bobWire, AccountType.CHECKING, 10_000L);
+        final Account targetAccount = new Account(bobWire, AccountType.SAVINGS, 5_000L);
+        transferService.addAccount(sourceAccount);
+        transferService.addAccount(targetAccount);
+        transferService.transfer(bobWire, sourceAccount, targetAccount, 2_500L);
+        final BankStats bankStats = transferService.getBank().stats();
+        assertEquals(15_000L, bankStats.totalDeposits());
+        assertEquals(Map.of(AccountType.CHECKING, 7_500L, AccountType.SAVINGS, 7_500L), bankStats.depositsByType());
+        assertEquals(2L, bankStats.nbrAccounts());
+    }
 }